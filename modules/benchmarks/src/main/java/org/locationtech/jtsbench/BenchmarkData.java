@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jtsbench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.util.SineStarFactory;
+import org.locationtech.jts.util.GeometricShapeFactory;
+
+/**
+ * Generates the synthetic datasets used by the benchmarks.
+ * <p>
+ * All random values are drawn from a {@link Random} with a fixed seed,
+ * so that every run (and every build being compared) 
+ * operates on exactly the same data.
+ * 
+ * @author Martin Davis
+ *
+ */
+public class BenchmarkData 
+{
+  /**
+   * The seed used for all generated datasets.
+   */
+  public static final long SEED = 1234567L;
+  
+  private static final GeometryFactory geomFact = new GeometryFactory();
+  
+  /**
+   * Gets the geometry factory used for all generated geometries.
+   * 
+   * @return the geometry factory
+   */
+  public static GeometryFactory getFactory() {
+    return geomFact;
+  }
+  
+  /**
+   * Creates a sine star polygon centred at the origin.
+   * These have many vertices and a complex boundary,
+   * which makes them a good stress case for overlay, buffer and point location.
+   * 
+   * @param origin the centre of the star
+   * @param size the diameter of the star
+   * @param nPts the number of vertices
+   * @param nArms the number of arms
+   * @return a sine star polygon
+   */
+  public static Geometry sineStar(Coordinate origin, double size, int nPts, int nArms) {
+    return SineStarFactory.create(origin, size, nPts, nArms, 0.3);
+  }
+  
+  /**
+   * Creates a grid of overlapping circular polygons.
+   * The circles have a slightly randomized centre and radius,
+   * so they overlap their neighbours by varying amounts.
+   * 
+   * @param nSide the number of circles along each side of the grid
+   * @param nPts the number of vertices in each circle
+   * @return a list of polygons
+   */
+  public static List<Geometry> circleGrid(int nSide, int nPts) {
+    Random rnd = new Random(SEED);
+    GeometricShapeFactory gsf = new GeometricShapeFactory(geomFact);
+    gsf.setNumPoints(nPts);
+    List<Geometry> polys = new ArrayList<Geometry>();
+    for (int i = 0; i < nSide; i++) {
+      for (int j = 0; j < nSide; j++) {
+        double x = i + 0.2 * rnd.nextDouble();
+        double y = j + 0.2 * rnd.nextDouble();
+        gsf.setCentre(new Coordinate(x, y));
+        gsf.setSize(1.2 + 0.4 * rnd.nextDouble());
+        polys.add(gsf.createCircle());
+      }
+    }
+    return polys;
+  }
+
+  /**
+   * Creates a random-walk line string.
+   * The walk drifts in the positive X direction,
+   * so it meanders without excessive self-overlap.
+   * 
+   * @param nPts the number of vertices
+   * @param stepSize the maximum length of each step
+   * @return a line string
+   */
+  public static LineString randomWalk(int nPts, double stepSize) {
+    Random rnd = new Random(SEED);
+    Coordinate[] pts = new Coordinate[nPts];
+    double x = 0;
+    double y = 0;
+    for (int i = 0; i < nPts; i++) {
+      pts[i] = new Coordinate(x, y);
+      x += stepSize * rnd.nextDouble();
+      y += stepSize * (rnd.nextDouble() - 0.5);
+    }
+    return geomFact.createLineString(pts);
+  }
+  
+  /**
+   * Creates a set of random coordinates within an envelope.
+   * 
+   * @param env the extent of the coordinates
+   * @param n the number of coordinates
+   * @return an array of random coordinates
+   */
+  public static Coordinate[] randomCoordinates(Envelope env, int n) {
+    Random rnd = new Random(SEED);
+    Coordinate[] pts = new Coordinate[n];
+    for (int i = 0; i < n; i++) {
+      double x = env.getMinX() + env.getWidth() * rnd.nextDouble();
+      double y = env.getMinY() + env.getHeight() * rnd.nextDouble();
+      pts[i] = new Coordinate(x, y);
+    }
+    return pts;
+  }
+  
+  /**
+   * Creates a set of small random envelopes within a square extent.
+   * 
+   * @param n the number of envelopes
+   * @param extent the side length of the square extent
+   * @param maxSize the maximum side length of the envelopes
+   * @param seed the random seed to use
+   * @return an array of envelopes
+   */
+  public static Envelope[] randomEnvelopes(int n, double extent, double maxSize, long seed) {
+    Random rnd = new Random(seed);
+    Envelope[] envs = new Envelope[n];
+    for (int i = 0; i < n; i++) {
+      double x = extent * rnd.nextDouble();
+      double y = extent * rnd.nextDouble();
+      double w = maxSize * rnd.nextDouble();
+      double h = maxSize * rnd.nextDouble();
+      envs[i] = new Envelope(x, x + w, y, y + h);
+    }
+    return envs;
+  }
+  
+  /**
+   * Creates a set of small random polygons (perturbed regular polygons)
+   * scattered across a square extent.
+   * 
+   * @param n the number of polygons
+   * @param extent the side length of the square extent
+   * @param size the approximate diameter of each polygon
+   * @param nPts the number of vertices in each polygon
+   * @return a list of polygons
+   */
+  public static List<Geometry> randomPolygons(int n, double extent, double size, int nPts) {
+    Random rnd = new Random(SEED);
+    List<Geometry> polys = new ArrayList<Geometry>();
+    for (int i = 0; i < n; i++) {
+      double cx = extent * rnd.nextDouble();
+      double cy = extent * rnd.nextDouble();
+      Coordinate[] pts = new Coordinate[nPts + 1];
+      for (int k = 0; k < nPts; k++) {
+        double ang = 2 * Math.PI * k / nPts;
+        double r = size / 2 * (0.6 + 0.4 * rnd.nextDouble());
+        pts[k] = new Coordinate(cx + r * Math.cos(ang), cy + r * Math.sin(ang));
+      }
+      pts[nPts] = new Coordinate(pts[0]);
+      Polygon poly = geomFact.createPolygon(pts);
+      polys.add(poly);
+    }
+    return polys;
+  }
+}
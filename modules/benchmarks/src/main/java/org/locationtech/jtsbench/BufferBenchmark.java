@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jtsbench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.noding.ParallelMCIndexNoder;
+import org.locationtech.jts.operation.buffer.BufferContext;
+import org.locationtech.jts.operation.buffer.BufferOp;
+import org.locationtech.jts.operation.buffer.ParallelBufferOp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link BufferOp} on points, lines and polygons.
+ * 
+ * @author Martin Davis
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BufferBenchmark 
+{
+  @Param({ "1000", "10000" })
+  public int numPts;
+  
+  private Geometry point;
+  private Geometry line;
+  private Geometry poly;
+  private Geometry multiLine;
+  private Geometry shortLine;
+  private Geometry segment;
+  private BufferContext bufCtx = new BufferContext();
+  
+  @Setup
+  public void setup() {
+    point = BenchmarkData.getFactory().createPoint(new Coordinate(10, 10));
+    line = BenchmarkData.randomWalk(numPts, 10);
+    poly = BenchmarkData.sineStar(new Coordinate(0, 0), 100, numPts, 10);
+    GeometryFactory fact = BenchmarkData.getFactory();
+    Polygon[] polys = GeometryFactory.toPolygonArray(
+        BenchmarkData.randomPolygons(numPts / 20, 1000, 20, 20));
+    multiLine = fact.createMultiPolygon(polys).getBoundary();
+    shortLine = BenchmarkData.randomWalk(5, 10);
+    segment = BenchmarkData.randomWalk(2, 10);
+  }
+  
+  @Benchmark
+  public Geometry bufferPoint() {
+    return BufferOp.bufferOp(point, 10);
+  }
+  
+  @Benchmark
+  public Geometry bufferPointContext() {
+    return bufCtx.buffer(point, 10);
+  }
+  
+  @Benchmark
+  public Geometry bufferSegment() {
+    return BufferOp.bufferOp(segment, 2);
+  }
+  
+  @Benchmark
+  public Geometry bufferShortLine() {
+    return BufferOp.bufferOp(shortLine, 2);
+  }
+  
+  @Benchmark
+  public Geometry bufferShortLineContext() {
+    return bufCtx.buffer(shortLine, 2);
+  }
+  
+  @Benchmark
+  public Geometry bufferLine() {
+    return BufferOp.bufferOp(line, 2);
+  }
+  
+  @Benchmark
+  public Geometry bufferLineParallelNoder() {
+    BufferOp op = new BufferOp(line);
+    op.setNoder(new ParallelMCIndexNoder(line.getPrecisionModel()));
+    return op.getResultGeometry(2);
+  }
+  
+  @Benchmark
+  public Geometry bufferMultiLine() {
+    return BufferOp.bufferOp(multiLine, 2);
+  }
+  
+  @Benchmark
+  public Geometry bufferMultiLineParallel() {
+    return ParallelBufferOp.bufferOp(multiLine, 2);
+  }
+  
+  @Benchmark
+  public Geometry bufferPolygon() {
+    return BufferOp.bufferOp(poly, 5);
+  }
+  
+  @Benchmark
+  public Geometry bufferPolygonNegative() {
+    return BufferOp.bufferOp(poly, -2);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jtsbench;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.operation.union.CascadedPolygonUnion;
+import org.locationtech.jts.operation.union.PartitionedPolygonUnion;
+import org.locationtech.jts.operation.union.StreamingPolygonUnion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link CascadedPolygonUnion} on a grid of overlapping circles,
+ * both serially and in parallel using the common fork/join pool,
+ * {@link StreamingPolygonUnion} adding the circles in grid order,
+ * and {@link PartitionedPolygonUnion} using the common fork/join pool.
+ * 
+ * @author Martin Davis
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CascadedPolygonUnionBenchmark 
+{
+  /**
+   * The number of circles along each side of the grid.
+   */
+  @Param({ "10", "40" })
+  public int gridSide;
+  
+  private List<Geometry> polys;
+  
+  @Setup
+  public void setup() {
+    polys = BenchmarkData.circleGrid(gridSide, 40);
+  }
+  
+  @Benchmark
+  public Geometry union() {
+    return CascadedPolygonUnion.union(polys);
+  }
+  
+  @Benchmark
+  public Geometry unionParallel() {
+    return CascadedPolygonUnion.union(polys, ForkJoinPool.commonPool());
+  }
+  
+  @Benchmark
+  public Geometry unionStreaming() {
+    StreamingPolygonUnion union = new StreamingPolygonUnion();
+    union.addAll(polys);
+    return union.finish();
+  }
+  
+  @Benchmark
+  public Geometry unionPartitioned() {
+    return PartitionedPolygonUnion.union(polys);
+  }
+}
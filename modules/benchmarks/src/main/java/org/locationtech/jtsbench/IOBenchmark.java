@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jtsbench;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBBufferReader;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.io.WKTWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks reading and writing geometries in WKB and WKT format.
+ * 
+ * @author Martin Davis
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IOBenchmark 
+{
+  @Param({ "100", "10000" })
+  public int numPts;
+  
+  private Geometry geom;
+  private byte[] wkb;
+  private ByteBuffer wkbDirect;
+  private String wkt;
+  
+  @Setup
+  public void setup() {
+    geom = BenchmarkData.sineStar(new Coordinate(0, 0), 100, numPts, 10);
+    wkb = new WKBWriter().write(geom);
+    wkbDirect = ByteBuffer.allocateDirect(wkb.length);
+    wkbDirect.put(wkb);
+    wkt = new WKTWriter().write(geom);
+  }
+  
+  @Benchmark
+  public Geometry readWKB() throws ParseException {
+    return new WKBReader().read(wkb);
+  }
+  
+  @Benchmark
+  public Geometry readWKBBuffer() throws ParseException {
+    return new WKBBufferReader().read(ByteBuffer.wrap(wkb));
+  }
+  
+  @Benchmark
+  public Geometry readWKBDirectBuffer() throws ParseException {
+    wkbDirect.rewind();
+    return new WKBBufferReader().read(wkbDirect);
+  }
+  
+  @Benchmark
+  public Geometry readWKT() throws ParseException {
+    return new WKTReader().read(wkt);
+  }
+  
+  @Benchmark
+  public byte[] writeWKB() {
+    return new WKBWriter().write(geom);
+  }
+  
+  @Benchmark
+  public ByteBuffer writeWKBDirectBuffer() {
+    wkbDirect.clear();
+    new WKBWriter().write(geom, wkbDirect);
+    return wkbDirect;
+  }
+  
+  @Benchmark
+  public String writeWKT() {
+    return new WKTWriter().write(geom);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jtsbench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.operation.overlay.OverlayOp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link OverlayOp} on two overlapping sine stars.
+ * 
+ * @author Martin Davis
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OverlayBenchmark 
+{
+  @Param({ "1000", "10000" })
+  public int numPts;
+  
+  private Geometry a;
+  private Geometry b;
+  
+  @Setup
+  public void setup() {
+    a = BenchmarkData.sineStar(new Coordinate(0, 0), 100, numPts, 10);
+    b = BenchmarkData.sineStar(new Coordinate(20, 10), 100, numPts, 13);
+  }
+  
+  @Benchmark
+  public Geometry intersection() {
+    return OverlayOp.overlayOp(a, b, OverlayOp.INTERSECTION);
+  }
+  
+  @Benchmark
+  public Geometry union() {
+    return OverlayOp.overlayOp(a, b, OverlayOp.UNION);
+  }
+  
+  @Benchmark
+  public Geometry difference() {
+    return OverlayOp.overlayOp(a, b, OverlayOp.DIFFERENCE);
+  }
+  
+  @Benchmark
+  public Geometry symDifference() {
+    return OverlayOp.overlayOp(a, b, OverlayOp.SYMDIFFERENCE);
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jtsbench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.algorithm.locate.GridPointInAreaLocator;
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.algorithm.locate.PointOnGeometryLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link IndexedPointInAreaLocator} and {@link GridPointInAreaLocator}
+ * locating a batch of random points against a sine star polygon.
+ * 
+ * @author Martin Davis
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointInAreaBenchmark 
+{
+  private static final int NUM_QUERY_PTS = 100000;
+  
+  @Param({ "1000", "100000" })
+  public int numPts;
+  
+  private Geometry area;
+  private Coordinate[] queryPts;
+  private IndexedPointInAreaLocator locator;
+  private GridPointInAreaLocator gridLocator;
+  private double[] queryOrds;
+  private int[] queryLocs;
+  
+  @Setup
+  public void setup() {
+    area = BenchmarkData.sineStar(new Coordinate(0, 0), 100, numPts, 50);
+    queryPts = BenchmarkData.randomCoordinates(area.getEnvelopeInternal(), NUM_QUERY_PTS);
+    locator = new IndexedPointInAreaLocator(area);
+    // force the index to be built before measuring
+    locator.locate(queryPts[0]);
+    gridLocator = new GridPointInAreaLocator(area);
+    queryOrds = new double[2 * NUM_QUERY_PTS];
+    for (int i = 0; i < NUM_QUERY_PTS; i++) {
+      queryOrds[2 * i] = queryPts[i].x;
+      queryOrds[2 * i + 1] = queryPts[i].y;
+    }
+    queryLocs = new int[NUM_QUERY_PTS];
+  }
+  
+  @Benchmark
+  public void locate(Blackhole bh) {
+    for (int i = 0; i < queryPts.length; i++) {
+      bh.consume(locator.locate(queryPts[i]));
+    }
+  }
+  
+  @Benchmark
+  public int[] locateBatch() {
+    locator.locate(queryOrds, queryLocs);
+    return queryLocs;
+  }
+  
+  @Benchmark
+  public void locateGrid(Blackhole bh) {
+    for (int i = 0; i < queryPts.length; i++) {
+      bh.consume(gridLocator.locate(queryPts[i]));
+    }
+  }
+  
+  @Benchmark
+  public int[] locateGridBatch() {
+    gridLocator.locate(queryOrds, queryLocs);
+    return queryLocs;
+  }
+  
+  @Benchmark
+  public int buildGridAndLocate() {
+    GridPointInAreaLocator loc = new GridPointInAreaLocator(area);
+    return loc.locate(queryPts[0]);
+  }
+  
+  @Benchmark
+  public int buildAndLocate() {
+    PointOnGeometryLocator loc = new IndexedPointInAreaLocator(area);
+    return loc.locate(queryPts[0]);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jtsbench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryCache;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks testing points against a set of polygons
+ * chosen at random for each point,
+ * using a {@link PreparedGeometryCache}
+ * compared to preparing the polygon for each test.
+ *
+ * @author Martin Davis
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PreparedGeometryCacheBenchmark
+{
+  private static final double EXTENT = 10000;
+  private static final int NUM_QUERIES = 10000;
+  private static final int NUM_POLY_PTS = 1000;
+
+  @Param({ "100" })
+  public int numPolys;
+
+  private List<Geometry> polys;
+  private Geometry[] queryPolys;
+  private Geometry[] queryPts;
+  private PreparedGeometryCache cache;
+
+  @Setup
+  public void setup() {
+    polys = BenchmarkData.randomPolygons(numPolys, EXTENT, 500, NUM_POLY_PTS);
+    Random rnd = new Random(BenchmarkData.SEED);
+    queryPolys = new Geometry[NUM_QUERIES];
+    queryPts = new Geometry[NUM_QUERIES];
+    for (int i = 0; i < NUM_QUERIES; i++) {
+      Geometry poly = polys.get(rnd.nextInt(numPolys));
+      Envelope env = poly.getEnvelopeInternal();
+      Coordinate pt = new Coordinate(env.getMinX() + env.getWidth() * rnd.nextDouble(),
+          env.getMinY() + env.getHeight() * rnd.nextDouble());
+      queryPolys[i] = poly;
+      queryPts[i] = BenchmarkData.getFactory().createPoint(pt);
+    }
+    // large enough to hold all the polygons
+    cache = new PreparedGeometryCache(2 * numPolys * NUM_POLY_PTS);
+  }
+
+  @Benchmark
+  public void containsCached(Blackhole bh) {
+    for (int i = 0; i < NUM_QUERIES; i++) {
+      bh.consume(cache.get(queryPolys[i]).contains(queryPts[i]));
+    }
+  }
+
+  @Benchmark
+  public void containsPreparedEachTime(Blackhole bh) {
+    for (int i = 0; i < NUM_QUERIES; i++) {
+      bh.consume(PreparedGeometryFactory.prepare(queryPolys[i]).contains(queryPts[i]));
+    }
+  }
+}
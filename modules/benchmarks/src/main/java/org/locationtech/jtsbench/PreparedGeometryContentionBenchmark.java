@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jtsbench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the throughput of many threads evaluating predicates
+ * against a single shared {@link PreparedGeometry}
+ * (as in a geofencing service with a few hot polygons).
+ * This measures contention on the lazily-created structures
+ * of the prepared geometry.
+ *
+ * @author Martin Davis
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class PreparedGeometryContentionBenchmark
+{
+  private static final int NUM_FEATURES = 1000;
+
+  @State(Scope.Benchmark)
+  public static class Target
+  {
+    PreparedGeometry prep;
+    List<Geometry> polygons;
+    List<Geometry> points;
+
+    @Setup
+    public void setup() {
+      Geometry target = BenchmarkData.sineStar(new Coordinate(50, 50), 100, 1000, 10);
+      prep = PreparedGeometryFactory.prepare(target);
+      polygons = BenchmarkData.randomPolygons(NUM_FEATURES, 100, 5, 20);
+      points = new ArrayList<Geometry>();
+      Coordinate[] pts = BenchmarkData.randomCoordinates(target.getEnvelopeInternal(), NUM_FEATURES);
+      for (Coordinate p : pts) {
+        points.add(target.getFactory().createPoint(p));
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor
+  {
+    int index = 0;
+
+    int next() {
+      index = (index + 1) % NUM_FEATURES;
+      return index;
+    }
+  }
+
+  @Benchmark
+  public boolean intersectsPolygon(Target t, Cursor c) {
+    return t.prep.intersects(t.polygons.get(c.next()));
+  }
+
+  @Benchmark
+  public boolean containsPoint(Target t, Cursor c) {
+    return t.prep.contains(t.points.get(c.next()));
+  }
+
+  @Benchmark
+  public boolean touchesPolygon(Target t, Cursor c) {
+    return t.prep.touches(t.polygons.get(c.next()));
+  }
+}
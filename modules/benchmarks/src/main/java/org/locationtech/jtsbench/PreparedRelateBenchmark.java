@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jtsbench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks relating a large polygon to many small polygons
+ * (as in checking topology rules across a layer),
+ * using a {@link PreparedGeometry} compared to the {@link Geometry} methods.
+ *
+ * @author Martin Davis
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PreparedRelateBenchmark
+{
+  private static final int NUM_FEATURES = 1000;
+
+  @Param({ "1000", "10000" })
+  public int numPts;
+
+  private Geometry target;
+  private PreparedGeometry prep;
+  private List<Geometry> features;
+
+  @Setup
+  public void setup() {
+    target = BenchmarkData.sineStar(new Coordinate(50, 50), 100, numPts, 10);
+    prep = PreparedGeometryFactory.prepare(target);
+    features = BenchmarkData.randomPolygons(NUM_FEATURES, 100, 5, 20);
+  }
+
+  @Benchmark
+  public void touches(Blackhole bh) {
+    for (Geometry g : features) {
+      bh.consume(target.touches(g));
+    }
+  }
+
+  @Benchmark
+  public void touchesPrepared(Blackhole bh) {
+    for (Geometry g : features) {
+      bh.consume(prep.touches(g));
+    }
+  }
+
+  @Benchmark
+  public void relatePattern(Blackhole bh) {
+    for (Geometry g : features) {
+      bh.consume(target.relate(g, "T*T***T**"));
+    }
+  }
+
+  @Benchmark
+  public void relatePatternPrepared(Blackhole bh) {
+    for (Geometry g : features) {
+      bh.consume(prep.relate(g, "T*T***T**"));
+    }
+  }
+}
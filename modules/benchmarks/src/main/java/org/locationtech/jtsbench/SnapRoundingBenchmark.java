@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jtsbench;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.noding.NodedSegmentString;
+import org.locationtech.jts.noding.Noder;
+import org.locationtech.jts.noding.snapround.MCIndexSnapRounder;
+import org.locationtech.jts.noding.snapround.SnapRoundingNoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks snap-rounding noders on a self-intersecting random walk.
+ * 
+ * @author Martin Davis
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapRoundingBenchmark 
+{
+  @Param({ "1000", "10000" })
+  public int numPts;
+  
+  private PrecisionModel pm = new PrecisionModel(1);
+  private Coordinate[] pts;
+  
+  @Setup
+  public void setup() {
+    pts = BenchmarkData.randomWalk(numPts, 10).getCoordinates();
+    for (int i = 0; i < pts.length; i++) {
+      pm.makePrecise(pts[i]);
+    }
+  }
+  
+  @Benchmark
+  public Collection mcIndexSnapRounder() {
+    return node(new MCIndexSnapRounder(pm));
+  }
+  
+  @Benchmark
+  public Collection snapRoundingNoder() {
+    return node(new SnapRoundingNoder(pm));
+  }
+  
+  private Collection node(Noder noder) {
+    List<NodedSegmentString> segStrings = new ArrayList<NodedSegmentString>();
+    segStrings.add(new NodedSegmentString(pts, null));
+    noder.computeNodes(segStrings);
+    return noder.getNodedSubstrings();
+  }
+}
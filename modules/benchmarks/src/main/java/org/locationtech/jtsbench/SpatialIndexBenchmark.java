@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jtsbench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.BatchItemVisitor;
+import org.locationtech.jts.index.BatchSpatialIndex;
+import org.locationtech.jts.index.ItemVisitor;
+import org.locationtech.jts.index.SpatialIndex;
+import org.locationtech.jts.index.hprtree.HPRtree;
+import org.locationtech.jts.index.strtree.PackedSTRtree;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks building and querying the 
+ * {@link STRtree}, {@link PackedSTRtree} and {@link HPRtree} spatial indexes.
+ * <p>
+ * The query benchmarks run a fixed batch of small random query envelopes
+ * against the index, and so report the time per batch.
+ * The batch query benchmarks run the same queries using 
+ * {@link BatchSpatialIndex#query(Envelope[], BatchItemVisitor)}.
+ * 
+ * @author Martin Davis
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpatialIndexBenchmark 
+{
+  private static final double EXTENT = 1000;
+  private static final int NUM_QUERIES = 1000;
+  
+  @Param({ "10000", "1000000" })
+  public int size;
+  
+  private Envelope[] itemEnvs;
+  private Envelope[] queryEnvs;
+  private STRtree strTree;
+  private HPRtree hprTree;
+  private PackedSTRtree packedTree;
+  
+  @Setup
+  public void setup() {
+    double itemSize = 2 * EXTENT / Math.sqrt(size);
+    itemEnvs = BenchmarkData.randomEnvelopes(size, EXTENT, itemSize, BenchmarkData.SEED);
+    queryEnvs = BenchmarkData.randomEnvelopes(NUM_QUERIES, EXTENT, 4 * itemSize, BenchmarkData.SEED + 1);
+    
+    strTree = new STRtree();
+    load(strTree);
+    strTree.build();
+    
+    hprTree = new HPRtree();
+    load(hprTree);
+    hprTree.build();
+    
+    packedTree = new PackedSTRtree();
+    load(packedTree);
+    packedTree.build();
+  }
+  
+  private void load(SpatialIndex index) {
+    for (int i = 0; i < itemEnvs.length; i++) {
+      index.insert(itemEnvs[i], itemEnvs[i]);
+    }
+  }
+  
+  private static void runQueries(SpatialIndex index, Envelope[] queryEnvs, Blackhole bh) {
+    ItemVisitor visitor = new ItemVisitor() {
+      public void visitItem(Object item) {
+        bh.consume(item);
+      }
+    };
+    for (int i = 0; i < queryEnvs.length; i++) {
+      index.query(queryEnvs[i], visitor);
+    }
+  }
+  
+  private static void runBatchQuery(BatchSpatialIndex index, Envelope[] queryEnvs, Blackhole bh) {
+    BatchItemVisitor visitor = new BatchItemVisitor() {
+      public void visitItem(int queryIndex, Object item) {
+        bh.consume(item);
+      }
+    };
+    index.query(queryEnvs, visitor);
+  }
+  
+  @Benchmark
+  public void batchQueryHPRtree(Blackhole bh) {
+    runBatchQuery(hprTree, queryEnvs, bh);
+  }
+  
+  @Benchmark
+  public void batchQuerySTRtree(Blackhole bh) {
+    runBatchQuery(strTree, queryEnvs, bh);
+  }
+  
+  @Benchmark
+  public void batchQueryPackedSTRtree(Blackhole bh) {
+    runBatchQuery(packedTree, queryEnvs, bh);
+  }
+  
+  @Benchmark
+  public void queryHPRtree(Blackhole bh) {
+    runQueries(hprTree, queryEnvs, bh);
+  }
+  
+  @Benchmark
+  public void querySTRtree(Blackhole bh) {
+    runQueries(strTree, queryEnvs, bh);
+  }
+  
+  @Benchmark
+  public void queryPackedSTRtree(Blackhole bh) {
+    runQueries(packedTree, queryEnvs, bh);
+  }
+  
+  @Benchmark
+  public HPRtree buildHPRtree() {
+    HPRtree tree = new HPRtree();
+    load(tree);
+    tree.build();
+    return tree;
+  }
+  
+  @Benchmark
+  public HPRtree buildHPRtreeParallel() {
+    HPRtree tree = new HPRtree();
+    load(tree);
+    tree.buildParallel();
+    return tree;
+  }
+  
+  @Benchmark
+  public STRtree buildSTRtree() {
+    STRtree tree = new STRtree();
+    load(tree);
+    tree.build();
+    return tree;
+  }
+  
+  @Benchmark
+  public PackedSTRtree buildPackedSTRtree() {
+    PackedSTRtree tree = new PackedSTRtree();
+    load(tree);
+    tree.build();
+    return tree;
+  }
+}
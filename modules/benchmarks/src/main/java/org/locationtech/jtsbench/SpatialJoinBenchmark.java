@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jtsbench;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.operation.join.JoinVisitor;
+import org.locationtech.jts.operation.join.SpatialJoin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link SpatialJoin} joining random polygons
+ * and random points with the intersects predicate,
+ * compared to a hand-coded loop over an {@link STRtree}
+ * testing each candidate with a {@link PreparedGeometry}.
+ *
+ * @author Martin Davis
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpatialJoinBenchmark
+{
+  private static final double EXTENT = 10000;
+
+  @Param({ "1000" })
+  public int numPolys;
+
+  @Param({ "100000" })
+  public int numPts;
+
+  private List<Geometry> polys;
+  private List<Geometry> pts;
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setup() {
+    polys = BenchmarkData.randomPolygons(numPolys, EXTENT, 500, 50);
+    Coordinate[] coords = BenchmarkData.randomCoordinates(new Envelope(0, EXTENT, 0, EXTENT), numPts);
+    pts = new ArrayList<Geometry>();
+    for (int i = 0; i < coords.length; i++) {
+      pts.add(BenchmarkData.getFactory().createPoint(coords[i]));
+    }
+    pool = new ForkJoinPool();
+  }
+
+  @Benchmark
+  public void joinIndexLoop(Blackhole bh) {
+    STRtree tree = new STRtree();
+    for (Geometry pt : pts) {
+      tree.insert(pt.getEnvelopeInternal(), pt);
+    }
+    for (Geometry poly : polys) {
+      PreparedGeometry prep = PreparedGeometryFactory.prepare(poly);
+      List cands = tree.query(poly.getEnvelopeInternal());
+      for (Iterator it = cands.iterator(); it.hasNext(); ) {
+        Geometry pt = (Geometry) it.next();
+        if (prep.intersects(pt))
+          bh.consume(pt);
+      }
+    }
+  }
+
+  @Benchmark
+  public void join(Blackhole bh) {
+    runJoin(new SpatialJoin(polys, pts, SpatialJoin.INTERSECTS), bh);
+  }
+
+  @Benchmark
+  public void joinParallel(Blackhole bh) {
+    SpatialJoin join = new SpatialJoin(polys, pts, SpatialJoin.INTERSECTS);
+    join.setForkJoinPool(pool);
+    runJoin(join, bh);
+  }
+
+  private static void runJoin(SpatialJoin join, final Blackhole bh) {
+    join.join(new JoinVisitor() {
+      public void visit(int indexA, Geometry geomA, int indexB, Geometry geomB) {
+        bh.consume(geomB);
+      }
+    });
+  }
+}
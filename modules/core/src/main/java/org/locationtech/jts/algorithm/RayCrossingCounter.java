@@ -103,6 +103,20 @@ public class RayCrossingCounter
 	{
 		this.p = p;
 	}
+
+	/**
+	 * Resets this counter to test a new point.
+	 * This allows a counter to be reused to locate many points
+	 * without creating a new counter for each one.
+	 * 
+	 * @param p the point to test
+	 */
+	public void reset(Coordinate p)
+	{
+		this.p = p;
+		crossingCount = 0;
+		isPointOnSegment = false;
+	}
 	
 	/**
 	 * Counts a segment
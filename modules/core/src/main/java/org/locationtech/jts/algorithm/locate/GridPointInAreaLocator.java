@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.algorithm.locate;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.util.LinearComponentExtracter;
+
+/**
+ * Determines the {@link Location} of points relative to
+ * an areal geometry, using a grid over the geometry extent
+ * in addition to an {@link IndexedPointInAreaLocator}.
+ * This is suitable for locating very large numbers of points
+ * against a given area.
+ * <p>
+ * Each grid cell records whether the geometry boundary
+ * may pass through it.
+ * Points in cells which the boundary does not touch
+ * are located in constant time,
+ * using the location of the whole cell
+ * (which is computed when the grid is built).
+ * Points in boundary cells, and only those,
+ * are located using the {@link IndexedPointInAreaLocator}.
+ * Cells are marked conservatively,
+ * so the locations computed are identical to those of
+ * {@link IndexedPointInAreaLocator}.
+ * <p>
+ * By default the grid resolution is chosen from the number of segments
+ * of the geometry, so that the boundary cells are a small fraction of the grid.
+ * The resolution can also be specified as an approximate number of cells.
+ * <p>
+ * Batches of points can be located using {@link #locate(double[], int[])},
+ * which avoids creating a {@link Coordinate} for every point.
+ * <p>
+ * {@link Polygonal} and {@link LinearRing} geometries
+ * are supported.
+ * <p>
+ * Thread-safe and immutable.
+ *
+ * @author Martin Davis
+ *
+ * @see IndexedPointInAreaLocator
+ */
+public class GridPointInAreaLocator
+  implements PointOnGeometryLocator
+{
+  /**
+   * The maximum number of cells in the default grid.
+   */
+  private static final int MAX_DEFAULT_CELLS = 1 << 20;
+
+  /**
+   * The number of cells per segment in the default grid.
+   */
+  private static final int CELLS_PER_SEGMENT = 16;
+
+  /**
+   * The fraction of a cell by which segments are expanded
+   * when marking the cells they cross, to allow for round-off.
+   */
+  private static final double CELL_TOLERANCE = 0.01;
+
+  private final IndexedPointInAreaLocator locator;
+  private final Envelope extent;
+  private int numCellsX;
+  private int numCellsY;
+  private double cellWidth;
+  private double cellHeight;
+  /**
+   * The location of each cell, in row order.
+   * Cells which the boundary may cross are {@link Location#BOUNDARY}.
+   */
+  private byte[] cellLoc;
+
+  /**
+   * Creates a new locator for a given {@link Geometry},
+   * with a grid resolution determined by the number of segments of the geometry.
+   *
+   * @param g the Geometry to locate in
+   */
+  public GridPointInAreaLocator(Geometry g)
+  {
+    this(g, defaultNumCells(g));
+  }
+
+  /**
+   * Creates a new locator for a given {@link Geometry},
+   * with a grid of approximately the given number of cells.
+   * The cells are approximately square.
+   *
+   * @param g the Geometry to locate in
+   * @param numCells the approximate number of grid cells
+   */
+  public GridPointInAreaLocator(Geometry g, int numCells)
+  {
+    if (numCells < 1)
+      throw new IllegalArgumentException("Number of cells must be positive");
+    locator = new IndexedPointInAreaLocator(g);
+    extent = g.getEnvelopeInternal();
+    if (g.isEmpty()) return;
+    initGrid(numCells);
+    markBoundaryCells(g);
+    computeCellLocations();
+  }
+
+  private static int defaultNumCells(Geometry g)
+  {
+    long n = (long) CELLS_PER_SEGMENT * g.getNumPoints();
+    return (int) Math.max(1, Math.min(n, MAX_DEFAULT_CELLS));
+  }
+
+  private void initGrid(int numCells)
+  {
+    double width = extent.getWidth();
+    double height = extent.getHeight();
+    if (width == 0 || height == 0) {
+      // a zero-area extent is spanned by a single row or column
+      numCellsX = width == 0 ? 1 : numCells;
+      numCellsY = height == 0 ? 1 : numCells;
+    }
+    else {
+      double cellSize = Math.sqrt(width * height / numCells);
+      numCellsX = (int) Math.max(1, Math.min(numCells, Math.ceil(width / cellSize)));
+      numCellsY = (int) Math.max(1, Math.min(numCells / numCellsX, Math.ceil(height / cellSize)));
+    }
+    cellWidth = width / numCellsX;
+    cellHeight = height / numCellsY;
+    cellLoc = new byte[numCellsX * numCellsY];
+    for (int i = 0; i < cellLoc.length; i++) {
+      cellLoc[i] = (byte) Location.NONE;
+    }
+  }
+
+  private int cellX(double x)
+  {
+    if (cellWidth == 0) return 0;
+    int i = (int) ((x - extent.getMinX()) / cellWidth);
+    if (i < 0) return 0;
+    if (i >= numCellsX) return numCellsX - 1;
+    return i;
+  }
+
+  private int cellY(double y)
+  {
+    if (cellHeight == 0) return 0;
+    int i = (int) ((y - extent.getMinY()) / cellHeight);
+    if (i < 0) return 0;
+    if (i >= numCellsY) return numCellsY - 1;
+    return i;
+  }
+
+  private void markBoundaryCells(Geometry g)
+  {
+    List lines = LinearComponentExtracter.getLines(g);
+    for (Iterator i = lines.iterator(); i.hasNext(); ) {
+      LineString line = (LineString) i.next();
+      Coordinate[] pts = line.getCoordinates();
+      for (int j = 1; j < pts.length; j++) {
+        markSegment(pts[j - 1], pts[j]);
+      }
+    }
+  }
+
+  /**
+   * Marks the cells which a segment may cross.
+   * For each column spanned by the segment,
+   * the rows spanned by the part of the segment
+   * in the column (expanded by a tolerance) are marked.
+   */
+  private void markSegment(Coordinate p0, Coordinate p1)
+  {
+    double tolX = CELL_TOLERANCE * cellWidth;
+    double tolY = CELL_TOLERANCE * cellHeight;
+    double minX = Math.min(p0.x, p1.x);
+    double maxX = Math.max(p0.x, p1.x);
+    int col0 = cellX(minX - tolX);
+    int col1 = cellX(maxX + tolX);
+    for (int col = col0; col <= col1; col++) {
+      double x0 = Math.max(minX, extent.getMinX() + col * cellWidth - tolX);
+      double x1 = Math.min(maxX, extent.getMinX() + (col + 1) * cellWidth + tolX);
+      double y0;
+      double y1;
+      if (p0.x == p1.x) {
+        y0 = p0.y;
+        y1 = p1.y;
+      }
+      else {
+        y0 = interpolateY(p0, p1, x0);
+        y1 = interpolateY(p0, p1, x1);
+      }
+      int row0 = cellY(Math.min(y0, y1) - tolY);
+      int row1 = cellY(Math.max(y0, y1) + tolY);
+      for (int row = row0; row <= row1; row++) {
+        cellLoc[row * numCellsX + col] = (byte) Location.BOUNDARY;
+      }
+    }
+  }
+
+  private static double interpolateY(Coordinate p0, Coordinate p1, double x)
+  {
+    double frac = (x - p0.x) / (p1.x - p0.x);
+    return p0.y + frac * (p1.y - p0.y);
+  }
+
+  /**
+   * Computes the location of the cells not crossed by the boundary.
+   * Adjacent cells which are not crossed have the same location,
+   * so only the first cell of each run in a row needs to be located.
+   */
+  private void computeCellLocations()
+  {
+    Coordinate pt = new Coordinate();
+    for (int row = 0; row < numCellsY; row++) {
+      int loc = Location.NONE;
+      for (int col = 0; col < numCellsX; col++) {
+        int index = row * numCellsX + col;
+        if (cellLoc[index] == Location.BOUNDARY) {
+          loc = Location.NONE;
+          continue;
+        }
+        if (loc == Location.NONE) {
+          pt.x = extent.getMinX() + (col + 0.5) * cellWidth;
+          pt.y = extent.getMinY() + (row + 0.5) * cellHeight;
+          loc = locator.locate(pt);
+        }
+        cellLoc[index] = (byte) loc;
+      }
+    }
+  }
+
+  /**
+   * Determines the {@link Location} of a point in an areal {@link Geometry}.
+   *
+   * @param p the point to test
+   * @return the location of the point in the geometry
+   */
+  public int locate(Coordinate p)
+  {
+    int loc = locateInGrid(p.x, p.y);
+    if (loc != Location.BOUNDARY)
+      return loc;
+    return locator.locate(p);
+  }
+
+  /**
+   * Determines the {@link Location} of a point in an areal {@link Geometry}.
+   *
+   * @param x the X ordinate of the point to test
+   * @param y the Y ordinate of the point to test
+   * @return the location of the point in the geometry
+   */
+  public int locate(double x, double y)
+  {
+    int loc = locateInGrid(x, y);
+    if (loc != Location.BOUNDARY)
+      return loc;
+    return locator.locate(new Coordinate(x, y));
+  }
+
+  /**
+   * Determines the {@link Location}s of a batch of points
+   * in an areal {@link Geometry}.
+   * The points are given as an array of X,Y ordinate pairs.
+   *
+   * @param xy the ordinates of the points to test, with the X and Y ordinates of point i
+   * at index 2i and 2i + 1
+   * @param locs an array to receive the location of each point
+   * (of length at least half that of the ordinate array)
+   */
+  public void locate(double[] xy, int[] locs)
+  {
+    IndexedPointInAreaLocator.checkResultLength(xy.length / 2, locs.length);
+    Coordinate pt = new Coordinate();
+    for (int i = 0; i < xy.length / 2; i++) {
+      double x = xy[2 * i];
+      double y = xy[2 * i + 1];
+      int loc = locateInGrid(x, y);
+      if (loc == Location.BOUNDARY) {
+        pt.x = x;
+        pt.y = y;
+        loc = locator.locate(pt);
+      }
+      locs[i] = loc;
+    }
+  }
+
+  /**
+   * Gets the location of the grid cell containing a point.
+   *
+   * @return the location of the cell,
+   * or {@link Location#BOUNDARY} if the point must be located with the index
+   */
+  private int locateInGrid(double x, double y)
+  {
+    if (cellLoc == null || ! extent.intersects(x, y))
+      return Location.EXTERIOR;
+    return cellLoc[cellY(y) * numCellsX + cellX(x)];
+  }
+}
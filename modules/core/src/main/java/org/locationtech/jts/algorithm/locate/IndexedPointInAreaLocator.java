@@ -17,6 +17,7 @@ import java.util.List;
 
 import org.locationtech.jts.algorithm.RayCrossingCounter;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LineSegment;
 import org.locationtech.jts.geom.LineString;
@@ -88,6 +89,89 @@ public class IndexedPointInAreaLocator
     return rcc.getLocation();
   }
   
+  /**
+   * Determines the {@link Location}s of a sequence of points
+   * in an areal {@link Geometry}.
+   * The ray crossing counter and index visitor are reused for all the points,
+   * so no objects are created for each point.
+   * 
+   * @param pts the points to test
+   * @param locs an array to receive the location of each point
+   */
+  public void locate(CoordinateSequence pts, int[] locs)
+  {
+    checkResultLength(pts.size(), locs.length);
+    Coordinate p = new Coordinate();
+    RayCrossingCounter rcc = new RayCrossingCounter(p);
+    SegmentVisitor visitor = new SegmentVisitor(rcc);
+    for (int i = 0; i < pts.size(); i++) {
+      p.x = pts.getX(i);
+      p.y = pts.getY(i);
+      locs[i] = locate(p, rcc, visitor);
+    }
+  }
+  
+  /**
+   * Determines the {@link Location}s of a batch of points
+   * in an areal {@link Geometry}.
+   * The points are given as an array of X,Y ordinate pairs.
+   * The ray crossing counter and index visitor are reused for all the points,
+   * so no objects are created for each point.
+   * 
+   * @param xy the ordinates of the points to test, with the X and Y ordinates of point i
+   * at index 2i and 2i + 1
+   * @param locs an array to receive the location of each point
+   */
+  public void locate(double[] xy, int[] locs)
+  {
+    checkResultLength(xy.length / 2, locs.length);
+    Coordinate p = new Coordinate();
+    RayCrossingCounter rcc = new RayCrossingCounter(p);
+    SegmentVisitor visitor = new SegmentVisitor(rcc);
+    for (int i = 0; i < xy.length / 2; i++) {
+      p.x = xy[2 * i];
+      p.y = xy[2 * i + 1];
+      locs[i] = locate(p, rcc, visitor);
+    }
+  }
+  
+  /**
+   * Tests whether each of a batch of points intersects an areal {@link Geometry}
+   * (i.e. lies in its interior or on its boundary).
+   * The points are given as an array of X,Y ordinate pairs.
+   * As for {@link #locate(double[], int[])}, 
+   * no objects are created for each point.
+   * 
+   * @param xy the ordinates of the points to test, with the X and Y ordinates of point i
+   * at index 2i and 2i + 1
+   * @param result an array to receive the result for each point
+   */
+  public void intersects(double[] xy, boolean[] result)
+  {
+    checkResultLength(xy.length / 2, result.length);
+    Coordinate p = new Coordinate();
+    RayCrossingCounter rcc = new RayCrossingCounter(p);
+    SegmentVisitor visitor = new SegmentVisitor(rcc);
+    for (int i = 0; i < xy.length / 2; i++) {
+      p.x = xy[2 * i];
+      p.y = xy[2 * i + 1];
+      result[i] = locate(p, rcc, visitor) != Location.EXTERIOR;
+    }
+  }
+  
+  private int locate(Coordinate p, RayCrossingCounter rcc, SegmentVisitor visitor)
+  {
+    rcc.reset(p);
+    index.query(p.y, p.y, visitor);
+    return rcc.getLocation();
+  }
+  
+  static void checkResultLength(int numPts, int resultLength)
+  {
+    if (resultLength < numPts)
+      throw new IllegalArgumentException("Result array is too short");
+  }
+  
   private static class SegmentVisitor
     implements ItemVisitor
   {
@@ -13,8 +13,9 @@ package org.locationtech.jts.algorithm.locate;
 
 import java.util.Iterator;
 
-import org.locationtech.jts.algorithm.PointLocation;
+import org.locationtech.jts.algorithm.RayCrossingCounter;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
 import org.locationtech.jts.geom.GeometryCollectionIterator;
@@ -36,7 +37,9 @@ import org.locationtech.jts.geom.Polygonal;
  * Instance methods are provided to implement
  * the interface {@link PointInAreaLocator}.
  * However, they provide no performance
- * advantage over the class methods.
+ * advantage over the class methods,
+ * apart from the batch methods
+ * which reuse a single {@link RayCrossingCounter} for all points.
  * <p>
  * This algorithm is suitable for use in cases where
  * only a few points will be tested.
@@ -71,7 +74,7 @@ public class SimplePointInAreaLocator
     if (! geom.getEnvelopeInternal().intersects(p))
       return Location.EXTERIOR;
     
-    return locateInGeometry(p, geom);
+    return locateInGeometry(p, geom, new RayCrossingCounter(p));
   }
 
   /**
@@ -90,10 +93,10 @@ public class SimplePointInAreaLocator
     return Location.EXTERIOR != locate(p, geom);
   }
   
-  private static int locateInGeometry(Coordinate p, Geometry geom)
+  private static int locateInGeometry(Coordinate p, Geometry geom, RayCrossingCounter counter)
   {
     if (geom instanceof Polygon) {
-      return locatePointInPolygon(p, (Polygon) geom);
+      return locatePointInPolygon(p, (Polygon) geom, counter);
     }
     
     if (geom instanceof GeometryCollection) {
@@ -101,7 +104,7 @@ public class SimplePointInAreaLocator
       while (geomi.hasNext()) {
         Geometry g2 = (Geometry) geomi.next();
         if (g2 != geom) {
-          int loc = locateInGeometry(p, g2);
+          int loc = locateInGeometry(p, g2, counter);
           if (loc != Location.EXTERIOR) return loc;
         }
       }
@@ -127,16 +130,21 @@ public class SimplePointInAreaLocator
    *
    */
   public static int locatePointInPolygon(Coordinate p, Polygon poly)
+  {
+    return locatePointInPolygon(p, poly, new RayCrossingCounter(p));
+  }
+
+  private static int locatePointInPolygon(Coordinate p, Polygon poly, RayCrossingCounter counter)
   {
     if (poly.isEmpty()) return Location.EXTERIOR;
     LinearRing shell = poly.getExteriorRing();
-    int shellLoc = locatePointInRing(p, shell);
+    int shellLoc = locatePointInRing(p, shell, counter);
     if (shellLoc != Location.INTERIOR) return shellLoc;
     
     // now test if the point lies in or on the holes
     for (int i = 0; i < poly.getNumInteriorRing(); i++) {
       LinearRing hole = poly.getInteriorRingN(i);
-      int holeLoc = locatePointInRing(p, hole);
+      int holeLoc = locatePointInRing(p, hole, counter);
       if (holeLoc == Location.BOUNDARY) return Location.BOUNDARY;
       if (holeLoc == Location.INTERIOR) return Location.EXTERIOR;
       // if in EXTERIOR of this hole keep checking the other ones
@@ -164,14 +172,22 @@ public class SimplePointInAreaLocator
    * 
    * @param p the point to test
    * @param ring a linear ring
+   * @param counter the counter to use, which is reset for the point
    * @return true if the point lies inside the ring
    */
-  private static int locatePointInRing(Coordinate p, LinearRing ring)
+  private static int locatePointInRing(Coordinate p, LinearRing ring, RayCrossingCounter counter)
   {
   	// short-circuit if point is not in ring envelope
   	if (! ring.getEnvelopeInternal().intersects(p))
   		return Location.EXTERIOR;
-  	return PointLocation.locateInRing(p, ring.getCoordinates());
+  	counter.reset(p);
+  	Coordinate[] pts = ring.getCoordinates();
+  	for (int i = 1; i < pts.length; i++) {
+  	  counter.countSegment(pts[i], pts[i - 1]);
+  	  if (counter.isOnSegment())
+  	    return counter.getLocation();
+  	}
+  	return counter.getLocation();
   }
 
 	private Geometry geom;
@@ -202,4 +218,54 @@ public class SimplePointInAreaLocator
 		return SimplePointInAreaLocator.locate(p, geom);
 	}
 
+  /**
+   * Determines the {@link Location}s of a sequence of points
+   * in an areal {@link Geometry}.
+   * A single {@link RayCrossingCounter} is used for all the points.
+   * 
+   * @param pts the points to test
+   * @param locs an array to receive the location of each point
+   */
+  public void locate(CoordinateSequence pts, int[] locs)
+  {
+    IndexedPointInAreaLocator.checkResultLength(pts.size(), locs.length);
+    Coordinate p = new Coordinate();
+    RayCrossingCounter counter = new RayCrossingCounter(p);
+    for (int i = 0; i < pts.size(); i++) {
+      p.x = pts.getX(i);
+      p.y = pts.getY(i);
+      locs[i] = locate(p, counter);
+    }
+  }
+
+  /**
+   * Determines the {@link Location}s of a batch of points
+   * in an areal {@link Geometry}.
+   * The points are given as an array of X,Y ordinate pairs.
+   * A single {@link RayCrossingCounter} is used for all the points.
+   * 
+   * @param xy the ordinates of the points to test, with the X and Y ordinates of point i
+   * at index 2i and 2i + 1
+   * @param locs an array to receive the location of each point
+   */
+  public void locate(double[] xy, int[] locs)
+  {
+    IndexedPointInAreaLocator.checkResultLength(xy.length / 2, locs.length);
+    Coordinate p = new Coordinate();
+    RayCrossingCounter counter = new RayCrossingCounter(p);
+    for (int i = 0; i < xy.length / 2; i++) {
+      p.x = xy[2 * i];
+      p.y = xy[2 * i + 1];
+      locs[i] = locate(p, counter);
+    }
+  }
+
+  private int locate(Coordinate p, RayCrossingCounter counter)
+  {
+    if (geom.isEmpty()) return Location.EXTERIOR;
+    if (! geom.getEnvelopeInternal().intersects(p))
+      return Location.EXTERIOR;
+    return locateInGeometry(p, geom, counter);
+  }
+
 }
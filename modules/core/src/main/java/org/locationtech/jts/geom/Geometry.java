@@ -30,6 +30,7 @@ import org.locationtech.jts.operation.overlay.snap.SnapIfNeededOverlayOp;
 import org.locationtech.jts.operation.predicate.RectangleContains;
 import org.locationtech.jts.operation.predicate.RectangleIntersects;
 import org.locationtech.jts.operation.relate.RelateOp;
+import org.locationtech.jts.operation.relate.RelatePredicate;
 import org.locationtech.jts.operation.union.UnaryUnionOp;
 import org.locationtech.jts.operation.valid.IsValidOp;
 import org.locationtech.jts.util.Assert;
@@ -687,7 +688,7 @@ public abstract class Geometry
     // short-circuit test
     if (! getEnvelopeInternal().intersects(g.getEnvelopeInternal()))
       return false;
-    return relate(g).isTouches(getDimension(), g.getDimension());
+    return relate(g, RelatePredicate.touches(getDimension(), g.getDimension()));
   }
 
   /**
@@ -753,7 +754,7 @@ public abstract class Geometry
       return false;
     }
     // general case
-    return relate(g).isIntersects();
+    return relate(g, RelatePredicate.intersects());
   }
 
   /**
@@ -784,7 +785,7 @@ public abstract class Geometry
     // short-circuit test
     if (! getEnvelopeInternal().intersects(g.getEnvelopeInternal()))
       return false;
-    return relate(g).isCrosses(getDimension(), g.getDimension());
+    return relate(g, RelatePredicate.crosses(getDimension(), g.getDimension()));
   }
 
   /**
@@ -865,7 +866,7 @@ public abstract class Geometry
       return RectangleContains.contains((Polygon) this, g);
     }
     // general case
-    return relate(g).isContains();
+    return relate(g, RelatePredicate.contains());
   }
 
   /**
@@ -893,7 +894,7 @@ public abstract class Geometry
     // short-circuit test
     if (! getEnvelopeInternal().intersects(g.getEnvelopeInternal()))
       return false;
-    return relate(g).isOverlaps(getDimension(), g.getDimension());
+    return relate(g, RelatePredicate.overlaps(getDimension(), g.getDimension()));
   }
 
   /**
@@ -948,7 +949,7 @@ public abstract class Geometry
     	// since we have already tested that the test envelope is covered
       return true;
     }
-    return relate(g).isCovers();
+    return relate(g, RelatePredicate.covers());
   }
 
   /**
@@ -1008,7 +1009,7 @@ public abstract class Geometry
    * @see IntersectionMatrix
    */
   public boolean relate(Geometry g, String intersectionPattern) {
-    return relate(g).matches(intersectionPattern);
+    return relate(g, RelatePredicate.matches(intersectionPattern));
   }
 
   /**
@@ -1024,6 +1025,16 @@ public abstract class Geometry
     return RelateOp.relate(this, g);
   }
 
+  /**
+   * Evaluates a spatial predicate for this geometry and another,
+   * computing the DE-9IM matrix only as far as needed to determine the value.
+   */
+  private boolean relate(Geometry g, RelatePredicate predicate) {
+    checkNotGeometryCollection(this);
+    checkNotGeometryCollection(g);
+    return RelateOp.relate(this, g, predicate);
+  }
+
   /**
   * Tests whether this geometry is
   * topologically equal to the argument geometry.
@@ -18,13 +18,19 @@ import org.locationtech.jts.algorithm.PointLocator;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.IntersectionMatrix;
 import org.locationtech.jts.geom.util.ComponentCoordinateExtracter;
+import org.locationtech.jts.operation.relate.PreparedRelate;
+import org.locationtech.jts.operation.relate.RelatePredicate;
 
 
 /**
  * A base class for {@link PreparedGeometry} subclasses.
- * Contains default implementations for methods, which simply delegate
- * to the equivalent {@link Geometry} methods.
+ * Contains default implementations for methods.
+ * Predicates which require the full topological relationship
+ * are evaluated by a {@link PreparedRelate}, which caches the
+ * graph, edge index and point locator of the base geometry;
+ * other methods simply delegate to the equivalent {@link Geometry} methods.
  * This class may be used as a "no-op" class for Geometry types
  * which do not have a corresponding {@link PreparedGeometry} implementation.
  * 
@@ -36,6 +42,12 @@ class BasicPreparedGeometry
 {
   private final Geometry baseGeom;
   private final List representativePts;  // List<Coordinate>
+  /**
+   * Created lazily, since it is expensive.
+   * Volatile so that once created it is safely published 
+   * and can be read without locking.
+   */
+  private volatile PreparedRelate relate = null;
 
   public BasicPreparedGeometry(Geometry geom) 
   {
@@ -79,6 +91,58 @@ class BasicPreparedGeometry
 		return false;
 	}
 
+  /**
+   * Gets the prepared relate operation for this geometry.
+   * 
+   * @return the prepared relate operation
+   */
+  protected PreparedRelate getRelate()
+  {
+    // fast path - avoids locking once the relate operation is created
+    PreparedRelate rel = relate;
+    if (rel != null) return rel;
+    synchronized (this) {
+      if (relate == null)
+        relate = new PreparedRelate(baseGeom);
+      return relate;
+    }
+  }
+
+  /**
+   * Creates the indexes used by the optimized predicates.
+   * This class has none; subclasses override this to create their own.
+   * The prepared relate operation is not created,
+   * since it is only needed by the DE-9IM predicates
+   * (use {@link #prepareRelate()} to create it).
+   */
+  public void prepareAll()
+  {
+  }
+
+  /**
+   * Creates the prepared relate operation used by the DE-9IM predicates
+   * (unless the geometry is a GeometryCollection, which it does not support).
+   * This builds a self-noded graph of the geometry,
+   * so it is only worth calling when those predicates will be evaluated.
+   */
+  public void prepareRelate()
+  {
+    if (baseGeom.getClass() != GeometryCollection.class)
+      getRelate();
+  }
+
+  /**
+   * Evaluates a predicate using the prepared relate operation.
+   * 
+   * @param g a Geometry
+   * @param predicate the predicate to evaluate
+   * @return the value of the predicate
+   */
+  protected boolean relate(Geometry g, RelatePredicate predicate)
+  {
+    return getRelate().evaluate(g, predicate);
+  }
+
   /**
    * Determines whether a Geometry g interacts with 
    * this geometry by testing the geometry envelopes.
@@ -113,7 +177,15 @@ class BasicPreparedGeometry
    */
   public boolean contains(Geometry g)
   {
-    return baseGeom.contains(g);
+    // optimization - lower dimension cannot contain areas
+    if (g.getDimension() == 2 && baseGeom.getDimension() < 2)
+      return false;
+    // optimization - P cannot contain a non-zero-length L
+    if (g.getDimension() == 1 && baseGeom.getDimension() < 1 && g.getLength() > 0.0)
+      return false;
+    if (! envelopeCovers(g))
+      return false;
+    return relate(g, RelatePredicate.contains());
   }
 
   /**
@@ -128,7 +200,7 @@ class BasicPreparedGeometry
       return false;
   	
     // otherwise, compute using relate mask
-    return baseGeom.relate(g, "T**FF*FF*");
+    return relate(g, RelatePredicate.matches("T**FF*FF*"));
   }
 
   /**
@@ -136,7 +208,15 @@ class BasicPreparedGeometry
    */
   public boolean coveredBy(Geometry g)
   {
-    return baseGeom.coveredBy(g);
+    // optimization - lower dimension cannot cover areas
+    if (baseGeom.getDimension() == 2 && g.getDimension() < 2)
+      return false;
+    // optimization - P cannot cover a non-zero-length L
+    if (baseGeom.getDimension() == 1 && g.getDimension() < 1 && baseGeom.getLength() > 0.0)
+      return false;
+    if (! g.getEnvelopeInternal().covers(baseGeom.getEnvelopeInternal()))
+      return false;
+    return relate(g, RelatePredicate.coveredBy());
   }
 
   /**
@@ -144,7 +224,15 @@ class BasicPreparedGeometry
    */
   public boolean covers(Geometry g)
   {
-    return baseGeom.covers(g);
+    // optimization - lower dimension cannot cover areas
+    if (g.getDimension() == 2 && baseGeom.getDimension() < 2)
+      return false;
+    // optimization - P cannot cover a non-zero-length L
+    if (g.getDimension() == 1 && baseGeom.getDimension() < 1 && g.getLength() > 0.0)
+      return false;
+    if (! envelopeCovers(g))
+      return false;
+    return relate(g, RelatePredicate.covers());
   }
 
   /**
@@ -152,7 +240,9 @@ class BasicPreparedGeometry
    */
   public boolean crosses(Geometry g)
   {
-    return baseGeom.crosses(g);
+    if (! envelopesIntersect(g))
+      return false;
+    return relate(g, RelatePredicate.crosses(baseGeom.getDimension(), g.getDimension()));
   }
   
   /**
@@ -177,7 +267,9 @@ class BasicPreparedGeometry
    */
   public boolean overlaps(Geometry g)
   {
-    return baseGeom.overlaps(g);
+    if (! envelopesIntersect(g))
+      return false;
+    return relate(g, RelatePredicate.overlaps(baseGeom.getDimension(), g.getDimension()));
   }
   
   /**
@@ -185,7 +277,9 @@ class BasicPreparedGeometry
    */
   public boolean touches(Geometry g)
   {
-    return baseGeom.touches(g);
+    if (! envelopesIntersect(g))
+      return false;
+    return relate(g, RelatePredicate.touches(baseGeom.getDimension(), g.getDimension()));
   }
   
   /**
@@ -193,7 +287,31 @@ class BasicPreparedGeometry
    */
   public boolean within(Geometry g)
   {
-    return baseGeom.within(g);
+    // optimization - areas cannot be within a lower dimension
+    if (baseGeom.getDimension() == 2 && g.getDimension() < 2)
+      return false;
+    // optimization - a non-zero-length L cannot be within a P
+    if (baseGeom.getDimension() == 1 && g.getDimension() < 1 && baseGeom.getLength() > 0.0)
+      return false;
+    if (! g.getEnvelopeInternal().covers(baseGeom.getEnvelopeInternal()))
+      return false;
+    return relate(g, RelatePredicate.within());
+  }
+
+  /**
+   * Default implementation.
+   */
+  public IntersectionMatrix relate(Geometry g)
+  {
+    return getRelate().relate(g);
+  }
+
+  /**
+   * Default implementation.
+   */
+  public boolean relate(Geometry g, String intersectionPattern)
+  {
+    return getRelate().relate(g, intersectionPattern);
   }
   
   public String toString()
@@ -13,6 +13,7 @@ package org.locationtech.jts.geom.prep;
 
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.IntersectionMatrix;
 
 /**
  * An interface for classes which prepare {@link Geometry}s 
@@ -44,6 +45,16 @@ public interface PreparedGeometry
 	 */
 	Geometry getGeometry();
 
+	/**
+	 * Creates all the structures used to optimize the predicates
+	 * of this prepared geometry.
+	 * By default these are created lazily when first needed.
+	 * Calling this method in advance allows the cost of creating them
+	 * to be paid before the geometry is used (e.g. by many threads).
+	 * The default implementation does nothing.
+	 */
+	default void prepareAll() {}
+
 	/**
 	 * Tests whether the base {@link Geometry} contains a given geometry.
 	 * 
@@ -149,6 +160,35 @@ public interface PreparedGeometry
 	 */
 	boolean overlaps(Geometry geom);
 
+	/**
+	 * Computes the DE-9IM {@link IntersectionMatrix} of the base {@link Geometry}
+	 * and a given geometry.
+	 * 
+	 * @param geom the Geometry to test
+	 * @return the intersection matrix of this Geometry and the given Geometry
+	 * 
+	 * @see Geometry#relate(Geometry)
+	 */
+	default IntersectionMatrix relate(Geometry geom)
+	{
+		return getGeometry().relate(geom);
+	}
+
+	/**
+	 * Tests whether the DE-9IM {@link IntersectionMatrix} of the base {@link Geometry}
+	 * and a given geometry matches a pattern.
+	 * 
+	 * @param geom the Geometry to test
+	 * @param intersectionPattern the pattern against which to check the intersection matrix
+	 * @return true if the intersection matrix matches the pattern
+	 * 
+	 * @see Geometry#relate(Geometry, String)
+	 */
+	default boolean relate(Geometry geom, String intersectionPattern)
+	{
+		return getGeometry().relate(geom, intersectionPattern);
+	}
+
 	/**
 	 * Tests whether the base {@link Geometry} touches a given geometry.
 	 * 
@@ -0,0 +1,456 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.prep;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * A cache of {@link PreparedGeometry}s, keyed by the identity of the geometry they prepare.
+ * This allows code which repeatedly evaluates predicates against the same geometries
+ * (e.g. testing points against a set of administrative areas)
+ * to reuse the indexes built by the prepared geometries,
+ * without having to manage their lifetimes.
+ * <p>
+ * Geometries are keyed by object identity, not by value,
+ * since testing geometries for equality is expensive.
+ * A geometry must not be modified while it is in the cache.
+ * <p>
+ * The memory used by the cache is bounded by the total number of vertices
+ * of the cached geometries, which approximates the size of the indexes
+ * built by the prepared geometries.
+ * When the bound is exceeded the least-recently-used geometries are evicted.
+ * <p>
+ * The cache is thread-safe, and allows concurrent access
+ * by dividing the entries into segments with separate locks
+ * (the same approach used by <code>ConcurrentHashMap</code>).
+ * Each segment keeps its entries in LRU order,
+ * and each access records a stamp from a cache-wide counter.
+ * An eviction removes the segment head with the oldest stamp,
+ * so entries are evicted in LRU order over the whole cache
+ * (only approximately when other threads access the cache during an eviction).
+ * A geometry with more vertices than the bound
+ * is cached only until another geometry is added.
+ * The prepared geometries created are themselves thread-safe.
+ * <p>
+ * Optionally the cache records statistics of hits, misses and evictions.
+ *
+ * <pre>
+ * PreparedGeometryCache cache = new PreparedGeometryCache(1000000);
+ * ...
+ * boolean isInside = cache.get(area).contains(pt);
+ * </pre>
+ *
+ * @author Martin Davis
+ *
+ */
+public class PreparedGeometryCache
+{
+  private static final int NUM_SEGMENTS = 16;
+
+  private Segment[] segments;
+  private long maxVertices;
+  private AtomicLong numVertices = new AtomicLong();
+  // the source of access stamps, which order accesses over all segments
+  private AtomicLong clock = new AtomicLong();
+  private boolean isRecordingStats;
+  private PreparedGeometryFactory prepFact = new PreparedGeometryFactory();
+
+  /**
+   * Creates a new cache holding geometries
+   * with at most the given total number of vertices.
+   *
+   * @param maxVertices the maximum total number of vertices of the cached geometries
+   */
+  public PreparedGeometryCache(long maxVertices)
+  {
+    this(maxVertices, false);
+  }
+
+  /**
+   * Creates a new cache holding geometries
+   * with at most the given total number of vertices,
+   * optionally recording statistics.
+   *
+   * @param maxVertices the maximum total number of vertices of the cached geometries
+   * @param isRecordingStats true if hits, misses and evictions should be counted
+   */
+  public PreparedGeometryCache(long maxVertices, boolean isRecordingStats)
+  {
+    this(maxVertices, isRecordingStats, NUM_SEGMENTS);
+  }
+
+  /**
+   * Creates a new cache with a given number of segments.
+   *
+   * @param maxVertices the maximum total number of vertices of the cached geometries
+   * @param isRecordingStats true if hits, misses and evictions should be counted
+   * @param numSegments the number of segments (a power of 2)
+   */
+  PreparedGeometryCache(long maxVertices, boolean isRecordingStats, int numSegments)
+  {
+    if (maxVertices < 1)
+      throw new IllegalArgumentException("Maximum number of vertices must be positive");
+    this.maxVertices = maxVertices;
+    this.isRecordingStats = isRecordingStats;
+    segments = new Segment[numSegments];
+    for (int i = 0; i < numSegments; i++) {
+      segments[i] = new Segment();
+    }
+  }
+
+  /**
+   * Gets the prepared geometry for a geometry,
+   * preparing and caching it if it is not already cached.
+   * The geometry is prepared outside any lock,
+   * so if several threads request an uncached geometry at the same time
+   * it may be prepared more than once,
+   * but only one prepared geometry is cached.
+   *
+   * @param geom the geometry to prepare
+   * @return the prepared geometry
+   */
+  public PreparedGeometry get(Geometry geom)
+  {
+    IdentityKey key = new IdentityKey(geom);
+    Segment seg = segment(key);
+    PreparedGeometry prep = seg.get(key, clock, isRecordingStats);
+    if (prep != null)
+      return prep;
+    prep = prepFact.create(geom);
+    int weight = weight(geom);
+    PreparedGeometry cached = seg.put(key, prep, weight, clock);
+    if (cached == prep) {
+      numVertices.addAndGet(weight);
+      evict(key);
+    }
+    return cached;
+  }
+
+  /**
+   * Evicts least-recently-used entries until the cache is within its bound.
+   * Each eviction removes the segment head with the oldest access stamp.
+   * The entry just added is never evicted.
+   */
+  private void evict(IdentityKey added)
+  {
+    while (numVertices.get() > maxVertices) {
+      Segment oldest = null;
+      long oldestStamp = Long.MAX_VALUE;
+      for (int i = 0; i < segments.length; i++) {
+        long stamp = segments[i].oldestStamp(added);
+        if (stamp < oldestStamp) {
+          oldestStamp = stamp;
+          oldest = segments[i];
+        }
+      }
+      if (oldest == null)
+        return;
+      // the head may have changed since it was found, which just evicts another old entry
+      numVertices.addAndGet(-oldest.evictOldest(added, isRecordingStats));
+    }
+  }
+
+  /**
+   * Gets the prepared geometry for a geometry if it is cached.
+   * This does not record a hit or a miss.
+   *
+   * @param geom a geometry
+   * @return the cached prepared geometry, or null if the geometry is not cached
+   */
+  public PreparedGeometry getIfPresent(Geometry geom)
+  {
+    IdentityKey key = new IdentityKey(geom);
+    return segment(key).get(key, clock, false);
+  }
+
+  /**
+   * Removes a geometry from the cache, if it is present.
+   *
+   * @param geom the geometry to remove
+   */
+  public void invalidate(Geometry geom)
+  {
+    IdentityKey key = new IdentityKey(geom);
+    numVertices.addAndGet(-segment(key).remove(key));
+  }
+
+  /**
+   * Removes all geometries from the cache.
+   * The statistics are not reset.
+   */
+  public void clear()
+  {
+    for (int i = 0; i < segments.length; i++) {
+      numVertices.addAndGet(-segments[i].clear());
+    }
+  }
+
+  /**
+   * Gets the number of geometries in the cache.
+   *
+   * @return the number of cached geometries
+   */
+  public int size()
+  {
+    int size = 0;
+    for (int i = 0; i < segments.length; i++) {
+      size += segments[i].size();
+    }
+    return size;
+  }
+
+  /**
+   * Gets the total number of vertices of the geometries in the cache.
+   *
+   * @return the number of cached vertices
+   */
+  public long getNumVertices()
+  {
+    return numVertices.get();
+  }
+
+  /**
+   * Tests whether this cache records statistics.
+   *
+   * @return true if statistics are recorded
+   */
+  public boolean isRecordingStats()
+  {
+    return isRecordingStats;
+  }
+
+  /**
+   * Gets the number of requests which found the geometry in the cache.
+   * This is 0 if statistics are not recorded.
+   *
+   * @return the number of cache hits
+   */
+  public long getHitCount()
+  {
+    long n = 0;
+    for (int i = 0; i < segments.length; i++) {
+      n += segments[i].getHitCount();
+    }
+    return n;
+  }
+
+  /**
+   * Gets the number of requests which had to prepare the geometry.
+   * This is 0 if statistics are not recorded.
+   *
+   * @return the number of cache misses
+   */
+  public long getMissCount()
+  {
+    long n = 0;
+    for (int i = 0; i < segments.length; i++) {
+      n += segments[i].getMissCount();
+    }
+    return n;
+  }
+
+  /**
+   * Gets the number of geometries evicted to keep the cache within its bound.
+   * This is 0 if statistics are not recorded.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictionCount()
+  {
+    long n = 0;
+    for (int i = 0; i < segments.length; i++) {
+      n += segments[i].getEvictionCount();
+    }
+    return n;
+  }
+
+  private Segment segment(IdentityKey key)
+  {
+    int h = key.hashCode();
+    h ^= h >>> 16;
+    return segments[h & (segments.length - 1)];
+  }
+
+  private static int weight(Geometry geom)
+  {
+    return Math.max(1, geom.getNumPoints());
+  }
+
+  /**
+   * Wraps a geometry so that it is compared by identity.
+   */
+  private static class IdentityKey
+  {
+    private Geometry geom;
+
+    IdentityKey(Geometry geom)
+    {
+      this.geom = geom;
+    }
+
+    public int hashCode()
+    {
+      return System.identityHashCode(geom);
+    }
+
+    public boolean equals(Object o)
+    {
+      return o instanceof IdentityKey && ((IdentityKey) o).geom == geom;
+    }
+  }
+
+  private static class Entry
+  {
+    PreparedGeometry prep;
+    int weight;
+    // the time of the last access, guarded by the segment lock
+    long stamp;
+
+    Entry(PreparedGeometry prep, int weight)
+    {
+      this.prep = prep;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * A part of the cache with its own lock and LRU order.
+   */
+  private static class Segment
+  {
+    /**
+     * The entries, in access order (least-recently-used first).
+     */
+    private LinkedHashMap map = new LinkedHashMap(16, 0.75f, true);
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * Gets the prepared geometry for a key,
+     * recording an access with a stamp from the clock.
+     */
+    synchronized PreparedGeometry get(IdentityKey key, AtomicLong clock, boolean isRecordingStats)
+    {
+      Entry entry = (Entry) map.get(key);
+      if (entry != null)
+        entry.stamp = clock.incrementAndGet();
+      if (isRecordingStats) {
+        if (entry != null)
+          hitCount++;
+        else
+          missCount++;
+      }
+      return entry == null ? null : entry.prep;
+    }
+
+    /**
+     * Adds an entry, unless the key has been added by another thread.
+     *
+     * @return the prepared geometry in the cache for the key
+     */
+    synchronized PreparedGeometry put(IdentityKey key, PreparedGeometry prep, int weight, AtomicLong clock)
+    {
+      Entry existing = (Entry) map.get(key);
+      if (existing != null) {
+        existing.stamp = clock.incrementAndGet();
+        return existing.prep;
+      }
+      Entry entry = new Entry(prep, weight);
+      entry.stamp = clock.incrementAndGet();
+      map.put(key, entry);
+      return prep;
+    }
+
+    /**
+     * Gets the access stamp of the least-recently-used entry.
+     *
+     * @return the stamp, or Long.MAX_VALUE if there is no entry
+     * or the entry is the given key
+     */
+    synchronized long oldestStamp(IdentityKey keep)
+    {
+      if (map.isEmpty())
+        return Long.MAX_VALUE;
+      Map.Entry lru = (Map.Entry) map.entrySet().iterator().next();
+      if (lru.getKey().equals(keep))
+        return Long.MAX_VALUE;
+      return ((Entry) lru.getValue()).stamp;
+    }
+
+    /**
+     * Removes the least-recently-used entry, unless it is the given key.
+     *
+     * @return the weight of the entry removed, or 0 if none was removed
+     */
+    synchronized int evictOldest(IdentityKey keep, boolean isRecordingStats)
+    {
+      if (map.isEmpty())
+        return 0;
+      Iterator i = map.entrySet().iterator();
+      Map.Entry lru = (Map.Entry) i.next();
+      if (lru.getKey().equals(keep))
+        return 0;
+      i.remove();
+      if (isRecordingStats)
+        evictionCount++;
+      return ((Entry) lru.getValue()).weight;
+    }
+
+    /**
+     * @return the weight of the entry removed, or 0 if the key is not present
+     */
+    synchronized int remove(IdentityKey key)
+    {
+      Entry entry = (Entry) map.remove(key);
+      return entry == null ? 0 : entry.weight;
+    }
+
+    /**
+     * @return the total weight of the entries removed
+     */
+    synchronized long clear()
+    {
+      long weight = 0;
+      for (Iterator i = map.values().iterator(); i.hasNext(); ) {
+        weight += ((Entry) i.next()).weight;
+      }
+      map.clear();
+      return weight;
+    }
+
+    synchronized int size()
+    {
+      return map.size();
+    }
+
+    synchronized long getHitCount()
+    {
+      return hitCount;
+    }
+
+    synchronized long getMissCount()
+    {
+      return missCount;
+    }
+
+    synchronized long getEvictionCount()
+    {
+      return evictionCount;
+    }
+  }
+}
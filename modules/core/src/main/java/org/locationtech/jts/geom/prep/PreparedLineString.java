@@ -20,6 +20,9 @@ import org.locationtech.jts.noding.SegmentStringUtil;
  * A prepared version for {@link Lineal} geometries.
  * <p>
  * Instances of this class are thread-safe.
+ * The index used by the predicates is created lazily when first needed,
+ * without locking once it exists.
+ * It can be created in advance by calling {@link #prepareAll()}.
  * 
  * @author mbdavis
  *
@@ -27,13 +30,18 @@ import org.locationtech.jts.noding.SegmentStringUtil;
 public class PreparedLineString
   extends BasicPreparedGeometry
 {
-  private FastSegmentSetIntersectionFinder segIntFinder = null;
+  /**
+   * Created lazily, since it is expensive.
+   * Volatile so that once created it is safely published 
+   * and can be read without locking.
+   */
+  private volatile FastSegmentSetIntersectionFinder segIntFinder = null;
 
   public PreparedLineString(Lineal line) {
     super((Geometry) line);
   }
 
-  public synchronized FastSegmentSetIntersectionFinder getIntersectionFinder()
+  public FastSegmentSetIntersectionFinder getIntersectionFinder()
   {
   	/**
   	 * MD - Another option would be to use a simple scan for 
@@ -41,9 +49,21 @@ public class PreparedLineString
   	 * However, testing indicates that there is no particular advantage 
   	 * to this approach.
   	 */
-  	if (segIntFinder == null)
-  		segIntFinder = new FastSegmentSetIntersectionFinder(SegmentStringUtil.extractSegmentStrings(getGeometry()));
-    return segIntFinder;
+    // fast path - avoids locking once the finder is created
+    FastSegmentSetIntersectionFinder finder = segIntFinder;
+    if (finder != null) return finder;
+    synchronized (this) {
+      if (segIntFinder == null)
+        segIntFinder = new FastSegmentSetIntersectionFinder(SegmentStringUtil.extractSegmentStrings(getGeometry()));
+      return segIntFinder;
+    }
+  }
+  
+  public void prepareAll()
+  {
+    // the index is never used for an empty geometry
+    if (getGeometry().isEmpty()) return;
+    getIntersectionFinder();
   }
   
   public boolean intersects(Geometry g)
@@ -14,7 +14,10 @@ package org.locationtech.jts.geom.prep;
 
 import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
 import org.locationtech.jts.algorithm.locate.PointOnGeometryLocator;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Location;
 import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.Polygonal;
@@ -30,7 +33,14 @@ import org.locationtech.jts.operation.predicate.RectangleIntersects;
  * This class does <b>not</b> support MultiPolygons which are non-valid 
  * (e.g. with overlapping elements). 
  * <p>
+ * Batches of points can be located or tested for intersection
+ * using the methods which accept a {@link CoordinateSequence}
+ * or an array of X,Y ordinate pairs.
+ * <p>
  * Instances of this class are thread-safe and immutable.
+ * The indexes used by the predicates are created lazily when first needed,
+ * without locking once they exist.
+ * They can be created in advance by calling {@link #prepareAll()}.
  * 
  * @author mbdavis
  *
@@ -39,9 +49,13 @@ public class PreparedPolygon
   extends BasicPreparedGeometry
 {
 	private final boolean isRectangle;
-	// create these lazily, since they are expensive
-	private FastSegmentSetIntersectionFinder segIntFinder = null;
-	private PointOnGeometryLocator pia = null;
+	/**
+	 * These are created lazily, since they are expensive.
+	 * They are volatile so that once created they are safely published 
+	 * and can be read without locking.
+	 */
+	private volatile FastSegmentSetIntersectionFinder segIntFinder = null;
+	private volatile IndexedPointInAreaLocator pia = null;
 
   public PreparedPolygon(Polygonal poly) {
     super((Geometry) poly);
@@ -53,7 +67,7 @@ public class PreparedPolygon
    * 
    * @return the intersection finder
    */
-  public synchronized FastSegmentSetIntersectionFinder getIntersectionFinder()
+  public FastSegmentSetIntersectionFinder getIntersectionFinder()
   {
   	/**
   	 * MD - Another option would be to use a simple scan for 
@@ -61,17 +75,97 @@ public class PreparedPolygon
   	 * However, testing indicates that there is no particular advantage 
   	 * to this approach.
   	 */
-  	if (segIntFinder == null)
-  		segIntFinder = new FastSegmentSetIntersectionFinder(SegmentStringUtil.extractSegmentStrings(getGeometry()));
-  	return segIntFinder;
+    // fast path - avoids locking once the finder is created
+    FastSegmentSetIntersectionFinder finder = segIntFinder;
+    if (finder != null) return finder;
+    synchronized (this) {
+      if (segIntFinder == null)
+        segIntFinder = new FastSegmentSetIntersectionFinder(SegmentStringUtil.extractSegmentStrings(getGeometry()));
+      return segIntFinder;
+    }
+  }
+  
+  public PointOnGeometryLocator getPointLocator()
+  {
+    return getIndexedPointLocator();
+  }
+  
+  private IndexedPointInAreaLocator getIndexedPointLocator()
+  {
+    // fast path - avoids locking once the locator is created
+    IndexedPointInAreaLocator locator = pia;
+    if (locator != null) return locator;
+    synchronized (this) {
+      if (pia == null)
+        pia = new IndexedPointInAreaLocator(getGeometry());
+      return pia;
+    }
+  }
+  
+  /**
+   * Creates the intersection finder and point locator indexes
+   * used by the intersects and containment predicates.
+   * The prepared relate operation is created only on demand
+   * (see {@link #prepareRelate()}).
+   */
+  public void prepareAll()
+  {
+    // the indexes are never used for an empty geometry
+    if (getGeometry().isEmpty()) return;
+    getIntersectionFinder();
+    // the locator index is built when the first point is located
+    getIndexedPointLocator().locate(getGeometry().getCoordinate());
+  }
+  
+  /**
+   * Determines the {@link Location}s of a sequence of points
+   * relative to this geometry.
+   * 
+   * @param pts the points to test
+   * @param locs an array to receive the location of each point
+   */
+  public void locate(CoordinateSequence pts, int[] locs)
+  {
+    getIndexedPointLocator().locate(pts, locs);
+  }
+  
+  /**
+   * Determines the {@link Location}s of a batch of points
+   * relative to this geometry.
+   * The points are given as an array of X,Y ordinate pairs.
+   * 
+   * @param xy the ordinates of the points to test, with the X and Y ordinates of point i
+   * at index 2i and 2i + 1
+   * @param locs an array to receive the location of each point
+   */
+  public void locate(double[] xy, int[] locs)
+  {
+    getIndexedPointLocator().locate(xy, locs);
   }
   
-  public synchronized PointOnGeometryLocator getPointLocator()
+  /**
+   * Tests whether each of a batch of points intersects this geometry
+   * (i.e. lies in its interior or on its boundary).
+   * The points are given as an array of X,Y ordinate pairs.
+   * 
+   * @param xy the ordinates of the points to test, with the X and Y ordinates of point i
+   * at index 2i and 2i + 1
+   * @param result an array to receive the result for each point
+   */
+  public void intersects(double[] xy, boolean[] result)
   {
-  	if (pia == null)
-      pia = new IndexedPointInAreaLocator(getGeometry());
- 		
-    return pia;
+    // optimization for rectangles
+    if (isRectangle) {
+      int numPts = xy.length / 2;
+      if (result.length < numPts)
+        throw new IllegalArgumentException("Result array is too short");
+      Envelope env = getGeometry().getEnvelopeInternal();
+      for (int i = 0; i < numPts; i++) {
+        result[i] = env.intersects(xy[2 * i], xy[2 * i + 1]);
+      }
+      return;
+    }
+    getIndexedPointLocator().intersects(xy, result);
   }
   
   public boolean intersects(Geometry g)
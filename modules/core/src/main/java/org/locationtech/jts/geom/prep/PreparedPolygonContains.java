@@ -13,6 +13,7 @@ package org.locationtech.jts.geom.prep;
 
 
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.operation.relate.RelatePredicate;
 
 /**
  * Computes the <tt>contains</tt> spatial relationship predicate
@@ -73,7 +74,7 @@ class PreparedPolygonContains
 	 */
 	protected boolean fullTopologicalPredicate(Geometry geom)
 	{
-		boolean isContained = prepPoly.getGeometry().contains(geom);
+		boolean isContained = prepPoly.relate(geom, RelatePredicate.contains());
 		return isContained;
 	}
 	
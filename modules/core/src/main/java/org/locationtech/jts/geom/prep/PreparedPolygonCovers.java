@@ -12,6 +12,7 @@
 package org.locationtech.jts.geom.prep;
 
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.operation.relate.RelatePredicate;
 
 /**
  * Computes the <tt>covers</tt> spatial relationship predicate
@@ -73,7 +74,7 @@ class PreparedPolygonCovers
 	 */
 	protected boolean fullTopologicalPredicate(Geometry geom)
 	{
-		boolean result = prepPoly.getGeometry().covers(geom);
+		boolean result = prepPoly.relate(geom, RelatePredicate.covers());
 		return result;
 	}
 	
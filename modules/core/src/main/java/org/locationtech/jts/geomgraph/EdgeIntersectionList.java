@@ -12,10 +12,9 @@
 package org.locationtech.jts.geomgraph;
 
 import java.io.PrintStream;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 
 import org.locationtech.jts.geom.Coordinate;
 
@@ -23,13 +22,25 @@ import org.locationtech.jts.geom.Coordinate;
  * A list of edge intersections along an {@link Edge}.
  * Implements splitting an edge with intersections
  * into multiple resultant edges.
+ * <p>
+ * The intersections are held in a hash table keyed on
+ * their segment index and distance,
+ * and are sorted along the edge only when they are iterated over.
  *
  * @version 1.7
  */
 public class EdgeIntersectionList
 {
-  // a Map <EdgeIntersection, EdgeIntersection>
-  private Map nodeMap = new TreeMap();
+  private static final Comparator EDGE_INTERSECTION_COMPARATOR = new Comparator() {
+    public int compare(Object o1, Object o2) {
+      return ((EdgeIntersection) o1).compareTo(o2);
+    }
+  };
+
+  private OrdinateHashTable nodeMap = new OrdinateHashTable(EDGE_INTERSECTION_COMPARATOR) {
+    protected double keyValue0(Object item) { return ((EdgeIntersection) item).segmentIndex; }
+    protected double keyValue1(Object item) { return ((EdgeIntersection) item).dist; }
+  };
   Edge edge;  // the parent edge
 
   public EdgeIntersectionList(Edge edge)
@@ -44,12 +55,12 @@ public class EdgeIntersectionList
    */
   public EdgeIntersection add(Coordinate intPt, int segmentIndex, double dist)
   {
-    EdgeIntersection eiNew = new EdgeIntersection(intPt, segmentIndex, dist);
-    EdgeIntersection ei = (EdgeIntersection) nodeMap.get(eiNew);
+    EdgeIntersection ei = (EdgeIntersection) nodeMap.find(segmentIndex, dist);
     if (ei != null) {
       return ei;
     }
-    nodeMap.put(eiNew, eiNew);
+    EdgeIntersection eiNew = new EdgeIntersection(intPt, segmentIndex, dist);
+    nodeMap.add(eiNew);
     return eiNew;
   }
 
@@ -68,8 +79,9 @@ public class EdgeIntersectionList
    */
   public boolean isIntersection(Coordinate pt)
   {
-    for (Iterator it = iterator(); it.hasNext(); ) {
-      EdgeIntersection ei = (EdgeIntersection) it.next();
+    // the order of testing does not matter, so avoid sorting
+    for (int i = 0; i < nodeMap.size(); i++) {
+      EdgeIntersection ei = (EdgeIntersection) nodeMap.getItem(i);
       if (ei.coord.equals(pt))
        return true;
     }
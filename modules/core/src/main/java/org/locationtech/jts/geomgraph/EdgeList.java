@@ -17,10 +17,10 @@ package org.locationtech.jts.geomgraph;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.noding.OrientedCoordinateArray;
@@ -36,9 +36,10 @@ public class EdgeList
   private List edges = new ArrayList();
   /**
    * An index of the edges, for fast lookup.
-   *
+   * The edges are only looked up, never iterated in order,
+   * so a hash map is used.
    */
-  private Map ocaMap = new TreeMap();
+  private Map ocaMap = new HashMap();
 
   public EdgeList() {
   }
@@ -62,6 +63,16 @@ public class EdgeList
 
   public List getEdges() { return edges; }
 
+  /**
+   * Removes all edges from the list,
+   * so that it can be reused.
+   */
+  public void clear()
+  {
+    edges.clear();
+    ocaMap.clear();
+  }
+
   /**
    * If there is an edge equal to e already in the list, return it.
    * Otherwise return null.
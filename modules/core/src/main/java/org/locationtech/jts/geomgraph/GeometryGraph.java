@@ -26,6 +26,7 @@ import org.locationtech.jts.algorithm.Orientation;
 import org.locationtech.jts.algorithm.PointLocator;
 import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
 import org.locationtech.jts.algorithm.locate.PointOnGeometryLocator;
+import org.locationtech.jts.algorithm.locate.SimplePointInAreaLocator;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateArrays;
 import org.locationtech.jts.geom.Geometry;
@@ -138,6 +139,41 @@ public class GeometryGraph
     }
   }
 
+  /**
+   * Creates a copy of a graph which can be modified
+   * (e.g. by adding edge intersections and labels)
+   * without affecting the original graph.
+   * The edges of the copy share the coordinates of the original edges,
+   * so copying is cheap relative to building the graph.
+   * The line edge map is not copied.
+   *
+   * @param graph the graph to copy
+   */
+  protected GeometryGraph(GeometryGraph graph)
+  {
+    argIndex = graph.argIndex;
+    parentGeom = graph.parentGeom;
+    boundaryNodeRule = graph.boundaryNodeRule;
+    useBoundaryDeterminationRule = graph.useBoundaryDeterminationRule;
+    hasTooFewPoints = graph.hasTooFewPoints;
+    invalidPoint = graph.invalidPoint;
+    for (Iterator i = graph.edges.iterator(); i.hasNext(); ) {
+      Edge e = (Edge) i.next();
+      Edge copy = new Edge(e.pts, new Label(e.getLabel()));
+      for (Iterator eiIt = e.getEdgeIntersectionList().iterator(); eiIt.hasNext(); ) {
+        EdgeIntersection ei = (EdgeIntersection) eiIt.next();
+        copy.getEdgeIntersectionList().add(ei.coord, ei.segmentIndex, ei.dist);
+      }
+      copy.setIsolated(e.isIsolated());
+      insertEdge(copy);
+    }
+    for (Iterator i = graph.nodes.iterator(); i.hasNext(); ) {
+      Node node = (Node) i.next();
+      Node copy = nodes.addNode(node.getCoordinate());
+      copy.label = new Label(node.getLabel());
+    }
+  }
+
   /**
    * This constructor is used by clients that wish to add Edges explicitly,
    * rather than adding a Geometry.  (An example is BufferOp).
@@ -380,10 +416,7 @@ public class GeometryGraph
     boolean includeProper)
   {
     SegmentIntersector si = new SegmentIntersector(li, includeProper, true);
-    si.setBoundaryNodes(this.getBoundaryNodes(), g.getBoundaryNodes());
-
-    EdgeSetIntersector esi = createEdgeSetIntersector();
-    esi.computeIntersections(edges, g.edges, si);
+    computeEdgeIntersections(g, si);
 /*
 for (Iterator i = g.edges.iterator(); i.hasNext();) {
 Edge e = (Edge) i.next();
@@ -393,6 +426,21 @@ Debug.print(e.getEdgeIntersectionList());
     return si;
   }
 
+  /**
+   * Computes the intersections between the edges of this graph and another graph,
+   * using a given {@link SegmentIntersector}.
+   * The computation stops early if the intersector reports that it is done.
+   *
+   * @param g the graph to intersect with
+   * @param si the SegmentIntersector to use
+   */
+  public void computeEdgeIntersections(GeometryGraph g, SegmentIntersector si)
+  {
+    si.setBoundaryNodes(this.getBoundaryNodes(), g.getBoundaryNodes());
+    EdgeSetIntersector esi = createEdgeSetIntersector();
+    esi.computeIntersections(edges, g.edges, si);
+  }
+
   private void insertPoint(int argIndex, Coordinate coord, int onLocation)
   {
     Node n = nodes.addNode(coord);
@@ -453,6 +501,20 @@ Debug.print(e.getEdgeIntersectionList());
       insertPoint(argIndex, coord, loc);
   }
 
+  /**
+   * Determines the {@link Location} of a point
+   * in the polygonal components of the geometry of this graph,
+   * as computed by {@link SimplePointInAreaLocator}.
+   * Subclasses may override this to use an index.
+   * 
+   * @param pt the point to test
+   * @return the location of the point in the area of the geometry
+   */
+  protected int locateInArea(Coordinate pt)
+  {
+    return SimplePointInAreaLocator.locate(pt, parentGeom);
+  }
+
   // MD - experimental for now
   /**
    * Determines the {@link Location} of the given {@link Coordinate}
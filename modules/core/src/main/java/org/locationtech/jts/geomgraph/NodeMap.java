@@ -18,22 +18,36 @@ package org.locationtech.jts.geomgraph;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.Map;
-import java.util.TreeMap;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Location;
 
 /**
- * A map of nodes, indexed by the coordinate of the node
+ * A map of nodes, indexed by the coordinate of the node.
+ * <p>
+ * Nodes are held in a hash table keyed on the X and Y ordinates
+ * of the node coordinate, so finding and adding nodes takes constant time.
+ * Iteration returns the nodes in coordinate order
+ * (so results computed from the map are deterministic);
+ * the order is computed only when the nodes are iterated over.
+ *
  * @version 1.7
  */
 public class NodeMap
 
 {
-  //Map nodeMap = new HashMap();
-  Map nodeMap = new TreeMap();
+  private static final Comparator NODE_COORDINATE_COMPARATOR = new Comparator() {
+    public int compare(Object o1, Object o2) {
+      return ((Node) o1).getCoordinate().compareTo(((Node) o2).getCoordinate());
+    }
+  };
+
+  OrdinateHashTable nodeMap = new OrdinateHashTable(NODE_COORDINATE_COMPARATOR) {
+    protected double keyValue0(Object item) { return ((Node) item).getCoordinate().x; }
+    protected double keyValue1(Object item) { return ((Node) item).getCoordinate().y; }
+  };
   NodeFactory nodeFact;
 
   public NodeMap(NodeFactory nodeFact) {
@@ -54,19 +68,19 @@ public class NodeMap
    */
   public Node addNode(Coordinate coord)
   {
-    Node node = (Node) nodeMap.get(coord);
+    Node node = find(coord);
     if (node == null) {
       node = nodeFact.createNode(coord);
-      nodeMap.put(coord, node);
+      nodeMap.add(node);
     }
     return node;
   }
 
   public Node addNode(Node n)
   {
-    Node node = (Node) nodeMap.get(n.getCoordinate());
+    Node node = find(n.getCoordinate());
     if (node == null) {
-      nodeMap.put(n.getCoordinate(), n);
+      nodeMap.add(n);
       return n;
     }
     node.mergeLabel(n);
@@ -87,7 +101,7 @@ public class NodeMap
   /**
    * @return the node if found; null otherwise
    */
-  public Node find(Coordinate coord)  {    return (Node) nodeMap.get(coord);  }
+  public Node find(Coordinate coord)  {    return (Node) nodeMap.find(coord.x, coord.y);  }
 
   public Iterator iterator()
   {
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geomgraph;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+
+/**
+ * An open-addressing hash table of items,
+ * each of which is identified by a key made up of two numeric values
+ * (for example the X and Y ordinates of a node coordinate).
+ * Keys are hashed on the bits of their values,
+ * so finding and adding items takes constant time,
+ * rather than the O(log n) comparisons required by a <code>TreeMap</code>.
+ * <p>
+ * The items can be iterated over in the order given by a {@link Comparator}.
+ * The sorted order is computed only when it is requested,
+ * and is cached until another item is added.
+ * The comparator must be consistent with the key values,
+ * so that the iteration order is the same as that of a <code>TreeMap</code>.
+ *
+ * @author Martin Davis
+ *
+ */
+abstract class OrdinateHashTable
+{
+  private static final int INITIAL_CAPACITY = 8;
+
+  private Comparator comparator;
+  /**
+   * The hash table of items, with length a power of 2.
+   * The table is kept at most half full.
+   */
+  private Object[] table = new Object[INITIAL_CAPACITY];
+  /**
+   * The items in order of insertion.
+   */
+  private Object[] items = new Object[INITIAL_CAPACITY / 2];
+  private int size = 0;
+  private Object[] sortedItems = null;
+
+  /**
+   * Creates a new table whose items are iterated in the order
+   * given by a comparator.
+   *
+   * @param comparator the comparator for the items
+   */
+  OrdinateHashTable(Comparator comparator)
+  {
+    this.comparator = comparator;
+  }
+
+  /**
+   * Gets the first key value of an item.
+   */
+  protected abstract double keyValue0(Object item);
+
+  /**
+   * Gets the second key value of an item.
+   */
+  protected abstract double keyValue1(Object item);
+
+  /**
+   * Finds the item with a given key.
+   *
+   * @param v0 the first key value
+   * @param v1 the second key value
+   * @return the item with the key, or null if there is none
+   */
+  public Object find(double v0, double v1)
+  {
+    int mask = table.length - 1;
+    int i = hash(v0, v1) & mask;
+    while (true) {
+      Object item = table[i];
+      if (item == null)
+        return null;
+      if (keyValue0(item) == v0 && keyValue1(item) == v1)
+        return item;
+      i = (i + 1) & mask;
+    }
+  }
+
+  /**
+   * Adds an item, which must not have the same key as any item
+   * already in the table.
+   *
+   * @param item the item to add
+   */
+  public void add(Object item)
+  {
+    if (2 * (size + 1) > table.length) {
+      resize(2 * table.length);
+    }
+    insert(table, item);
+    if (size == items.length) {
+      items = Arrays.copyOf(items, 2 * items.length);
+    }
+    items[size++] = item;
+    sortedItems = null;
+  }
+
+  /**
+   * Gets the number of items in the table.
+   *
+   * @return the number of items
+   */
+  public int size() { return size; }
+
+  /**
+   * Gets an item by its order of insertion.
+   * This can be used when the sorted order is not required.
+   *
+   * @param i the index of the item
+   * @return the item
+   */
+  public Object getItem(int i) { return items[i]; }
+
+  /**
+   * Gets the items in sorted order.
+   *
+   * @return an unmodifiable collection of the items
+   */
+  public Collection values()
+  {
+    return Collections.unmodifiableList(Arrays.asList(getSortedItems()));
+  }
+
+  /**
+   * Gets an iterator over the items in sorted order.
+   *
+   * @return an iterator of the items
+   */
+  public Iterator iterator()
+  {
+    return values().iterator();
+  }
+
+  private Object[] getSortedItems()
+  {
+    // read the field once, so a concurrent reader never sees it as null
+    Object[] sorted = sortedItems;
+    if (sorted == null) {
+      sorted = Arrays.copyOf(items, size);
+      Arrays.sort(sorted, comparator);
+      sortedItems = sorted;
+    }
+    return sorted;
+  }
+
+  private void resize(int capacity)
+  {
+    Object[] newTable = new Object[capacity];
+    for (int i = 0; i < size; i++) {
+      insert(newTable, items[i]);
+    }
+    table = newTable;
+  }
+
+  private void insert(Object[] tbl, Object item)
+  {
+    int mask = tbl.length - 1;
+    int i = hash(keyValue0(item), keyValue1(item)) & mask;
+    while (tbl[i] != null) {
+      i = (i + 1) & mask;
+    }
+    tbl[i] = item;
+  }
+
+  /**
+   * Computes the hash of a key from the bits of its values.
+   * Adding 0.0 makes -0.0 hash the same as 0.0, to which it is equal.
+   */
+  private static int hash(double v0, double v1)
+  {
+    long h = Double.doubleToLongBits(v0 + 0.0) * 0x9E3779B97F4A7C15L
+        + Double.doubleToLongBits(v1 + 0.0);
+    h ^= h >>> 32;
+    h *= 0xC2B2AE3D27D4EB4FL;
+    h ^= h >>> 29;
+    return (int) h;
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.index;
+
+/**
+ * A visitor for the results of a batch query 
+ * against a {@link BatchSpatialIndex}.
+ * Each result is a pair consisting of the index of the query envelope
+ * in the batch, and an item whose extent intersects it.
+ *
+ * @see BatchSpatialIndex
+ */
+public interface BatchItemVisitor
+{
+  /**
+   * Visits an item found by a query in a batch.
+   * 
+   * @param queryIndex the index of the query envelope in the batch
+   * @param item the index item found by the query
+   */
+  void visitItem(int queryIndex, Object item);
+}
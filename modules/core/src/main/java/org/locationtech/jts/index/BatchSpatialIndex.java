@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.index;
+
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A {@link SpatialIndex} which supports querying 
+ * a batch of envelopes in a single operation.
+ * <p>
+ * A batch query is equivalent to querying each envelope in turn,
+ * but the index is traversed only once for a group of queries.
+ * The queries are processed in the order of the Hilbert code 
+ * of their midpoints, so that queries near each other in space 
+ * are grouped together.
+ * This amortizes the cost of traversing the upper levels of the index
+ * and improves memory locality, which is effective for 
+ * large numbers of small queries (e.g. in spatial joins).
+ * <p>
+ * The order in which result pairs are reported is not specified.
+ *
+ * @see BatchItemVisitor
+ */
+public interface BatchSpatialIndex 
+extends SpatialIndex
+{
+  /**
+   * Queries the index with a batch of search envelopes,
+   * and reports each pair of (query index, item) 
+   * where the item extent intersects the search envelope
+   * to a {@link BatchItemVisitor}.
+   * Null search envelopes produce no results.
+   * 
+   * @param searchEnvs the envelopes to query for
+   * @param visitor a visitor to apply to the result pairs
+   */
+  void query(Envelope[] searchEnvs, BatchItemVisitor visitor);
+}
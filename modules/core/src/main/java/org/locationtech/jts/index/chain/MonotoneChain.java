@@ -59,6 +59,15 @@ import org.locationtech.jts.geomgraph.index.MonotoneChainEdge;
  * returned by the query.
  * Queries made in this manner are thread-safe.
  * 
+ * The X and Y ordinates of the chain points are also held in a primitive array.
+ * Because of property 2, the envelope of every section examined by the binary search
+ * is determined by the ordinates of the section endpoints,
+ * so the array provides the envelopes of the chain sections at every level
+ * of the search.
+ * Envelope tests during queries are thus made directly on primitive values,
+ * without creating objects or dereferencing {@link Coordinate}s.
+ * The points must not be modified after the chain is created.
+ * <p>
  * MonotoneChains support being assigned an integer id value
  * to provide a total ordering for a set of chains.
  * This can be used during some kinds of processing to 
@@ -74,6 +83,13 @@ public class MonotoneChain {
   private Envelope env = null;
   private Object context = null;// user-defined information
   private int id;// useful for optimizing chain comparisons
+  /**
+   * The packed X,Y ordinates of the chain points.
+   * The ordinates of point i are at 2 * (i - ordsBase).
+   * The array may be shared with other chains on the same points.
+   */
+  private final double[] ords;
+  private final int ordsBase;
 
   /**
    * Creates a new MonotoneChain based on the given array of points.
@@ -83,11 +99,50 @@ public class MonotoneChain {
    * @param context a user-defined data object
    */
   public MonotoneChain(Coordinate[] pts, int start, int end, Object context)
+  {
+    this(pts, start, end, context, packOrdinates(pts, start, end), start);
+  }
+
+  /**
+   * Creates a new MonotoneChain using ordinates
+   * already packed for the whole array of points.
+   * 
+   * @param ords the packed ordinates of all the points
+   * @see #packOrdinates(Coordinate[], int, int)
+   */
+  MonotoneChain(Coordinate[] pts, int start, int end, Object context, double[] ords)
+  {
+    this(pts, start, end, context, ords, 0);
+  }
+
+  private MonotoneChain(Coordinate[] pts, int start, int end, Object context,
+      double[] ords, int ordsBase)
   {
     this.pts    = pts;
     this.start  = start;
     this.end    = end;
     this.context = context;
+    this.ords = ords;
+    this.ordsBase = ordsBase;
+  }
+
+  /**
+   * Packs the X and Y ordinates of a range of points into an array.
+   * 
+   * @param pts the points
+   * @param start the index of the first point to pack
+   * @param end the index of the last point to pack
+   * @return an array of the ordinates
+   */
+  static double[] packOrdinates(Coordinate[] pts, int start, int end)
+  {
+    double[] ords = new double[2 * (end - start + 1)];
+    int j = 0;
+    for (int i = start; i <= end; i++) {
+      ords[j++] = pts[i].x;
+      ords[j++] = pts[i].y;
+    }
+    return ords;
   }
 
   /**
@@ -189,26 +244,35 @@ public class MonotoneChain {
    */
   public void select(Envelope searchEnv, MonotoneChainSelectAction mcs)
   {
-    computeSelect(searchEnv, start, end, mcs);
+    if (searchEnv.isNull()) {
+      // only a single segment is selected without an envelope test
+      if (end - start == 1) mcs.select(this, start);
+      return;
+    }
+    computeSelect(searchEnv.getMinX(), searchEnv.getMaxX(),
+        searchEnv.getMinY(), searchEnv.getMaxY(), start, end, mcs);
   }
 
   private void computeSelect(
-    Envelope searchEnv,
+    double minx, double maxx, double miny, double maxy,
     int start0, int end0,
     MonotoneChainSelectAction mcs )
   {
-    Coordinate p0 = pts[start0];
-    Coordinate p1 = pts[end0];
-
-//Debug.println("trying:" + p0 + p1 + " [ " + start0 + ", " + end0 + " ]");
     // terminating condition for the recursion
     if (end0 - start0 == 1) {
-      //Debug.println("computeSelect:" + p0 + p1);
       mcs.select(this, start0);
       return;
     }
     // nothing to do if the envelopes don't overlap
-    if (! searchEnv.intersects(p0, p1))
+    int i0 = 2 * (start0 - ordsBase);
+    int i1 = 2 * (end0 - ordsBase);
+    double x0 = ords[i0];
+    double x1 = ords[i1];
+    if (Math.min(x0, x1) > maxx || Math.max(x0, x1) < minx)
+      return;
+    double y0 = ords[i0 + 1];
+    double y1 = ords[i1 + 1];
+    if (Math.min(y0, y1) > maxy || Math.max(y0, y1) < miny)
       return;
 
     // the chains overlap, so split each in half and iterate  (binary search)
@@ -217,10 +281,10 @@ public class MonotoneChain {
     // Assert: mid != start or end (since we checked above for end - start <= 1)
     // check terminating conditions before recursing
     if (start0 < mid) {
-      computeSelect(searchEnv, start0, mid, mcs);
+      computeSelect(minx, maxx, miny, maxy, start0, mid, mcs);
     }
     if (mid < end0) {
-      computeSelect(searchEnv, mid, end0, mcs);
+      computeSelect(minx, maxx, miny, maxy, mid, end0, mcs);
     }
   }
 
@@ -306,7 +370,26 @@ public class MonotoneChain {
       MonotoneChain mc,
       int start1, int end1)
   {
-    return Envelope.intersects(pts[start0], pts[end0], mc.pts[start1], mc.pts[end1]);
+    double[] ords1 = mc.ords;
+    int i00 = 2 * (start0 - ordsBase);
+    int i01 = 2 * (end0 - ordsBase);
+    int i10 = 2 * (start1 - mc.ordsBase);
+    int i11 = 2 * (end1 - mc.ordsBase);
+
+    double p0 = ords[i00];
+    double p1 = ords[i01];
+    double q0 = ords1[i10];
+    double q1 = ords1[i11];
+    if (Math.min(p0, p1) > Math.max(q0, q1)) return false;
+    if (Math.max(p0, p1) < Math.min(q0, q1)) return false;
+
+    p0 = ords[i00 + 1];
+    p1 = ords[i01 + 1];
+    q0 = ords1[i10 + 1];
+    q1 = ords1[i11 + 1];
+    if (Math.min(p0, p1) > Math.max(q0, q1)) return false;
+    if (Math.max(p0, p1) < Math.min(q0, q1)) return false;
+    return true;
   }
 
 }
@@ -49,10 +49,12 @@ public class MonotoneChainBuilder {
   public static List getChains(Coordinate[] pts, Object context)
   {
     List mcList = new ArrayList();
+    // the chains share a single array of the packed ordinates
+    double[] ords = MonotoneChain.packOrdinates(pts, 0, pts.length - 1);
     int chainStart = 0;
     do {
       int chainEnd = findChainEnd(pts, chainStart);
-      MonotoneChain mc = new MonotoneChain(pts, chainStart, chainEnd, context);
+      MonotoneChain mc = new MonotoneChain(pts, chainStart, chainEnd, context, ords);
       mcList.add(mc);
       chainStart = chainEnd;
     } while (chainStart < pts.length -1);
@@ -12,15 +12,16 @@
 package org.locationtech.jts.index.hprtree;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.IntToLongFunction;
 
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.index.ArrayListVisitor;
+import org.locationtech.jts.index.BatchItemVisitor;
+import org.locationtech.jts.index.BatchSpatialIndex;
 import org.locationtech.jts.index.ItemVisitor;
-import org.locationtech.jts.index.SpatialIndex;
 import org.locationtech.jts.index.strtree.STRtree;
 
 /**
@@ -52,6 +53,12 @@ import org.locationtech.jts.index.strtree.STRtree;
  * However, it is not clear whether this 
  * will produce a significant improvement 
  * for use in JTS operations.
+ * <p>
+ * The tree is built lazily on the first query, 
+ * or explicitly via {@link #build()} or {@link #buildParallel()}.
+ * Once built the tree is immutable and safely published, 
+ * so it may be queried concurrently by multiple threads.
+ * Queries on a built tree do not acquire any locks.
  * 
  * @see STRtree
  * 
@@ -60,7 +67,7 @@ import org.locationtech.jts.index.strtree.STRtree;
  *
  */
 public class HPRtree  
-  implements SpatialIndex
+  implements BatchSpatialIndex
 {
   private static final int ENV_SIZE = 4;
 
@@ -68,6 +75,11 @@ public class HPRtree
 
   private static int DEFAULT_NODE_CAPACITY = 16;
   
+  /**
+   * The number of queries in a batch traversal.
+   */
+  private static final int QUERY_BATCH_SIZE = 256;
+  
   private List<Item> items = new ArrayList<Item>();
   
   private int nodeCapacity = DEFAULT_NODE_CAPACITY;
@@ -78,7 +90,12 @@ public class HPRtree
 
   private double[] nodeBounds;
 
-  private boolean isBuilt = false;
+  /**
+   * Volatile to allow lock-free queries once the tree is built.
+   * All tree structure is written before this flag is set,
+   * so reading it as true guarantees visibility of the built tree.
+   */
+  private volatile boolean isBuilt = false;
 
   //public int nodeIntersectsCount;
 
@@ -141,6 +158,91 @@ public class HPRtree
     }
   }
 
+  /**
+   * Queries the tree with a batch of search envelopes.
+   * The queries are processed in Hilbert order, in groups
+   * which are each used to traverse the tree once.
+   * 
+   * @see BatchSpatialIndex
+   */
+  @Override
+  public void query(Envelope[] searchEnvs, BatchItemVisitor visitor) {
+    build();
+    int[] order = HilbertEncoder.sortOrder(searchEnvs);
+    int numLayers = layerStartIndex == null ? 0 : layerStartIndex.length - 1;
+    // a buffer of query indexes for each layer, and one for the batch
+    int[][] queryBuf = new int[numLayers + 1][QUERY_BATCH_SIZE];
+    int[] queries = queryBuf[numLayers];
+    for (int start = 0; start < order.length; start += QUERY_BATCH_SIZE) {
+      int numQueries = 0;
+      int end = Math.min(order.length, start + QUERY_BATCH_SIZE);
+      for (int i = start; i < end; i++) {
+        if (totalExtent.intersects(searchEnvs[order[i]]))
+          queries[numQueries++] = order[i];
+      }
+      if (numQueries == 0) continue;
+      
+      if (layerStartIndex == null) {
+        queryItems(0, searchEnvs, queries, numQueries, visitor);
+      }
+      else {
+        int layerIndex = layerStartIndex.length - 2;
+        int layerSize = layerSize(layerIndex);
+        for (int i = 0; i < layerSize; i += ENV_SIZE) {
+          queryNode(layerIndex, i, searchEnvs, queries, numQueries, queryBuf, visitor);
+        }
+      }
+    }
+  }
+
+  private void queryNode(int layerIndex, int nodeOffset, 
+      Envelope[] searchEnvs, int[] queries, int numQueries, int[][] queryBuf, 
+      BatchItemVisitor visitor) {
+    int nodeIndex = layerStartIndex[layerIndex] + nodeOffset;
+    // find the queries which intersect this node
+    int[] nodeQueries = queryBuf[layerIndex];
+    int numNodeQueries = 0;
+    for (int i = 0; i < numQueries; i++) {
+      if (intersects(nodeIndex, searchEnvs[queries[i]]))
+        nodeQueries[numNodeQueries++] = queries[i];
+    }
+    if (numNodeQueries == 0) return;
+    
+    if (layerIndex == 0) {
+      int childNodesOffset = nodeOffset / ENV_SIZE  * nodeCapacity;
+      queryItems(childNodesOffset, searchEnvs, nodeQueries, numNodeQueries, visitor);
+    }
+    else {
+      int childNodesOffset = nodeOffset * nodeCapacity;
+      int childLayerStart = layerStartIndex[layerIndex - 1];
+      int childLayerEnd = layerStartIndex[layerIndex];
+      for (int i = 0; i < nodeCapacity; i++) {
+        int childOffset = childNodesOffset + ENV_SIZE * i; 
+        // don't query past layer end
+        if (childLayerStart + childOffset >= childLayerEnd) break;
+        queryNode(layerIndex - 1, childOffset, searchEnvs, nodeQueries, numNodeQueries, queryBuf, visitor);
+      }
+    }
+  }
+
+  private void queryItems(int blockStart, 
+      Envelope[] searchEnvs, int[] queries, int numQueries, 
+      BatchItemVisitor visitor) {
+    for (int i = 0; i < nodeCapacity; i++) {
+      int itemIndex = blockStart + i; 
+      // don't query past end of items
+      if (itemIndex >= items.size()) break;
+      
+      Item item = items.get(itemIndex);
+      for (int q = 0; q < numQueries; q++) {
+        int queryIndex = queries[q];
+        if (intersects( item.getEnvelope(), searchEnvs[queryIndex]) ) {
+          visitor.visitItem(queryIndex, item.getItem());
+        }
+      }
+    }    
+  }
+
   private void queryTopLayer(Envelope searchEnv, ItemVisitor visitor) {
     int layerIndex = layerStartIndex.length - 2;
     int layerSize = layerSize(layerIndex);
@@ -230,15 +332,44 @@ public class HPRtree
   
   /**
    * Builds the index, if not already built.
+   * <p>
+   * This method is thread-safe.
+   * Once the tree is built, calling it is cheap and does not lock.
    */
-  public synchronized void build() {
-    // skip if already built
+  public void build() {
+    build(false);
+  }
+
+  /**
+   * Builds the index, if not already built,
+   * using multiple threads to compute the Hilbert codes 
+   * of the items and sort them.
+   * This can reduce the build time significantly for large numbers of items.
+   * The work is executed in the common fork/join pool.
+   * The tree produced is identical to that built by {@link #build()}.
+   * <p>
+   * This method is thread-safe.
+   */
+  public void buildParallel() {
+    build(true);
+  }
+
+  private void build(boolean isParallel) {
+    // fast path - avoids locking once the tree is built
     if (isBuilt) return;
-    isBuilt  = true;
+    synchronized (this) {
+      if (isBuilt) return;
+      buildTree(isParallel);
+      // publishes the tree structure to other threads
+      isBuilt = true;
+    }
+  }
+
+  private void buildTree(boolean isParallel) {
     // don't need to build an empty or very small tree
     if (items.size() <= nodeCapacity) return;
 
-    sortItems();
+    sortItems(isParallel);
     //dumpItems(items);
     
     layerStartIndex = computeLayerIndices(items.size(), nodeCapacity);
@@ -382,25 +513,42 @@ public class HPRtree
     return bounds;
   }
   
-  private void sortItems() {
-    ItemComparator comp = new ItemComparator(new HilbertEncoder(HILBERT_LEVEL, totalExtent));
-    Collections.sort(items, comp);
-  }
-  
-  static class ItemComparator implements Comparator<Item> {
-
-    private HilbertEncoder encoder;
-    
-    public ItemComparator(HilbertEncoder encoder) {
-      this.encoder = encoder;
+  /**
+   * Sorts the items by the Hilbert code of their envelope midpoints.
+   * <p>
+   * The sort keys are packed into a primitive array, 
+   * with the Hilbert code in the high 32 bits 
+   * and the item index in the low 32 bits.
+   * This computes each Hilbert code only once,
+   * allows a fast primitive sort,
+   * and preserves the input order of items with equal codes 
+   * (so that the parallel and serial builds produce identical trees).
+   * 
+   * @param isParallel true if the sort should use multiple threads
+   */
+  private void sortItems(boolean isParallel) {
+    final HilbertEncoder encoder = new HilbertEncoder(HILBERT_LEVEL, totalExtent);
+    final Item[] itemArray = items.toArray(new Item[items.size()]);
+    long[] sortKeys = new long[itemArray.length];
+    IntToLongFunction keyFunction = new IntToLongFunction() {
+      public long applyAsLong(int i) {
+        int hcode = encoder.encode(itemArray[i].getEnvelope());
+        return ((long) hcode << 32) | i;
+      }
+    };
+    if (isParallel) {
+      Arrays.parallelSetAll(sortKeys, keyFunction);
+      Arrays.parallelSort(sortKeys);
     }
-
-    @Override
-    public int compare(Item item1, Item item2) {
-      int hcode1 = encoder.encode(item1.getEnvelope());
-      int hcode2 = encoder.encode(item2.getEnvelope());
-      return Integer.compare(hcode1, hcode2);
+    else {
+      Arrays.setAll(sortKeys, keyFunction);
+      Arrays.sort(sortKeys);
+    }
+    List<Item> sortedItems = new ArrayList<Item>(itemArray.length);
+    for (int i = 0; i < sortKeys.length; i++) {
+      sortedItems.add(itemArray[(int) sortKeys[i]]);
     }
+    items = sortedItems;
   }
 
 }
@@ -11,10 +11,54 @@
  */
 package org.locationtech.jts.index.hprtree;
 
+import java.util.Arrays;
+
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.shape.fractal.HilbertCode;
 
+/**
+ * Encodes the midpoints of envelopes as Hilbert codes,
+ * relative to a given extent and Hilbert curve level.
+ * 
+ * @author Martin Davis
+ *
+ */
 public class HilbertEncoder {
+  
+  private static final int SORT_LEVEL = 12;
+  
+  /**
+   * Computes the order of a set of envelopes along the Hilbert curve
+   * of their midpoints.
+   * Null envelopes are omitted from the result.
+   * Envelopes with equal Hilbert codes remain in input order.
+   * 
+   * @param envs an array of envelopes
+   * @return the indexes of the non-null envelopes, in Hilbert order
+   */
+  public static int[] sortOrder(Envelope[] envs) {
+    Envelope extent = new Envelope();
+    int count = 0;
+    for (int i = 0; i < envs.length; i++) {
+      if (envs[i].isNull()) continue;
+      extent.expandToInclude(envs[i]);
+      count++;
+    }
+    HilbertEncoder encoder = new HilbertEncoder(SORT_LEVEL, extent);
+    long[] keys = new long[count];
+    int k = 0;
+    for (int i = 0; i < envs.length; i++) {
+      if (envs[i].isNull()) continue;
+      keys[k++] = ((long) encoder.encode(envs[i]) << 32) | i;
+    }
+    Arrays.sort(keys);
+    int[] order = new int[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = (int) keys[i];
+    }
+    return order;
+  }
+  
   private int level;
   private double minx;
   private double miny;
@@ -29,7 +73,7 @@ public class HilbertEncoder {
     double extentX = extent.getWidth();
     strideX = extentX / hside;
     
-    miny = extent.getMinX();
+    miny = extent.getMinY();
     double extentY = extent.getHeight();
     strideY = extentY / hside;
   }
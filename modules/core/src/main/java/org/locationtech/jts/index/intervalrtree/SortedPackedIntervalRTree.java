@@ -44,8 +44,11 @@ public class SortedPackedIntervalRTree
    * that the tree has not yet been built,   
    * OR nothing has been added to the tree.
    * In both cases, the tree is still open for insertions.
+   * <p>
+   * Volatile so that the tree built by one thread is safely published 
+   * to threads which query it without locking.
    */
-	private IntervalRTreeNode root = null;
+	private volatile IntervalRTreeNode root = null;
 	
 	public SortedPackedIntervalRTree()
 	{
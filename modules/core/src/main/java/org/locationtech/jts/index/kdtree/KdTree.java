@@ -346,4 +346,33 @@ public class KdTree {
       
     });
   }
-}
\ No newline at end of file
+
+  /**
+   * Searches for a point in the index and returns its node if found.
+   * The point must match the node coordinate exactly.
+   * The search follows the single splitting path to the point,
+   * so is faster than a range query.
+   * 
+   * @param queryPt the point to query
+   * @return the node containing the point, or null if it is not found
+   */
+  public KdNode query(Coordinate queryPt) {
+    KdNode currentNode = root;
+    boolean isOddLevel = true;
+    while (currentNode != null) {
+      if (currentNode.getCoordinate().equals2D(queryPt))
+        return currentNode;
+
+      double ord = isOddLevel ? queryPt.x : queryPt.y;
+      double discriminant = isOddLevel ? currentNode.getX() : currentNode.getY();
+      // equal ordinates are inserted to the right
+      if (ord < discriminant) {
+        currentNode = currentNode.getLeft();
+      } else {
+        currentNode = currentNode.getRight();
+      }
+      isOddLevel = ! isOddLevel;
+    }
+    return null;
+  }
+}
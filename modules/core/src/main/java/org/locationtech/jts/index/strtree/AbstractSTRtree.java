@@ -35,6 +35,7 @@ import org.locationtech.jts.util.Assert;
  * <p>
  * This class is thread-safe.  Building the tree is synchronized, 
  * and querying is stateless.
+ * Once the tree is built, queries do not lock.
  *
  * @see STRtree
  * @see SIRtree
@@ -65,7 +66,10 @@ public abstract class AbstractSTRtree implements Serializable {
 
   protected AbstractNode root;
 
-  private boolean built = false;
+  /**
+   * Volatile to allow lock-free queries once the tree is built.
+   */
+  private volatile boolean built = false;
   /**
    * Set to <tt>null</tt> when index is built, to avoid retaining memory.
    */
@@ -100,14 +104,19 @@ public abstract class AbstractSTRtree implements Serializable {
    * called once, and thus can be called only after all of the data has been
    * inserted into the tree.
    */
-  public synchronized void build() {
+  public void build() {
+    // fast path - avoids locking once the tree is built
     if (built) return;
-    root = itemBoundables.isEmpty()
-           ? createNode(0)
-           : createHigherLevels(itemBoundables, -1);
-    // the item list is no longer needed
-    itemBoundables = null;
-    built = true;
+    synchronized (this) {
+      if (built) return;
+      root = itemBoundables.isEmpty()
+             ? createNode(0)
+             : createHigherLevels(itemBoundables, -1);
+      // the item list is no longer needed
+      itemBoundables = null;
+      // publishes the tree structure to other threads
+      built = true;
+    }
   }
 
   protected abstract AbstractNode createNode(int level);
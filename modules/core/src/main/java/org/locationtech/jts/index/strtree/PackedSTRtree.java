@@ -0,0 +1,734 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.index.strtree;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.ArrayListVisitor;
+import org.locationtech.jts.index.BatchItemVisitor;
+import org.locationtech.jts.index.BatchSpatialIndex;
+import org.locationtech.jts.index.ItemVisitor;
+import org.locationtech.jts.index.hprtree.HilbertEncoder;
+
+/**
+ * A query-only R-tree created using the Sort-Tile-Recursive (STR) algorithm,
+ * which stores the tree structure in a compact flat layout
+ * of primitive arrays.
+ * <p>
+ * The tree has the same structure as an {@link STRtree}
+ * with the same node capacity, but instead of an object per node
+ * and per item it uses:
+ * <ul>
+ * <li>a <code>double</code> array holding the bounds of all items
+ * <li>an <code>Object</code> array holding the items
+ * <li>a <code>double</code> array holding the bounds of all nodes
+ * <li><code>int</code> arrays holding the range of child indexes of each node
+ * </ul>
+ * The children of every node are stored contiguously.
+ * This reduces the memory overhead per item to about 40 bytes
+ * (compared to well over 100 bytes in an STRtree),
+ * and makes queries more cache-friendly.
+ * <p>
+ * Items are inserted and then the tree is built,
+ * either explicitly or on the first query.
+ * Once the tree has been built items may not be added or removed.
+ * <p>
+ * <b>Inserting items into a tree is not thread-safe.</b>
+ * Once built the tree is immutable and safely published,
+ * so it may be queried concurrently by multiple threads without locking.
+ *
+ * @see STRtree
+ *
+ * @author Martin Davis
+ *
+ */
+public class PackedSTRtree
+implements BatchSpatialIndex, Serializable
+{
+  private static final long serialVersionUID = -6322453148392283657L;
+
+  private static final int DEFAULT_NODE_CAPACITY = 10;
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+  /**
+   * Ranges of at most this length are sorted with insertion sort.
+   */
+  private static final int INSERTION_SORT_SIZE = 16;
+
+  /**
+   * The number of queries in a batch traversal.
+   */
+  private static final int QUERY_BATCH_SIZE = 256;
+
+  private final int nodeCapacity;
+
+  /**
+   * Item bounds, stored as (minX, minY, maxX, maxY)
+   */
+  private double[] itemBounds;
+  private Object[] items;
+  private int numItems = 0;
+
+  /**
+   * Node bounds for all levels, with leaf nodes first and the root last.
+   */
+  private double[] nodeBounds;
+
+  /**
+   * The index of the first child of each node.
+   * For leaf nodes this is an index into the items,
+   * for higher nodes it is a node index.
+   */
+  private int[] nodeChildStart;
+
+  /**
+   * The index after the last child of each node.
+   */
+  private int[] nodeChildEnd;
+
+  /**
+   * The index of the first node of each level,
+   * with a final entry containing the total number of nodes.
+   */
+  private int[] levelStart;
+
+  /**
+   * Volatile to allow lock-free queries once the tree is built.
+   */
+  private volatile boolean isBuilt = false;
+
+  /**
+   * Constructs a tree with the default node capacity.
+   */
+  public PackedSTRtree()
+  {
+    this(DEFAULT_NODE_CAPACITY);
+  }
+
+  /**
+   * Constructs a tree with the given maximum number of child nodes that
+   * a node may have.
+   * <p>
+   * The minimum recommended capacity setting is 4.
+   *
+   * @param nodeCapacity the maximum number of child nodes in a node
+   */
+  public PackedSTRtree(int nodeCapacity) {
+    this(nodeCapacity, DEFAULT_INITIAL_CAPACITY);
+  }
+
+  /**
+   * Constructs a tree with the given node capacity,
+   * preallocating storage for the given number of items.
+   * Supplying the expected number of items avoids
+   * reallocating storage while large trees are loaded.
+   *
+   * @param nodeCapacity the maximum number of child nodes in a node
+   * @param initialCapacity the expected number of items
+   */
+  public PackedSTRtree(int nodeCapacity, int initialCapacity) {
+    if (nodeCapacity <= 1)
+      throw new IllegalArgumentException("Node capacity must be greater than 1");
+    this.nodeCapacity = nodeCapacity;
+    int cap = Math.max(initialCapacity, 1);
+    itemBounds = new double[4 * cap];
+    items = new Object[cap];
+  }
+
+  /**
+   * Gets the maximum number of children of a node.
+   *
+   * @return the node capacity
+   */
+  public int getNodeCapacity() { return nodeCapacity; }
+
+  /**
+   * Gets the number of items in the tree.
+   *
+   * @return the number of items
+   */
+  public int size() {
+    return numItems;
+  }
+
+  /**
+   * Tests whether the tree contains any items.
+   *
+   * @return true if the tree is empty
+   */
+  public boolean isEmpty() {
+    return numItems == 0;
+  }
+
+  /**
+   * Gets the number of levels in the tree.
+   *
+   * @return the depth of the tree
+   */
+  public int depth() {
+    build();
+    return levelStart.length - 1;
+  }
+
+  /**
+   * Inserts an item having the given bounds into the tree.
+   * Items with null envelopes are ignored.
+   *
+   * @throws IllegalStateException if the tree has already been built
+   */
+  public void insert(Envelope itemEnv, Object item) {
+    if (isBuilt) {
+      throw new IllegalStateException("Cannot insert items after tree is built.");
+    }
+    if (itemEnv.isNull()) { return; }
+    if (numItems == items.length) {
+      grow();
+    }
+    int b = 4 * numItems;
+    itemBounds[b]     = itemEnv.getMinX();
+    itemBounds[b + 1] = itemEnv.getMinY();
+    itemBounds[b + 2] = itemEnv.getMaxX();
+    itemBounds[b + 3] = itemEnv.getMaxY();
+    items[numItems] = item;
+    numItems++;
+  }
+
+  private void grow() {
+    int newSize = 2 * items.length;
+    items = Arrays.copyOf(items, newSize);
+    itemBounds = Arrays.copyOf(itemBounds, 4 * newSize);
+  }
+
+  /**
+   * Removing items is not supported, since the tree is static.
+   *
+   * @throws UnsupportedOperationException always
+   */
+  public boolean remove(Envelope itemEnv, Object item) {
+    throw new UnsupportedOperationException("PackedSTRtree does not support removal");
+  }
+
+  /**
+   * Returns items whose bounds intersect the given envelope.
+   */
+  public List query(Envelope searchEnv) {
+    ArrayListVisitor visitor = new ArrayListVisitor();
+    query(searchEnv, visitor);
+    return visitor.getItems();
+  }
+
+  /**
+   * Visits items whose bounds intersect the given envelope.
+   */
+  public void query(Envelope searchEnv, ItemVisitor visitor) {
+    build();
+    if (numItems == 0 || searchEnv.isNull()) return;
+    int rootLevel = levelStart.length - 2;
+    queryNode(rootLevel, levelStart[rootLevel],
+        searchEnv.getMinX(), searchEnv.getMinY(), searchEnv.getMaxX(), searchEnv.getMaxY(),
+        visitor);
+  }
+
+  private void queryNode(int level, int node,
+      double minX, double minY, double maxX, double maxY,
+      ItemVisitor visitor) {
+    if (! intersects(nodeBounds, node, minX, minY, maxX, maxY)) return;
+
+    int childStart = nodeChildStart[node];
+    int childEnd = nodeChildEnd[node];
+    if (level == 0) {
+      for (int i = childStart; i < childEnd; i++) {
+        if (intersects(itemBounds, i, minX, minY, maxX, maxY)) {
+          visitor.visitItem(items[i]);
+        }
+      }
+    }
+    else {
+      for (int i = childStart; i < childEnd; i++) {
+        queryNode(level - 1, i, minX, minY, maxX, maxY, visitor);
+      }
+    }
+  }
+
+  /**
+   * Queries the tree with a batch of search envelopes.
+   * The queries are processed in Hilbert order, in groups
+   * which are each used to traverse the tree once.
+   *
+   * @see BatchSpatialIndex
+   */
+  public void query(Envelope[] searchEnvs, BatchItemVisitor visitor) {
+    build();
+    if (numItems == 0) return;
+    int[] order = HilbertEncoder.sortOrder(searchEnvs);
+    int rootLevel = levelStart.length - 2;
+    // a buffer of query indexes for each level, and one for the batch
+    int[][] queryBuf = new int[rootLevel + 2][QUERY_BATCH_SIZE];
+    int[] queries = queryBuf[rootLevel + 1];
+    for (int start = 0; start < order.length; start += QUERY_BATCH_SIZE) {
+      int numQueries = Math.min(QUERY_BATCH_SIZE, order.length - start);
+      System.arraycopy(order, start, queries, 0, numQueries);
+      queryNode(rootLevel, levelStart[rootLevel], searchEnvs, queries, numQueries, queryBuf, visitor);
+    }
+  }
+
+  private void queryNode(int level, int node,
+      Envelope[] searchEnvs, int[] queries, int numQueries, int[][] queryBuf,
+      BatchItemVisitor visitor) {
+    // find the queries which intersect this node
+    int[] nodeQueries = queryBuf[level];
+    int numNodeQueries = 0;
+    for (int i = 0; i < numQueries; i++) {
+      if (intersects(nodeBounds, node, searchEnvs[queries[i]]))
+        nodeQueries[numNodeQueries++] = queries[i];
+    }
+    if (numNodeQueries == 0) return;
+
+    int childStart = nodeChildStart[node];
+    int childEnd = nodeChildEnd[node];
+    if (level == 0) {
+      for (int i = childStart; i < childEnd; i++) {
+        for (int q = 0; q < numNodeQueries; q++) {
+          int queryIndex = nodeQueries[q];
+          if (intersects(itemBounds, i, searchEnvs[queryIndex])) {
+            visitor.visitItem(queryIndex, items[i]);
+          }
+        }
+      }
+    }
+    else {
+      for (int i = childStart; i < childEnd; i++) {
+        queryNode(level - 1, i, searchEnvs, nodeQueries, numNodeQueries, queryBuf, visitor);
+      }
+    }
+  }
+
+  private static boolean intersects(double[] bounds, int index, Envelope env) {
+    return intersects(bounds, index, env.getMinX(), env.getMinY(), env.getMaxX(), env.getMaxY());
+  }
+
+  private static boolean intersects(double[] bounds, int index,
+      double minX, double minY, double maxX, double maxY) {
+    int b = 4 * index;
+    return ! (minX > bounds[b + 2]
+        || maxX < bounds[b]
+        || minY > bounds[b + 3]
+        || maxY < bounds[b + 1]);
+  }
+
+  //------------------------------------------------------------
+  // Nearest neighbour search
+  //------------------------------------------------------------
+
+  /**
+   * Finds the item in this tree which is nearest to the given {@link Object},
+   * using {@link ItemDistance} as the distance metric.
+   * A Branch-and-Bound tree traversal algorithm is used
+   * to provide an efficient search.
+   * <p>
+   * The query <tt>object</tt> does <b>not</b> have to be
+   * contained in the tree, but it does
+   * have to be compatible with the <tt>itemDist</tt>
+   * distance metric.
+   *
+   * @param env the envelope of the query item
+   * @param item the item to find the nearest neighbour of
+   * @param itemDist a distance metric applicable to the items in this tree and the query item
+   * @return the nearest item in this tree
+   *    or <code>null</code> if the tree is empty
+   */
+  public Object nearestNeighbour(Envelope env, Object item, ItemDistance itemDist)
+  {
+    Object[] nearest = nearestNeighbour(env, item, itemDist, 1);
+    if (nearest.length == 0) return null;
+    return nearest[0];
+  }
+
+  /**
+   * Finds the k items in this tree which are nearest to the given {@link Object},
+   * using {@link ItemDistance} as the distance metric.
+   * A best-first Branch-and-Bound tree traversal is used,
+   * with the envelope distance of nodes as the lower bound
+   * for the distance to the items they contain.
+   *
+   * @param env the envelope of the query item
+   * @param item the item to find the nearest neighbours of
+   * @param itemDist a distance metric applicable to the items in this tree and the query item
+   * @param k the number of nearest items to find
+   * @return the nearest items in this tree, in order of increasing distance
+   *    (fewer than k if the tree has fewer items)
+   */
+  public Object[] nearestNeighbour(Envelope env, Object item, ItemDistance itemDist, int k)
+  {
+    build();
+    if (numItems == 0 || k <= 0) return new Object[0];
+
+    ItemBoundable queryBnd = new ItemBoundable(env, item);
+    DistanceQueue queue = new DistanceQueue();
+    int rootLevel = levelStart.length - 2;
+    int root = levelStart[rootLevel];
+    queue.add(distance(nodeBounds, root, env), root);
+
+    List result = new ArrayList();
+    while (! queue.isEmpty() && result.size() < k) {
+      int ref = queue.poll();
+      if (ref < 0) {
+        // the closest entry is an item, so no other entry can be closer
+        result.add(items[-ref - 1]);
+        continue;
+      }
+      int level = levelOf(ref);
+      int childStart = nodeChildStart[ref];
+      int childEnd = nodeChildEnd[ref];
+      for (int i = childStart; i < childEnd; i++) {
+        if (level == 0) {
+          ItemBoundable itemBnd = new ItemBoundable(itemEnvelope(i), items[i]);
+          queue.add(itemDist.distance(itemBnd, queryBnd), -i - 1);
+        }
+        else {
+          queue.add(distance(nodeBounds, i, env), i);
+        }
+      }
+    }
+    return result.toArray();
+  }
+
+  private int levelOf(int node) {
+    int level = 0;
+    while (node >= levelStart[level + 1]) level++;
+    return level;
+  }
+
+  private Envelope itemEnvelope(int i) {
+    int b = 4 * i;
+    return new Envelope(itemBounds[b], itemBounds[b + 2], itemBounds[b + 1], itemBounds[b + 3]);
+  }
+
+  private static double distance(double[] bounds, int index, Envelope env) {
+    int b = 4 * index;
+    double dx = 0.0;
+    if (bounds[b + 2] < env.getMinX()) dx = env.getMinX() - bounds[b + 2];
+    else if (bounds[b] > env.getMaxX()) dx = bounds[b] - env.getMaxX();
+    double dy = 0.0;
+    if (bounds[b + 3] < env.getMinY()) dy = env.getMinY() - bounds[b + 3];
+    else if (bounds[b + 1] > env.getMaxY()) dy = bounds[b + 1] - env.getMaxY();
+    if (dx == 0.0) return dy;
+    if (dy == 0.0) return dx;
+    return Math.sqrt(dx * dx + dy * dy);
+  }
+
+  /**
+   * A min-heap of integer references keyed by distance,
+   * stored in primitive arrays.
+   */
+  private static class DistanceQueue {
+    private double[] dist = new double[64];
+    private int[] ref = new int[64];
+    private int size = 0;
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    void add(double d, int r) {
+      if (size == dist.length) {
+        dist = Arrays.copyOf(dist, 2 * size);
+        ref = Arrays.copyOf(ref, 2 * size);
+      }
+      // sift up
+      int i = size++;
+      while (i > 0) {
+        int parent = (i - 1) / 2;
+        if (dist[parent] <= d) break;
+        dist[i] = dist[parent];
+        ref[i] = ref[parent];
+        i = parent;
+      }
+      dist[i] = d;
+      ref[i] = r;
+    }
+
+    int poll() {
+      int result = ref[0];
+      size--;
+      double d = dist[size];
+      int r = ref[size];
+      // sift down
+      int i = 0;
+      while (true) {
+        int child = 2 * i + 1;
+        if (child >= size) break;
+        if (child + 1 < size && dist[child + 1] < dist[child]) child++;
+        if (d <= dist[child]) break;
+        dist[i] = dist[child];
+        ref[i] = ref[child];
+        i = child;
+      }
+      dist[i] = d;
+      ref[i] = r;
+      return result;
+    }
+  }
+
+  //------------------------------------------------------------
+  // Tree construction
+  //------------------------------------------------------------
+
+  /**
+   * Builds the tree, if not already built.
+   * This is done automatically on the first query.
+   * <p>
+   * This method is thread-safe.
+   * Once the tree is built, calling it is cheap and does not lock.
+   */
+  public void build() {
+    // fast path - avoids locking once the tree is built
+    if (isBuilt) return;
+    synchronized (this) {
+      if (isBuilt) return;
+      buildTree();
+      // publishes the tree structure to other threads
+      isBuilt = true;
+    }
+  }
+
+  private void buildTree() {
+    // release unused storage
+    items = Arrays.copyOf(items, numItems);
+    itemBounds = Arrays.copyOf(itemBounds, 4 * numItems);
+
+    if (numItems == 0) {
+      nodeBounds = new double[0];
+      nodeChildStart = new int[0];
+      nodeChildEnd = new int[0];
+      levelStart = new int[] { 0 };
+      return;
+    }
+
+    List<double[]> levelBounds = new ArrayList<double[]>();
+    List<int[]> levelChildStart = new ArrayList<int[]>();
+    List<int[]> levelChildEnd = new ArrayList<int[]>();
+
+    double[] childBounds = itemBounds;
+    int numChild = numItems;
+    do {
+      int[] perm = new int[numChild];
+      int[] groupStart = strPartition(childBounds, numChild, perm);
+
+      // reorder the child level to match the node grouping
+      if (levelBounds.isEmpty()) {
+        itemBounds = permuteBounds(itemBounds, perm);
+        items = permute(items, perm);
+        childBounds = itemBounds;
+      }
+      else {
+        int last = levelBounds.size() - 1;
+        childBounds = permuteBounds(childBounds, perm);
+        levelBounds.set(last, childBounds);
+        levelChildStart.set(last, permute(levelChildStart.get(last), perm));
+        levelChildEnd.set(last, permute(levelChildEnd.get(last), perm));
+      }
+
+      int numNodes = groupStart.length - 1;
+      double[] bounds = new double[4 * numNodes];
+      int[] childStart = new int[numNodes];
+      int[] childEnd = new int[numNodes];
+      for (int i = 0; i < numNodes; i++) {
+        childStart[i] = groupStart[i];
+        childEnd[i] = groupStart[i + 1];
+        computeBounds(childBounds, groupStart[i], groupStart[i + 1], bounds, i);
+      }
+      levelBounds.add(bounds);
+      levelChildStart.add(childStart);
+      levelChildEnd.add(childEnd);
+
+      childBounds = bounds;
+      numChild = numNodes;
+    } while (numChild > 1);
+
+    // concatenate levels into the node arrays
+    int numLevels = levelBounds.size();
+    levelStart = new int[numLevels + 1];
+    for (int i = 0; i < numLevels; i++) {
+      levelStart[i + 1] = levelStart[i] + levelChildStart.get(i).length;
+    }
+    int totalNodes = levelStart[numLevels];
+    nodeBounds = new double[4 * totalNodes];
+    nodeChildStart = new int[totalNodes];
+    nodeChildEnd = new int[totalNodes];
+    for (int level = 0; level < numLevels; level++) {
+      double[] bounds = levelBounds.get(level);
+      int[] childStart = levelChildStart.get(level);
+      int[] childEnd = levelChildEnd.get(level);
+      System.arraycopy(bounds, 0, nodeBounds, 4 * levelStart[level], bounds.length);
+      // child indices of higher levels are relative to the start of the child level
+      int childOffset = level == 0 ? 0 : levelStart[level - 1];
+      for (int i = 0; i < childStart.length; i++) {
+        nodeChildStart[levelStart[level] + i] = childStart[i] + childOffset;
+        nodeChildEnd[levelStart[level] + i] = childEnd[i] + childOffset;
+      }
+    }
+  }
+
+  private static void computeBounds(double[] childBounds, int start, int end, double[] bounds, int index) {
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+    for (int i = start; i < end; i++) {
+      int b = 4 * i;
+      if (childBounds[b]     < minX) minX = childBounds[b];
+      if (childBounds[b + 1] < minY) minY = childBounds[b + 1];
+      if (childBounds[b + 2] > maxX) maxX = childBounds[b + 2];
+      if (childBounds[b + 3] > maxY) maxY = childBounds[b + 3];
+    }
+    int b = 4 * index;
+    bounds[b] = minX;
+    bounds[b + 1] = minY;
+    bounds[b + 2] = maxX;
+    bounds[b + 3] = maxY;
+  }
+
+  /**
+   * Computes the Sort-Tile-Recursive grouping of a set of boundables.
+   * The boundables are sorted by the X of their centres
+   * and divided into vertical slices;
+   * each slice is sorted by the Y of the centres
+   * and divided into runs of at most the node capacity.
+   * This is the same grouping as is computed by {@link STRtree}.
+   *
+   * @param bounds the boundable bounds
+   * @param n the number of boundables
+   * @param perm receives the sorted order of the boundables
+   * @return the start indices of the groups in the sorted order,
+   *   with a final entry of <code>n</code>
+   */
+  private int[] strPartition(double[] bounds, int n, int[] perm) {
+    double[] centre = new double[n];
+    for (int i = 0; i < n; i++) {
+      perm[i] = i;
+      centre[i] = (bounds[4 * i] + bounds[4 * i + 2]) / 2d;
+    }
+    sort(perm, centre, 0, n);
+
+    for (int i = 0; i < n; i++) {
+      centre[i] = (bounds[4 * i + 1] + bounds[4 * i + 3]) / 2d;
+    }
+    int minLeafCount = (int) Math.ceil(n / (double) nodeCapacity);
+    int sliceCount = (int) Math.ceil(Math.sqrt(minLeafCount));
+    int sliceCapacity = (int) Math.ceil(n / (double) sliceCount);
+
+    int[] groupStart = new int[minLeafCount + sliceCount + 1];
+    int numGroups = 0;
+    for (int sliceStart = 0; sliceStart < n; sliceStart += sliceCapacity) {
+      int sliceEnd = Math.min(n, sliceStart + sliceCapacity);
+      sort(perm, centre, sliceStart, sliceEnd);
+      for (int i = sliceStart; i < sliceEnd; i += nodeCapacity) {
+        groupStart[numGroups++] = i;
+      }
+    }
+    groupStart[numGroups++] = n;
+    return Arrays.copyOf(groupStart, numGroups);
+  }
+
+  /**
+   * Sorts a range of an index array by the keys of the indexed elements.
+   * The sort is stable (as is the sort used by {@link STRtree}),
+   * so elements with equal keys are grouped in the same way.
+   *
+   * @param index the array of indices to sort
+   * @param key the sort key for each element
+   * @param from the start of the range
+   * @param to the index after the end of the range
+   */
+  private static void sort(int[] index, double[] key, int from, int to) {
+    if (to - from <= INSERTION_SORT_SIZE) {
+      insertionSort(index, key, from, to);
+      return;
+    }
+    mergeSort(index, key, from, to, new int[(to - from + 1) / 2]);
+  }
+
+  /**
+   * Sorts a range using a merge sort,
+   * with a buffer large enough to hold the lower half of the range.
+   */
+  private static void mergeSort(int[] index, double[] key, int from, int to, int[] buf) {
+    if (to - from <= INSERTION_SORT_SIZE) {
+      insertionSort(index, key, from, to);
+      return;
+    }
+    int mid = (from + to) >>> 1;
+    mergeSort(index, key, from, mid, buf);
+    mergeSort(index, key, mid, to, buf);
+    // the halves are already in order
+    if (key[index[mid - 1]] <= key[index[mid]])
+      return;
+    int lowLen = mid - from;
+    System.arraycopy(index, from, buf, 0, lowLen);
+    int i = 0;
+    int j = mid;
+    int k = from;
+    while (i < lowLen && j < to) {
+      // take from the lower half when keys are equal, to keep the sort stable
+      if (key[index[j]] < key[buf[i]])
+        index[k++] = index[j++];
+      else
+        index[k++] = buf[i++];
+    }
+    while (i < lowLen) {
+      index[k++] = buf[i++];
+    }
+  }
+
+  private static void insertionSort(int[] index, double[] key, int from, int to) {
+    for (int i = from + 1; i < to; i++) {
+      int val = index[i];
+      double k = key[val];
+      int j = i - 1;
+      while (j >= from && key[index[j]] > k) {
+        index[j + 1] = index[j];
+        j--;
+      }
+      index[j + 1] = val;
+    }
+  }
+
+  private static double[] permuteBounds(double[] bounds, int[] perm) {
+    double[] result = new double[4 * perm.length];
+    for (int i = 0; i < perm.length; i++) {
+      System.arraycopy(bounds, 4 * perm[i], result, 4 * i, 4);
+    }
+    return result;
+  }
+
+  private static Object[] permute(Object[] a, int[] perm) {
+    Object[] result = new Object[perm.length];
+    for (int i = 0; i < perm.length; i++) {
+      result[i] = a[perm[i]];
+    }
+    return result;
+  }
+
+  private static int[] permute(int[] a, int[] perm) {
+    int[] result = new int[perm.length];
+    for (int i = 0; i < perm.length; i++) {
+      result[i] = a[perm[i]];
+    }
+    return result;
+  }
+}
@@ -21,8 +21,10 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.BatchItemVisitor;
+import org.locationtech.jts.index.BatchSpatialIndex;
 import org.locationtech.jts.index.ItemVisitor;
-import org.locationtech.jts.index.SpatialIndex;
+import org.locationtech.jts.index.hprtree.HilbertEncoder;
 import org.locationtech.jts.util.Assert;
 import org.locationtech.jts.util.PriorityQueue;
 
@@ -51,7 +53,7 @@ import org.locationtech.jts.util.PriorityQueue;
  * @version 1.7
  */
 public class STRtree extends AbstractSTRtree 
-implements SpatialIndex, Serializable 
+implements BatchSpatialIndex, Serializable 
 {
 
   private static final class STRtreeNode extends AbstractNode
@@ -166,6 +168,11 @@ implements SpatialIndex, Serializable
 
   private static final int DEFAULT_NODE_CAPACITY = 10;
   
+  /**
+   * The number of queries in a batch traversal.
+   */
+  private static final int QUERY_BATCH_SIZE = 256;
+  
   /**
    * Constructs an STRtree with the default node capacity.
    */
@@ -219,6 +226,59 @@ implements SpatialIndex, Serializable
     super.query(searchEnv, visitor);
   }
 
+  /**
+   * Queries the tree with a batch of search envelopes.
+   * The queries are processed in Hilbert order, in groups
+   * which are each used to traverse the tree once.
+   * 
+   * @see BatchSpatialIndex
+   */
+  public void query(Envelope[] searchEnvs, BatchItemVisitor visitor) {
+    build();
+    if (isEmpty()) return;
+    int[] order = HilbertEncoder.sortOrder(searchEnvs);
+    AbstractNode root = getRoot();
+    // a buffer of query indexes for each level, and one for the batch
+    int[][] queryBuf = new int[root.getLevel() + 2][QUERY_BATCH_SIZE];
+    int[] queries = queryBuf[root.getLevel() + 1];
+    for (int start = 0; start < order.length; start += QUERY_BATCH_SIZE) {
+      int numQueries = Math.min(QUERY_BATCH_SIZE, order.length - start);
+      System.arraycopy(order, start, queries, 0, numQueries);
+      queryNode(root, searchEnvs, queries, numQueries, queryBuf, visitor);
+    }
+  }
+
+  private void queryNode(AbstractNode node, 
+      Envelope[] searchEnvs, int[] queries, int numQueries, int[][] queryBuf,
+      BatchItemVisitor visitor) {
+    // find the queries which intersect this node
+    Envelope nodeEnv = (Envelope) node.getBounds();
+    int[] nodeQueries = queryBuf[node.getLevel()];
+    int numNodeQueries = 0;
+    for (int i = 0; i < numQueries; i++) {
+      if (nodeEnv.intersects(searchEnvs[queries[i]]))
+        nodeQueries[numNodeQueries++] = queries[i];
+    }
+    if (numNodeQueries == 0) return;
+    
+    List childBoundables = node.getChildBoundables();
+    for (int i = 0; i < childBoundables.size(); i++) {
+      Boundable childBoundable = (Boundable) childBoundables.get(i);
+      if (childBoundable instanceof AbstractNode) {
+        queryNode((AbstractNode) childBoundable, searchEnvs, nodeQueries, numNodeQueries, queryBuf, visitor);
+      }
+      else {
+        Envelope itemEnv = (Envelope) childBoundable.getBounds();
+        Object item = ((ItemBoundable) childBoundable).getItem();
+        for (int q = 0; q < numNodeQueries; q++) {
+          int queryIndex = nodeQueries[q];
+          if (itemEnv.intersects(searchEnvs[queryIndex]))
+            visitor.visitItem(queryIndex, item);
+        }
+      }
+    }
+  }
+
   /**
    * Removes a single item from the tree.
    *
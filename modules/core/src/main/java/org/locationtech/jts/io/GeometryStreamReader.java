@@ -0,0 +1,535 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Reads a sequence of {@link Geometry}s from a text file or {@link Reader}
+ * one at a time, so that inputs of any size
+ * can be processed in a bounded amount of memory.
+ * The geometries are provided by an {@link #iterator()}
+ * or a {@link #stream()}.
+ * <p>
+ * An offset and limit can be set.
+ * Geometries before the offset are skipped without being parsed.
+ * <p>
+ * Line-delimited input (one geometry per line, with blank lines ignored)
+ * can be parsed in parallel by setting a {@link ForkJoinPool}.
+ * The input is read in chunks of lines,
+ * which are parsed concurrently by the pool.
+ * Only a few chunks are in progress at once,
+ * so memory use remains bounded.
+ * Geometries are always returned in input order.
+ * <p>
+ * Since iterators and streams cannot throw checked exceptions,
+ * a {@link ParseException} is thrown wrapped in a {@link RuntimeException},
+ * and an {@link IOException} is thrown wrapped in an {@link UncheckedIOException}.
+ * <p>
+ * A reader can be iterated only once.
+ * The input is closed when iteration ends, or by {@link #close()}.
+ *
+ * @see WKTStreamReader
+ * @see WKBHexStreamReader
+ *
+ * @author Martin Davis
+ *
+ */
+public abstract class GeometryStreamReader
+  implements Closeable
+{
+  /**
+   * The default number of lines in a chunk parsed as a single parallel task.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+  private File file = null;
+  private Reader reader;
+  private BufferedReader bufferedReader = null;
+  private long offset = 0;
+  private long limit = -1;
+  private ForkJoinPool forkJoinPool = null;
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+  private boolean isStarted = false;
+  private LineParser freeFormatParser = null;
+
+  /**
+   * Creates a reader for a file.
+   * The file is opened when iteration starts.
+   *
+   * @param file the file to read from
+   */
+  protected GeometryStreamReader(File file)
+  {
+    this.file = file;
+  }
+
+  /**
+   * Creates a reader for a {@link Reader}.
+   *
+   * @param reader the reader to read from
+   */
+  protected GeometryStreamReader(Reader reader)
+  {
+    this.reader = reader;
+  }
+
+  /**
+   * Sets the number of geometries to skip before
+   * geometries are returned.
+   *
+   * @param offset the number of geometries to skip
+   */
+  public void setOffset(long offset)
+  {
+    this.offset = offset;
+  }
+
+  /**
+   * Sets the maximum number of geometries to return.
+   * A negative value means there is no limit.
+   *
+   * @param limit the maximum number of geometries to return
+   */
+  public void setLimit(long limit)
+  {
+    this.limit = limit;
+  }
+
+  /**
+   * Sets the pool used to parse line-delimited input in parallel.
+   * If the input is not line-delimited the pool is not used.
+   *
+   * @param pool the pool to use, or null to parse on the calling thread
+   */
+  public void setForkJoinPool(ForkJoinPool pool)
+  {
+    this.forkJoinPool = pool;
+  }
+
+  /**
+   * Sets the number of lines parsed by each parallel task.
+   *
+   * @param chunkSize the number of lines in a chunk
+   */
+  public void setChunkSize(int chunkSize)
+  {
+    if (chunkSize < 1)
+      throw new IllegalArgumentException("Chunk size must be positive");
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Creates an iterator over the geometries in the input.
+   *
+   * @return an iterator over the geometries read
+   * @throws IllegalStateException if the input has already been read
+   */
+  public Iterator<Geometry> iterator()
+  {
+    if (isStarted)
+      throw new IllegalStateException("Input has already been read");
+    isStarted = true;
+    if (isLineDelimited() && forkJoinPool != null)
+      return new ParallelLineIterator();
+    return new GeometryIterator();
+  }
+
+  /**
+   * Creates a sequential, ordered {@link Stream} of the geometries in the input.
+   * Closing the stream closes the input.
+   *
+   * @return a stream of the geometries read
+   * @throws IllegalStateException if the input has already been read
+   */
+  public Stream<Geometry> stream()
+  {
+    Spliterator<Geometry> split = Spliterators.spliteratorUnknownSize(iterator(),
+        Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(split, false).onClose(new Runnable() {
+      public void run() {
+        closeUnchecked();
+      }
+    });
+  }
+
+  /**
+   * Closes the input.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  public void close() throws IOException
+  {
+    if (bufferedReader != null) {
+      bufferedReader.close();
+    }
+    else if (reader != null) {
+      reader.close();
+    }
+    bufferedReader = null;
+    reader = null;
+  }
+
+  /**
+   * Tests whether the input contains one geometry per line.
+   *
+   * @return true if the input is line-delimited
+   */
+  protected abstract boolean isLineDelimited();
+
+  /**
+   * Creates a parser for lines of the input.
+   * A parser is only used by a single thread at a time.
+   *
+   * @return a line parser
+   */
+  protected abstract LineParser createLineParser();
+
+  /**
+   * Reads the next geometry from input which is not line-delimited.
+   * The reader is positioned at the start of the geometry text.
+   * By default the geometry is parsed from the rest of the current line.
+   *
+   * @param in the input
+   * @return the geometry read
+   * @throws IOException if an I/O error occurs
+   * @throws ParseException if the geometry text is invalid
+   */
+  protected Geometry readGeometry(BufferedReader in)
+      throws IOException, ParseException
+  {
+    if (freeFormatParser == null)
+      freeFormatParser = createLineParser();
+    String line = readLine(in);
+    if (line == null)
+      throw new ParseException("Unexpected end of input");
+    return freeFormatParser.parse(line);
+  }
+
+  /**
+   * Skips over the next geometry in input which is not line-delimited,
+   * without creating it.
+   * The reader is positioned at the start of the geometry text.
+   *
+   * @param in the input
+   * @throws IOException if an I/O error occurs
+   * @throws ParseException if the geometry text is invalid
+   */
+  protected void skipGeometry(BufferedReader in)
+      throws IOException, ParseException
+  {
+    readGeometry(in);
+  }
+
+  /**
+   * Positions input which is not line-delimited
+   * at the start of the next geometry.
+   * By default whitespace is skipped.
+   *
+   * @param in the input
+   * @return true if there is a further geometry, false if the input is exhausted
+   * @throws IOException if an I/O error occurs
+   */
+  protected boolean skipToGeometry(BufferedReader in)
+      throws IOException
+  {
+    while (true) {
+      in.mark(1);
+      int c = in.read();
+      if (c < 0)
+        return false;
+      if (c > ' ') {
+        in.reset();
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Parses single lines of input into geometries.
+   */
+  protected interface LineParser
+  {
+    /**
+     * Parses a line of input.
+     *
+     * @param line the line text
+     * @return the geometry parsed
+     * @throws ParseException if the line is not valid
+     */
+    Geometry parse(String line) throws ParseException;
+  }
+
+  private BufferedReader open() throws IOException
+  {
+    if (bufferedReader == null) {
+      // do this here so that constructors don't throw exceptions
+      if (file != null)
+        reader = new FileReader(file);
+      bufferedReader = new BufferedReader(reader);
+    }
+    return bufferedReader;
+  }
+
+  private void closeUnchecked()
+  {
+    try {
+      close();
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Reads the next non-blank line.
+   *
+   * @return the trimmed line, or null at the end of the input
+   */
+  private static String readLine(BufferedReader in) throws IOException
+  {
+    while (true) {
+      String line = in.readLine();
+      if (line == null)
+        return null;
+      line = line.trim();
+      if (line.length() > 0)
+        return line;
+    }
+  }
+
+  private static RuntimeException parseError(long index, ParseException ex)
+  {
+    return new RuntimeException("Error reading geometry " + index
+        + ": " + ex.getMessage(), ex);
+  }
+
+  /**
+   * Iterates over geometries, parsing them on the calling thread.
+   */
+  private class GeometryIterator implements Iterator<Geometry>
+  {
+    private long index = 0;
+    private long numReturned = 0;
+    private Geometry next = null;
+    private boolean isDone = false;
+    private LineParser parser = null;
+
+    public boolean hasNext()
+    {
+      if (next == null && ! isDone) {
+        try {
+          next = readNext();
+        }
+        catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+        catch (ParseException ex) {
+          throw parseError(index, ex);
+        }
+        if (next == null) {
+          isDone = true;
+          closeUnchecked();
+        }
+      }
+      return next != null;
+    }
+
+    public Geometry next()
+    {
+      if (! hasNext())
+        throw new NoSuchElementException();
+      Geometry g = next;
+      next = null;
+      numReturned++;
+      return g;
+    }
+
+    private Geometry readNext() throws IOException, ParseException
+    {
+      if (limit >= 0 && numReturned >= limit)
+        return null;
+      BufferedReader in = open();
+      if (isLineDelimited()) {
+        if (parser == null)
+          parser = createLineParser();
+        while (true) {
+          String line = readLine(in);
+          if (line == null)
+            return null;
+          if (index++ >= offset)
+            return parser.parse(line);
+        }
+      }
+      while (true) {
+        if (! skipToGeometry(in))
+          return null;
+        if (index >= offset) {
+          Geometry g = readGeometry(in);
+          index++;
+          return g;
+        }
+        skipGeometry(in);
+        index++;
+      }
+    }
+  }
+
+  /**
+   * Iterates over the geometries in line-delimited input,
+   * parsing chunks of lines in parallel.
+   */
+  private class ParallelLineIterator implements Iterator<Geometry>
+  {
+    private ArrayDeque<ParseTask> pending = new ArrayDeque<ParseTask>();
+    private int maxPending;
+    private Geometry[] chunk = new Geometry[0];
+    private int chunkIndex = 0;
+    private long index = 0;
+    private long numRead = 0;
+    private boolean isInputDone = false;
+
+    ParallelLineIterator()
+    {
+      maxPending = 2 * forkJoinPool.getParallelism();
+    }
+
+    public boolean hasNext()
+    {
+      while (chunkIndex >= chunk.length) {
+        fill();
+        if (pending.isEmpty()) {
+          closeUnchecked();
+          return false;
+        }
+        chunk = pending.removeFirst().getResult();
+        chunkIndex = 0;
+      }
+      return true;
+    }
+
+    public Geometry next()
+    {
+      if (! hasNext())
+        throw new NoSuchElementException();
+      Geometry g = chunk[chunkIndex];
+      // release the reference so the chunk does not retain returned geometries
+      chunk[chunkIndex++] = null;
+      return g;
+    }
+
+    /**
+     * Reads chunks of lines and submits them for parsing,
+     * until the maximum number of chunks are pending.
+     */
+    private void fill()
+    {
+      try {
+        while (! isInputDone && pending.size() < maxPending) {
+          List<String> lines = readChunk();
+          if (lines.size() > 0) {
+            ParseTask task = new ParseTask(lines, index - lines.size());
+            forkJoinPool.execute(task);
+            pending.addLast(task);
+          }
+        }
+      }
+      catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+
+    private List<String> readChunk() throws IOException
+    {
+      BufferedReader in = open();
+      List<String> lines = new ArrayList<String>();
+      while (lines.size() < chunkSize) {
+        if (limit >= 0 && numRead >= limit) {
+          isInputDone = true;
+          break;
+        }
+        String line = readLine(in);
+        if (line == null) {
+          isInputDone = true;
+          break;
+        }
+        if (index++ >= offset) {
+          lines.add(line);
+          numRead++;
+        }
+      }
+      return lines;
+    }
+  }
+
+  /**
+   * Parses a chunk of lines.
+   * A parse error is recorded, to be thrown on the iterating thread.
+   */
+  private class ParseTask extends RecursiveTask<Geometry[]>
+  {
+    private List<String> lines;
+    private long startIndex;
+    private long errorIndex;
+    private ParseException error = null;
+
+    ParseTask(List<String> lines, long startIndex)
+    {
+      this.lines = lines;
+      this.startIndex = startIndex;
+    }
+
+    protected Geometry[] compute()
+    {
+      LineParser parser = createLineParser();
+      Geometry[] geoms = new Geometry[lines.size()];
+      for (int i = 0; i < geoms.length; i++) {
+        try {
+          geoms[i] = parser.parse(lines.get(i));
+        }
+        catch (ParseException ex) {
+          errorIndex = startIndex + i;
+          error = ex;
+          return null;
+        }
+      }
+      return geoms;
+    }
+
+    Geometry[] getResult()
+    {
+      Geometry[] geoms = join();
+      if (error != null)
+        throw parseError(errorIndex, error);
+      return geoms;
+    }
+  }
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+
+/**
+ * Reads {@link Geometry}s in Well-Known Binary format
+ * directly from a {@link ByteBuffer}.
+ * Heap, direct and memory-mapped buffers are all supported.
+ * <p>
+ * This reader accepts the same formats as {@link WKBReader}
+ * (including PostGIS EWKB and OGC 06-103r4 Z/M type codes)
+ * and repairs structurally-invalid linestrings and rings in the same way.
+ * Unlike WKBReader it is optimized for reading large volumes of WKB:
+ * <ul>
+ * <li>ordinates are read straight from the buffer,
+ * with no intermediate byte arrays or {@link org.locationtech.jts.geom.Coordinate} objects
+ * <li>coordinates are stored in {@link PackedCoordinateSequence.Double} sequences,
+ * which hold the ordinate values in a single <code>double</code> array
+ * (with a measure ordinate if the input has M values)
+ * </ul>
+ * The only allocations made are the coordinate arrays and the geometries themselves.
+ * <p>
+ * Each read starts at the current position of the buffer,
+ * and leaves the position at the end of the geometry read.
+ * This allows reading a sequence of concatenated WKB records,
+ * either by repeated calls to {@link #read(ByteBuffer)}
+ * or using {@link #iterator(ByteBuffer)}.
+ * The byte order of the buffer is restored after each read.
+ * <p>
+ * Input which ends before the geometry is complete,
+ * or which contains element counts larger than the remaining input,
+ * is reported as a {@link ParseException}.
+ * <p>
+ * This class is not thread-safe; each thread should create its own instance.
+ *
+ * @see WKBReader
+ *
+ * @author Martin Davis
+ *
+ */
+public class WKBBufferReader
+{
+  private static final String INVALID_GEOM_TYPE_MSG
+  = "Invalid geometry type encountered in ";
+
+  private GeometryFactory factory;
+  private PrecisionModel precisionModel;
+  private boolean isFloating;
+  private int inputDimension = 2;
+  private int inputMeasures = 0;
+  /**
+   * true if structurally invalid input should be reported rather than repaired.
+   */
+  private boolean isStrict = false;
+
+  /**
+   * Creates a reader which creates geometries
+   * using a {@link GeometryFactory} with packed coordinate sequences.
+   */
+  public WKBBufferReader() {
+    this(new GeometryFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY));
+  }
+
+  /**
+   * Creates a reader which creates geometries using the given factory.
+   * The coordinate sequences are always {@link PackedCoordinateSequence.Double}s,
+   * whatever the coordinate sequence factory of the geometry factory.
+   *
+   * @param geometryFactory the factory to create geometries with
+   */
+  public WKBBufferReader(GeometryFactory geometryFactory) {
+    this.factory = geometryFactory;
+    precisionModel = factory.getPrecisionModel();
+    isFloating = precisionModel.getType() == PrecisionModel.FLOATING;
+  }
+
+  /**
+   * Sets whether structurally invalid input is reported rather than repaired.
+   * By default the reader is not strict, and (as for {@link WKBReader})
+   * an unknown byte order flag is ignored,
+   * a single-point LineString has its point repeated,
+   * and short or unclosed rings are padded and closed.
+   * If strict, these cases are reported as a {@link ParseException}.
+   *
+   * @param isStrict true if invalid input should be reported
+   */
+  public void setStrict(boolean isStrict)
+  {
+    this.isStrict = isStrict;
+  }
+
+  /**
+   * Reads a single {@link Geometry} in WKB format
+   * starting at the current position of a buffer.
+   * On return the buffer is positioned after the geometry.
+   *
+   * @param buf the buffer to read from
+   * @return the geometry read
+   * @throws ParseException if the WKB is ill-formed
+   */
+  public Geometry read(ByteBuffer buf) throws ParseException
+  {
+    ByteOrder origOrder = buf.order();
+    try {
+      return readGeometry(buf);
+    }
+    catch (BufferUnderflowException ex) {
+      throw new ParseException("Unexpected end of WKB input");
+    }
+    finally {
+      buf.order(origOrder);
+    }
+  }
+
+  /**
+   * Creates an iterator over a sequence of concatenated WKB records
+   * in a buffer, starting at the current buffer position.
+   * Iteration ends when no bytes remain in the buffer.
+   * <p>
+   * Since an {@link Iterator} cannot throw checked exceptions,
+   * a {@link ParseException} is thrown wrapped in a {@link RuntimeException}.
+   *
+   * @param buf the buffer to read from
+   * @return an iterator over the geometries in the buffer
+   */
+  public Iterator<Geometry> iterator(final ByteBuffer buf)
+  {
+    return new Iterator<Geometry>() {
+      public boolean hasNext() {
+        return buf.hasRemaining();
+      }
+
+      public Geometry next() {
+        if (! buf.hasRemaining())
+          throw new NoSuchElementException();
+        try {
+          return read(buf);
+        }
+        catch (ParseException ex) {
+          throw new RuntimeException("Error reading WKB at position " + buf.position()
+              + ": " + ex.getMessage(), ex);
+        }
+      }
+    };
+  }
+
+  private Geometry readGeometry(ByteBuffer buf) throws ParseException
+  {
+    // always set byte order, since it may change from geometry to geometry
+    byte byteOrderWKB = buf.get();
+    if (byteOrderWKB == WKBConstants.wkbNDR) {
+      buf.order(ByteOrder.LITTLE_ENDIAN);
+    }
+    else if (byteOrderWKB == WKBConstants.wkbXDR) {
+      buf.order(ByteOrder.BIG_ENDIAN);
+    }
+    else if (isStrict) {
+      throw new ParseException("Unknown geometry byte order (not NDR or XDR): " + byteOrderWKB);
+    }
+    // otherwise keep the current order, as WKBReader does
+
+    int typeInt = buf.getInt();
+    // Adds %1000 to make it compatible with OGC 06-103r4
+    int typeCode = typeInt & 0xffff;
+    int geometryType = typeCode % 1000;
+    // Z and M are indicated by EWKB flags or by OGC 06-103r4 type ranges
+    boolean hasZ = (typeInt & 0x80000000) != 0 || typeCode / 1000 == 1 || typeCode / 1000 == 3;
+    boolean hasM = (typeInt & 0x40000000) != 0 || typeCode / 1000 == 2 || typeCode / 1000 == 3;
+    inputDimension = 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+    inputMeasures = hasM ? 1 : 0;
+
+    boolean hasSRID = (typeInt & 0x20000000) != 0;
+    int SRID = 0;
+    if (hasSRID) {
+      SRID = buf.getInt();
+    }
+
+    Geometry geom = null;
+    switch (geometryType) {
+      case WKBConstants.wkbPoint :
+        geom = readPoint(buf);
+        break;
+      case WKBConstants.wkbLineString :
+        geom = readLineString(buf);
+        break;
+      case WKBConstants.wkbPolygon :
+        geom = readPolygon(buf);
+        break;
+      case WKBConstants.wkbMultiPoint :
+        geom = readMultiPoint(buf);
+        break;
+      case WKBConstants.wkbMultiLineString :
+        geom = readMultiLineString(buf);
+        break;
+      case WKBConstants.wkbMultiPolygon :
+        geom = readMultiPolygon(buf);
+        break;
+      case WKBConstants.wkbGeometryCollection :
+        geom = readGeometryCollection(buf);
+        break;
+      default:
+        throw new ParseException("Unknown WKB type " + geometryType);
+    }
+    if (SRID != 0)
+      geom.setSRID(SRID);
+    return geom;
+  }
+
+  private Point readPoint(ByteBuffer buf) throws ParseException
+  {
+    CoordinateSequence pts = readCoordinateSequence(buf, 1, 1, false);
+    return factory.createPoint(pts);
+  }
+
+  private LineString readLineString(ByteBuffer buf) throws ParseException
+  {
+    int size = readCount(buf, 8 * inputDimension);
+    if (isStrict && size == 1)
+      throw new ParseException("Invalid number of points in LineString (found 1)");
+    // repair a single-point line by repeating the point
+    int outSize = size == 1 ? 2 : size;
+    CoordinateSequence pts = readCoordinateSequence(buf, size, outSize, false);
+    return factory.createLineString(pts);
+  }
+
+  private LinearRing readLinearRing(ByteBuffer buf) throws ParseException
+  {
+    int size = readCount(buf, 8 * inputDimension);
+    int outSize = size;
+    int start = buf.position();
+    if (size > 0) {
+      if (size <= 3) {
+        outSize = 4;
+      }
+      else if (! isClosed(buf, start, size)) {
+        outSize = size + 1;
+      }
+      if (isStrict && outSize != size)
+        throw new ParseException("Invalid LinearRing (found " + size
+            + " points, not closed or fewer than 4)");
+    }
+    CoordinateSequence pts = readCoordinateSequence(buf, size, outSize, true);
+    return factory.createLinearRing(pts);
+  }
+
+  private Polygon readPolygon(ByteBuffer buf) throws ParseException
+  {
+    int numRings = readCount(buf, 4);
+    LinearRing[] holes = null;
+    if (numRings > 1)
+      holes = new LinearRing[numRings - 1];
+
+    LinearRing shell = readLinearRing(buf);
+    for (int i = 0; i < numRings - 1; i++) {
+      holes[i] = readLinearRing(buf);
+    }
+    return factory.createPolygon(shell, holes);
+  }
+
+  private MultiPoint readMultiPoint(ByteBuffer buf) throws ParseException
+  {
+    int numGeom = readCount(buf, 5);
+    Point[] geoms = new Point[numGeom];
+    for (int i = 0; i < numGeom; i++) {
+      Geometry g = readGeometry(buf);
+      if (! (g instanceof Point))
+        throw new ParseException(INVALID_GEOM_TYPE_MSG + "MultiPoint");
+      geoms[i] = (Point) g;
+    }
+    return factory.createMultiPoint(geoms);
+  }
+
+  private MultiLineString readMultiLineString(ByteBuffer buf) throws ParseException
+  {
+    int numGeom = readCount(buf, 5);
+    LineString[] geoms = new LineString[numGeom];
+    for (int i = 0; i < numGeom; i++) {
+      Geometry g = readGeometry(buf);
+      if (! (g instanceof LineString))
+        throw new ParseException(INVALID_GEOM_TYPE_MSG + "MultiLineString");
+      geoms[i] = (LineString) g;
+    }
+    return factory.createMultiLineString(geoms);
+  }
+
+  private MultiPolygon readMultiPolygon(ByteBuffer buf) throws ParseException
+  {
+    int numGeom = readCount(buf, 5);
+    Polygon[] geoms = new Polygon[numGeom];
+    for (int i = 0; i < numGeom; i++) {
+      Geometry g = readGeometry(buf);
+      if (! (g instanceof Polygon))
+        throw new ParseException(INVALID_GEOM_TYPE_MSG + "MultiPolygon");
+      geoms[i] = (Polygon) g;
+    }
+    return factory.createMultiPolygon(geoms);
+  }
+
+  private GeometryCollection readGeometryCollection(ByteBuffer buf) throws ParseException
+  {
+    int numGeom = readCount(buf, 5);
+    Geometry[] geoms = new Geometry[numGeom];
+    for (int i = 0; i < numGeom; i++) {
+      geoms[i] = readGeometry(buf);
+    }
+    return factory.createGeometryCollection(geoms);
+  }
+
+  /**
+   * Reads an element count, checking that it is consistent
+   * with the remaining input.
+   * This prevents corrupt counts from causing huge allocations.
+   *
+   * @param buf the buffer to read from
+   * @param minElementSize the minimum size in bytes of each element
+   * @return the count read
+   * @throws ParseException if the count is invalid
+   */
+  private int readCount(ByteBuffer buf, int minElementSize) throws ParseException
+  {
+    int count = buf.getInt();
+    if (count < 0 || (long) count * minElementSize > buf.remaining())
+      throw new ParseException("Invalid WKB element count " + count);
+    return count;
+  }
+
+  /**
+   * Tests whether the first and last points of a ring
+   * are equal in X and Y, without consuming any input.
+   */
+  private boolean isClosed(ByteBuffer buf, int start, int size)
+  {
+    int last = start + 8 * inputDimension * (size - 1);
+    return makePrecise(buf.getDouble(start)) == makePrecise(buf.getDouble(last))
+        && makePrecise(buf.getDouble(start + 8)) == makePrecise(buf.getDouble(last + 8));
+  }
+
+  /**
+   * Reads a sequence of coordinates.
+   * If the output size is larger than the input size,
+   * the sequence is padded by repeating the first point (for rings)
+   * or the last point (for linestrings).
+   *
+   * @param buf the buffer to read from
+   * @param size the number of coordinates to read
+   * @param outSize the size of the sequence to create
+   * @param isRing true if the sequence is padded with its first point
+   * @return the coordinate sequence
+   */
+  private CoordinateSequence readCoordinateSequence(ByteBuffer buf, int size, int outSize, boolean isRing)
+  {
+    int dim = inputDimension;
+    double[] coords = new double[outSize * dim];
+    int n = size * dim;
+    for (int i = 0; i < n; i += dim) {
+      coords[i] = makePrecise(buf.getDouble());
+      coords[i + 1] = makePrecise(buf.getDouble());
+      for (int j = 2; j < dim; j++) {
+        coords[i + j] = buf.getDouble();
+      }
+    }
+    if (outSize > size && size > 0) {
+      int src = isRing ? 0 : n - dim;
+      for (int i = n; i < coords.length; i += dim) {
+        System.arraycopy(coords, src, coords, i, dim);
+      }
+    }
+    return new PackedCoordinateSequence.Double(coords, dim, inputMeasures);
+  }
+
+  private double makePrecise(double val)
+  {
+    if (isFloating) return val;
+    return precisionModel.makePrecise(val);
+  }
+}
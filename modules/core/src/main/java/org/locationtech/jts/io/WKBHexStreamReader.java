@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.io.File;
+import java.io.Reader;
+
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Reads a sequence of {@link Geometry}s in WKBHex format
+ * from a text file or {@link Reader}, one geometry at a time.
+ * As for {@link WKBHexFileReader},
+ * each WKBHex geometry must be on a single line,
+ * and blank lines are ignored.
+ * Skipped lines are not decoded,
+ * and lines can be parsed in parallel.
+ *
+ * @see WKBHexFileReader
+ *
+ * @author Martin Davis
+ *
+ */
+public class WKBHexStreamReader
+  extends GeometryStreamReader
+{
+  private WKBReader wkbReader;
+
+  /**
+   * Creates a new <tt>WKBHexStreamReader</tt> given the <tt>File</tt> to read from
+   * and a <tt>WKBReader</tt> to use to parse the geometries.
+   *
+   * @param file the <tt>File</tt> to read from
+   * @param wkbReader the geometry reader to use
+   */
+  public WKBHexStreamReader(File file, WKBReader wkbReader)
+  {
+    super(file);
+    this.wkbReader = wkbReader;
+  }
+
+  /**
+   * Creates a new <tt>WKBHexStreamReader</tt>, given the name of the file to read from.
+   *
+   * @param filename the name of the file to read from
+   * @param wkbReader the geometry reader to use
+   */
+  public WKBHexStreamReader(String filename, WKBReader wkbReader)
+  {
+    this(new File(filename), wkbReader);
+  }
+
+  /**
+   * Creates a new <tt>WKBHexStreamReader</tt>, given a {@link Reader} to read from.
+   *
+   * @param reader the reader to read from
+   * @param wkbReader the geometry reader to use
+   */
+  public WKBHexStreamReader(Reader reader, WKBReader wkbReader)
+  {
+    super(reader);
+    this.wkbReader = wkbReader;
+  }
+
+  protected boolean isLineDelimited()
+  {
+    return true;
+  }
+
+  protected LineParser createLineParser()
+  {
+    // WKBReader holds parsing state, so each parser needs its own
+    final WKBReader reader = wkbReader.copy();
+    return new LineParser() {
+      public Geometry parse(String line) throws ParseException {
+        return reader.read(WKBReader.hexToBytes(line));
+      }
+    };
+  }
+}
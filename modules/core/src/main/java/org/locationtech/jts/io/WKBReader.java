@@ -122,6 +122,18 @@ public class WKBReader
     csFactory = factory.getCoordinateSequenceFactory();
   }
 
+  /**
+   * Creates a new reader with the same configuration as this one,
+   * for use by another thread.
+   *
+   * @return a new reader
+   */
+  WKBReader copy() {
+    WKBReader reader = new WKBReader(factory);
+    reader.isStrict = isStrict;
+    return reader;
+  }
+
   /**
    * Reads a single {@link Geometry} in WKB format from a byte array.
    *
@@ -11,8 +11,11 @@
  */
 package org.locationtech.jts.io;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
@@ -31,6 +34,11 @@ import org.locationtech.jts.util.Assert;
  * Writes a {@link Geometry} into Well-Known Binary format.
  * Supports use of an {@link OutStream}, which allows easy use
  * with arbitrary byte stream sinks.
+ * Geometries can also be written directly into a {@link ByteBuffer}
+ * (including direct and memory-mapped buffers).
+ * The exact size of the encoded geometry is available
+ * from {@link #getEncodedSize(Geometry)}, 
+ * which allows buffers to be allocated or checked before writing.
  * <p>
  * The WKB format is specified in the 
  * OGC <A HREF="http://www.opengis.org/techno/specs.htm"><i>Simple Features for SQL</i></a>
@@ -197,13 +205,20 @@ public class WKBWriter
     return (char) ('A' + (n - 10));
   }
 
+  /**
+   * The size of the buffer used to write to an {@link OutStream}.
+   * This must be at least as large as a single encoded coordinate.
+   */
+  private static final int STREAM_BUFFER_SIZE = 1024;
+
   private int outputDimension = 2;
   private int byteOrder;
   private boolean includeSRID = false;
-  private ByteArrayOutputStream byteArrayOS = new ByteArrayOutputStream();
-  private OutStream byteArrayOutStream = new OutputStreamOutStream(byteArrayOS);
-  // holds output data values
-  private byte[] buf = new byte[8];
+  // holds output data values when writing to an OutStream; created when first needed
+  private byte[] streamBytes = null;
+  private ByteBuffer streamBuffer = null;
+  // the stream being written to, or null if writing directly to a buffer
+  private OutStream stream = null;
 
   /**
    * Creates a writer that writes {@link Geometry}s with
@@ -285,18 +300,74 @@ public class WKBWriter
    */
   public byte[] write(Geometry geom)
   {
-    try {
-      byteArrayOS.reset();
-      write(geom, byteArrayOutStream);
+    // the encoded size is known exactly, so write straight into the result array
+    byte[] bytes = new byte[getEncodedSize(geom)];
+    encode(geom, ByteBuffer.wrap(bytes));
+    return bytes;
+  }
+
+  /**
+   * Computes the number of bytes in the WKB encoding of a {@link Geometry}
+   * using the settings of this writer.
+   *
+   * @param geom the geometry to compute the size of
+   * @return the size of the encoded geometry in bytes
+   */
+  public int getEncodedSize(Geometry geom)
+  {
+    int headerSize = includeSRID ? 9 : 5;
+    if (geom instanceof Point) {
+      if (((Point) geom).getCoordinateSequence().size() == 0)
+        throw new IllegalArgumentException("Empty Points cannot be represented in WKB");
+      return headerSize + 8 * outputDimension;
     }
-    catch (IOException ex) {
-      throw new RuntimeException("Unexpected IO exception: " + ex.getMessage());
+    if (geom instanceof LineString) {
+      return headerSize + 4 + 8 * outputDimension * ((LineString) geom).getCoordinateSequence().size();
     }
-    return byteArrayOS.toByteArray();
+    if (geom instanceof Polygon) {
+      Polygon poly = (Polygon) geom;
+      int size = headerSize + 4 + 4 + 8 * outputDimension * poly.getExteriorRing().getCoordinateSequence().size();
+      for (int i = 0; i < poly.getNumInteriorRing(); i++) {
+        size += 4 + 8 * outputDimension * poly.getInteriorRingN(i).getCoordinateSequence().size();
+      }
+      return size;
+    }
+    if (geom instanceof GeometryCollection) {
+      int size = headerSize + 4;
+      for (int i = 0; i < geom.getNumGeometries(); i++) {
+        size += getEncodedSize(geom.getGeometryN(i));
+      }
+      return size;
+    }
+    Assert.shouldNeverReachHere("Unknown Geometry type");
+    return 0;
+  }
+
+  /**
+   * Writes a {@link Geometry} into a {@link ByteBuffer},
+   * starting at the current position of the buffer.
+   * On return the buffer is positioned after the written geometry,
+   * and the byte order of the buffer is unchanged.
+   * <p>
+   * The buffer must have at least {@link #getEncodedSize(Geometry)} bytes remaining.
+   * This is checked before anything is written,
+   * so the buffer is not modified if it is too small.
+   *
+   * @param geom the geometry to write
+   * @param buffer the buffer to write to
+   * @throws BufferOverflowException if the buffer does not have enough space remaining
+   */
+  public void write(Geometry geom, ByteBuffer buffer)
+  {
+    if (buffer.remaining() < getEncodedSize(geom))
+      throw new BufferOverflowException();
+    encode(geom, buffer);
   }
 
   /**
    * Writes a {@link Geometry} to an {@link OutStream}.
+   * The geometry is encoded into a small buffer,
+   * which is written to the stream whenever it fills.
    *
    * @param geom the geometry to write
    * @param os the out stream to write to
@@ -304,124 +375,142 @@ public class WKBWriter
    */
   public void write(Geometry geom, OutStream os) throws IOException
   {
-    if (geom instanceof Point)
-      writePoint((Point) geom, os);
-    // LinearRings will be written as LineStrings
-    else if (geom instanceof LineString)
-      writeLineString((LineString) geom, os);
-    else if (geom instanceof Polygon)
-      writePolygon((Polygon) geom, os);
-    else if (geom instanceof MultiPoint)
-      writeGeometryCollection(WKBConstants.wkbMultiPoint, 
-          (MultiPoint) geom, os);
-    else if (geom instanceof MultiLineString)
-      writeGeometryCollection(WKBConstants.wkbMultiLineString,
-          (MultiLineString) geom, os);
-    else if (geom instanceof MultiPolygon)
-      writeGeometryCollection(WKBConstants.wkbMultiPolygon,
-          (MultiPolygon) geom, os);
-    else if (geom instanceof GeometryCollection)
-      writeGeometryCollection(WKBConstants.wkbGeometryCollection,
-          (GeometryCollection) geom, os);
-    else {
-      Assert.shouldNeverReachHere("Unknown Geometry type");
+    if (streamBuffer == null) {
+      streamBytes = new byte[STREAM_BUFFER_SIZE];
+      streamBuffer = ByteBuffer.wrap(streamBytes);
     }
-  }
-
-  private void writePoint(Point pt, OutStream os) throws IOException
-  {
-    if (pt.getCoordinateSequence().size() == 0)
-      throw new IllegalArgumentException("Empty Points cannot be represented in WKB");
-    writeByteOrder(os);
-    writeGeometryType(WKBConstants.wkbPoint, pt, os);
-    writeCoordinateSequence(pt.getCoordinateSequence(), false, os);
-  }
-
-  private void writeLineString(LineString line, OutStream os)
-      throws IOException
-  {
-    writeByteOrder(os);
-    writeGeometryType(WKBConstants.wkbLineString, line, os);
-    writeCoordinateSequence(line.getCoordinateSequence(), true, os);
-  }
-
-  private void writePolygon(Polygon poly, OutStream os) throws IOException
-  {
-    writeByteOrder(os);
-    writeGeometryType(WKBConstants.wkbPolygon, poly, os);
-    writeInt(poly.getNumInteriorRing() + 1, os);
-    writeCoordinateSequence(poly.getExteriorRing().getCoordinateSequence(), true, os);
-    for (int i = 0; i < poly.getNumInteriorRing(); i++) {
-      writeCoordinateSequence(poly.getInteriorRingN(i).getCoordinateSequence(), true,
-          os);
+    streamBuffer.clear();
+    stream = os;
+    try {
+      encode(geom, streamBuffer);
+      flush(streamBuffer);
+    }
+    catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+    finally {
+      stream = null;
     }
   }
 
-  private void writeGeometryCollection(int geometryType, GeometryCollection gc,
-      OutStream os) throws IOException
+  /**
+   * Encodes a geometry into a buffer using the byte order of this writer.
+   * The byte order of the buffer is restored afterwards.
+   */
+  private void encode(Geometry geom, ByteBuffer out)
   {
-    writeByteOrder(os);
-    writeGeometryType(geometryType, gc, os);
-    writeInt(gc.getNumGeometries(), os);
-    for (int i = 0; i < gc.getNumGeometries(); i++) {
-      write(gc.getGeometryN(i), os);
+    ByteOrder origOrder = out.order();
+    out.order(byteOrder == ByteOrderValues.LITTLE_ENDIAN
+        ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+    try {
+      writeGeometry(geom, out);
+    }
+    finally {
+      out.order(origOrder);
     }
   }
 
-  private void writeByteOrder(OutStream os) throws IOException
+  private void writeGeometry(Geometry geom, ByteBuffer out)
   {
-    if (byteOrder == ByteOrderValues.LITTLE_ENDIAN)
-      buf[0] = WKBConstants.wkbNDR;
-    else
-      buf[0] = WKBConstants.wkbXDR;
-    os.write(buf, 1);
+    if (geom instanceof Point) {
+      CoordinateSequence seq = ((Point) geom).getCoordinateSequence();
+      if (seq.size() == 0)
+        throw new IllegalArgumentException("Empty Points cannot be represented in WKB");
+      writeHeader(WKBConstants.wkbPoint, geom, out);
+      writeCoordinateSequence(seq, false, out);
+    }
+    // LinearRings will be written as LineStrings
+    else if (geom instanceof LineString) {
+      writeHeader(WKBConstants.wkbLineString, geom, out);
+      writeCoordinateSequence(((LineString) geom).getCoordinateSequence(), true, out);
+    }
+    else if (geom instanceof Polygon) {
+      Polygon poly = (Polygon) geom;
+      writeHeader(WKBConstants.wkbPolygon, geom, out);
+      writeInt(poly.getNumInteriorRing() + 1, out);
+      writeCoordinateSequence(poly.getExteriorRing().getCoordinateSequence(), true, out);
+      for (int i = 0; i < poly.getNumInteriorRing(); i++) {
+        writeCoordinateSequence(poly.getInteriorRingN(i).getCoordinateSequence(), true, out);
+      }
+    }
+    else if (geom instanceof GeometryCollection) {
+      int geometryType = WKBConstants.wkbGeometryCollection;
+      if (geom instanceof MultiPoint)
+        geometryType = WKBConstants.wkbMultiPoint;
+      else if (geom instanceof MultiLineString)
+        geometryType = WKBConstants.wkbMultiLineString;
+      else if (geom instanceof MultiPolygon)
+        geometryType = WKBConstants.wkbMultiPolygon;
+      writeHeader(geometryType, geom, out);
+      writeInt(geom.getNumGeometries(), out);
+      for (int i = 0; i < geom.getNumGeometries(); i++) {
+        writeGeometry(geom.getGeometryN(i), out);
+      }
+    }
+    else {
+      Assert.shouldNeverReachHere("Unknown Geometry type");
+    }
   }
 
-  private void writeGeometryType(int geometryType, Geometry g, OutStream os)
-      throws IOException
+  private void writeHeader(int geometryType, Geometry g, ByteBuffer out)
   {
+    ensureRemaining(9, out);
+    out.put((byte) (byteOrder == ByteOrderValues.LITTLE_ENDIAN ? WKBConstants.wkbNDR : WKBConstants.wkbXDR));
     int flag3D = (outputDimension == 3) ? 0x80000000 : 0;
     int typeInt = geometryType | flag3D;
     typeInt |= includeSRID ? 0x20000000 : 0;
-    writeInt(typeInt, os);
+    out.putInt(typeInt);
     if (includeSRID) {
-        writeInt(g.getSRID(), os);
+      out.putInt(g.getSRID());
     }
   }
 
-  private void writeInt(int intValue, OutStream os) throws IOException
+  private void writeInt(int intValue, ByteBuffer out)
   {
-    ByteOrderValues.putInt(intValue, buf, byteOrder);
-    os.write(buf, 4);
+    ensureRemaining(4, out);
+    out.putInt(intValue);
   }
 
-  private void writeCoordinateSequence(CoordinateSequence seq, boolean writeSize, OutStream os)
-      throws IOException
+  private void writeCoordinateSequence(CoordinateSequence seq, boolean writeSize, ByteBuffer out)
   {
+    int size = seq.size();
     if (writeSize)
-      writeInt(seq.size(), os);
+      writeInt(size, out);
 
-    for (int i = 0; i < seq.size(); i++) {
-      writeCoordinate(seq, i, os);
+    boolean hasZ = seq.getDimension() >= 3;
+    int coordSize = 8 * outputDimension;
+    for (int i = 0; i < size; i++) {
+      ensureRemaining(coordSize, out);
+      out.putDouble(seq.getX(i));
+      out.putDouble(seq.getY(i));
+      // only write 3rd dim if caller has requested it for this writer
+      if (outputDimension >= 3) {
+        // if 3rd dim is requested, only write it if the CoordinateSequence provides it
+        out.putDouble(hasZ ? seq.getOrdinate(i, 2) : Coordinate.NULL_ORDINATE);
+      }
     }
   }
 
-  private void writeCoordinate(CoordinateSequence seq, int index, OutStream os)
-  throws IOException
+  /**
+   * Ensures there is space for a value in the output buffer.
+   * When writing to a stream the buffer is flushed if required;
+   * otherwise the buffer has been checked to be large enough already.
+   */
+  private void ensureRemaining(int len, ByteBuffer out)
   {
-    ByteOrderValues.putDouble(seq.getX(index), buf, byteOrder);
-    os.write(buf, 8);
-    ByteOrderValues.putDouble(seq.getY(index), buf, byteOrder);
-    os.write(buf, 8);
-    
-    // only write 3rd dim if caller has requested it for this writer
-    if (outputDimension >= 3) {
-      // if 3rd dim is requested, only write it if the CoordinateSequence provides it
-    	double ordVal = Coordinate.NULL_ORDINATE;
-    	if (seq.getDimension() >= 3)
-    		ordVal = seq.getOrdinate(index, 2);
-      ByteOrderValues.putDouble(ordVal, buf, byteOrder);
-      os.write(buf, 8);
+    if (stream != null && out.remaining() < len)
+      flush(out);
+  }
+
+  private void flush(ByteBuffer out)
+  {
+    try {
+      stream.write(streamBytes, out.position());
+    }
+    catch (IOException ex) {
+      // rethrown as an IOException by write(Geometry, OutStream)
+      throw new UncheckedIOException(ex);
     }
+    out.clear();
   }
 }
@@ -14,8 +14,6 @@ package org.locationtech.jts.io;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StreamTokenizer;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.Locale;
@@ -36,8 +34,6 @@ import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.PrecisionModel;
 import org.locationtech.jts.geom.impl.CoordinateArraySequenceFactory;
-import org.locationtech.jts.util.Assert;
-import org.locationtech.jts.util.AssertionFailedException;
 
 /**
  * Converts a geometry in Well-Known Text format to a {@link Geometry}.
@@ -208,18 +204,16 @@ public class WKTReader
    *             if a parsing problem occurs
    */
   public Geometry read(String wellKnownText) throws ParseException {
-    StringReader reader = new StringReader(wellKnownText);
-    try {
-      return read(reader);
-    }
-    finally {
-      reader.close();
-    }
+    return read(new WKTTokenizer(wellKnownText));
   }
 
   /**
    * Reads a Well-Known Text representation of a {@link Geometry}
    * from a {@link Reader}.
+   * <p>
+   * If the reader supports marking, on return it is positioned
+   * after the text of the geometry, so that further geometries
+   * can be read from it.
    *
    *@param  reader           a Reader which will return a &lt;Geometry Tagged Text&gt;
    *      string (see the OpenGIS Simple Features Specification)
@@ -227,9 +221,17 @@ public class WKTReader
    *@throws  ParseException  if a parsing problem occurs
    */
   public Geometry read(Reader reader) throws ParseException {
-    StreamTokenizer tokenizer = createTokenizer(reader);
+    return read(new WKTTokenizer(reader));
+  }
+
+  private Geometry read(WKTTokenizer tokenizer) throws ParseException {
     try {
-      return readGeometryTaggedText(tokenizer);
+      try {
+        return readGeometryTaggedText(tokenizer);
+      }
+      finally {
+        tokenizer.close();
+      }
     }
     catch (IOException e) {
       throw new ParseException(e.toString());
@@ -237,30 +239,7 @@ public class WKTReader
   }
 
   /**
-   * Utility function to create the tokenizer
-   * @param reader a reader
-   *
-   * @return a WKT Tokenizer.
-   */
-  private static StreamTokenizer createTokenizer(Reader reader) {
-    StreamTokenizer tokenizer = new StreamTokenizer(reader);
-    // set tokenizer to NOT parse numbers
-    tokenizer.resetSyntax();
-    tokenizer.wordChars('a', 'z');
-    tokenizer.wordChars('A', 'Z');
-    tokenizer.wordChars(128 + 32, 255);
-    tokenizer.wordChars('0', '9');
-    tokenizer.wordChars('-', '-');
-    tokenizer.wordChars('+', '+');
-    tokenizer.wordChars('.', '.');
-    tokenizer.whitespaceChars(0, ' ');
-    tokenizer.commentChar('#');
-
-    return tokenizer;
-  }
-
-  /**
-   * Reads a <code>Coordinate</Code> from a stream using the given {@link StreamTokenizer}.
+   * Reads a <code>Coordinate</Code> from a stream using the given {@link WKTTokenizer}.
    * <p>
    *   All ordinate values are read, but -depending on the {@link CoordinateSequenceFactory} of the
    *   underlying {@link GeometryFactory}- not necessarily all can be handled. Those are silently dropped.
@@ -273,7 +252,7 @@ public class WKTReader
    *@throws  IOException     if an I/O error occurs
    *@throws  ParseException  if an unexpected token was encountered
    */
-  private CoordinateSequence getCoordinate(StreamTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags, boolean tryParen)
+  private CoordinateSequence getCoordinate(WKTTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags, boolean tryParen)
           throws IOException, ParseException
   {
 
@@ -308,7 +287,7 @@ public class WKTReader
   }
 
   /**
-   * Reads a <code>Coordinate</Code> from a stream using the given {@link StreamTokenizer}.
+   * Reads a <code>Coordinate</Code> from a stream using the given {@link WKTTokenizer}.
    * <p>
    *   All ordinate values are read, but -depending on the {@link CoordinateSequenceFactory} of the
    *   underlying {@link GeometryFactory}- not necessarily all can be handled. Those are silently dropped.
@@ -323,13 +302,13 @@ public class WKTReader
    *@throws  IOException     if an I/O error occurs
    *@throws  ParseException  if an unexpected token was encountered
    */
-  private CoordinateSequence getCoordinateSequence(StreamTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags)
+  private CoordinateSequence getCoordinateSequence(WKTTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags)
           throws IOException, ParseException {
     return getCoordinateSequence(tokenizer, ordinateFlags, false);
   }
 
   /**
-   * Reads a <code>CoordinateSequence</Code> from a stream using the given {@link StreamTokenizer}.
+   * Reads a <code>CoordinateSequence</Code> from a stream using the given {@link WKTTokenizer}.
    * <p>
    *   All ordinate values are read, but -depending on the {@link CoordinateSequenceFactory} of the
    *   underlying {@link GeometryFactory}- not necessarily all can be handled. Those are silently dropped.
@@ -342,7 +321,7 @@ public class WKTReader
    *@throws  IOException     if an I/O error occurs
    *@throws  ParseException  if an unexpected token was encountered
 S   */
-  private CoordinateSequence getCoordinateSequence(StreamTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags,
+  private CoordinateSequence getCoordinateSequence(WKTTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags,
                                                    boolean tryParen)
           throws IOException, ParseException {
 
@@ -439,7 +418,7 @@ S   */
    *
    *@deprecated in favor of functions returning {@link CoordinateSequence}s
    */
-  private Coordinate[] getCoordinates(StreamTokenizer tokenizer) throws IOException, ParseException {
+  private Coordinate[] getCoordinates(WKTTokenizer tokenizer) throws IOException, ParseException {
     String nextToken = getNextEmptyOrOpener(tokenizer);
     if (nextToken.equals(EMPTY)) {
       return new Coordinate[] {};
@@ -467,7 +446,7 @@ S   */
    *
    *@deprecated in favor of functions returning {@link CoordinateSequence}s
    */
-  private Coordinate[] getCoordinatesNoLeftParen(StreamTokenizer tokenizer) throws IOException, ParseException {
+  private Coordinate[] getCoordinatesNoLeftParen(WKTTokenizer tokenizer) throws IOException, ParseException {
     String nextToken = null;
     ArrayList coordinates = new ArrayList();
     coordinates.add(getPreciseCoordinate(tokenizer));
@@ -492,7 +471,7 @@ S   */
    *
    *@deprecated in favor of functions returning {@link CoordinateSequence}s
    */
-  private Coordinate getPreciseCoordinate(StreamTokenizer tokenizer)
+  private Coordinate getPreciseCoordinate(WKTTokenizer tokenizer)
       throws IOException, ParseException
   {
     Coordinate coord = new Coordinate();
@@ -515,10 +494,10 @@ S   */
    * @return {@code true} if the next token is a number, otherwise {@code false}
    * @throws  IOException     if an I/O error occurs
    */
-  private static boolean isNumberNext(StreamTokenizer tokenizer) throws IOException {
+  private static boolean isNumberNext(WKTTokenizer tokenizer) throws IOException {
     int type = tokenizer.nextToken();
     tokenizer.pushBack();
-    return type == StreamTokenizer.TT_WORD;
+    return type == WKTTokenizer.TT_WORD;
   }
 
   /**
@@ -528,7 +507,7 @@ S   */
    * @return {@code true} if the next token is a {@link #L_PAREN}, otherwise {@code false}
    * @throws  IOException     if an I/O error occurs
    */
-  private static boolean isOpenerNext(StreamTokenizer tokenizer) throws IOException {
+  private static boolean isOpenerNext(WKTTokenizer tokenizer) throws IOException {
     int type = tokenizer.nextToken();
     tokenizer.pushBack();
     return type == '(';
@@ -545,21 +524,21 @@ S   */
    * @throws  ParseException  if the next token is not a valid number
    * @throws  IOException     if an I/O error occurs
    */
-  private double getNextNumber(StreamTokenizer tokenizer) throws IOException,
+  private double getNextNumber(WKTTokenizer tokenizer) throws IOException,
       ParseException {
     int type = tokenizer.nextToken();
     switch (type) {
-      case StreamTokenizer.TT_WORD:
+      case WKTTokenizer.TT_WORD:
       {
-        if (tokenizer.sval.equalsIgnoreCase(NAN_SYMBOL)) {
+        if (tokenizer.isWordIgnoreCase(NAN_SYMBOL)) {
           return Double.NaN;
         }
         else {
           try {
-            return Double.parseDouble(tokenizer.sval);
+            return tokenizer.getNumberValue();
           }
           catch (NumberFormatException ex) {
-            throw parseErrorWithLine(tokenizer, "Invalid number: " + tokenizer.sval);
+            throw parseErrorWithLine(tokenizer, "Invalid number: " + tokenizer.getStringValue());
           }
         }
       }
@@ -576,7 +555,7 @@ S   */
    *@throws  IOException     if an I/O error occurs
    * @param  tokenizer        tokenizer over a stream of text in Well-known Text
    */
-  private static String getNextEmptyOrOpener(StreamTokenizer tokenizer) throws IOException, ParseException {
+  private static String getNextEmptyOrOpener(WKTTokenizer tokenizer) throws IOException, ParseException {
     String nextWord = getNextWord(tokenizer);
     if (nextWord.equalsIgnoreCase("Z")) {
       //z = true;
@@ -607,7 +586,7 @@ S   */
    *@throws  IOException     if an I/O error occurs
    * @param  tokenizer        tokenizer over a stream of text in Well-known Text
    */
-  private static EnumSet<Ordinate> getNextOrdinateFlags(StreamTokenizer tokenizer) throws IOException, ParseException {
+  private static EnumSet<Ordinate> getNextOrdinateFlags(WKTTokenizer tokenizer) throws IOException, ParseException {
 
     EnumSet<Ordinate> result = EnumSet.of(Ordinate.X, Ordinate.Y);
 
@@ -637,7 +616,7 @@ S   */
    *@throws  ParseException  if the next token is not a word
    *@throws  IOException     if an I/O error occurs
    */
-  private static String lookAheadWord(StreamTokenizer tokenizer) throws IOException, ParseException {
+  private static String lookAheadWord(WKTTokenizer tokenizer) throws IOException, ParseException {
     String nextWord = getNextWord(tokenizer);
     tokenizer.pushBack();
     return nextWord;
@@ -651,7 +630,7 @@ S   */
    *@throws  IOException     if an I/O error occurs
    * @param  tokenizer        tokenizer over a stream of text in Well-known Text
    */
-  private static String getNextCloserOrComma(StreamTokenizer tokenizer) throws IOException, ParseException {
+  private static String getNextCloserOrComma(WKTTokenizer tokenizer) throws IOException, ParseException {
     String nextWord = getNextWord(tokenizer);
     if (nextWord.equals(COMMA) || nextWord.equals(R_PAREN)) {
       return nextWord;
@@ -668,7 +647,7 @@ S   */
    *@throws  ParseException  if the next token is not R_PAREN
    *@throws  IOException     if an I/O error occurs
    */
-  private String getNextCloser(StreamTokenizer tokenizer) throws IOException, ParseException {
+  private String getNextCloser(WKTTokenizer tokenizer) throws IOException, ParseException {
     String nextWord = getNextWord(tokenizer);
     if (nextWord.equals(R_PAREN)) {
       return nextWord;
@@ -684,12 +663,12 @@ S   */
    *@throws  IOException     if an I/O error occurs
    * @param  tokenizer        tokenizer over a stream of text in Well-known Text
    */
-  private static String getNextWord(StreamTokenizer tokenizer) throws IOException, ParseException {
+  private static String getNextWord(WKTTokenizer tokenizer) throws IOException, ParseException {
     int type = tokenizer.nextToken();
     switch (type) {
-    case StreamTokenizer.TT_WORD:
+    case WKTTokenizer.TT_WORD:
 
-      String word = tokenizer.sval;
+      String word = tokenizer.getStringValue();
       if (word.equalsIgnoreCase(EMPTY))
           return EMPTY;
       return word;
@@ -706,16 +685,9 @@ S   */
    * was unexpected.
    *
    * @param expected a description of what was expected
-   * @throws AssertionFailedException if an invalid token is encountered
    */
-  private static ParseException parseErrorExpected(StreamTokenizer tokenizer, String expected)
+  private static ParseException parseErrorExpected(WKTTokenizer tokenizer, String expected)
   {
-    // throws Asserts for tokens that should never be seen
-    if (tokenizer.ttype == StreamTokenizer.TT_NUMBER)
-      Assert.shouldNeverReachHere("Unexpected NUMBER token");
-    if (tokenizer.ttype == StreamTokenizer.TT_EOL)
-      Assert.shouldNeverReachHere("Unexpected EOL token");
-
     String tokenStr = tokenString(tokenizer);
     return parseErrorWithLine(tokenizer, "Expected " + expected + " but found " + tokenStr);
   }
@@ -725,9 +697,8 @@ S   */
    * was unexpected.
    *
    * @param msg a description of what was expected
-   * @throws AssertionFailedException if an invalid token is encountered
    */
-  private static ParseException parseErrorWithLine(StreamTokenizer tokenizer, String msg)
+  private static ParseException parseErrorWithLine(WKTTokenizer tokenizer, String msg)
   {
     return new ParseException(msg + " (line " + tokenizer.lineno() + ")");
   }
@@ -737,15 +708,11 @@ S   */
    * @param tokenizer the tokenizer
    * @return a description of the current token
    */
-  private static String tokenString(StreamTokenizer tokenizer)
+  private static String tokenString(WKTTokenizer tokenizer)
   {
     switch (tokenizer.ttype) {
-      case StreamTokenizer.TT_NUMBER:
-        return "<NUMBER>";
-      case StreamTokenizer.TT_EOL:
-        return "End-of-Line";
-      case StreamTokenizer.TT_EOF: return "End-of-Stream";
-      case StreamTokenizer.TT_WORD: return "'" + tokenizer.sval + "'";
+      case WKTTokenizer.TT_EOF: return "End-of-Stream";
+      case WKTTokenizer.TT_WORD: return "'" + tokenizer.getStringValue() + "'";
     }
     return "'" + (char) tokenizer.ttype + "'";
   }
@@ -761,7 +728,7 @@ S   */
    *@throws  IOException     if an I/O error occurs
    * @param  tokenizer        tokenizer over a stream of text in Well-known Text
    */
-  private Geometry readGeometryTaggedText(StreamTokenizer tokenizer) throws IOException, ParseException {
+  private Geometry readGeometryTaggedText(WKTTokenizer tokenizer) throws IOException, ParseException {
     String type;
 
     EnumSet<Ordinate> ordinateFlags = EnumSet.of(Ordinate.X, Ordinate.Y);
@@ -784,7 +751,7 @@ S   */
     return readGeometryTaggedText(tokenizer, type, ordinateFlags);
   }
 
-  private Geometry readGeometryTaggedText(StreamTokenizer tokenizer, String type, EnumSet<Ordinate> ordinateFlags)
+  private Geometry readGeometryTaggedText(WKTTokenizer tokenizer, String type, EnumSet<Ordinate> ordinateFlags)
           throws IOException, ParseException {
 
     if (ordinateFlags.size() == 2) {
@@ -841,7 +808,7 @@ S   */
    *@throws  IOException     if an I/O error occurs
    *@throws  ParseException  if an unexpected token was encountered
    */
-  private Point readPointText(StreamTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags) throws IOException, ParseException {
+  private Point readPointText(WKTTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags) throws IOException, ParseException {
     Point point = geometryFactory.createPoint(getCoordinateSequence(tokenizer, ordinateFlags));
     return point;
   }
@@ -856,7 +823,7 @@ S   */
    *@throws  IOException     if an I/O error occurs
    *@throws  ParseException  if an unexpected token was encountered
    */
-  private LineString readLineStringText(StreamTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags) throws IOException, ParseException {
+  private LineString readLineStringText(WKTTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags) throws IOException, ParseException {
     return geometryFactory.createLineString(getCoordinateSequence(tokenizer, ordinateFlags));
   }
 
@@ -872,7 +839,7 @@ S   */
    *      do not form a closed linestring, or if an unexpected token was
    *      encountered
    */
-  private LinearRing readLinearRingText(StreamTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags)
+  private LinearRing readLinearRingText(WKTTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags)
     throws IOException, ParseException
   {
     return geometryFactory.createLinearRing(getCoordinateSequence(tokenizer, ordinateFlags));
@@ -888,7 +855,7 @@ S   */
    *@throws  IOException     if an I/O error occurs
    *@throws  ParseException  if an unexpected token was encountered
    */
-  private MultiPoint readMultiPointText(StreamTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags) throws IOException, ParseException
+  private MultiPoint readMultiPointText(WKTTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags) throws IOException, ParseException
   {
     return geometryFactory.createMultiPoint(
             getCoordinateSequence(tokenizer, ordinateFlags, this.isAllowOldJtsMultipointSyntax));
@@ -907,7 +874,7 @@ S   */
    *      token was encountered.
    *@throws  IOException     if an I/O error occurs
    */
-  private Polygon readPolygonText(StreamTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags) throws IOException, ParseException {
+  private Polygon readPolygonText(WKTTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags) throws IOException, ParseException {
     String nextToken = getNextEmptyOrOpener(tokenizer);
     if (nextToken.equals(EMPTY)) {
         return geometryFactory.createPolygon();
@@ -934,7 +901,7 @@ S   */
    *@throws  IOException     if an I/O error occurs
    *@throws  ParseException  if an unexpected token was encountered
    */
-  private MultiLineString readMultiLineStringText(StreamTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags)
+  private MultiLineString readMultiLineStringText(WKTTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags)
           throws IOException, ParseException {
     String nextToken = getNextEmptyOrOpener(tokenizer);
     if (nextToken.equals(EMPTY)) {
@@ -963,7 +930,7 @@ S   */
    *@throws  IOException     if an I/O error occurs
    *@throws  ParseException  if an unexpected token was encountered
    */
-  private MultiPolygon readMultiPolygonText(StreamTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags) throws IOException, ParseException {
+  private MultiPolygon readMultiPolygonText(WKTTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags) throws IOException, ParseException {
     String nextToken = getNextEmptyOrOpener(tokenizer);
     if (nextToken.equals(EMPTY)) {
       return geometryFactory.createMultiPolygon();
@@ -991,7 +958,7 @@ S   */
    *      token was encountered
    *@throws  IOException     if an I/O error occurs
    */
-  private GeometryCollection readGeometryCollectionText(StreamTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags) throws IOException, ParseException {
+  private GeometryCollection readGeometryCollectionText(WKTTokenizer tokenizer, EnumSet<Ordinate> ordinateFlags) throws IOException, ParseException {
     String nextToken = getNextEmptyOrOpener(tokenizer);
     if (nextToken.equals(EMPTY)) {
       return geometryFactory.createGeometryCollection();
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Reads a sequence of {@link Geometry}s in WKT format
+ * from a text file or {@link Reader}, one geometry at a time.
+ * <p>
+ * By default, as for {@link WKTFileReader},
+ * the geometries may be separated by any amount of whitespace and newlines,
+ * and <tt>#</tt> comments are ignored.
+ * Skipped geometries are tokenized but not parsed.
+ * <p>
+ * If the input is set to be line-delimited,
+ * each non-blank line must contain exactly one geometry.
+ * Skipped lines are not tokenized,
+ * and lines can be parsed in parallel.
+ * <p>
+ * The {@link WKTReader} used must not be modified during iteration,
+ * since it may be used by several threads.
+ * <p>
+ * Example usage:
+ * <pre>
+ * WKTStreamReader rdr = new WKTStreamReader(file, new WKTReader());
+ * rdr.setLineDelimited(true);
+ * rdr.setForkJoinPool(ForkJoinPool.commonPool());
+ * Iterator&lt;Geometry&gt; it = rdr.iterator();
+ * while (it.hasNext()) {
+ *   process(it.next());
+ * }
+ * </pre>
+ *
+ * @see WKTFileReader
+ *
+ * @author Martin Davis
+ *
+ */
+public class WKTStreamReader
+  extends GeometryStreamReader
+{
+  private WKTReader wktReader;
+  private boolean isLineDelimited = false;
+
+  /**
+   * Creates a new <tt>WKTStreamReader</tt> given the <tt>File</tt> to read from
+   * and a <tt>WKTReader</tt> to use to parse the geometries.
+   *
+   * @param file the <tt>File</tt> to read from
+   * @param wktReader the geometry reader to use
+   */
+  public WKTStreamReader(File file, WKTReader wktReader)
+  {
+    super(file);
+    this.wktReader = wktReader;
+  }
+
+  /**
+   * Creates a new <tt>WKTStreamReader</tt>, given the name of the file to read from.
+   *
+   * @param filename the name of the file to read from
+   * @param wktReader the geometry reader to use
+   */
+  public WKTStreamReader(String filename, WKTReader wktReader)
+  {
+    this(new File(filename), wktReader);
+  }
+
+  /**
+   * Creates a new <tt>WKTStreamReader</tt>, given a {@link Reader} to read from.
+   *
+   * @param reader the reader to read from
+   * @param wktReader the geometry reader to use
+   */
+  public WKTStreamReader(Reader reader, WKTReader wktReader)
+  {
+    super(reader);
+    this.wktReader = wktReader;
+  }
+
+  /**
+   * Sets whether the input contains exactly one geometry on each non-blank line.
+   * This allows faster skipping and parallel parsing.
+   *
+   * @param isLineDelimited whether the input is line-delimited
+   */
+  public void setLineDelimited(boolean isLineDelimited)
+  {
+    this.isLineDelimited = isLineDelimited;
+  }
+
+  protected boolean isLineDelimited()
+  {
+    return isLineDelimited;
+  }
+
+  protected LineParser createLineParser()
+  {
+    // WKTReader holds no parsing state, so it can be shared between threads
+    return new LineParser() {
+      public Geometry parse(String line) throws ParseException {
+        return wktReader.read(line);
+      }
+    };
+  }
+
+  protected Geometry readGeometry(BufferedReader in)
+      throws IOException, ParseException
+  {
+    return wktReader.read(in);
+  }
+
+  /**
+   * Skips a geometry by matching the parentheses of its text,
+   * without parsing ordinates or creating coordinates.
+   */
+  protected void skipGeometry(BufferedReader in)
+      throws IOException, ParseException
+  {
+    WKTTokenizer tokenizer = new WKTTokenizer(in);
+    try {
+      int depth = 0;
+      while (true) {
+        int type = tokenizer.nextToken();
+        if (type == WKTTokenizer.TT_EOF) {
+          throw new ParseException("Unexpected end of WKT input (line " + tokenizer.lineno() + ")");
+        }
+        if (type == '(') {
+          depth++;
+        }
+        else if (type == ')') {
+          depth--;
+          if (depth <= 0) return;
+        }
+        else if (depth == 0 && type == WKTTokenizer.TT_WORD
+            && tokenizer.isWordIgnoreCase("EMPTY")) {
+          return;
+        }
+      }
+    }
+    finally {
+      tokenizer.close();
+    }
+  }
+
+  /**
+   * Skips whitespace and comments before the next geometry.
+   */
+  protected boolean skipToGeometry(BufferedReader in)
+      throws IOException
+  {
+    while (true) {
+      in.mark(1);
+      int c = in.read();
+      if (c < 0)
+        return false;
+      if (c == '#') {
+        in.readLine();
+        continue;
+      }
+      if (c > ' ') {
+        in.reset();
+        return true;
+      }
+    }
+  }
+}
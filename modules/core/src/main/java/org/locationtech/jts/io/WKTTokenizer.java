@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A fast tokenizer for Well-Known Text, used by {@link WKTReader}.
+ * <p>
+ * It produces the same tokens as a {@link java.io.StreamTokenizer}
+ * configured for WKT (with number parsing disabled):
+ * <ul>
+ * <li>words made up of letters, digits, <tt>+</tt>, <tt>-</tt>, <tt>.</tt>
+ * and characters from 160 upwards
+ * <li>ordinary single-character tokens for all other non-whitespace characters
+ * <li>comments from <tt>#</tt> to the end of the line are skipped
+ * </ul>
+ * Unlike StreamTokenizer, it scans a <code>char</code> array
+ * rather than reading the input a character at a time,
+ * and can parse a word as a number
+ * without creating a <code>String</code>.
+ * <p>
+ * Input from a {@link Reader} which supports marking
+ * is read in blocks, and {@link #close()} repositions the reader
+ * immediately after the last character consumed.
+ * So, like StreamTokenizer, a reader can be used to read successive geometries.
+ * Other readers are read one character at a time.
+ *
+ * @author Martin Davis
+ *
+ */
+class WKTTokenizer
+{
+  /**
+   * Indicates that the end of the input has been reached.
+   */
+  static final int TT_EOF = -1;
+
+  /**
+   * Indicates that a word token has been read.
+   */
+  static final int TT_WORD = -3;
+
+  private static final int BLOCK_SIZE = 8192;
+
+  /**
+   * Powers of ten which are exactly representable as doubles.
+   */
+  private static final double[] POW10 = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+    1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+    1e21, 1e22
+  };
+
+  /**
+   * The largest mantissa which is exactly representable as a double.
+   */
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+  /**
+   * The type of the current token.
+   * This is {@link #TT_WORD}, {@link #TT_EOF}, or the character of an ordinary token.
+   */
+  int ttype;
+
+  private Reader reader;
+  private boolean isMarkable;
+  private char[] buf;
+  private int pos = 0;
+  private int limit;
+
+  private char[] word = new char[32];
+  private int wordLen = 0;
+  private String wordString;
+
+  /**
+   * A character read after the end of a word.
+   */
+  private int peekChar = -1;
+  private boolean isPushedBack = false;
+  private int lineno = 1;
+
+  /**
+   * Creates a tokenizer over a string.
+   *
+   * @param text the text to tokenize
+   */
+  WKTTokenizer(String text)
+  {
+    buf = text.toCharArray();
+    limit = buf.length;
+    reader = null;
+  }
+
+  /**
+   * Creates a tokenizer over the characters from a reader.
+   *
+   * @param reader the reader to tokenize
+   */
+  WKTTokenizer(Reader reader)
+  {
+    this.reader = reader;
+    isMarkable = reader.markSupported();
+    buf = new char[isMarkable ? BLOCK_SIZE : 1];
+    limit = 0;
+  }
+
+  /**
+   * Gets the current line number.
+   *
+   * @return the current line number
+   */
+  int lineno()
+  {
+    return lineno;
+  }
+
+  /**
+   * Causes the next call to {@link #nextToken()} to return the current token again.
+   */
+  void pushBack()
+  {
+    isPushedBack = true;
+  }
+
+  /**
+   * Gets the text of the current word token.
+   *
+   * @return the word text
+   */
+  String getStringValue()
+  {
+    if (wordString == null)
+      wordString = new String(word, 0, wordLen);
+    return wordString;
+  }
+
+  /**
+   * Tests whether the current word token matches a string, ignoring case.
+   *
+   * @param s the string to test
+   * @return true if the word matches the string
+   */
+  boolean isWordIgnoreCase(String s)
+  {
+    if (s.length() != wordLen) return false;
+    for (int i = 0; i < wordLen; i++) {
+      char c1 = word[i];
+      char c2 = s.charAt(i);
+      if (c1 != c2 && Character.toUpperCase(c1) != Character.toUpperCase(c2))
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Parses the current word token as a number,
+   * with the same result as {@link Double#parseDouble(String)}.
+   * Plain decimal values whose result can be computed exactly
+   * are parsed directly from the characters of the word.
+   * Other values are handled by {@link Double#parseDouble(String)}.
+   *
+   * @return the value of the word
+   * @throws NumberFormatException if the word is not a valid number
+   */
+  double getNumberValue()
+  {
+    int i = 0;
+    boolean isNegative = false;
+    if (wordLen > 0 && (word[0] == '-' || word[0] == '+')) {
+      isNegative = word[0] == '-';
+      i++;
+    }
+    long mantissa = 0;
+    int numDigits = 0;
+    int exp10 = 0;
+    boolean hasDigits = false;
+    for (; i < wordLen && isDigit(word[i]); i++) {
+      hasDigits = true;
+      if (mantissa == 0 && word[i] == '0') continue;
+      if (numDigits >= 18) return parseDouble();
+      mantissa = 10 * mantissa + (word[i] - '0');
+      numDigits++;
+    }
+    if (i < wordLen && word[i] == '.') {
+      i++;
+      for (; i < wordLen && isDigit(word[i]); i++) {
+        hasDigits = true;
+        if (mantissa == 0 && word[i] == '0') {
+          exp10--;
+          continue;
+        }
+        if (numDigits >= 18) return parseDouble();
+        mantissa = 10 * mantissa + (word[i] - '0');
+        numDigits++;
+        exp10--;
+      }
+    }
+    if (! hasDigits) return parseDouble();
+    if (i < wordLen && (word[i] == 'e' || word[i] == 'E')) {
+      i++;
+      boolean isExpNegative = false;
+      if (i < wordLen && (word[i] == '-' || word[i] == '+')) {
+        isExpNegative = word[i] == '-';
+        i++;
+      }
+      if (i == wordLen) return parseDouble();
+      int exp = 0;
+      for (; i < wordLen && isDigit(word[i]); i++) {
+        if (exp > 10000) return parseDouble();
+        exp = 10 * exp + (word[i] - '0');
+      }
+      exp10 += isExpNegative ? -exp : exp;
+    }
+    // trailing characters (e.g. type suffixes) are left to the JDK parser
+    if (i < wordLen) return parseDouble();
+    if (mantissa > MAX_EXACT_MANTISSA) return parseDouble();
+
+    /**
+     * The mantissa and the power of ten are both exact,
+     * so a single multiplication or division gives the correctly rounded result.
+     */
+    double value;
+    if (mantissa == 0) {
+      value = 0.0;
+    }
+    else if (exp10 == 0) {
+      value = mantissa;
+    }
+    else if (exp10 > 0 && exp10 < POW10.length) {
+      value = mantissa * POW10[exp10];
+    }
+    else if (exp10 < 0 && -exp10 < POW10.length) {
+      value = mantissa / POW10[-exp10];
+    }
+    else {
+      return parseDouble();
+    }
+    return isNegative ? -value : value;
+  }
+
+  private double parseDouble()
+  {
+    return Double.parseDouble(getStringValue());
+  }
+
+  private static boolean isDigit(char c)
+  {
+    return c >= '0' && c <= '9';
+  }
+
+  /**
+   * Reads the next token.
+   *
+   * @return the type of the token read
+   * @throws IOException if an I/O error occurs
+   */
+  int nextToken() throws IOException
+  {
+    if (isPushedBack) {
+      isPushedBack = false;
+      return ttype;
+    }
+    wordString = null;
+    int c = peekChar;
+    peekChar = -1;
+    if (c < 0)
+      c = read();
+    while (true) {
+      if (c < 0) {
+        return ttype = TT_EOF;
+      }
+      if (c <= ' ') {
+        if (c == '\r') {
+          lineno++;
+          c = read();
+          if (c == '\n')
+            c = read();
+          continue;
+        }
+        if (c == '\n')
+          lineno++;
+        c = read();
+        continue;
+      }
+      if (c == '#') {
+        // skip comment, leaving the line end to be counted
+        do {
+          c = read();
+        } while (c >= 0 && c != '\n' && c != '\r');
+        continue;
+      }
+      break;
+    }
+    if (! isWordChar(c)) {
+      return ttype = c;
+    }
+    wordLen = 0;
+    do {
+      if (wordLen == word.length) {
+        char[] newWord = new char[2 * word.length];
+        System.arraycopy(word, 0, newWord, 0, wordLen);
+        word = newWord;
+      }
+      word[wordLen++] = (char) c;
+      c = read();
+    } while (c >= 0 && isWordChar(c));
+    peekChar = c;
+    return ttype = TT_WORD;
+  }
+
+  /**
+   * Releases the input.
+   * If the input is a markable reader it is positioned
+   * after the last character consumed by the tokenizer.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  void close() throws IOException
+  {
+    if (reader != null && isMarkable && limit > 0) {
+      reader.reset();
+      reader.skip(pos);
+    }
+    reader = null;
+  }
+
+  private static boolean isWordChar(int c)
+  {
+    return (c >= 'a' && c <= 'z')
+        || (c >= 'A' && c <= 'Z')
+        || (c >= '0' && c <= '9')
+        || c == '-' || c == '+' || c == '.'
+        || c >= 160;
+  }
+
+  private int read() throws IOException
+  {
+    if (pos < limit)
+      return buf[pos++];
+    if (reader == null)
+      return -1;
+    if (isMarkable) {
+      reader.mark(BLOCK_SIZE);
+    }
+    int n = reader.read(buf, 0, buf.length);
+    pos = 0;
+    if (n <= 0) {
+      limit = 0;
+      return -1;
+    }
+    limit = n;
+    return buf[pos++];
+  }
+}
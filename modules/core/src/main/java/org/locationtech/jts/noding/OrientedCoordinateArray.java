@@ -79,6 +79,39 @@ public class OrientedCoordinateArray
     return comp;
   }
 
+  /**
+   * Tests whether this array has the same points as another,
+   * in either orientation.
+   * This is consistent with {@link #compareTo(Object)}.
+   *
+   * @param o the object to test
+   * @return true if the arrays have the same oriented points
+   */
+  public boolean equals(Object o) {
+    if (! (o instanceof OrientedCoordinateArray))
+      return false;
+    return compareTo(o) == 0;
+  }
+
+  /**
+   * Computes a hash code from the X and Y ordinates of the points,
+   * taken in the canonical orientation.
+   *
+   * @return a hash code for the oriented points
+   */
+  public int hashCode() {
+    int dir = orientation ? 1 : -1;
+    int i = orientation ? 0 : pts.length - 1;
+    int hash = 17;
+    for (int n = 0; n < pts.length; n++) {
+      // adding 0.0 makes -0.0 hash the same as 0.0, to which it compares equal
+      hash = 37 * hash + Coordinate.hashCode(pts[i].x + 0.0);
+      hash = 37 * hash + Coordinate.hashCode(pts[i].y + 0.0);
+      i += dir;
+    }
+    return hash;
+  }
+
   private static int compareOriented(Coordinate[] pts1,
                                      boolean orientation1,
                                      Coordinate[] pts2,
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.noding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.locationtech.jts.algorithm.LineIntersector;
+import org.locationtech.jts.algorithm.RobustLineIntersector;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.index.chain.MonotoneChain;
+import org.locationtech.jts.index.chain.MonotoneChainBuilder;
+import org.locationtech.jts.index.chain.MonotoneChainOverlapAction;
+import org.locationtech.jts.index.strtree.STRtree;
+
+/**
+ * Nodes a set of {@link NodedSegmentString}s
+ * using an index of {@link MonotoneChain}s,
+ * computing the intersections in parallel.
+ * The result is the same as using an {@link MCIndexNoder}
+ * with an {@link IntersectionAdder}.
+ * <p>
+ * The monotone chains are indexed in an {@link STRtree}.
+ * The list of chains is then split into ranges,
+ * each of which is intersected against the index by a task
+ * running in a {@link ForkJoinPool}.
+ * Each task has its own {@link IntersectionAdder} and {@link LineIntersector},
+ * and records the nodes it finds in private copies of the segment strings.
+ * When all tasks are complete the nodes are added to the input segment strings
+ * in task order, so the noding produced is deterministic
+ * and identical to that of the serial algorithm.
+ * <p>
+ * This class can be used wherever a {@link Noder} is accepted,
+ * for example in a <code>BufferBuilder</code>.
+ *
+ * @see MCIndexNoder
+ *
+ * @author Martin Davis
+ *
+ */
+public class ParallelMCIndexNoder
+    implements Noder
+{
+  /**
+   * The minimum number of chains intersected by a single task.
+   */
+  private static final int MIN_CHAINS_PER_TASK = 256;
+
+  /**
+   * The number of tasks created per thread in the pool,
+   * to balance the load when chain ranges have uneven cost.
+   */
+  private static final int TASKS_PER_THREAD = 4;
+
+  private PrecisionModel precisionModel;
+  private ForkJoinPool pool;
+  private List monoChains;
+  private STRtree index;
+  private Collection nodedSegStrings;
+
+  /**
+   * Creates a noder which computes intersections in floating precision
+   * using the common {@link ForkJoinPool}.
+   */
+  public ParallelMCIndexNoder()
+  {
+    this(new PrecisionModel());
+  }
+
+  /**
+   * Creates a noder which computes intersections using a given precision model
+   * and the common {@link ForkJoinPool}.
+   *
+   * @param precisionModel the precision model for computed intersection points
+   */
+  public ParallelMCIndexNoder(PrecisionModel precisionModel)
+  {
+    this(precisionModel, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a noder which computes intersections using a given precision model
+   * and {@link ForkJoinPool}.
+   *
+   * @param precisionModel the precision model for computed intersection points
+   * @param pool the pool to run tasks in
+   */
+  public ParallelMCIndexNoder(PrecisionModel precisionModel, ForkJoinPool pool)
+  {
+    this.precisionModel = precisionModel;
+    this.pool = pool;
+  }
+
+  public Collection getNodedSubstrings()
+  {
+    return NodedSegmentString.getNodedSubstrings(nodedSegStrings);
+  }
+
+  /**
+   * Computes the noding for a collection of {@link NodedSegmentString}s.
+   *
+   * @param inputSegStrings a collection of {@link NodedSegmentString}s to node
+   */
+  public void computeNodes(Collection inputSegStrings)
+  {
+    this.nodedSegStrings = inputSegStrings;
+    monoChains = new ArrayList();
+    index = new STRtree();
+    int idCounter = 0;
+    for (Iterator i = inputSegStrings.iterator(); i.hasNext(); ) {
+      SegmentString segStr = (SegmentString) i.next();
+      List segChains = MonotoneChainBuilder.getChains(segStr.getCoordinates(), segStr);
+      for (Iterator j = segChains.iterator(); j.hasNext(); ) {
+        MonotoneChain mc = (MonotoneChain) j.next();
+        mc.setId(idCounter++);
+        index.insert(mc.getEnvelope(), mc);
+        monoChains.add(mc);
+      }
+    }
+    // build the index before it is queried concurrently
+    index.build();
+
+    IntersectTask[] tasks = createTasks();
+    if (tasks.length == 1) {
+      tasks[0].invoke();
+    }
+    else {
+      for (int i = 0; i < tasks.length; i++) {
+        pool.execute(tasks[i]);
+      }
+    }
+    for (int i = 0; i < tasks.length; i++) {
+      addNodes(tasks[i].join());
+    }
+  }
+
+  private IntersectTask[] createTasks()
+  {
+    int nChains = monoChains.size();
+    int maxTasks = TASKS_PER_THREAD * pool.getParallelism();
+    int nTasks = Math.min(maxTasks, (nChains + MIN_CHAINS_PER_TASK - 1) / MIN_CHAINS_PER_TASK);
+    if (nTasks < 1) nTasks = 1;
+    IntersectTask[] tasks = new IntersectTask[nTasks];
+    for (int i = 0; i < nTasks; i++) {
+      int start = (int) ((long) nChains * i / nTasks);
+      int end = (int) ((long) nChains * (i + 1) / nTasks);
+      tasks[i] = new IntersectTask(start, end);
+    }
+    return tasks;
+  }
+
+  /**
+   * Adds the nodes found by a task to the input segment strings.
+   * The nodes are already normalized, so are added directly to the node lists.
+   */
+  private static void addNodes(Map copies)
+  {
+    for (Iterator i = copies.entrySet().iterator(); i.hasNext(); ) {
+      Map.Entry entry = (Map.Entry) i.next();
+      NodedSegmentString segStr = (NodedSegmentString) entry.getKey();
+      NodedSegmentString copy = (NodedSegmentString) entry.getValue();
+      SegmentNodeList nodeList = segStr.getNodeList();
+      for (Iterator j = copy.getNodeList().iterator(); j.hasNext(); ) {
+        SegmentNode node = (SegmentNode) j.next();
+        nodeList.add(node.coord, node.segmentIndex);
+      }
+    }
+  }
+
+  /**
+   * Intersects a range of chains with the chains in the index,
+   * returning a map from input segment strings to copies holding the nodes found.
+   */
+  private class IntersectTask extends RecursiveTask<Map>
+  {
+    private int start;
+    private int end;
+    private Map copies = new IdentityHashMap();
+
+    IntersectTask(int start, int end)
+    {
+      this.start = start;
+      this.end = end;
+    }
+
+    protected Map compute()
+    {
+      LineIntersector li = new RobustLineIntersector();
+      li.setPrecisionModel(precisionModel);
+      final SegmentIntersector segInt = new IntersectionAdder(li);
+      MonotoneChainOverlapAction overlapAction = new MonotoneChainOverlapAction() {
+        public void overlap(MonotoneChain mc1, int start1, MonotoneChain mc2, int start2)
+        {
+          SegmentString ss1 = getCopy((SegmentString) mc1.getContext());
+          SegmentString ss2 = getCopy((SegmentString) mc2.getContext());
+          segInt.processIntersections(ss1, start1, ss2, start2);
+        }
+      };
+
+      for (int i = start; i < end; i++) {
+        MonotoneChain queryChain = (MonotoneChain) monoChains.get(i);
+        List overlapChains = index.query(queryChain.getEnvelope());
+        for (Iterator j = overlapChains.iterator(); j.hasNext(); ) {
+          MonotoneChain testChain = (MonotoneChain) j.next();
+          // compare each pair of chains only once, and never a chain to itself
+          if (testChain.getId() > queryChain.getId()) {
+            queryChain.computeOverlaps(testChain, overlapAction);
+          }
+        }
+      }
+      return copies;
+    }
+
+    /**
+     * Gets the copy of a segment string private to this task.
+     * Copies share the coordinates of the original,
+     * so that identity and geometry tests behave the same way.
+     */
+    private SegmentString getCopy(SegmentString segStr)
+    {
+      NodedSegmentString copy = (NodedSegmentString) copies.get(segStr);
+      if (copy == null) {
+        copy = new NodedSegmentString(segStr.getCoordinates(), segStr.getData());
+        copies.put(segStr, copy);
+      }
+      return copy;
+    }
+  }
+}
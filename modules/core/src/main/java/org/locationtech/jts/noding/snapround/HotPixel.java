@@ -59,6 +59,8 @@ public class HotPixel
 
   private Envelope safeEnv = null;
 
+  private boolean isNode = false;
+
   /**
    * Creates a new hot pixel, using a given scale factor.
    * The scale factor must be strictly positive (non-zero).
@@ -91,6 +93,19 @@ public class HotPixel
    */
   public Coordinate getCoordinate() { return originalPt; }
 
+  /**
+   * Tests whether this pixel has been marked as a node.
+   * 
+   * @return true if the pixel is a node
+   */
+  public boolean isNode() { return isNode; }
+
+  /**
+   * Marks this pixel as a node,
+   * meaning that all segments which intersect it must be noded at it.
+   */
+  public void setToNode() { isNode = true; }
+
   private static final double SAFE_ENV_EXPANSION_FACTOR = 0.75;
   
   /**
@@ -132,6 +147,20 @@ public class HotPixel
     return (double) Math.round(val * scaleFactor);
   }
 
+  /**
+   * Tests whether a point lies in this hot pixel.
+   * 
+   * @param p the point to test
+   * @return true if the point lies in the hot pixel
+   */
+  public boolean intersects(Coordinate p)
+  {
+    double x = p.x * scaleFactor;
+    double y = p.y * scaleFactor;
+    return x >= minx && x < maxx
+        && y >= miny && y < maxy;
+  }
+
   /**
    * Tests whether the line segment (p0-p1) 
    * intersects this hot pixel.
@@ -169,6 +198,8 @@ public class HotPixel
                          || miny > segMaxy;
     if (isOutsidePixelEnv)
       return false;
+    if (isOutsideSegmentLine(p0, p1))
+      return false;
     boolean intersects = intersectsToleranceSquare(p0, p1);
 //    boolean intersectsPixelClosure = intersectsPixelClosure(p0, p1);
 
@@ -198,6 +229,35 @@ public class HotPixel
     //return intersectsPixelClosure;
   }
 
+  /**
+   * Relative error bound for the floating-point side test
+   * in {@link #isOutsideSegmentLine(Coordinate, Coordinate)}.
+   */
+  private static final double SIDE_FILTER_TOLERANCE = 1e-10;
+
+  /**
+   * Tests whether the hot pixel lies strictly on one side of the line
+   * through the segment p0-p1.
+   * This is a conservative floating-point filter, which quickly rejects
+   * pixels inside the segment envelope but not near the segment.
+   * It returns false whenever the result is uncertain.
+   *
+   * @param p0
+   * @param p1
+   * @return true if the pixel is certainly not intersected by the segment
+   */
+  private boolean isOutsideSegmentLine(Coordinate p0, Coordinate p1)
+  {
+    double dx = p1.x - p0.x;
+    double dy = p1.y - p0.y;
+    double t0 = dx * (pt.y - p0.y);
+    double t1 = dy * (pt.x - p0.x);
+    // the greatest distance of a corner from the pixel centre, measured across the line
+    double reach = 0.5 * (Math.abs(dx) + Math.abs(dy));
+    double errBound = SIDE_FILTER_TOLERANCE * (Math.abs(t0) + Math.abs(t1) + reach);
+    return Math.abs(t0 - t1) - reach > errBound;
+  }
+
   /**
    * Tests whether the segment p0-p1 intersects the hot pixel tolerance square.
    * Because the tolerance square point set is partially open (along the
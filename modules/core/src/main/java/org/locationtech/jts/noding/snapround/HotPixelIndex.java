@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.noding.snapround;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.locationtech.jts.algorithm.LineIntersector;
+import org.locationtech.jts.algorithm.RobustLineIntersector;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.index.kdtree.KdNode;
+import org.locationtech.jts.index.kdtree.KdNodeVisitor;
+import org.locationtech.jts.index.kdtree.KdTree;
+
+/**
+ * An index which creates unique {@link HotPixel}s for provided points,
+ * and performs range queries on them.
+ * The points are rounded to the grid of a fixed {@link PrecisionModel},
+ * and the pixels are stored in a {@link KdTree} keyed on the rounded points,
+ * so that all points in the same grid cell share a single pixel.
+ * <p>
+ * Since a KdTree is not self-balancing,
+ * sets of points are inserted in a pseudo-random order
+ * to avoid creating a degenerate tree for spatially coherent input
+ * (such as the vertices of a linestring).
+ *
+ * @author Martin Davis
+ *
+ */
+public class HotPixelIndex
+{
+  private static final long SHUFFLE_SEED = 13;
+
+  private PrecisionModel precModel;
+  private double scaleFactor;
+  private LineIntersector li;
+  private KdTree index = new KdTree();
+  private Random shuffleRandom = new Random(SHUFFLE_SEED);
+
+  /**
+   * Creates an index for a fixed precision model.
+   *
+   * @param pm the precision model of the grid
+   */
+  public HotPixelIndex(PrecisionModel pm)
+  {
+    this.precModel = pm;
+    scaleFactor = pm.getScale();
+    li = new RobustLineIntersector();
+    li.setPrecisionModel(pm);
+  }
+
+  /**
+   * Adds the hot pixels for an array of vertices.
+   * A pixel which contains more than one of the vertices added to the index
+   * is marked as a node, since segments which end at it
+   * must be noded there.
+   *
+   * @param pts the vertices to add
+   */
+  public void addVertices(Coordinate[] pts)
+  {
+    int[] order = shuffledOrder(pts.length);
+    for (int i = 0; i < order.length; i++) {
+      Coordinate pRound = round(pts[order[i]]);
+      KdNode node = index.query(pRound);
+      if (node != null) {
+        ((HotPixel) node.getData()).setToNode();
+      }
+      else {
+        insert(pRound);
+      }
+    }
+  }
+
+  /**
+   * Adds the hot pixels for a collection of points,
+   * and marks them as nodes.
+   *
+   * @param pts a collection of {@link Coordinate}s
+   */
+  public void addNodes(Collection pts)
+  {
+    Coordinate[] ptArray = new Coordinate[pts.size()];
+    int i = 0;
+    for (Iterator it = pts.iterator(); it.hasNext(); ) {
+      ptArray[i++] = (Coordinate) it.next();
+    }
+    int[] order = shuffledOrder(ptArray.length);
+    for (int j = 0; j < order.length; j++) {
+      add(ptArray[order[j]]).setToNode();
+    }
+  }
+
+  /**
+   * Adds the hot pixel for a point, if it is not already present.
+   *
+   * @param p the point to add
+   * @return the hot pixel containing the point
+   */
+  public HotPixel add(Coordinate p)
+  {
+    Coordinate pRound = round(p);
+    KdNode node = index.query(pRound);
+    if (node != null)
+      return (HotPixel) node.getData();
+    return insert(pRound);
+  }
+
+  private HotPixel insert(Coordinate pRound)
+  {
+    HotPixel hp = new HotPixel(pRound, scaleFactor, li);
+    index.insert(pRound, hp);
+    return hp;
+  }
+
+  /**
+   * Finds the hot pixel containing a point, if any.
+   *
+   * @param p the point to find
+   * @return the hot pixel containing the point, or null if there is none
+   */
+  public HotPixel find(Coordinate p)
+  {
+    KdNode node = index.query(round(p));
+    if (node == null)
+      return null;
+    return (HotPixel) node.getData();
+  }
+
+  /**
+   * Visits all the hot pixels which may intersect a segment.
+   * The visitor is passed {@link KdNode}s whose data is a {@link HotPixel}.
+   *
+   * @param p0 the segment start point
+   * @param p1 the segment end point
+   * @param visitor the visitor to apply
+   */
+  public void query(Coordinate p0, Coordinate p1, KdNodeVisitor visitor)
+  {
+    Envelope queryEnv = new Envelope(p0, p1);
+    // pixel centres lie within half a grid cell of any point in the pixel
+    queryEnv.expandBy(1.0 / scaleFactor);
+    index.query(queryEnv, visitor);
+  }
+
+  private Coordinate round(Coordinate p)
+  {
+    Coordinate pRound = new Coordinate(p);
+    precModel.makePrecise(pRound);
+    return pRound;
+  }
+
+  private int[] shuffledOrder(int n)
+  {
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    for (int i = n - 1; i > 0; i--) {
+      int j = shuffleRandom.nextInt(i + 1);
+      int tmp = order[i];
+      order[i] = order[j];
+      order[j] = tmp;
+    }
+    return order;
+  }
+}
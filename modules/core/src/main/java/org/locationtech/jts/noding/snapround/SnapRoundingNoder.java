@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.noding.snapround;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.locationtech.jts.algorithm.LineIntersector;
+import org.locationtech.jts.algorithm.RobustLineIntersector;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.index.kdtree.KdNode;
+import org.locationtech.jts.index.kdtree.KdNodeVisitor;
+import org.locationtech.jts.noding.MCIndexNoder;
+import org.locationtech.jts.noding.NodedSegmentString;
+import org.locationtech.jts.noding.Noder;
+import org.locationtech.jts.noding.SegmentIntersector;
+import org.locationtech.jts.noding.SegmentString;
+
+/**
+ * Uses Snap Rounding to compute a rounded,
+ * fully noded arrangement from a set of {@link NodedSegmentString}s,
+ * in the same way as {@link MCIndexSnapRounder}.
+ * The input vertices are expected to be rounded
+ * to the given fixed precision model.
+ * <p>
+ * The hot pixels for all vertices and interior intersections
+ * are held in a {@link HotPixelIndex}, keyed on the rounded grid,
+ * so each pixel is created only once.
+ * Noding is then performed in a single pass over the segments,
+ * snapping each segment to the hot pixels near it
+ * (rather than querying the segments near each hot pixel).
+ * The steps are:
+ * <ol>
+ * <li>Create hot pixels for all input vertices.
+ * Pixels containing more than one vertex are marked as nodes.
+ * <li>Find the interior intersections of the segments
+ * (using a {@link MCIndexNoder}), and create hot pixels for them.
+ * These pixels are marked as nodes.
+ * <li>Snap each segment to the pixels it intersects.
+ * A segment is not noded at a pixel which contains one of its own endpoints,
+ * unless the pixel is a node.
+ * Every pixel which causes a segment to be noded is marked as a node.
+ * <li>Node every vertex whose pixel is a node.
+ * </ol>
+ *
+ * @author Martin Davis
+ *
+ */
+public class SnapRoundingNoder
+    implements Noder
+{
+  private final PrecisionModel pm;
+  private final HotPixelIndex pixelIndex;
+  private Collection nodedSegStrings;
+
+  /**
+   * Creates a snap-rounding noder for a fixed precision model.
+   *
+   * @param pm the precision model of the grid to snap to
+   */
+  public SnapRoundingNoder(PrecisionModel pm)
+  {
+    this.pm = pm;
+    pixelIndex = new HotPixelIndex(pm);
+  }
+
+  public Collection getNodedSubstrings()
+  {
+    return NodedSegmentString.getNodedSubstrings(nodedSegStrings);
+  }
+
+  /**
+   * Computes the nodes in the snap-rounding of a collection of
+   * {@link NodedSegmentString}s.
+   *
+   * @param inputSegmentStrings a collection of {@link NodedSegmentString}s
+   */
+  public void computeNodes(Collection inputSegmentStrings)
+  {
+    this.nodedSegStrings = inputSegmentStrings;
+    addVertexPixels(inputSegmentStrings);
+    addIntersectionPixels(inputSegmentStrings);
+    for (Iterator it = inputSegmentStrings.iterator(); it.hasNext(); ) {
+      snapSegments((NodedSegmentString) it.next());
+    }
+    for (Iterator it = inputSegmentStrings.iterator(); it.hasNext(); ) {
+      addVertexNodes((NodedSegmentString) it.next());
+    }
+  }
+
+  private void addVertexPixels(Collection segStrings)
+  {
+    for (Iterator it = segStrings.iterator(); it.hasNext(); ) {
+      SegmentString ss = (SegmentString) it.next();
+      pixelIndex.addVertices(ss.getCoordinates());
+    }
+  }
+
+  /**
+   * Finds the interior intersections of the segments,
+   * and adds them as node pixels.
+   */
+  private void addIntersectionPixels(Collection segStrings)
+  {
+    LineIntersector li = new RobustLineIntersector();
+    li.setPrecisionModel(pm);
+    InteriorIntersectionFinder intFinder = new InteriorIntersectionFinder(li);
+    MCIndexNoder noder = new MCIndexNoder(intFinder);
+    noder.computeNodes(segStrings);
+    pixelIndex.addNodes(intFinder.getIntersections());
+  }
+
+  /**
+   * Snaps the segments of a segment string to the hot pixels they intersect.
+   */
+  private void snapSegments(final NodedSegmentString ss)
+  {
+    Coordinate[] pts = ss.getCoordinates();
+    for (int i = 0; i < pts.length - 1; i++) {
+      final Coordinate p0 = pts[i];
+      final Coordinate p1 = pts[i + 1];
+      final int segIndex = i;
+      pixelIndex.query(p0, p1, new KdNodeVisitor() {
+        public void visit(KdNode node) {
+          HotPixel hp = (HotPixel) node.getData();
+          /**
+           * If the pixel is not a node and contains a segment endpoint,
+           * that endpoint is the only vertex in the pixel.
+           * Noding it here would cause every vertex to be noded.
+           * If the pixel later becomes a node,
+           * the vertex is noded by addVertexNodes.
+           */
+          if (! hp.isNode()) {
+            if (hp.intersects(p0) || hp.intersects(p1))
+              return;
+          }
+          if (hp.intersects(p0, p1)) {
+            ss.addIntersection(hp.getCoordinate(), segIndex);
+            hp.setToNode();
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * Nodes the vertices of a segment string whose pixels are nodes.
+   */
+  private void addVertexNodes(NodedSegmentString ss)
+  {
+    Coordinate[] pts = ss.getCoordinates();
+    for (int i = 1; i < pts.length - 1; i++) {
+      HotPixel hp = pixelIndex.find(pts[i]);
+      if (hp != null && hp.isNode()) {
+        ss.addIntersection(pts[i], i);
+      }
+    }
+  }
+
+  /**
+   * Finds the interior intersections between segments.
+   */
+  private static class InteriorIntersectionFinder
+      implements SegmentIntersector
+  {
+    private LineIntersector li;
+    private List intersections = new ArrayList();
+
+    InteriorIntersectionFinder(LineIntersector li)
+    {
+      this.li = li;
+    }
+
+    List getIntersections() { return intersections; }
+
+    public void processIntersections(
+        SegmentString e0,  int segIndex0,
+        SegmentString e1,  int segIndex1)
+    {
+      // don't bother intersecting a segment with itself
+      if (e0 == e1 && segIndex0 == segIndex1) return;
+
+      Coordinate p00 = e0.getCoordinate(segIndex0);
+      Coordinate p01 = e0.getCoordinate(segIndex0 + 1);
+      Coordinate p10 = e1.getCoordinate(segIndex1);
+      Coordinate p11 = e1.getCoordinate(segIndex1 + 1);
+
+      li.computeIntersection(p00, p01, p10, p11);
+      if (li.hasIntersection() && li.isInteriorIntersection()) {
+        for (int intIndex = 0; intIndex < li.getIntersectionNum(); intIndex++) {
+          intersections.add(new Coordinate(li.getIntersection(intIndex)));
+        }
+      }
+    }
+
+    public boolean isDone() { return false; }
+  }
+}
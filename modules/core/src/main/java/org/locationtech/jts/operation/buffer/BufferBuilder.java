@@ -82,6 +82,7 @@ class BufferBuilder
   private GeometryFactory geomFact;
   private PlanarGraph graph;
   private EdgeList edgeList     = new EdgeList();
+  private OffsetCurveBuilder curveBuilder = null;
 
   /**
    * Creates a new BufferBuilder,
@@ -117,7 +118,29 @@ class BufferBuilder
   public void setNoder(Noder noder) { workingNoder = noder; }
 
 
+  /**
+   * Computes the buffer of a geometry.
+   * A builder can be used to compute many buffers,
+   * in which case it reuses its working structures
+   * (such as the offset curve storage and the edge list).
+   * 
+   * @param g the geometry to buffer
+   * @param distance the buffer distance
+   * @return the buffer of the geometry
+   */
   public Geometry buffer(Geometry g, double distance)
+  {
+    try {
+      return computeBuffer(g, distance);
+    }
+    finally {
+      // release the edges of this buffer
+      edgeList.clear();
+      graph = null;
+    }
+  }
+
+  private Geometry computeBuffer(Geometry g, double distance)
   {
     PrecisionModel precisionModel = workingPrecisionModel;
     if (precisionModel == null)
@@ -126,8 +149,15 @@ class BufferBuilder
     // factory must be the same as the one used by the input
     geomFact = g.getFactory();
 
-    OffsetCurveBuilder curveBuilder = new OffsetCurveBuilder(precisionModel, bufParams);
+    OffsetCurveBuilder curveBuilder = getCurveBuilder(precisionModel);
     
+    // simple inputs can be buffered without noding
+    if (precisionModel.getType() == PrecisionModel.FLOATING) {
+      Geometry directBuffer = DirectBufferBuilder.buffer(g, distance, curveBuilder, geomFact);
+      if (directBuffer != null)
+        return directBuffer;
+    }
+
     OffsetCurveSetBuilder curveSetBuilder = new OffsetCurveSetBuilder(g, distance, curveBuilder);
 
     List bufferSegStrList = curveSetBuilder.getCurves();
@@ -165,6 +195,18 @@ class BufferBuilder
     return resultGeom;
   }
 
+  /**
+   * Gets a curve builder for a precision model,
+   * reusing the current one if it has the same precision model.
+   */
+  private OffsetCurveBuilder getCurveBuilder(PrecisionModel precisionModel)
+  {
+    if (curveBuilder == null || ! curveBuilder.getPrecisionModel().equals(precisionModel)) {
+      curveBuilder = new OffsetCurveBuilder(precisionModel, bufParams);
+    }
+    return curveBuilder;
+  }
+
   private Noder getNoder(PrecisionModel precisionModel)
   {
     if (workingNoder != null) return workingNoder;
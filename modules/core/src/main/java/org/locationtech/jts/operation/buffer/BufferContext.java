@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.buffer;
+
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Computes buffers of many geometries using the same {@link BufferParameters},
+ * reusing the working structures of the computation between geometries.
+ * The offset curve vertices are accumulated in a growable array of ordinates,
+ * and the offset curve generator and the edge list are retained.
+ * This reduces the garbage created when buffering
+ * a high volume of small geometries (such as points and short lines).
+ * <p>
+ * The results are the same as those computed by {@link BufferOp}.
+ * <p>
+ * A context is not thread-safe.
+ * A separate context should be used by each thread.
+ *
+ * <pre>
+ * BufferContext bufCtx = new BufferContext(params);
+ * for (Geometry geom : geoms) {
+ *   Geometry buf = bufCtx.buffer(geom, distance);
+ *   ...
+ * }
+ * </pre>
+ *
+ * @author Martin Davis
+ *
+ */
+public class BufferContext
+{
+  private BufferParameters bufParams;
+  private BufferBuilder bufBuilder;
+
+  /**
+   * Creates a context using the default buffer parameters.
+   */
+  public BufferContext()
+  {
+    this(new BufferParameters());
+  }
+
+  /**
+   * Creates a context using the given buffer parameters.
+   * The parameters may be changed between buffer computations.
+   *
+   * @param bufParams the buffer parameters to use
+   */
+  public BufferContext(BufferParameters bufParams)
+  {
+    this.bufParams = bufParams;
+    bufBuilder = new BufferBuilder(bufParams);
+  }
+
+  /**
+   * Gets the buffer parameters used by this context.
+   *
+   * @return the buffer parameters
+   */
+  public BufferParameters getBufferParameters()
+  {
+    return bufParams;
+  }
+
+  /**
+   * Computes the buffer of a geometry for a given buffer distance.
+   *
+   * @param g the geometry to buffer
+   * @param distance the buffer distance
+   * @return the buffer of the input geometry
+   */
+  public Geometry buffer(Geometry g, double distance)
+  {
+    BufferOp bufOp = new BufferOp(g, bufParams);
+    bufOp.setBufferBuilder(bufBuilder);
+    return bufOp.getResultGeometry(distance);
+  }
+}
@@ -241,6 +241,8 @@ public class BufferOp
   private double distance;
   
   private BufferParameters bufParams = new BufferParameters();
+  private Noder noder = null;
+  private BufferBuilder bufBuilder = null;
 
   private Geometry resultGeometry = null;
   private RuntimeException saveException;   // debugging only
@@ -288,6 +290,33 @@ public class BufferOp
     bufParams.setQuadrantSegments(quadrantSegments);
   }
 
+  /**
+   * Sets the {@link Noder} used to node the buffer curves
+   * when the buffer is computed at the precision of the input geometry
+   * (for example, a <code>ParallelMCIndexNoder</code>).
+   * If that computation fails, the buffer is recomputed with snap-rounding
+   * at reduced precision, as usual.
+   *
+   * @param noder the noder to use, or null to use the default
+   */
+  public void setNoder(Noder noder)
+  {
+    this.noder = noder;
+  }
+
+  /**
+   * Sets a {@link BufferBuilder} to use to compute the buffer
+   * at the precision of the input geometry.
+   * This allows the working structures of the builder to be reused
+   * (as is done by {@link BufferContext}).
+   *
+   * @param bufBuilder the builder to use, or null to create one
+   */
+  void setBufferBuilder(BufferBuilder bufBuilder)
+  {
+    this.bufBuilder = bufBuilder;
+  }
+
   /**
    * Returns the buffer computed for a geometry for a given buffer distance.
    *
@@ -336,7 +365,11 @@ public class BufferOp
   {
     try {
       // use fast noding by default
-      BufferBuilder bufBuilder = new BufferBuilder(bufParams);
+      BufferBuilder bufBuilder = this.bufBuilder;
+      if (bufBuilder == null)
+        bufBuilder = new BufferBuilder(bufParams);
+      if (noder != null)
+        bufBuilder.setNoder(noder);
       resultGeometry = bufBuilder.buffer(argGeom, distance);
     }
     catch (RuntimeException ex) {
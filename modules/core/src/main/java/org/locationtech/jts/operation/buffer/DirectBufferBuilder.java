@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.buffer;
+
+import org.locationtech.jts.algorithm.Orientation;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateArrays;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geomgraph.Position;
+
+/**
+ * Computes the buffer of a simple geometry directly from its offset curve,
+ * without noding the curve or building a topology graph.
+ * This is possible when the offset curve is known to be a simple ring,
+ * which is the case for:
+ * <ul>
+ * <li>a {@link Point} with a round or square end cap
+ * <li>a {@link LineString} with two distinct points
+ * <li>a convex {@link Polygon} without holes, buffered by a positive distance
+ * with round joins
+ * </ul>
+ * For these inputs the buffer is the same as that computed by {@link BufferBuilder},
+ * but is computed much faster.
+ * <p>
+ * Only geometries with floating precision are handled,
+ * since rounding the curve vertices to a fixed precision may make it non-simple.
+ * 
+ * @author Martin Davis
+ *
+ */
+class DirectBufferBuilder
+{
+  /**
+   * The minimum buffer distance relative to the input ordinate magnitude.
+   * Below this the vertices of a curve may be too close
+   * for it to be represented as a simple ring.
+   */
+  private static final double MIN_RELATIVE_DISTANCE = 1.0E-6;
+
+  /**
+   * Computes the buffer of a geometry directly,
+   * if it is one of the supported cases.
+   * 
+   * @param g the geometry to buffer
+   * @param distance the buffer distance
+   * @param curveBuilder the builder for the offset curve
+   * @param geomFact the factory to create the buffer with
+   * @return the buffer polygon, or null if the geometry is not a supported case
+   */
+  public static Polygon buffer(Geometry g, double distance, OffsetCurveBuilder curveBuilder,
+      GeometryFactory geomFact)
+  {
+    if (distance <= 0.0 || g.isEmpty())
+      return null;
+    BufferParameters bufParams = curveBuilder.getBufferParameters();
+    if (bufParams.isSingleSided())
+      return null;
+
+    Coordinate[] curve = null;
+    if (g instanceof Point) {
+      if (bufParams.getEndCapStyle() == BufferParameters.CAP_FLAT)
+        return null;
+      curve = getCurve(g.getCoordinates(), distance, curveBuilder);
+    }
+    else if (g instanceof LineString && g.getNumPoints() == 2) {
+      Coordinate[] pts = CoordinateArrays.removeRepeatedPoints(g.getCoordinates());
+      if (pts.length < 2)
+        return null;
+      curve = getCurve(pts, distance, curveBuilder);
+    }
+    else if (g instanceof Polygon) {
+      curve = getConvexPolygonCurve((Polygon) g, distance, curveBuilder);
+    }
+    if (curve == null)
+      return null;
+    return geomFact.createPolygon(curve);
+  }
+
+  private static Coordinate[] getCurve(Coordinate[] pts, double distance,
+      OffsetCurveBuilder curveBuilder)
+  {
+    if (! isDistanceResolvable(pts, distance))
+      return null;
+    Coordinate[] curve = curveBuilder.getLineCurve(pts, distance);
+    if (curve == null || curve.length < LinearRing.MINIMUM_VALID_SIZE)
+      return null;
+    return curve;
+  }
+
+  private static Coordinate[] getConvexPolygonCurve(Polygon poly, double distance,
+      OffsetCurveBuilder curveBuilder)
+  {
+    if (poly.getNumInteriorRing() > 0)
+      return null;
+    if (curveBuilder.getBufferParameters().getJoinStyle() != BufferParameters.JOIN_ROUND)
+      return null;
+    Coordinate[] shellCoord = CoordinateArrays.removeRepeatedPoints(
+        poly.getExteriorRing().getCoordinates());
+    if (shellCoord.length < LinearRing.MINIMUM_VALID_SIZE)
+      return null;
+    if (! isDistanceResolvable(shellCoord, distance))
+      return null;
+    if (! isConvex(shellCoord))
+      return null;
+
+    /**
+     * The buffer curve is on the left of a CW ring,
+     * and must be CW to have the same orientation 
+     * as the shell produced by BufferBuilder. 
+     */
+    boolean isCCW = Orientation.isCCW(shellCoord);
+    int side = isCCW ? Position.RIGHT : Position.LEFT;
+    Coordinate[] curve = curveBuilder.getRingCurve(shellCoord, side, distance);
+    if (curve == null || curve.length < LinearRing.MINIMUM_VALID_SIZE)
+      return null;
+    if (isCCW)
+      CoordinateArrays.reverse(curve);
+    return curve;
+  }
+
+  /**
+   * Tests whether the buffer distance is large enough relative to
+   * the magnitude of the input ordinates for the curve vertices
+   * to be well separated.
+   */
+  private static boolean isDistanceResolvable(Coordinate[] pts, double distance)
+  {
+    double maxOrd = 0.0;
+    for (int i = 0; i < pts.length; i++) {
+      maxOrd = Math.max(maxOrd, Math.max(Math.abs(pts[i].x), Math.abs(pts[i].y)));
+    }
+    return distance >= MIN_RELATIVE_DISTANCE * maxOrd;
+  }
+
+  /**
+   * Tests whether a ring is strictly convex,
+   * apart from collinear vertices.
+   * Every vertex must turn in the same direction
+   * (so the ring has no reflex vertices or spikes),
+   * and the ring must wind around its interior only once.
+   * 
+   * @param ring a closed ring with no repeated points
+   * @return true if the ring is convex
+   */
+  static boolean isConvex(Coordinate[] ring)
+  {
+    int n = ring.length - 1;
+    int orient = 0;
+    int dxSignChanges = 0;
+    int prevDxSign = 0;
+    for (int i = 0; i < n; i++) {
+      Coordinate prev = ring[i == 0 ? n - 1 : i - 1];
+      Coordinate curr = ring[i];
+      Coordinate next = ring[i + 1];
+      int index = Orientation.index(prev, curr, next);
+      if (index == Orientation.COLLINEAR) {
+        // a collinear vertex must not reverse direction
+        double dot = (curr.x - prev.x) * (next.x - curr.x) 
+            + (curr.y - prev.y) * (next.y - curr.y);
+        if (dot <= 0.0)
+          return false;
+      }
+      else if (orient == 0) {
+        orient = index;
+      }
+      else if (index != orient) {
+        return false;
+      }
+      
+      // a ring which winds more than once changes X direction more than twice
+      double dx = next.x - curr.x;
+      int dxSign = dx > 0.0 ? 1 : (dx < 0.0 ? -1 : 0);
+      if (dxSign != 0) {
+        if (prevDxSign != 0 && dxSign != prevDxSign)
+          dxSignChanges++;
+        prevDxSign = dxSign;
+      }
+    }
+    return orient != 0 && dxSignChanges <= 2;
+  }
+}
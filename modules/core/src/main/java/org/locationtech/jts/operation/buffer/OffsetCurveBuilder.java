@@ -34,6 +34,11 @@ public class OffsetCurveBuilder
   private double distance = 0.0;
   private PrecisionModel precisionModel;
   private BufferParameters bufParams;
+  /**
+   * The generator is reused for each curve,
+   * to avoid reallocating its vertex storage.
+   */
+  private OffsetSegmentGenerator segGen = null;
   
   public OffsetCurveBuilder(
                 PrecisionModel precisionModel,
@@ -44,6 +49,16 @@ public class OffsetCurveBuilder
     this.bufParams = bufParams;
   }
 
+  /**
+   * Gets the precision model used to round the curve vertices.
+   * 
+   * @return the precision model being used
+   */
+  PrecisionModel getPrecisionModel()
+  {
+    return precisionModel;
+  }
+
   /**
    * Gets the buffer parameters being used to generate the curve.
    * 
@@ -147,7 +162,13 @@ public class OffsetCurveBuilder
     
   private OffsetSegmentGenerator getSegGen(double distance)
   {
-    return new OffsetSegmentGenerator(precisionModel, bufParams, distance);
+    if (segGen == null) {
+      segGen = new OffsetSegmentGenerator(precisionModel, bufParams, distance);
+    }
+    else {
+      segGen.init(distance);
+    }
+    return segGen;
   }
   
   /**
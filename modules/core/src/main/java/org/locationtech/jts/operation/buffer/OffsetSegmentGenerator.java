@@ -109,16 +109,8 @@ class OffsetSegmentGenerator
     // compute intersections in full precision, to provide accuracy
     // the points are rounded as they are inserted into the curve line
     li = new RobustLineIntersector();
-    filletAngleQuantum = Math.PI / 2.0 / bufParams.getQuadrantSegments();
-
-    /**
-     * Non-round joins cause issues with short closing segments, so don't use
-     * them. In any case, non-round joins only really make sense for relatively
-     * small buffer distances.
-     */
-    if (bufParams.getQuadrantSegments() >= 8
-        && bufParams.getJoinStyle() == BufferParameters.JOIN_ROUND)
-      closingSegLengthFactor = MAX_CLOSING_SEG_LEN_FACTOR;
+    segList = new OffsetSegmentString();
+    segList.setPrecisionModel(precisionModel);
     init(distance);
   }
 
@@ -139,12 +131,33 @@ class OffsetSegmentGenerator
     return hasNarrowConcaveAngle;
   }
   
-  private void init(double distance)
+  /**
+   * Initializes the generator to compute a new curve
+   * at a given offset distance.
+   * This allows a generator to be reused for many curves,
+   * retaining the storage of its vertex list.
+   * The buffer parameters are re-read, so they may be changed between curves.
+   * 
+   * @param distance the offset distance
+   */
+  public void init(double distance)
   {
     this.distance = distance;
+    filletAngleQuantum = Math.PI / 2.0 / bufParams.getQuadrantSegments();
+
+    /**
+     * Non-round joins cause issues with short closing segments, so don't use
+     * them. In any case, non-round joins only really make sense for relatively
+     * small buffer distances.
+     */
+    closingSegLengthFactor = 1;
+    if (bufParams.getQuadrantSegments() >= 8
+        && bufParams.getJoinStyle() == BufferParameters.JOIN_ROUND)
+      closingSegLengthFactor = MAX_CLOSING_SEG_LEN_FACTOR;
+
     maxCurveSegmentError = distance * (1 - Math.cos(filletAngleQuantum / 2.0));
-    segList = new OffsetSegmentString();
-    segList.setPrecisionModel(precisionModel);
+    hasNarrowConcaveAngle = false;
+    segList.reset();
     /**
      * Choose the min vertex separation as a small fraction of the offset distance.
      */
@@ -624,9 +637,70 @@ class OffsetSegmentGenerator
     // add start point
     Coordinate pt = new Coordinate(p.x + distance, p.y);
     segList.addPt(pt);
-    addDirectedFillet(p, 0.0, 2.0 * Math.PI, -1, distance);
+    // equivalent to addDirectedFillet(p, 0.0, 2.0 * Math.PI, -1, distance)
+    CircleFillet circle = CircleFillet.get(filletAngleQuantum);
+    for (int i = 0; i < circle.size; i++) {
+      pt.x = p.x + distance * circle.cos[i];
+      pt.y = p.y + distance * circle.sin[i];
+      segList.addPt(pt);
+    }
     segList.closeRing();
   }
+  
+  /**
+   * The cosines and sines of the angles of the vertices 
+   * of a full-circle fillet.
+   * These are computed in the same way as in 
+   * {@link OffsetSegmentGenerator#addDirectedFillet(Coordinate, double, double, int, double)},
+   * so circles have identical vertices,
+   * but the trigonometric functions do not need to be evaluated for every point buffered.
+   * The most recently used fillet is cached.
+   * Instances are immutable, so they may be shared between threads.
+   */
+  private static class CircleFillet
+  {
+    private static volatile CircleFillet cache = null;
+    
+    static CircleFillet get(double filletAngleQuantum)
+    {
+      CircleFillet circle = cache;
+      if (circle == null || circle.filletAngleQuantum != filletAngleQuantum) {
+        circle = new CircleFillet(filletAngleQuantum);
+        cache = circle;
+      }
+      return circle;
+    }
+    
+    final double filletAngleQuantum;
+    final double[] cos;
+    final double[] sin;
+    final int size;
+    
+    private CircleFillet(double filletAngleQuantum)
+    {
+      this.filletAngleQuantum = filletAngleQuantum;
+      double startAngle = 0.0;
+      double endAngle = 2.0 * Math.PI;
+      int directionFactor = -1;
+      double totalAngle = Math.abs(startAngle - endAngle);
+      int nSegs = (int) (totalAngle / filletAngleQuantum + 0.5);
+      double currAngleInc = totalAngle / nSegs;
+
+      // allow for an extra angle due to rounding error in the increment
+      cos = new double[nSegs + 1];
+      sin = new double[nSegs + 1];
+      int n = 0;
+      double currAngle = 0.0;
+      while (currAngle < totalAngle) {
+        double angle = startAngle + directionFactor * currAngle;
+        cos[n] = Math.cos(angle);
+        sin[n] = Math.sin(angle);
+        n++;
+        currAngle += currAngleInc;
+      }
+      size = n;
+    }
+  }
 
   /**
    * Creates a CW square around a point
@@ -11,7 +11,7 @@
  */
 package org.locationtech.jts.operation.buffer;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -22,15 +22,25 @@ import org.locationtech.jts.geom.PrecisionModel;
  * A dynamic list of the vertices in a constructed offset curve.
  * Automatically removes adjacent vertices
  * which are closer than a given tolerance.
+ * <p>
+ * The vertices are stored as ordinates in a growable <code>double</code> array,
+ * and {@link Coordinate}s are created only when the curve is extracted.
+ * The string can be {@link #reset()} to allow it to be reused
+ * for another curve without reallocating its storage.
  * 
  * @author Martin Davis
  *
  */
 class OffsetSegmentString 
 {
-  private static final Coordinate[] COORDINATE_ARRAY_TYPE = new Coordinate[0];
+  private static final int INITIAL_CAPACITY = 64;
+  /**
+   * The number of ordinates stored per vertex (X, Y and Z).
+   */
+  private static final int STRIDE = 3;
 
-  private ArrayList ptList;
+  private double[] ords = new double[INITIAL_CAPACITY * STRIDE];
+  private int size = 0;
   private PrecisionModel precisionModel = null;
   
   /**
@@ -42,7 +52,6 @@ class OffsetSegmentString
 
   public OffsetSegmentString()
   {
-  	ptList = new ArrayList();
   }
   
   public void setPrecisionModel(PrecisionModel precisionModel)
@@ -55,15 +64,38 @@ class OffsetSegmentString
   	this.minimimVertexDistance = minimimVertexDistance;
   }
   
+  /**
+   * Removes all vertices from the string,
+   * retaining its storage for reuse.
+   */
+  public void reset()
+  {
+    size = 0;
+  }
+  
+  /**
+   * Gets the number of vertices in the string.
+   * 
+   * @return the number of vertices
+   */
+  public int size()
+  {
+    return size;
+  }
+  
   public void addPt(Coordinate pt)
   {
-    Coordinate bufPt = new Coordinate(pt);
-    precisionModel.makePrecise(bufPt);
+    double x = pt.x;
+    double y = pt.y;
+    // optimization for full precision
+    if (precisionModel.getType() != PrecisionModel.FLOATING) {
+      x = precisionModel.makePrecise(x);
+      y = precisionModel.makePrecise(y);
+    }
     // don't add duplicate (or near-duplicate) points
-    if (isRedundant(bufPt))
+    if (isRedundant(x, y))
         return;
-    ptList.add(bufPt);
-//System.out.println(bufPt);
+    add(x, y, pt.getZ());
   }
   
   public void addPts(Coordinate[] pt, boolean isForward)
@@ -80,20 +112,35 @@ class OffsetSegmentString
     }
   }
   
+  private void add(double x, double y, double z)
+  {
+    int i = size * STRIDE;
+    if (i + STRIDE > ords.length) {
+      ords = Arrays.copyOf(ords, 2 * ords.length);
+    }
+    ords[i] = x;
+    ords[i + 1] = y;
+    ords[i + 2] = z;
+    size++;
+  }
+  
   /**
    * Tests whether the given point is redundant
    * relative to the previous
    * point in the list (up to tolerance).
    * 
-   * @param pt
+   * @param x the X ordinate of the point
+   * @param y the Y ordinate of the point
    * @return true if the point is redundant
    */
-  private boolean isRedundant(Coordinate pt)
+  private boolean isRedundant(double x, double y)
   {
-    if (ptList.size() < 1)
+    if (size < 1)
     	return false;
-    Coordinate lastPt = (Coordinate) ptList.get(ptList.size() - 1);
-    double ptDist = pt.distance(lastPt);
+    int last = (size - 1) * STRIDE;
+    double dx = x - ords[last];
+    double dy = y - ords[last + 1];
+    double ptDist = Math.sqrt(dx * dx + dy * dy);
     if (ptDist < minimimVertexDistance)
     	return true;
     return false;
@@ -101,11 +148,11 @@ class OffsetSegmentString
   
   public void closeRing()
   {
-    if (ptList.size() < 1) return;
-    Coordinate startPt = new Coordinate((Coordinate) ptList.get(0));
-    Coordinate lastPt = (Coordinate) ptList.get(ptList.size() - 1);
-    if (startPt.equals(lastPt)) return;
-    ptList.add(startPt);
+    if (size < 1) return;
+    int last = (size - 1) * STRIDE;
+    // equality is tested in 2D, as for Coordinate.equals
+    if (ords[0] == ords[last] && ords[1] == ords[last + 1]) return;
+    add(ords[0], ords[1], ords[2]);
   }
 
   public void reverse()
@@ -115,15 +162,11 @@ class OffsetSegmentString
   
   public Coordinate[] getCoordinates()
   {
-    /*
-     // check that points are a ring - add the startpoint again if they are not
-   if (ptList.size() > 1) {
-      Coordinate start  = (Coordinate) ptList.get(0);
-      Coordinate end    = (Coordinate) ptList.get(ptList.size() - 1);
-      if (! start.equals(end) ) addPt(start);
+    Coordinate[] coord = new Coordinate[size];
+    for (int i = 0; i < size; i++) {
+      int j = i * STRIDE;
+      coord[i] = new Coordinate(ords[j], ords[j + 1], ords[j + 2]);
     }
-    */
-    Coordinate[] coord = (Coordinate[]) ptList.toArray(COORDINATE_ARRAY_TYPE);
     return coord;
   }
 
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.buffer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.operation.union.CascadedPolygonUnion;
+
+/**
+ * Computes the buffer of a geometry collection
+ * by buffering groups of its components in parallel
+ * and then unioning the results.
+ * This can be much faster than {@link BufferOp} for collections with many components
+ * (such as a <code>MultiLineString</code> of road centrelines),
+ * since each group is noded separately,
+ * and the union is computed in parallel by a {@link CascadedPolygonUnion}.
+ * <p>
+ * The components are grouped so that each group is spatially clustered
+ * and contains a similar number of vertices.
+ * Each group is buffered by a {@link BufferOp} as a single geometry,
+ * in a task running in a {@link ForkJoinPool}.
+ * <p>
+ * The buffer of a union is the union of the buffers
+ * for positive and zero distances,
+ * and for negative distances when the components do not overlap.
+ * So groups are buffered separately only if the distance is non-negative
+ * or the input is a (valid) {@link MultiPolygon}.
+ * Otherwise, or if the input has only a few components,
+ * the buffer is computed by a single {@link BufferOp}.
+ * The result is equal to that of {@link BufferOp}
+ * up to the accuracy of the computation,
+ * but may differ in vertex order and the position of computed vertices.
+ * <p>
+ * If the union fails due to a robustness problem,
+ * the buffer is computed by a single {@link BufferOp}.
+ *
+ * @author Martin Davis
+ *
+ */
+public class ParallelBufferOp
+{
+  /**
+   * Computes the buffer of a geometry using the common {@link ForkJoinPool}.
+   *
+   * @param g the geometry to buffer
+   * @param distance the buffer distance
+   * @return the buffer of the input geometry
+   */
+  public static Geometry bufferOp(Geometry g, double distance)
+  {
+    return bufferOp(g, distance, new BufferParameters(), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the buffer of a geometry using the given parameters
+   * and {@link ForkJoinPool}.
+   *
+   * @param g the geometry to buffer
+   * @param distance the buffer distance
+   * @param params the buffer parameters to use
+   * @param pool the pool to run tasks in
+   * @return the buffer of the input geometry
+   */
+  public static Geometry bufferOp(Geometry g, double distance,
+      BufferParameters params, ForkJoinPool pool)
+  {
+    ParallelBufferOp op = new ParallelBufferOp(g, params, pool);
+    return op.getResultGeometry(distance);
+  }
+
+  /**
+   * The minimum number of vertices buffered by a single task.
+   */
+  private static final int MIN_VERTICES_PER_TASK = 2000;
+
+  /**
+   * The number of tasks created per thread in the pool,
+   * to balance the load when groups have uneven cost.
+   */
+  private static final int TASKS_PER_THREAD = 4;
+
+  private static final int STRTREE_NODE_CAPACITY = 4;
+
+  private Geometry argGeom;
+  private BufferParameters bufParams;
+  private ForkJoinPool pool;
+
+  /**
+   * Creates a parallel buffer computation for a geometry.
+   *
+   * @param g the geometry to buffer
+   * @param bufParams the buffer parameters to use
+   * @param pool the pool to run tasks in
+   */
+  public ParallelBufferOp(Geometry g, BufferParameters bufParams, ForkJoinPool pool)
+  {
+    this.argGeom = g;
+    this.bufParams = bufParams;
+    this.pool = pool;
+  }
+
+  /**
+   * Computes the buffer of the geometry for a given buffer distance.
+   *
+   * @param distance the buffer distance
+   * @return the buffer of the input geometry
+   */
+  public Geometry getResultGeometry(double distance)
+  {
+    if (! isDistributive(distance))
+      return BufferOp.bufferOp(argGeom, distance, bufParams);
+
+    List groups = createGroups();
+    if (groups.size() <= 1)
+      return BufferOp.bufferOp(argGeom, distance, bufParams);
+
+    List buffers = bufferGroups(groups, distance);
+    try {
+      Geometry union = CascadedPolygonUnion.union(buffers, pool);
+      if (union == null)
+        return argGeom.getFactory().createPolygon();
+      return union;
+    }
+    catch (TopologyException ex) {
+      return BufferOp.bufferOp(argGeom, distance, bufParams);
+    }
+  }
+
+  /**
+   * Tests whether the buffer of the input is the union
+   * of the buffers of its components.
+   */
+  private boolean isDistributive(double distance)
+  {
+    if (! (argGeom instanceof GeometryCollection))
+      return false;
+    return distance >= 0.0 || argGeom instanceof MultiPolygon;
+  }
+
+  /**
+   * Splits the components of the input into groups
+   * of spatially clustered components.
+   * The order of the components in an STRtree is spatially coherent,
+   * so groups are formed from runs of that order.
+   *
+   * @return a list of groups, each of which is a list of components
+   */
+  private List createGroups()
+  {
+    List components = new ArrayList();
+    addComponents(argGeom, components);
+    if (components.isEmpty())
+      return components;
+
+    STRtree index = new STRtree(STRTREE_NODE_CAPACITY);
+    int totalVertices = 0;
+    for (Iterator i = components.iterator(); i.hasNext(); ) {
+      Geometry comp = (Geometry) i.next();
+      index.insert(comp.getEnvelopeInternal(), comp);
+      totalVertices += comp.getNumPoints();
+    }
+    List ordered = new ArrayList();
+    flatten(index.itemsTree(), ordered);
+
+    int maxGroups = TASKS_PER_THREAD * pool.getParallelism();
+    int nGroups = Math.min(maxGroups, totalVertices / MIN_VERTICES_PER_TASK);
+    if (nGroups < 1) nGroups = 1;
+    double groupVertices = (double) totalVertices / nGroups;
+
+    List groups = new ArrayList();
+    List group = new ArrayList();
+    int vertexCount = 0;
+    for (Iterator i = ordered.iterator(); i.hasNext(); ) {
+      Geometry comp = (Geometry) i.next();
+      group.add(comp);
+      vertexCount += comp.getNumPoints();
+      if (vertexCount >= (groups.size() + 1) * groupVertices) {
+        groups.add(group);
+        group = new ArrayList();
+      }
+    }
+    if (! group.isEmpty())
+      groups.add(group);
+    return groups;
+  }
+
+  /**
+   * Adds the non-empty atomic components of a geometry to a list,
+   * flattening nested collections.
+   */
+  private static void addComponents(Geometry geom, List components)
+  {
+    if (geom instanceof GeometryCollection) {
+      for (int i = 0; i < geom.getNumGeometries(); i++) {
+        addComponents(geom.getGeometryN(i), components);
+      }
+    }
+    else if (! geom.isEmpty()) {
+      components.add(geom);
+    }
+  }
+
+  private static void flatten(List tree, List items)
+  {
+    for (Iterator i = tree.iterator(); i.hasNext(); ) {
+      Object o = i.next();
+      if (o instanceof List)
+        flatten((List) o, items);
+      else
+        items.add(o);
+    }
+  }
+
+  /**
+   * Buffers each group as a parallel task.
+   *
+   * @return a list of the non-empty buffers of the groups
+   */
+  private List bufferGroups(List groups, final double distance)
+  {
+    final GeometryFactory geomFact = argGeom.getFactory();
+    List<RecursiveTask<Geometry>> tasks = new ArrayList<RecursiveTask<Geometry>>();
+    for (Iterator i = groups.iterator(); i.hasNext(); ) {
+      final List group = (List) i.next();
+      tasks.add(new RecursiveTask<Geometry>() {
+        protected Geometry compute() {
+          Geometry groupGeom = geomFact.buildGeometry(group);
+          return BufferOp.bufferOp(groupGeom, distance, bufParams);
+        }
+      });
+    }
+    pool.invoke(new RecursiveTask<Object>() {
+      protected Object compute() {
+        ForkJoinTask.invokeAll(tasks);
+        return null;
+      }
+    });
+
+    List buffers = new ArrayList();
+    for (Iterator<RecursiveTask<Geometry>> i = tasks.iterator(); i.hasNext(); ) {
+      Geometry buf = i.next().join();
+      if (! buf.isEmpty())
+        buffers.add(buf);
+    }
+    return buffers;
+  }
+}
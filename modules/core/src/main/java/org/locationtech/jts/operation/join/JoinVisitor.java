@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.join;
+
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * A visitor for the pairs of geometries found by a {@link SpatialJoin}.
+ *
+ * @author Martin Davis
+ *
+ */
+public interface JoinVisitor
+{
+  /**
+   * Visits a pair of geometries which satisfy the join predicate.
+   *
+   * @param indexA the index of the first geometry in the first input
+   * @param geomA the first geometry
+   * @param indexB the index of the second geometry in the second input
+   * @param geomB the second geometry
+   */
+  void visit(int indexA, Geometry geomA, int indexB, Geometry geomB);
+}
@@ -0,0 +1,515 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.join;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Puntal;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.BatchItemVisitor;
+import org.locationtech.jts.index.BatchSpatialIndex;
+import org.locationtech.jts.index.hprtree.HilbertEncoder;
+import org.locationtech.jts.index.strtree.PackedSTRtree;
+import org.locationtech.jts.operation.distance.IndexedFacetDistance;
+
+/**
+ * Computes the pairs of geometries from two collections
+ * which satisfy a spatial predicate.
+ * The supported predicates are:
+ * <ul>
+ * <li>{@link #INTERSECTS} - <code>a.intersects(b)</code>
+ * <li>{@link #CONTAINS} - <code>a.contains(b)</code>
+ * <li>{@link #COVERS} - <code>a.covers(b)</code>
+ * <li>{@link #WITHIN_DISTANCE} - <code>a.isWithinDistance(b, distance)</code>
+ * </ul>
+ * The result is the same as testing every pair of geometries
+ * with the corresponding {@link Geometry} method,
+ * but is computed much more efficiently:
+ * <ul>
+ * <li>One collection (the <i>index side</i>) is loaded into a {@link PackedSTRtree}.
+ * Very small collections are scanned instead.
+ * <li>The other collection (the <i>probe side</i>) is sorted along a Hilbert curve
+ * and split into partitions, each of which is queried against the index
+ * using a single batch traversal.
+ * <li>Candidate pairs are checked against envelope filters for the predicate
+ * before the exact test is performed.
+ * Within-distance pairs whose envelopes lie entirely within the distance
+ * are accepted without an exact test.
+ * <li>A probe geometry with several candidates is tested
+ * as a {@link PreparedGeometry}.
+ * </ul>
+ * For the symmetric predicates (intersects and within-distance)
+ * the probe side is the collection with the higher average number of vertices,
+ * since those geometries gain the most from being prepared.
+ * For contains and covers the first collection is always the probe side.
+ * <p>
+ * Result pairs are streamed to a {@link JoinVisitor} as each partition completes.
+ * The pairs for a given probe geometry are reported together,
+ * but otherwise the order of the pairs is not specified.
+ * <p>
+ * If a {@link ForkJoinPool} is provided the partitions are
+ * evaluated in parallel.
+ * The visitor is always called from the thread running the join,
+ * in the same order as for a serial join,
+ * so it does not need to be thread-safe.
+ * <p>
+ * Empty geometries do not satisfy any predicate.
+ * Geometry collections are handled in the same way as
+ * by the corresponding {@link Geometry} methods.
+ *
+ * @author Martin Davis
+ *
+ */
+public class SpatialJoin
+{
+  /**
+   * Joins pairs where the first geometry intersects the second.
+   */
+  public static final int INTERSECTS = 1;
+  /**
+   * Joins pairs where the first geometry contains the second.
+   */
+  public static final int CONTAINS = 2;
+  /**
+   * Joins pairs where the first geometry covers the second.
+   */
+  public static final int COVERS = 3;
+  /**
+   * Joins pairs where the geometries lie within a given distance.
+   */
+  public static final int WITHIN_DISTANCE = 4;
+
+  /**
+   * Computes the pairs of geometries which intersect.
+   *
+   * @param geomsA a collection of geometries
+   * @param geomsB a collection of geometries
+   * @return a list of <code>Geometry[]</code> pairs
+   */
+  public static List intersects(Collection geomsA, Collection geomsB) {
+    SpatialJoin join = new SpatialJoin(geomsA, geomsB, INTERSECTS);
+    return join.join();
+  }
+
+  /**
+   * Computes the pairs of geometries where the first contains the second.
+   *
+   * @param geomsA a collection of geometries
+   * @param geomsB a collection of geometries
+   * @return a list of <code>Geometry[]</code> pairs
+   */
+  public static List contains(Collection geomsA, Collection geomsB) {
+    SpatialJoin join = new SpatialJoin(geomsA, geomsB, CONTAINS);
+    return join.join();
+  }
+
+  /**
+   * Computes the pairs of geometries where the first covers the second.
+   *
+   * @param geomsA a collection of geometries
+   * @param geomsB a collection of geometries
+   * @return a list of <code>Geometry[]</code> pairs
+   */
+  public static List covers(Collection geomsA, Collection geomsB) {
+    SpatialJoin join = new SpatialJoin(geomsA, geomsB, COVERS);
+    return join.join();
+  }
+
+  /**
+   * Computes the pairs of geometries which lie within a given distance.
+   *
+   * @param geomsA a collection of geometries
+   * @param geomsB a collection of geometries
+   * @param distance the distance limit
+   * @return a list of <code>Geometry[]</code> pairs
+   */
+  public static List withinDistance(Collection geomsA, Collection geomsB, double distance) {
+    SpatialJoin join = new SpatialJoin(geomsA, geomsB, WITHIN_DISTANCE, distance);
+    return join.join();
+  }
+
+  /**
+   * The number of probe geometries in a partition.
+   */
+  private static final int PARTITION_SIZE = 1024;
+
+  /**
+   * Index sides with this many geometries or fewer are scanned rather than indexed.
+   */
+  private static final int SCAN_MAX_SIZE = 16;
+
+  private static final int INDEX_NODE_CAPACITY = 10;
+
+  /**
+   * The number of candidates required before a probe geometry is prepared.
+   */
+  private static final int PREPARE_MIN_CANDIDATES = 2;
+
+  private static final int FILTER_REJECT = 0;
+  private static final int FILTER_ACCEPT = 1;
+  private static final int FILTER_TEST = 2;
+
+  private Geometry[] geomsA;
+  private Geometry[] geomsB;
+  private int predicate;
+  private double distance;
+  private ForkJoinPool pool = null;
+
+  private boolean isProbeA;
+  private Geometry[] probeGeoms;
+  private Envelope[] probeEnvs;
+  private Envelope[] queryEnvs;
+  private Geometry[] indexGeoms;
+  private Envelope[] indexEnvs;
+  private BatchSpatialIndex index;
+
+  /**
+   * Creates a join of two collections of geometries
+   * using the given predicate.
+   *
+   * @param geomsA the first collection of geometries
+   * @param geomsB the second collection of geometries
+   * @param predicate the join predicate (one of INTERSECTS, CONTAINS or COVERS)
+   */
+  public SpatialJoin(Collection geomsA, Collection geomsB, int predicate) {
+    this(geomsA, geomsB, predicate, 0.0);
+  }
+
+  /**
+   * Creates a join of two collections of geometries
+   * using the given predicate and distance.
+   * The distance is used only by the {@link #WITHIN_DISTANCE} predicate.
+   *
+   * @param geomsA the first collection of geometries
+   * @param geomsB the second collection of geometries
+   * @param predicate the join predicate
+   * @param distance the distance limit
+   */
+  public SpatialJoin(Collection geomsA, Collection geomsB, int predicate, double distance) {
+    if (predicate < INTERSECTS || predicate > WITHIN_DISTANCE)
+      throw new IllegalArgumentException("Unknown join predicate: " + predicate);
+    if (distance < 0.0)
+      throw new IllegalArgumentException("Distance must be non-negative");
+    this.geomsA = toArray(geomsA);
+    this.geomsB = toArray(geomsB);
+    this.predicate = predicate;
+    this.distance = distance;
+  }
+
+  /**
+   * Sets the pool used to evaluate the join partitions in parallel.
+   * If the pool is null (the default) the join is computed serially.
+   *
+   * @param pool the pool to execute the join tasks in (may be null)
+   */
+  public void setForkJoinPool(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Computes the join, returning the result pairs in a list.
+   *
+   * @return a list of <code>Geometry[]</code> pairs
+   */
+  public List join() {
+    final List pairs = new ArrayList();
+    join(new JoinVisitor() {
+      public void visit(int indexA, Geometry geomA, int indexB, Geometry geomB) {
+        pairs.add(new Geometry[] { geomA, geomB });
+      }
+    });
+    return pairs;
+  }
+
+  /**
+   * Computes the join, reporting each result pair to a visitor.
+   *
+   * @param visitor the visitor to report pairs to
+   */
+  public void join(JoinVisitor visitor) {
+    init();
+    final int[] probeOrder = HilbertEncoder.sortOrder(queryEnvs);
+    int numPartitions = (probeOrder.length + PARTITION_SIZE - 1) / PARTITION_SIZE;
+
+    if (pool == null) {
+      for (int i = 0; i < numPartitions; i++) {
+        int start = i * PARTITION_SIZE;
+        int end = Math.min(start + PARTITION_SIZE, probeOrder.length);
+        report(joinPartition(probeOrder, start, end), visitor);
+      }
+      return;
+    }
+
+    List<RecursiveTask<int[]>> tasks = new ArrayList<RecursiveTask<int[]>>();
+    for (int i = 0; i < numPartitions; i++) {
+      final int start = i * PARTITION_SIZE;
+      final int end = Math.min(start + PARTITION_SIZE, probeOrder.length);
+      RecursiveTask<int[]> task = new RecursiveTask<int[]>() {
+        @Override
+        protected int[] compute() {
+          return joinPartition(probeOrder, start, end);
+        }
+      };
+      pool.execute(task);
+      tasks.add(task);
+    }
+    Iterator<RecursiveTask<int[]>> taskIt = tasks.iterator();
+    while (taskIt.hasNext()) {
+      report(taskIt.next().join(), visitor);
+    }
+  }
+
+  /**
+   * Chooses the probe and index sides and builds the index.
+   * Envelopes are computed up front,
+   * so the geometries are not modified during parallel evaluation.
+   */
+  private void init() {
+    isProbeA = true;
+    if (predicate == INTERSECTS || predicate == WITHIN_DISTANCE) {
+      isProbeA = averageNumPoints(geomsA) >= averageNumPoints(geomsB);
+    }
+    probeGeoms = isProbeA ? geomsA : geomsB;
+    indexGeoms = isProbeA ? geomsB : geomsA;
+
+    probeEnvs = envelopes(probeGeoms);
+    queryEnvs = probeEnvs;
+    if (predicate == WITHIN_DISTANCE && distance > 0.0) {
+      queryEnvs = new Envelope[probeEnvs.length];
+      for (int i = 0; i < probeEnvs.length; i++) {
+        queryEnvs[i] = new Envelope(probeEnvs[i]);
+        queryEnvs[i].expandBy(distance);
+      }
+    }
+
+    indexEnvs = envelopes(indexGeoms);
+    index = null;
+    if (indexGeoms.length > SCAN_MAX_SIZE) {
+      PackedSTRtree tree = new PackedSTRtree(INDEX_NODE_CAPACITY, indexGeoms.length);
+      for (int i = 0; i < indexEnvs.length; i++) {
+        if (indexEnvs[i].isNull()) continue;
+        tree.insert(indexEnvs[i], Integer.valueOf(i));
+      }
+      tree.build();
+      index = tree;
+    }
+  }
+
+  /**
+   * Joins a partition of the probe geometries.
+   *
+   * @param probeOrder the probe geometry indexes in Hilbert order
+   * @param start the start of the partition
+   * @param end the end of the partition
+   * @return the result pairs as (probe index, index-side index) values
+   */
+  private int[] joinPartition(int[] probeOrder, int start, int end) {
+    int n = end - start;
+    Envelope[] partEnvs = new Envelope[n];
+    for (int i = 0; i < n; i++) {
+      partEnvs[i] = queryEnvs[probeOrder[start + i]];
+    }
+
+    CandidateCollector candidates = new CandidateCollector();
+    if (index != null) {
+      index.query(partEnvs, candidates);
+    }
+    else {
+      for (int i = 0; i < n; i++) {
+        for (int j = 0; j < indexEnvs.length; j++) {
+          if (partEnvs[i].intersects(indexEnvs[j]))
+            candidates.add(i, j);
+        }
+      }
+    }
+    long[] keys = candidates.keys;
+    int numKeys = candidates.size;
+    Arrays.sort(keys, 0, numKeys);
+
+    IntPairList result = new IntPairList();
+    int[] filter = new int[16];
+    int i = 0;
+    while (i < numKeys) {
+      int queryIndex = (int) (keys[i] >>> 32);
+      int groupEnd = i;
+      while (groupEnd < numKeys && (int) (keys[groupEnd] >>> 32) == queryIndex)
+        groupEnd++;
+      if (filter.length < groupEnd - i)
+        filter = new int[groupEnd - i];
+      joinProbe(probeOrder[start + queryIndex], keys, i, groupEnd, filter, result);
+      i = groupEnd;
+    }
+    return result.toArray();
+  }
+
+  /**
+   * Tests a probe geometry against a group of candidates.
+   */
+  private void joinProbe(int probeIndex, long[] keys, int start, int end, int[] filter, IntPairList result) {
+    Geometry probe = probeGeoms[probeIndex];
+    Envelope probeEnv = probeEnvs[probeIndex];
+
+    int numToTest = 0;
+    for (int i = start; i < end; i++) {
+      int code = envelopeFilter(probeEnv, indexEnvs[(int) keys[i]]);
+      filter[i - start] = code;
+      if (code == FILTER_TEST) numToTest++;
+    }
+
+    PreparedGeometry prepProbe = null;
+    IndexedFacetDistance facetDist = null;
+    if (numToTest >= PREPARE_MIN_CANDIDATES && ! (probe instanceof Puntal)) {
+      prepProbe = PreparedGeometryFactory.prepare(probe);
+      if (predicate == WITHIN_DISTANCE)
+        facetDist = new IndexedFacetDistance(probe);
+    }
+
+    for (int i = start; i < end; i++) {
+      int candIndex = (int) keys[i];
+      int code = filter[i - start];
+      if (code == FILTER_ACCEPT
+          || (code == FILTER_TEST && evaluate(probe, prepProbe, facetDist, indexGeoms[candIndex]))) {
+        result.add(probeIndex, candIndex);
+      }
+    }
+  }
+
+  /**
+   * Tests whether a candidate pair can be accepted or rejected
+   * using only the geometry envelopes.
+   */
+  private int envelopeFilter(Envelope probeEnv, Envelope candEnv) {
+    switch (predicate) {
+    case CONTAINS:
+    case COVERS:
+      // the probe is always the first geometry
+      return probeEnv.covers(candEnv) ? FILTER_TEST : FILTER_REJECT;
+    case WITHIN_DISTANCE:
+      if (probeEnv.distance(candEnv) > distance)
+        return FILTER_REJECT;
+      if (maxDistance(probeEnv, candEnv) <= distance)
+        return FILTER_ACCEPT;
+      return FILTER_TEST;
+    default:
+      return probeEnv.intersects(candEnv) ? FILTER_TEST : FILTER_REJECT;
+    }
+  }
+
+  private boolean evaluate(Geometry probe, PreparedGeometry prepProbe, IndexedFacetDistance facetDist, Geometry cand) {
+    switch (predicate) {
+    case CONTAINS:
+      return prepProbe != null ? prepProbe.contains(cand) : probe.contains(cand);
+    case COVERS:
+      return prepProbe != null ? prepProbe.covers(cand) : probe.covers(cand);
+    case WITHIN_DISTANCE:
+      if (prepProbe == null)
+        return probe.isWithinDistance(cand, distance);
+      // the facet distance does not account for one geometry lying inside the other
+      return prepProbe.intersects(cand) || facetDist.isWithinDistance(cand, distance);
+    default:
+      return prepProbe != null ? prepProbe.intersects(cand) : probe.intersects(cand);
+    }
+  }
+
+  private void report(int[] pairs, JoinVisitor visitor) {
+    for (int i = 0; i < pairs.length; i += 2) {
+      int probeIndex = pairs[i];
+      int candIndex = pairs[i + 1];
+      if (isProbeA) {
+        visitor.visit(probeIndex, geomsA[probeIndex], candIndex, geomsB[candIndex]);
+      }
+      else {
+        visitor.visit(candIndex, geomsA[candIndex], probeIndex, geomsB[probeIndex]);
+      }
+    }
+  }
+
+  /**
+   * Computes the largest distance between any two points
+   * in two envelopes.
+   */
+  private static double maxDistance(Envelope env1, Envelope env2) {
+    double dx = Math.max(env1.getMaxX(), env2.getMaxX()) - Math.min(env1.getMinX(), env2.getMinX());
+    double dy = Math.max(env1.getMaxY(), env2.getMaxY()) - Math.min(env1.getMinY(), env2.getMinY());
+    return Math.sqrt(dx * dx + dy * dy);
+  }
+
+  private static double averageNumPoints(Geometry[] geoms) {
+    if (geoms.length == 0) return 0.0;
+    long numPts = 0;
+    for (int i = 0; i < geoms.length; i++) {
+      numPts += geoms[i].getNumPoints();
+    }
+    return numPts / (double) geoms.length;
+  }
+
+  private static Envelope[] envelopes(Geometry[] geoms) {
+    Envelope[] envs = new Envelope[geoms.length];
+    for (int i = 0; i < geoms.length; i++) {
+      envs[i] = geoms[i].getEnvelopeInternal();
+    }
+    return envs;
+  }
+
+  private static Geometry[] toArray(Collection geoms) {
+    return (Geometry[]) geoms.toArray(new Geometry[geoms.size()]);
+  }
+
+  /**
+   * Collects candidate pairs as long keys of (query index, item index),
+   * so that sorting groups the candidates by query.
+   */
+  private static class CandidateCollector
+  implements BatchItemVisitor
+  {
+    long[] keys = new long[64];
+    int size = 0;
+
+    public void visitItem(int queryIndex, Object item) {
+      add(queryIndex, ((Integer) item).intValue());
+    }
+
+    void add(int queryIndex, int itemIndex) {
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, 2 * size);
+      }
+      keys[size++] = ((long) queryIndex << 32) | itemIndex;
+    }
+  }
+
+  private static class IntPairList
+  {
+    private int[] values = new int[64];
+    private int size = 0;
+
+    void add(int v0, int v1) {
+      if (size + 2 > values.length) {
+        values = Arrays.copyOf(values, 2 * values.length);
+      }
+      values[size++] = v0;
+      values[size++] = v1;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.relate;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.locationtech.jts.algorithm.LineIntersector;
+import org.locationtech.jts.algorithm.PointLocator;
+import org.locationtech.jts.algorithm.RobustLineIntersector;
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.algorithm.locate.PointOnGeometryLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.IntersectionMatrix;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geomgraph.Edge;
+import org.locationtech.jts.geomgraph.GeometryGraph;
+import org.locationtech.jts.geomgraph.index.SegmentIntersector;
+import org.locationtech.jts.index.chain.MonotoneChain;
+import org.locationtech.jts.index.chain.MonotoneChainBuilder;
+import org.locationtech.jts.index.chain.MonotoneChainOverlapAction;
+import org.locationtech.jts.index.strtree.STRtree;
+
+/**
+ * Computes the topological relationship between a fixed target geometry
+ * and many test geometries.
+ * The parts of the relate computation which depend only on the target
+ * are computed once and cached:
+ * <ul>
+ * <li>the graph of the target, noded at its self-intersections
+ * <li>a spatial index of the monotone chains of the target edges,
+ * used to find the intersections with the edges of a test geometry
+ * without scanning the whole target
+ * <li>an indexed point locator, if the target is polygonal
+ * </ul>
+ * Each evaluation uses a copy of the target graph which shares the edge coordinates,
+ * so its cost depends mainly on the size of the test geometry
+ * and the number of target edges near it.
+ * The results are the same as those of {@link RelateOp}.
+ * <p>
+ * Predicates are evaluated with {@link RelatePredicate}s,
+ * so the computation stops as soon as the value of the predicate is determined.
+ * <p>
+ * GeometryCollections are not supported.
+ * Polygonal targets are assumed to be valid,
+ * since points are located in them using an index.
+ * Instances of this class are thread-safe.
+ *
+ * <pre>
+ * PreparedRelate rel = new PreparedRelate(area);
+ * for (Geometry feature : features) {
+ *   if (rel.relate(feature, "T*T***T**")) ...
+ * }
+ * </pre>
+ *
+ * @author Martin Davis
+ *
+ * @see RelateOp
+ */
+public class PreparedRelate
+{
+  private final Geometry target;
+  private final GeometryGraph targetGraph;
+  private final STRtree chainIndex = new STRtree();
+  private final IndexedPointInAreaLocator areaLocator;
+  private final PointOnGeometryLocator locator;
+
+  /**
+   * Creates a new relate operation for a target geometry.
+   *
+   * @param target the target geometry
+   * @throws IllegalArgumentException if the target is a GeometryCollection
+   */
+  public PreparedRelate(Geometry target)
+  {
+    checkNotGeometryCollection(target);
+    this.target = target;
+    targetGraph = new GeometryGraph(0, target);
+    targetGraph.computeSelfNodes(new RobustLineIntersector(), false);
+    // the nodes and edge intersections are sorted lazily when first iterated,
+    // so sort them now, since evaluations copy the graph concurrently
+    targetGraph.getNodeIterator();
+    int edgeIndex = 0;
+    for (Iterator i = targetGraph.getEdgeIterator(); i.hasNext(); ) {
+      Edge e = (Edge) i.next();
+      e.getEdgeIntersectionList().iterator();
+      List chains = MonotoneChainBuilder.getChains(e.getCoordinates(), Integer.valueOf(edgeIndex++));
+      for (Iterator j = chains.iterator(); j.hasNext(); ) {
+        MonotoneChain mc = (MonotoneChain) j.next();
+        chainIndex.insert(mc.getEnvelope(), mc);
+      }
+    }
+    // build the index now, so that queries do not modify it
+    chainIndex.build();
+    if (target instanceof Polygonal) {
+      areaLocator = new IndexedPointInAreaLocator(target);
+      locator = new PolygonalLocator(target, areaLocator);
+    }
+    else {
+      areaLocator = null;
+      locator = null;
+    }
+  }
+
+  /**
+   * Gets the target geometry.
+   *
+   * @return the target geometry
+   */
+  public Geometry getGeometry()
+  {
+    return target;
+  }
+
+  /**
+   * Computes the DE-9IM matrix of the target geometry and a test geometry.
+   *
+   * @param g the test geometry
+   * @return the intersection matrix
+   * @throws IllegalArgumentException if the test geometry is a GeometryCollection
+   */
+  public IntersectionMatrix relate(Geometry g)
+  {
+    RelateComputer relate = new RelateComputer(createGraphs(g));
+    setLocator(relate);
+    return relate.computeIM();
+  }
+
+  /**
+   * Tests whether the DE-9IM matrix of the target geometry and a test geometry
+   * matches a pattern.
+   *
+   * @param g the test geometry
+   * @param pattern a DE-9IM pattern string
+   * @return true if the matrix matches the pattern
+   * @throws IllegalArgumentException if the test geometry is a GeometryCollection
+   */
+  public boolean relate(Geometry g, String pattern)
+  {
+    return evaluate(g, RelatePredicate.matches(pattern));
+  }
+
+  /**
+   * Evaluates a predicate for the target geometry and a test geometry.
+   *
+   * @param g the test geometry
+   * @param predicate the predicate to evaluate
+   * @return the value of the predicate
+   * @throws IllegalArgumentException if the test geometry is a GeometryCollection
+   */
+  public boolean evaluate(Geometry g, RelatePredicate predicate)
+  {
+    RelateComputer relate = new RelateComputer(createGraphs(g), predicate);
+    setLocator(relate);
+    return predicate.matches(relate.computeIM());
+  }
+
+  private GeometryGraph[] createGraphs(Geometry g)
+  {
+    checkNotGeometryCollection(g);
+    return new GeometryGraph[] {
+        new TargetGraph(targetGraph, chainIndex, areaLocator),
+        new GeometryGraph(1, g)
+    };
+  }
+
+  private void setLocator(RelateComputer relate)
+  {
+    if (locator != null)
+      relate.setPointLocator(0, locator);
+  }
+
+  private static void checkNotGeometryCollection(Geometry g)
+  {
+    if (g.getClass() == GeometryCollection.class)
+      throw new IllegalArgumentException("Operation does not support GeometryCollection arguments");
+  }
+
+  /**
+   * A copy of the cached target graph,
+   * which finds intersections using the index of the target edges
+   * and locates points using the indexed locator (if any).
+   * The self-intersection nodes of the target
+   * are copied from the cached graph.
+   */
+  private static class TargetGraph
+    extends GeometryGraph
+  {
+    private STRtree chainIndex;
+    private PointOnGeometryLocator areaLocator;
+
+    TargetGraph(GeometryGraph graph, STRtree chainIndex, PointOnGeometryLocator areaLocator)
+    {
+      super(graph);
+      this.chainIndex = chainIndex;
+      this.areaLocator = areaLocator;
+    }
+
+    protected int locateInArea(Coordinate pt)
+    {
+      if (areaLocator != null)
+        return areaLocator.locate(pt);
+      return super.locateInArea(pt);
+    }
+
+    public SegmentIntersector computeSelfNodes(LineIntersector li,
+        boolean computeRingSelfNodes, boolean isDoneIfProperInt)
+    {
+      // the self-nodes are already present
+      return new SegmentIntersector(li, true, false);
+    }
+
+    public void computeEdgeIntersections(GeometryGraph g, SegmentIntersector si)
+    {
+      si.setBoundaryNodes(getBoundaryNodes(), g.getBoundaryNodes());
+      EdgeOverlapAction action = new EdgeOverlapAction(edges, si);
+      for (Iterator i = g.getEdgeIterator(); i.hasNext(); ) {
+        Edge testEdge = (Edge) i.next();
+        List testChains = MonotoneChainBuilder.getChains(testEdge.getCoordinates(), testEdge);
+        for (Iterator j = testChains.iterator(); j.hasNext(); ) {
+          MonotoneChain testChain = (MonotoneChain) j.next();
+          List chains = chainIndex.query(testChain.getEnvelope());
+          for (Iterator k = chains.iterator(); k.hasNext(); ) {
+            MonotoneChain mc = (MonotoneChain) k.next();
+            mc.computeOverlaps(testChain, action);
+            if (si.isDone()) return;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Computes the intersections of overlapping segments
+   * of a target chain and a test chain.
+   */
+  private static class EdgeOverlapAction
+    extends MonotoneChainOverlapAction
+  {
+    private List targetEdges;
+    private SegmentIntersector si;
+
+    EdgeOverlapAction(List targetEdges, SegmentIntersector si)
+    {
+      this.targetEdges = targetEdges;
+      this.si = si;
+    }
+
+    public void overlap(MonotoneChain mc1, int start1, MonotoneChain mc2, int start2)
+    {
+      Edge targetEdge = (Edge) targetEdges.get(((Integer) mc1.getContext()).intValue());
+      si.addIntersections(targetEdge, start1, (Edge) mc2.getContext(), start2);
+    }
+  }
+
+  /**
+   * Locates points in a polygonal target using an index.
+   * Points on the boundary of a MultiPolygon are located
+   * with a {@link PointLocator}, so that points where elements touch
+   * are located in the same way as by {@link RelateOp}.
+   */
+  private static class PolygonalLocator
+    implements PointOnGeometryLocator
+  {
+    private Geometry geom;
+    private PointOnGeometryLocator locator;
+
+    PolygonalLocator(Geometry geom, PointOnGeometryLocator locator)
+    {
+      this.geom = geom;
+      this.locator = locator;
+    }
+
+    public int locate(Coordinate p)
+    {
+      int loc = locator.locate(p);
+      if (loc == Location.BOUNDARY && ! (geom instanceof Polygon))
+        return new PointLocator().locate(p, geom);
+      return loc;
+    }
+  }
+}
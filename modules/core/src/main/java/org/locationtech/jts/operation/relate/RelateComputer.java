@@ -21,10 +21,13 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import org.locationtech.jts.algorithm.BoundaryNodeRule;
 import org.locationtech.jts.algorithm.LineIntersector;
 import org.locationtech.jts.algorithm.PointLocator;
 import org.locationtech.jts.algorithm.RobustLineIntersector;
+import org.locationtech.jts.algorithm.locate.PointOnGeometryLocator;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Dimension;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.IntersectionMatrix;
 import org.locationtech.jts.geom.Location;
@@ -50,6 +53,14 @@ import org.locationtech.jts.util.Assert;
  * In order to correct compute relate on overlapping Polygons, they
  * would first need to be noded and merged (if not explicitly, at least
  * implicitly).
+ * <p>
+ * If a {@link RelatePredicate} is supplied,
+ * the computation stops as soon as the value of the predicate is determined,
+ * and the IntersectionMatrix computed is only a lower bound
+ * for the full matrix.
+ * The value is checked after the edge intersections have been computed
+ * (or as soon as a proper intersection is found)
+ * and after the nodes have been labelled.
  *
  * @version 1.7
  */
@@ -66,10 +77,42 @@ public class RelateComputer
   // the intersection point found (if any)
   private Coordinate invalidPoint;
 
+  private RelatePredicate predicate = null;
+  // the maximum possible value of each IM entry, if a predicate is being evaluated
+  private IntersectionMatrix maxIM = null;
+  // locators to use in place of the PointLocator, if supplied
+  private PointOnGeometryLocator[] locators = new PointOnGeometryLocator[2];
+
   public RelateComputer(GeometryGraph[] arg) {
     this.arg = arg;
   }
 
+  /**
+   * Creates a computer which stops as soon as
+   * the value of a predicate is determined.
+   *
+   * @param arg the graphs of the geometries to relate
+   * @param predicate the predicate to evaluate
+   */
+  public RelateComputer(GeometryGraph[] arg, RelatePredicate predicate) {
+    this.arg = arg;
+    this.predicate = predicate;
+    maxIM = computeMaxIM(arg[0], arg[1]);
+  }
+
+  /**
+   * Sets a locator to use for locating points in one of the geometries,
+   * in place of scanning the geometry with a {@link PointLocator}.
+   * The locator must determine locations in the same way as a {@link PointLocator}.
+   *
+   * @param argIndex the index of the geometry
+   * @param locator the locator for the geometry
+   */
+  void setPointLocator(int argIndex, PointOnGeometryLocator locator)
+  {
+    locators[argIndex] = locator;
+  }
+
   public IntersectionMatrix computeIM()
   {
     IntersectionMatrix im = new IntersectionMatrix();
@@ -82,12 +125,18 @@ public class RelateComputer
       computeDisjointIM(im);
       return im;
     }
+    if (isDetermined(im)) return im;
+
     arg[0].computeSelfNodes(li, false);
     arg[1].computeSelfNodes(li, false);
 
     // compute intersections between edges of the two input geometries
-    SegmentIntersector intersector = arg[0].computeEdgeIntersections(arg[1], li, false);
+    SegmentIntersector intersector = computeEdgeIntersections();
 //System.out.println("computeIM: # segment intersection tests: " + intersector.numTests);
+    if (predicate != null) {
+      computeProperIntersectionIM(intersector, im);
+      if (isDetermined(im)) return im;
+    }
     computeIntersectionNodes(0);
     computeIntersectionNodes(1);
     /**
@@ -103,6 +152,11 @@ public class RelateComputer
     labelIsolatedNodes();
 //Debug.printWatch();
 
+    if (predicate != null) {
+      updateIMFromNodes(im);
+      if (isDetermined(im)) return im;
+    }
+
     // If a proper intersection was found, we can set a lower bound on the IM.
     computeProperIntersectionIM(intersector, im);
 
@@ -143,6 +197,92 @@ public class RelateComputer
     return im;
   }
 
+  private boolean isDetermined(IntersectionMatrix im)
+  {
+    return predicate != null && predicate.isDetermined(im, maxIM);
+  }
+
+  private SegmentIntersector computeEdgeIntersections()
+  {
+    if (predicate == null)
+      return arg[0].computeEdgeIntersections(arg[1], li, false);
+    SegmentIntersector intersector = new PredicateSegmentIntersector();
+    arg[0].computeEdgeIntersections(arg[1], intersector);
+    return intersector;
+  }
+
+  /**
+   * A SegmentIntersector which stops when a proper intersection
+   * determines the value of the predicate.
+   */
+  private class PredicateSegmentIntersector
+    extends SegmentIntersector
+  {
+    private boolean isDetermined = false;
+    private boolean hasProper = false;
+    private boolean hasProperInterior = false;
+
+    PredicateSegmentIntersector()
+    {
+      super(li, false, true);
+    }
+
+    public void addIntersections(Edge e0, int segIndex0, Edge e1, int segIndex1)
+    {
+      super.addIntersections(e0, segIndex0, e1, segIndex1);
+      if (hasProper == hasProperIntersection()
+          && hasProperInterior == hasProperInteriorIntersection())
+        return;
+      hasProper = hasProperIntersection();
+      hasProperInterior = hasProperInteriorIntersection();
+      IntersectionMatrix im = new IntersectionMatrix();
+      im.set(Location.EXTERIOR, Location.EXTERIOR, 2);
+      computeProperIntersectionIM(this, im);
+      isDetermined = predicate.isDetermined(im, maxIM);
+    }
+
+    public boolean isDone()
+    {
+      return isDetermined || super.isDone();
+    }
+  }
+
+  /**
+   * Computes the maximum possible value of each IM entry,
+   * which is the smaller of the dimensions of the intersected components.
+   */
+  private static IntersectionMatrix computeMaxIM(GeometryGraph a, GeometryGraph b)
+  {
+    int[] dimA = componentDimensions(a);
+    int[] dimB = componentDimensions(b);
+    IntersectionMatrix maxIM = new IntersectionMatrix();
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 3; j++) {
+        maxIM.set(i, j, Math.min(dimA[i], dimB[j]));
+      }
+    }
+    return maxIM;
+  }
+
+  /**
+   * Gets the maximum dimensions of the interior, boundary and exterior of a geometry.
+   * The boundary dimension of the geometry is computed using the Mod-2 rule,
+   * so for other rules the bound for a lineal geometry is 0,
+   * since it may have boundary points even if it is closed.
+   */
+  private static int[] componentDimensions(GeometryGraph graph)
+  {
+    Geometry g = graph.getGeometry();
+    int[] dim = new int[3];
+    dim[Location.INTERIOR] = g.isEmpty() ? Dimension.FALSE : g.getDimension();
+    dim[Location.BOUNDARY] = g.isEmpty() ? Dimension.FALSE : g.getBoundaryDimension();
+    if (! g.isEmpty() && g.getDimension() == Dimension.L
+        && graph.getBoundaryNodeRule() != BoundaryNodeRule.MOD2_BOUNDARY_RULE)
+      dim[Location.BOUNDARY] = Dimension.P;
+    dim[Location.EXTERIOR] = Dimension.A;
+    return dim;
+  }
+
   private void insertEdgeEnds(List ee)
   {
     for (Iterator i = ee.iterator(); i.hasNext(); ) {
@@ -293,6 +433,18 @@ public class RelateComputer
     }
   }
 
+  /**
+   * Updates the IM with the locations of the nodes.
+   * The node labels are complete once isolated nodes have been labelled.
+   */
+  private void updateIMFromNodes(IntersectionMatrix im)
+  {
+    for (Iterator ni = nodes.iterator(); ni.hasNext(); ) {
+      Node node = (Node) ni.next();
+      node.updateIM(im);
+    }
+  }
+
   /**
    * update the IM with the sum of the IMs for each component
    */
@@ -343,7 +495,7 @@ public class RelateComputer
     // since edge is not in boundary, may not need the full generality of PointLocator?
     // Possibly should use ptInArea locator instead?  We probably know here
     // that the edge does not touch the bdy of the target Geometry
-      int loc = ptLocator.locate(e.getCoordinate(), target);
+      int loc = locate(e.getCoordinate(), targetIndex);
       e.getLabel().setAllLocations(targetIndex, loc);
     }
     else {
@@ -382,8 +534,15 @@ public class RelateComputer
    */
   private void labelIsolatedNode(Node n, int targetIndex)
   {
-    int loc = ptLocator.locate(n.getCoordinate(), arg[targetIndex].getGeometry());
+    int loc = locate(n.getCoordinate(), targetIndex);
     n.getLabel().setAllLocations(targetIndex, loc);
 //debugPrintln(n.getLabel());
   }
+
+  private int locate(Coordinate pt, int targetIndex)
+  {
+    if (locators[targetIndex] != null)
+      return locators[targetIndex].locate(pt);
+    return ptLocator.locate(pt, arg[targetIndex].getGeometry());
+  }
 }
@@ -37,6 +37,11 @@ import org.locationtech.jts.operation.GeometryGraphOperation;
  * as {@link Geometry#getBoundary}.  The results of
  * these methods may not be consistent with the relationship computed by
  * a custom Boundary Node Rule.
+ * <p>
+ * A spatial predicate (specified as a {@link RelatePredicate} or a DE-9IM pattern)
+ * can be evaluated without computing the full {@link IntersectionMatrix}.
+ * The computation stops as soon as the value of the predicate is known,
+ * which is often after the first edge intersection is found.
  *
  * @version 1.7
  */
@@ -74,6 +79,38 @@ public class RelateOp
     return im;
   }
 
+  /**
+   * Tests whether the {@link IntersectionMatrix} for the spatial relationship
+   * between two {@link Geometry}s matches a DE-9IM pattern,
+   * using the default (OGC SFS) Boundary Node Rule.
+   * The matrix is only computed as far as is needed to determine the result.
+   *
+   * @param a a Geometry to test
+   * @param b a Geometry to test
+   * @param pattern the DE-9IM pattern to match
+   * @return true if the IntersectionMatrix of the geometries matches the pattern
+   */
+  public static boolean relate(Geometry a, Geometry b, String pattern)
+  {
+    return relate(a, b, RelatePredicate.matches(pattern));
+  }
+
+  /**
+   * Evaluates a {@link RelatePredicate} for two {@link Geometry}s,
+   * using the default (OGC SFS) Boundary Node Rule.
+   * The matrix is only computed as far as is needed to determine the result.
+   *
+   * @param a a Geometry to test
+   * @param b a Geometry to test
+   * @param predicate the predicate to evaluate
+   * @return the value of the predicate for the geometries
+   */
+  public static boolean relate(Geometry a, Geometry b, RelatePredicate predicate)
+  {
+    RelateOp relOp = new RelateOp(a, b);
+    return relOp.evaluate(predicate);
+  }
+
   private RelateComputer relate;
 
   /**
@@ -112,4 +149,17 @@ public class RelateOp
     return relate.computeIM();
   }
 
+  /**
+   * Evaluates a {@link RelatePredicate} for the input geometries,
+   * computing only as much of the IntersectionMatrix as is needed.
+   *
+   * @param predicate the predicate to evaluate
+   * @return the value of the predicate for the input geometries
+   */
+  public boolean evaluate(RelatePredicate predicate)
+  {
+    RelateComputer predicateRelate = new RelateComputer(arg, predicate);
+    return predicate.matches(predicateRelate.computeIM());
+  }
+
 }
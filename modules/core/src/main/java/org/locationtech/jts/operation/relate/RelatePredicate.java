@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.relate;
+
+import org.locationtech.jts.geom.Dimension;
+import org.locationtech.jts.geom.IntersectionMatrix;
+
+/**
+ * A spatial predicate expressed as one or more DE-9IM patterns,
+ * which is satisfied if the {@link IntersectionMatrix} of two geometries
+ * matches any of the patterns.
+ * The named spatial predicates
+ * (e.g. {@link #touches(int, int)}) are provided,
+ * with the same semantics as the corresponding methods of {@link IntersectionMatrix}.
+ * <p>
+ * A predicate can be evaluated against a partially computed intersection matrix,
+ * to determine whether the rest of the matrix can change the result.
+ * This allows {@link RelateOp} to stop computing the matrix
+ * as soon as the value of the predicate is known.
+ *
+ * @author Martin Davis
+ *
+ * @see RelateOp#relate(org.locationtech.jts.geom.Geometry, org.locationtech.jts.geom.Geometry, RelatePredicate)
+ */
+public class RelatePredicate
+{
+  /**
+   * Creates a predicate which tests whether an intersection matrix matches a pattern.
+   *
+   * @param pattern a DE-9IM pattern string
+   * @return the predicate
+   * @see IntersectionMatrix#matches(String)
+   */
+  public static RelatePredicate matches(String pattern)
+  {
+    return new RelatePredicate(new String[] { pattern });
+  }
+
+  /**
+   * Creates a predicate for the <b>intersects</b> relationship.
+   *
+   * @return the predicate
+   * @see IntersectionMatrix#isIntersects()
+   */
+  public static RelatePredicate intersects()
+  {
+    return new RelatePredicate(new String[] { "T********", "*T*******", "***T*****", "****T****" });
+  }
+
+  /**
+   * Creates a predicate for the <b>touches</b> relationship
+   * between geometries of the given dimensions.
+   *
+   * @param dimA the dimension of the first geometry
+   * @param dimB the dimension of the second geometry
+   * @return the predicate
+   * @see IntersectionMatrix#isTouches(int, int)
+   */
+  public static RelatePredicate touches(int dimA, int dimB)
+  {
+    if (dimA < Dimension.P || dimB < Dimension.P
+        || (dimA == Dimension.P && dimB == Dimension.P))
+      return FALSE;
+    return new RelatePredicate(new String[] { "FT*******", "F**T*****", "F***T****" });
+  }
+
+  /**
+   * Creates a predicate for the <b>crosses</b> relationship
+   * between geometries of the given dimensions.
+   *
+   * @param dimA the dimension of the first geometry
+   * @param dimB the dimension of the second geometry
+   * @return the predicate
+   * @see IntersectionMatrix#isCrosses(int, int)
+   */
+  public static RelatePredicate crosses(int dimA, int dimB)
+  {
+    if (dimA < Dimension.P || dimB < Dimension.P)
+      return FALSE;
+    if (dimA == Dimension.L && dimB == Dimension.L)
+      return matches("0********");
+    if (dimA < dimB)
+      return matches("T*T******");
+    if (dimA > dimB)
+      return matches("T*****T**");
+    return FALSE;
+  }
+
+  /**
+   * Creates a predicate for the <b>overlaps</b> relationship
+   * between geometries of the given dimensions.
+   *
+   * @param dimA the dimension of the first geometry
+   * @param dimB the dimension of the second geometry
+   * @return the predicate
+   * @see IntersectionMatrix#isOverlaps(int, int)
+   */
+  public static RelatePredicate overlaps(int dimA, int dimB)
+  {
+    if ((dimA == Dimension.P && dimB == Dimension.P)
+        || (dimA == Dimension.A && dimB == Dimension.A))
+      return matches("T*T***T**");
+    if (dimA == Dimension.L && dimB == Dimension.L)
+      return matches("1*T***T**");
+    return FALSE;
+  }
+
+  /**
+   * Creates a predicate for the <b>contains</b> relationship.
+   *
+   * @return the predicate
+   * @see IntersectionMatrix#isContains()
+   */
+  public static RelatePredicate contains()
+  {
+    return matches("T*****FF*");
+  }
+
+  /**
+   * Creates a predicate for the <b>within</b> relationship.
+   *
+   * @return the predicate
+   * @see IntersectionMatrix#isWithin()
+   */
+  public static RelatePredicate within()
+  {
+    return matches("T*F**F***");
+  }
+
+  /**
+   * Creates a predicate for the <b>covers</b> relationship.
+   *
+   * @return the predicate
+   * @see IntersectionMatrix#isCovers()
+   */
+  public static RelatePredicate covers()
+  {
+    return new RelatePredicate(new String[] { "T*****FF*", "*T****FF*", "***T**FF*", "****T*FF*" });
+  }
+
+  /**
+   * Creates a predicate for the <b>coveredBy</b> relationship.
+   *
+   * @return the predicate
+   * @see IntersectionMatrix#isCoveredBy()
+   */
+  public static RelatePredicate coveredBy()
+  {
+    return new RelatePredicate(new String[] { "T*F**F***", "*TF**F***", "**FT*F***", "**F*TF***" });
+  }
+
+  /**
+   * A predicate which is never satisfied.
+   */
+  private static final RelatePredicate FALSE = new RelatePredicate(new String[0]);
+
+  private static final int PATTERN_FALSE = 0;
+  private static final int PATTERN_TRUE = 1;
+  private static final int PATTERN_UNKNOWN = 2;
+
+  private String[] patterns;
+
+  private RelatePredicate(String[] patterns)
+  {
+    for (int i = 0; i < patterns.length; i++) {
+      if (patterns[i].length() != 9)
+        throw new IllegalArgumentException("Should be length 9: " + patterns[i]);
+    }
+    this.patterns = patterns;
+  }
+
+  /**
+   * Tests whether an intersection matrix satisfies this predicate.
+   *
+   * @param im an intersection matrix
+   * @return true if the matrix matches one of the patterns of this predicate
+   */
+  public boolean matches(IntersectionMatrix im)
+  {
+    for (int i = 0; i < patterns.length; i++) {
+      if (im.matches(patterns[i]))
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * Tests whether the value of this predicate is determined
+   * by a partially computed intersection matrix.
+   * The entries of the partial matrix are lower bounds for the final entries,
+   * and the entries of the maximum matrix are upper bounds.
+   * If the value is determined, it is the result of
+   * {@link #matches(IntersectionMatrix)} for the partial matrix.
+   *
+   * @param im the partially computed intersection matrix
+   * @param maxIM the maximum possible value of each entry of the matrix
+   * @return true if the value of the predicate cannot be changed
+   * by computing the rest of the matrix
+   */
+  public boolean isDetermined(IntersectionMatrix im, IntersectionMatrix maxIM)
+  {
+    boolean isAllFalse = true;
+    for (int i = 0; i < patterns.length; i++) {
+      int value = evaluate(patterns[i], im, maxIM);
+      if (value == PATTERN_TRUE)
+        return true;
+      if (value != PATTERN_FALSE)
+        isAllFalse = false;
+    }
+    return isAllFalse;
+  }
+
+  private static int evaluate(String pattern, IntersectionMatrix im, IntersectionMatrix maxIM)
+  {
+    boolean isKnown = true;
+    for (int i = 0; i < 9; i++) {
+      int row = i / 3;
+      int col = i % 3;
+      int min = im.get(row, col);
+      int max = maxIM.get(row, col);
+      char symbol = pattern.charAt(i);
+      switch (symbol) {
+      case Dimension.SYM_DONTCARE:
+        break;
+      case Dimension.SYM_TRUE:
+        if (min < 0) {
+          if (max < 0) return PATTERN_FALSE;
+          isKnown = false;
+        }
+        break;
+      case Dimension.SYM_FALSE:
+        if (min >= 0) return PATTERN_FALSE;
+        if (max >= 0) isKnown = false;
+        break;
+      case Dimension.SYM_P:
+      case Dimension.SYM_L:
+      case Dimension.SYM_A:
+        int dim = Dimension.toDimensionValue(symbol);
+        if (min > dim || max < dim) return PATTERN_FALSE;
+        if (min < dim || max > dim) isKnown = false;
+        break;
+      default:
+        // leave unrecognized symbols to the final match
+        isKnown = false;
+      }
+    }
+    return isKnown ? PATTERN_TRUE : PATTERN_UNKNOWN;
+  }
+}
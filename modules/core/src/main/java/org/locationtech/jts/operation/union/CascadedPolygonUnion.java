@@ -15,6 +15,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
@@ -50,6 +53,13 @@ import org.locationtech.jts.index.strtree.STRtree;
  * The best situation for using <tt>buffer(0)</tt> is the trivial case
  * where there is <i>no</i> overlap between the input geometries. 
  * However, this case is likely rare in practice.
+ * <p>
+ * The union can optionally be computed in parallel, 
+ * by supplying a {@link ForkJoinPool}.
+ * In this mode the independent subtrees of the spatial index
+ * are unioned as separate fork/join tasks.
+ * The union tree has exactly the same structure as in the serial algorithm,
+ * so the result is identical to that produced serially.
  * 
  * @author Martin Davis
  *
@@ -68,8 +78,26 @@ public class CascadedPolygonUnion
 		return op.union();
 	}
 	
+  /**
+   * Computes the union of
+   * a collection of {@link Polygonal} {@link Geometry}s,
+   * using the given {@link ForkJoinPool} to union 
+   * independent subsets of the input in parallel.
+   * 
+   * @param polys a collection of {@link Polygonal} {@link Geometry}s
+   * @param pool the pool to execute the union tasks in
+   * @return the union of the input geometries
+   * or null if no input geometries were provided
+   */
+  public static Geometry union(Collection polys, ForkJoinPool pool)
+  {
+    CascadedPolygonUnion op = new CascadedPolygonUnion(polys, pool);
+    return op.union();
+  }
+  
 	private Collection inputPolys;
 	private GeometryFactory geomFactory = null;
+  private ForkJoinPool pool = null;
 	
 	/**
 	 * Creates a new instance to union
@@ -85,6 +113,21 @@ public class CascadedPolygonUnion
 		  inputPolys = new ArrayList();
 	}
 	
+  /**
+   * Creates a new instance to union
+   * the given collection of {@link Geometry}s,
+   * computing the union in parallel using the given {@link ForkJoinPool}.
+   * If the pool is null the union is computed serially.
+   * 
+   * @param polys a collection of {@link Polygonal} {@link Geometry}s
+   * @param pool the pool to execute the union tasks in (may be null)
+   */
+  public CascadedPolygonUnion(Collection polys, ForkJoinPool pool)
+  {
+    this(polys);
+    this.pool = pool;
+  }
+	
   /**
    * The effectiveness of the index is somewhat sensitive
    * to the node capacity.  
@@ -93,6 +136,20 @@ public class CascadedPolygonUnion
    * this produces 2x2 "squares").
    */
   private static final int STRTREE_NODE_CAPACITY = 4;
+
+  /**
+   * List sections with at most this many geometries
+   * are unioned serially in parallel mode,
+   * since the task overhead would dominate for small subtrees.
+   */
+  private static final int PARALLEL_MIN_SIZE = 8;
+
+  /**
+   * List sections are unioned serially in parallel mode
+   * when the current worker already has more than this many queued tasks
+   * (since these are enough to keep the other workers busy).
+   */
+  private static final int PARALLEL_MAX_SURPLUS_TASKS = 3;
   
 	/**
 	 * Computes the union of the input geometries.
@@ -131,8 +188,15 @@ public class CascadedPolygonUnion
     // To avoiding holding memory remove references to the input geometries,
     inputPolys = null;
     
-    List itemTree = index.itemsTree();
+    final List itemTree = index.itemsTree();
 //    printItemEnvelopes(itemTree);
+    if (pool != null) {
+      return pool.invoke(new RecursiveTask<Geometry>() {
+        protected Geometry compute() {
+          return unionTree(itemTree);
+        }
+      });
+    }
     Geometry unionAll = unionTree(itemTree);
     return unionAll;
 	}
@@ -220,12 +284,47 @@ public class CascadedPolygonUnion
   	else {
   		// recurse on both halves of the list
   		int mid = (end + start) / 2;
+  		if (pool != null && isParallelWorthwhile(end - start)) {
+  		  return binaryUnionParallel(geoms, start, mid, end);
+  		}
   		Geometry g0 = binaryUnion(geoms, start, mid);
   		Geometry g1 = binaryUnion(geoms, mid, end);
   		return unionSafe(g0, g1);
   	}
   }
   
+  /**
+   * Tests whether a list section is large enough to be unioned as parallel tasks,
+   * and there are not already enough tasks queued.
+   * Must be called from within a fork/join task.
+   */
+  private static boolean isParallelWorthwhile(int size)
+  {
+    return size > PARALLEL_MIN_SIZE
+        && ForkJoinTask.getSurplusQueuedTaskCount() <= PARALLEL_MAX_SURPLUS_TASKS;
+  }
+  
+  /**
+   * Unions the two halves of a list section as parallel tasks,
+   * and then unions the results.
+   * Must be called from within a fork/join task.
+   */
+  private Geometry binaryUnionParallel(final List geoms, final int start, final int mid, final int end)
+  {
+    RecursiveTask<Geometry> task0 = new RecursiveTask<Geometry>() {
+      protected Geometry compute() {
+        return binaryUnion(geoms, start, mid);
+      }
+    };
+    RecursiveTask<Geometry> task1 = new RecursiveTask<Geometry>() {
+      protected Geometry compute() {
+        return binaryUnion(geoms, mid, end);
+      }
+    };
+    ForkJoinTask.invokeAll(task0, task1);
+    return unionSafe(task0.join(), task1.join());
+  }
+  
   /**
    * Gets the element at a given list index, or
    * null if the index is out of range.
@@ -250,6 +349,9 @@ public class CascadedPolygonUnion
    */
   private List reduceToGeometries(List geomTree)
   {
+    if (pool != null) 
+      return reduceToGeometriesParallel(geomTree);
+    
     List geoms = new ArrayList();
     for (Iterator i = geomTree.iterator(); i.hasNext(); ) {
       Object o = i.next();
@@ -265,6 +367,48 @@ public class CascadedPolygonUnion
     return geoms;
   }
   
+  /**
+   * Reduces a tree of geometries to a list of geometries
+   * by unioning the subtrees in the list as parallel tasks.
+   * The order of the list is preserved, 
+   * so the result is the same as that of the serial reduction.
+   * Must be called from within a fork/join task.
+   * 
+   * @param geomTree a tree-structured list of geometries
+   * @return a list of Geometrys
+   */
+  private List reduceToGeometriesParallel(List geomTree)
+  {
+    List<RecursiveTask<Geometry>> tasks = new ArrayList<RecursiveTask<Geometry>>();
+    for (Iterator i = geomTree.iterator(); i.hasNext(); ) {
+      Object o = i.next();
+      if (o instanceof List) {
+        final List subtree = (List) o;
+        tasks.add(new RecursiveTask<Geometry>() {
+          protected Geometry compute() {
+            return unionTree(subtree);
+          }
+        });
+      }
+    }
+    ForkJoinTask.invokeAll(tasks);
+    
+    List geoms = new ArrayList();
+    Iterator<RecursiveTask<Geometry>> taskIt = tasks.iterator();
+    for (Iterator i = geomTree.iterator(); i.hasNext(); ) {
+      Object o = i.next();
+      Geometry geom = null;
+      if (o instanceof List) {
+        geom = taskIt.next().join();
+      }
+      else if (o instanceof Geometry) {
+        geom = (Geometry) o;
+      }
+      geoms.add(geom);
+    }
+    return geoms;
+  }
+  
   /**
    * Computes the union of two geometries, 
    * either or both of which may be null.
@@ -0,0 +1,557 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.union;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import org.locationtech.jts.algorithm.Distance;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateList;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.geom.util.PolygonExtracter;
+
+/**
+ * Computes the union of a collection of {@link Polygonal} geometries
+ * by partitioning the input into spatial tiles,
+ * unioning each tile independently,
+ * and then stitching the tile unions together along the tile seams.
+ * <p>
+ * The plane is partitioned recursively in the manner of a KD-tree:
+ * each partition is cut across its longer side at the median of the centres
+ * of the polygons it contains,
+ * until a partition contains few enough vertices.
+ * Polygons which cross a cut are clipped to each side of it.
+ * Before clipping, a vertex is inserted wherever a polygon edge crosses the cut,
+ * computed from the edge in a canonical way.
+ * So the clipped pieces on each side of a cut have exactly the same vertices
+ * along it, and no new intersection points are computed on the seam.
+ * <p>
+ * The tiles are unioned using {@link CascadedPolygonUnion},
+ * in parallel if a {@link ForkJoinPool} is supplied.
+ * Tile union components which do not touch a seam
+ * are disjoint from all other tiles and are part of the result as they are
+ * (this is the same idea used by {@link OverlapUnion}).
+ * The components which touch a seam are stitched together
+ * without a full overlay:
+ * the seam edges which are shared by the tiles on each side of a cut are removed,
+ * and the remaining edges are polygonized.
+ * Finally the vertices inserted on the cuts are removed again.
+ * <p>
+ * For large inputs which dissolve into a few large polygons,
+ * this avoids the repeated noding of large merged polygons
+ * which dominates the final stages of a cascaded union.
+ * <p>
+ * The result is equal to that of {@link CascadedPolygonUnion}
+ * up to the accuracy of the computation,
+ * but may differ in vertex order and in the position of computed vertices.
+ * If the stitching fails due to a robustness problem
+ * (which is detected by comparing the area of the result with the areas of the tiles),
+ * the tile unions are unioned by a {@link CascadedPolygonUnion} instead.
+ *
+ * @author Martin Davis
+ *
+ * @see CascadedPolygonUnion
+ */
+public class PartitionedPolygonUnion
+{
+  /**
+   * Computes the union of a collection of {@link Polygonal} geometries,
+   * using the common {@link ForkJoinPool}.
+   *
+   * @param polys a collection of {@link Polygonal} geometries
+   * @return the union of the input geometries,
+   * or null if no input geometries were provided
+   */
+  public static Geometry union(Collection polys)
+  {
+    return union(polys, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the union of a collection of {@link Polygonal} geometries,
+   * unioning the tiles in the given {@link ForkJoinPool}.
+   *
+   * @param polys a collection of {@link Polygonal} geometries
+   * @param pool the pool to union tiles in (may be null)
+   * @return the union of the input geometries,
+   * or null if no input geometries were provided
+   */
+  public static Geometry union(Collection polys, ForkJoinPool pool)
+  {
+    PartitionedPolygonUnion op = new PartitionedPolygonUnion(polys, pool);
+    return op.union();
+  }
+
+  /**
+   * The minimum number of vertices in a tile.
+   */
+  private static final int MIN_TILE_VERTICES = 1000;
+
+  /**
+   * The number of tiles created per thread in the pool,
+   * to balance the load when tiles have uneven cost.
+   */
+  private static final int TILES_PER_THREAD = 4;
+
+  /**
+   * The tolerance for removing the vertices inserted on cuts,
+   * relative to the length of the segment they lie on.
+   */
+  private static final double INSERTED_VERTEX_TOLERANCE_FACTOR = 1.0E-10;
+
+  private static final double AREA_TOLERANCE_FACTOR = 1.0E-9;
+
+  private Collection inputPolys;
+  private ForkJoinPool pool;
+  private int maxTileVertices = -1;
+  private GeometryFactory geomFact;
+  private Envelope extent;
+  private Set insertedVertices = ConcurrentHashMap.newKeySet();
+  private boolean isSeamsStitched = false;
+  private boolean isStitchFallback = false;
+
+  /**
+   * Creates a new instance to union
+   * the given collection of {@link Polygonal} geometries.
+   *
+   * @param polys a collection of {@link Polygonal} geometries
+   * @param pool the pool to union tiles in (may be null)
+   */
+  public PartitionedPolygonUnion(Collection polys, ForkJoinPool pool)
+  {
+    this.inputPolys = polys;
+    this.pool = pool;
+  }
+
+  /**
+   * Sets the maximum number of vertices in a tile.
+   * By default this is chosen so that
+   * there are a few tiles for each thread in the pool.
+   *
+   * @param maxTileVertices the maximum number of vertices in a tile
+   */
+  public void setMaxTileVertices(int maxTileVertices)
+  {
+    this.maxTileVertices = maxTileVertices;
+  }
+
+  /**
+   * Computes the union of the input geometries.
+   *
+   * @return the union of the input geometries,
+   * or null if no input geometries were provided
+   */
+  public Geometry union()
+  {
+    isSeamsStitched = false;
+    isStitchFallback = false;
+    List polys = new ArrayList();
+    int numVertices = 0;
+    if (inputPolys != null) {
+      for (Iterator i = inputPolys.iterator(); i.hasNext(); ) {
+        Geometry geom = (Geometry) i.next();
+        List comps = PolygonExtracter.getPolygons(geom);
+        for (Iterator j = comps.iterator(); j.hasNext(); ) {
+          Polygon poly = (Polygon) j.next();
+          if (poly.isEmpty()) continue;
+          polys.add(poly);
+          numVertices += poly.getNumPoints();
+        }
+      }
+    }
+    if (polys.isEmpty())
+      return null;
+    geomFact = ((Geometry) polys.get(0)).getFactory();
+    extent = new Envelope();
+    for (Iterator i = polys.iterator(); i.hasNext(); ) {
+      extent.expandToInclude(((Geometry) i.next()).getEnvelopeInternal());
+    }
+    int tileVertices = maxTileVertices;
+    if (tileVertices <= 0) {
+      int parallelism = pool == null ? 1 : pool.getParallelism();
+      tileVertices = Math.max(MIN_TILE_VERTICES, numVertices / (TILES_PER_THREAD * parallelism));
+    }
+
+    TileTask rootTask = new TileTask(polys, numVertices, extent, tileVertices);
+    TileResult result;
+    if (pool != null) {
+      result = pool.invoke(rootTask);
+    }
+    else {
+      result = rootTask.compute();
+    }
+    return stitch(result);
+  }
+
+  /**
+   * The polygons in a tile union,
+   * separated into those which touch a seam and those which do not,
+   * and the cuts which created the tiles.
+   */
+  private static class TileResult
+  {
+    List interior = new ArrayList();
+    List seam = new ArrayList();
+    List cuts = new ArrayList();
+
+    void add(TileResult result)
+    {
+      interior.addAll(result.interior);
+      seam.addAll(result.seam);
+      cuts.addAll(result.cuts);
+    }
+  }
+
+  /**
+   * Unions the polygons in a partition of the plane,
+   * either directly, or by splitting it and unioning the two halves.
+   */
+  private class TileTask extends RecursiveTask<TileResult>
+  {
+    private List polys;
+    private int numVertices;
+    private Envelope tileEnv;
+    private int maxTileVertices;
+
+    TileTask(List polys, int numVertices, Envelope tileEnv, int maxTileVertices)
+    {
+      this.polys = polys;
+      this.numVertices = numVertices;
+      this.tileEnv = tileEnv;
+      this.maxTileVertices = maxTileVertices;
+    }
+
+    protected TileResult compute()
+    {
+      if (numVertices <= maxTileVertices || polys.size() <= 1)
+        return unionTile();
+
+      boolean isVertical = tileEnv.getWidth() >= tileEnv.getHeight();
+      double cut = medianCentre(polys, isVertical);
+      if (cut <= minOrd(tileEnv, isVertical) || cut >= maxOrd(tileEnv, isVertical))
+        return unionTile();
+
+      List left = new ArrayList();
+      List right = new ArrayList();
+      int[] numLeftRight = new int[2];
+      for (Iterator i = polys.iterator(); i.hasNext(); ) {
+        Polygon poly = (Polygon) i.next();
+        Envelope env = poly.getEnvelopeInternal();
+        if (maxOrd(env, isVertical) <= cut) {
+          add(poly, left, numLeftRight, 0);
+        }
+        else if (minOrd(env, isVertical) >= cut) {
+          add(poly, right, numLeftRight, 1);
+        }
+        else {
+          Polygon cutPoly = insertCutVertices(poly, cut, isVertical);
+          addAll(clip(cutPoly, env, cut, isVertical, true), left, numLeftRight, 0);
+          addAll(clip(cutPoly, env, cut, isVertical, false), right, numLeftRight, 1);
+        }
+      }
+      polys = null;
+
+      Envelope leftEnv = isVertical
+          ? new Envelope(tileEnv.getMinX(), cut, tileEnv.getMinY(), tileEnv.getMaxY())
+          : new Envelope(tileEnv.getMinX(), tileEnv.getMaxX(), tileEnv.getMinY(), cut);
+      Envelope rightEnv = isVertical
+          ? new Envelope(cut, tileEnv.getMaxX(), tileEnv.getMinY(), tileEnv.getMaxY())
+          : new Envelope(tileEnv.getMinX(), tileEnv.getMaxX(), cut, tileEnv.getMaxY());
+      TileTask leftTask = new TileTask(left, numLeftRight[0], leftEnv, maxTileVertices);
+      TileTask rightTask = new TileTask(right, numLeftRight[1], rightEnv, maxTileVertices);
+
+      TileResult result = new TileResult();
+      if (pool != null) {
+        ForkJoinTask.invokeAll(leftTask, rightTask);
+        result.add(leftTask.join());
+        result.add(rightTask.join());
+      }
+      else {
+        result.add(leftTask.compute());
+        result.add(rightTask.compute());
+      }
+      result.cuts.add(new SeamStitcher.Cut(isVertical, cut,
+          minOrd(tileEnv, ! isVertical), maxOrd(tileEnv, ! isVertical)));
+      return result;
+    }
+
+    private TileResult unionTile()
+    {
+      TileResult result = new TileResult();
+      Geometry union = CascadedPolygonUnion.union(polys);
+      polys = null;
+      if (union == null)
+        return result;
+      List comps = PolygonExtracter.getPolygons(union);
+      for (Iterator i = comps.iterator(); i.hasNext(); ) {
+        Polygon comp = (Polygon) i.next();
+        if (isTouchingSeam(comp.getEnvelopeInternal()))
+          result.seam.add(comp);
+        else
+          result.interior.add(comp);
+      }
+      return result;
+    }
+
+    /**
+     * Tests whether a polygon in this tile touches a side of the tile
+     * which is a cut (i.e. not a side of the input extent).
+     */
+    private boolean isTouchingSeam(Envelope env)
+    {
+      return (env.getMinX() <= tileEnv.getMinX() && tileEnv.getMinX() > extent.getMinX())
+          || (env.getMaxX() >= tileEnv.getMaxX() && tileEnv.getMaxX() < extent.getMaxX())
+          || (env.getMinY() <= tileEnv.getMinY() && tileEnv.getMinY() > extent.getMinY())
+          || (env.getMaxY() >= tileEnv.getMaxY() && tileEnv.getMaxY() < extent.getMaxY());
+    }
+  }
+
+  private static void add(Polygon poly, List polys, int[] numVertices, int index)
+  {
+    polys.add(poly);
+    numVertices[index] += poly.getNumPoints();
+  }
+
+  private static void addAll(List pieces, List polys, int[] numVertices, int index)
+  {
+    for (Iterator i = pieces.iterator(); i.hasNext(); ) {
+      add((Polygon) i.next(), polys, numVertices, index);
+    }
+  }
+
+  private static double minOrd(Envelope env, boolean isX)
+  {
+    return isX ? env.getMinX() : env.getMinY();
+  }
+
+  private static double maxOrd(Envelope env, boolean isX)
+  {
+    return isX ? env.getMaxX() : env.getMaxY();
+  }
+
+  private static double medianCentre(List polys, boolean isX)
+  {
+    double[] centres = new double[polys.size()];
+    for (int i = 0; i < centres.length; i++) {
+      Envelope env = ((Geometry) polys.get(i)).getEnvelopeInternal();
+      centres[i] = (minOrd(env, isX) + maxOrd(env, isX)) / 2;
+    }
+    Arrays.sort(centres);
+    return centres[centres.length / 2];
+  }
+
+  /**
+   * Clips a polygon to one side of a cut.
+   * Since the polygon has vertices at all points where it crosses the cut,
+   * the clipped pieces contain only vertices of the polygon
+   * and of the clipping rectangle.
+   *
+   * @return the polygons in the clipped piece
+   */
+  private List clip(Polygon poly, Envelope env, double cut, boolean isVertical, boolean isLeft)
+  {
+    Envelope clipEnv;
+    if (isVertical) {
+      clipEnv = isLeft
+          ? new Envelope(env.getMinX(), cut, env.getMinY(), env.getMaxY())
+          : new Envelope(cut, env.getMaxX(), env.getMinY(), env.getMaxY());
+    }
+    else {
+      clipEnv = isLeft
+          ? new Envelope(env.getMinX(), env.getMaxX(), env.getMinY(), cut)
+          : new Envelope(env.getMinX(), env.getMaxX(), cut, env.getMaxY());
+    }
+    Geometry piece = poly.intersection(geomFact.toGeometry(clipEnv));
+    return PolygonExtracter.getPolygons(piece);
+  }
+
+  /**
+   * Inserts a vertex into each polygon edge at the point where it crosses a cut.
+   * The vertex is computed from the edge endpoints in a canonical order,
+   * so that it is the same for any polygon containing the edge.
+   */
+  private Polygon insertCutVertices(Polygon poly, double cut, boolean isVertical)
+  {
+    LinearRing shell = insertCutVertices(poly.getExteriorRing(), cut, isVertical);
+    LinearRing[] holes = new LinearRing[poly.getNumInteriorRing()];
+    for (int i = 0; i < holes.length; i++) {
+      holes[i] = insertCutVertices(poly.getInteriorRingN(i), cut, isVertical);
+    }
+    return geomFact.createPolygon(shell, holes);
+  }
+
+  private LinearRing insertCutVertices(LinearRing ring, double cut, boolean isVertical)
+  {
+    Coordinate[] pts = ring.getCoordinates();
+    CoordinateList ptList = new CoordinateList();
+    ptList.add(pts[0], false);
+    for (int i = 1; i < pts.length; i++) {
+      Coordinate p0 = pts[i - 1];
+      Coordinate p1 = pts[i];
+      double o0 = isVertical ? p0.x : p0.y;
+      double o1 = isVertical ? p1.x : p1.y;
+      if ((o0 < cut && cut < o1) || (o1 < cut && cut < o0)) {
+        Coordinate a = o0 < o1 ? p0 : p1;
+        Coordinate b = o0 < o1 ? p1 : p0;
+        Coordinate v;
+        if (isVertical) {
+          v = new Coordinate(cut, a.y + (cut - a.x) * (b.y - a.y) / (b.x - a.x));
+        }
+        else {
+          v = new Coordinate(a.x + (cut - a.y) * (b.x - a.x) / (b.y - a.y), cut);
+        }
+        ptList.add(v, false);
+        insertedVertices.add(v);
+      }
+      ptList.add(p1, false);
+    }
+    return geomFact.createLinearRing(ptList.toCoordinateArray());
+  }
+
+  private Geometry stitch(TileResult result)
+  {
+    List polys = new ArrayList(result.interior);
+    if (! result.seam.isEmpty()) {
+      polys.addAll(stitchSeams(result.seam, result.cuts));
+    }
+    return geomFact.buildGeometry(polys);
+  }
+
+  /**
+   * Tests whether the last union stitched the tile unions along the seams,
+   * without falling back to unioning them.
+   * This is only used for testing.
+   *
+   * @return true if seams were stitched
+   */
+  boolean isSeamsStitched()
+  {
+    return isSeamsStitched;
+  }
+
+  /**
+   * Tests whether the last union had to union the tile unions along the seams,
+   * because stitching failed.
+   * This is only used for testing.
+   *
+   * @return true if the fallback union was used
+   */
+  boolean isStitchFallback()
+  {
+    return isStitchFallback;
+  }
+
+  private List stitchSeams(List seamPolys, List cuts)
+  {
+    List stitched = null;
+    try {
+      SeamStitcher stitcher = new SeamStitcher(cuts, geomFact);
+      stitched = stitcher.stitch(seamPolys);
+      double tileArea = area(seamPolys);
+      if (Math.abs(area(stitched) - tileArea) > AREA_TOLERANCE_FACTOR * tileArea)
+        stitched = null;
+    }
+    catch (TopologyException ex) {
+      // fall through to union
+    }
+    if (stitched == null) {
+      isStitchFallback = true;
+      Geometry union = CascadedPolygonUnion.union(seamPolys, pool);
+      stitched = PolygonExtracter.getPolygons(union);
+    }
+    else {
+      isSeamsStitched = true;
+    }
+    List result = new ArrayList();
+    for (Iterator i = stitched.iterator(); i.hasNext(); ) {
+      result.add(removeInsertedVertices((Polygon) i.next()));
+    }
+    return result;
+  }
+
+  private static double area(List polys)
+  {
+    double area = 0.0;
+    for (Iterator i = polys.iterator(); i.hasNext(); ) {
+      area += ((Geometry) i.next()).getArea();
+    }
+    return area;
+  }
+
+  private Polygon removeInsertedVertices(Polygon poly)
+  {
+    LinearRing shell = removeInsertedVertices(poly.getExteriorRing());
+    LinearRing[] holes = new LinearRing[poly.getNumInteriorRing()];
+    for (int i = 0; i < holes.length; i++) {
+      holes[i] = removeInsertedVertices(poly.getInteriorRingN(i));
+    }
+    return geomFact.createPolygon(shell, holes);
+  }
+
+  /**
+   * Removes the vertices which were inserted on cuts from a ring,
+   * if they lie on the line between the adjacent vertices
+   * (i.e. they are no longer at a junction of the result boundary).
+   */
+  private LinearRing removeInsertedVertices(LinearRing ring)
+  {
+    Coordinate[] pts = ring.getCoordinates();
+    int n = pts.length - 1;
+    int start = -1;
+    for (int i = 0; i < n; i++) {
+      if (! insertedVertices.contains(pts[i])) {
+        start = i;
+        break;
+      }
+    }
+    if (start < 0)
+      return ring;
+
+    CoordinateList ptList = new CoordinateList();
+    ptList.add(pts[start], false);
+    Coordinate prev = pts[start];
+    for (int k = 1; k < n; k++) {
+      Coordinate p = pts[(start + k) % n];
+      Coordinate next = pts[(start + k + 1) % n];
+      if (insertedVertices.contains(p) && isOnSegment(p, prev, next))
+        continue;
+      ptList.add(p, false);
+      prev = p;
+    }
+    ptList.closeRing();
+    if (ptList.size() < LinearRing.MINIMUM_VALID_SIZE)
+      return ring;
+    return geomFact.createLinearRing(ptList.toCoordinateArray());
+  }
+
+  private static boolean isOnSegment(Coordinate p, Coordinate p0, Coordinate p1)
+  {
+    double len = p0.distance(p1);
+    return Distance.pointToSegment(p, p0, p1)
+        <= INSERTED_VERTEX_TOLERANCE_FACTOR * len;
+  }
+}
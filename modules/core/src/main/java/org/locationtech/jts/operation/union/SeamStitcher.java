@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.union;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.locationtech.jts.algorithm.Orientation;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateArrays;
+import org.locationtech.jts.geom.CoordinateList;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.operation.polygonize.Polygonizer;
+
+/**
+ * Stitches together polygons which are the unions of adjacent tiles,
+ * by removing the edges along the cuts between tiles
+ * which have polygon interior on both sides.
+ * The polygons must have exactly the same vertices along each cut,
+ * on both sides of it.
+ * <p>
+ * The polygon rings are oriented so that the interior is on their right.
+ * So where polygons on each side of a cut share part of it,
+ * their edges along the cut run in opposite directions.
+ * The edges along each cut are split at every vertex on the cut,
+ * and the pieces which occur in both directions are removed.
+ * The remaining edges are the boundary of the union,
+ * and are polygonized to form the result.
+ *
+ * @author Martin Davis
+ *
+ */
+class SeamStitcher
+{
+  /**
+   * A cut between two tiles,
+   * lying along a vertical or horizontal line
+   * and extending between two ordinates along it.
+   */
+  static class Cut
+  {
+    private boolean isVertical;
+    private double value;
+    private double min;
+    private double max;
+
+    private double[] splits = new double[16];
+    private int numSplits = 0;
+    private int[] net;
+
+    Cut(boolean isVertical, double value, double min, double max)
+    {
+      this.isVertical = isVertical;
+      this.value = value;
+      this.min = min;
+      this.max = max;
+    }
+
+    boolean contains(Coordinate p)
+    {
+      double ord = ordinateAlong(p);
+      return ord >= min && ord <= max;
+    }
+
+    double ordinateAlong(Coordinate p)
+    {
+      return isVertical ? p.y : p.x;
+    }
+
+    void addSplit(double ord)
+    {
+      if (numSplits == splits.length)
+        splits = Arrays.copyOf(splits, 2 * numSplits);
+      // normalize -0.0, which sorts and searches differently to 0.0
+      splits[numSplits++] = ord + 0.0;
+    }
+
+    /**
+     * Sorts the split ordinates and removes duplicates,
+     * creating the counts of edge directions between them.
+     */
+    void prepare()
+    {
+      Arrays.sort(splits, 0, numSplits);
+      int n = 0;
+      for (int i = 0; i < numSplits; i++) {
+        if (n == 0 || splits[i] != splits[n - 1])
+          splits[n++] = splits[i];
+      }
+      numSplits = n;
+      net = new int[Math.max(0, n - 1)];
+    }
+
+    int splitIndex(double ord)
+    {
+      return Arrays.binarySearch(splits, 0, numSplits, ord + 0.0);
+    }
+
+    Coordinate splitPoint(int i)
+    {
+      if (isVertical)
+        return new Coordinate(value, splits[i]);
+      return new Coordinate(splits[i], value);
+    }
+  }
+
+  /**
+   * A segment of a ring which is part of the boundary of the union.
+   */
+  private static class Segment
+  {
+    Coordinate p0;
+    Coordinate p1;
+    /**
+     * The index of the ring segment a seam piece was split from,
+     * or -1 if the segment is not on a seam.
+     */
+    int seamIndex;
+
+    Segment(Coordinate p0, Coordinate p1, int seamIndex)
+    {
+      this.p0 = p0;
+      this.p1 = p1;
+      this.seamIndex = seamIndex;
+    }
+  }
+
+  private GeometryFactory geomFact;
+  private Map verticalCuts = new HashMap();
+  private Map horizontalCuts = new HashMap();
+  private List cutList;
+
+  /**
+   * Creates a new stitcher for tiles created by a set of cuts.
+   *
+   * @param cuts the cuts between the tiles
+   * @param geomFact the factory to create the result with
+   */
+  SeamStitcher(List cuts, GeometryFactory geomFact)
+  {
+    this.geomFact = geomFact;
+    this.cutList = cuts;
+    for (Iterator i = cuts.iterator(); i.hasNext(); ) {
+      Cut cut = (Cut) i.next();
+      Map cutMap = cut.isVertical ? verticalCuts : horizontalCuts;
+      Double key = cutKey(cut.value);
+      List cutsAtValue = (List) cutMap.get(key);
+      if (cutsAtValue == null) {
+        cutsAtValue = new ArrayList();
+        cutMap.put(key, cutsAtValue);
+      }
+      cutsAtValue.add(cut);
+    }
+  }
+
+  /**
+   * Stitches a set of polygons from adjacent tiles.
+   *
+   * @param polys the polygons to stitch
+   * @return the polygons of the union
+   * @throws TopologyException if the edges do not form a valid polygonal geometry
+   */
+  List stitch(List polys)
+  {
+    List rings = orientedRings(polys);
+
+    // record the vertices on each cut, at which the cut edges are split
+    for (Iterator i = rings.iterator(); i.hasNext(); ) {
+      Coordinate[] ring = (Coordinate[]) i.next();
+      for (int j = 0; j < ring.length - 1; j++) {
+        addSplits(ring[j]);
+      }
+    }
+    for (Iterator i = cutList.iterator(); i.hasNext(); ) {
+      ((Cut) i.next()).prepare();
+    }
+
+    // count the directions of the edges along the cuts
+    for (Iterator i = rings.iterator(); i.hasNext(); ) {
+      Coordinate[] ring = (Coordinate[]) i.next();
+      for (int j = 0; j < ring.length - 1; j++) {
+        Cut cut = findCut(ring[j], ring[j + 1]);
+        if (cut == null) continue;
+        int i0 = cut.splitIndex(cut.ordinateAlong(ring[j]));
+        int i1 = cut.splitIndex(cut.ordinateAlong(ring[j + 1]));
+        int dir = i0 < i1 ? 1 : -1;
+        for (int k = Math.min(i0, i1); k < Math.max(i0, i1); k++) {
+          cut.net[k] += dir;
+        }
+      }
+    }
+
+    List segmentLists = new ArrayList();
+    Map degree = new HashMap();
+    for (Iterator i = rings.iterator(); i.hasNext(); ) {
+      List segs = boundarySegments((Coordinate[]) i.next());
+      for (Iterator j = segs.iterator(); j.hasNext(); ) {
+        Segment seg = (Segment) j.next();
+        incrementDegree(degree, seg.p0);
+        incrementDegree(degree, seg.p1);
+      }
+      segmentLists.add(segs);
+    }
+
+    List lines = new ArrayList();
+    for (Iterator i = segmentLists.iterator(); i.hasNext(); ) {
+      addLines((List) i.next(), degree, lines);
+    }
+    return polygonize(lines);
+  }
+
+  private static List orientedRings(List polys)
+  {
+    List rings = new ArrayList();
+    for (Iterator i = polys.iterator(); i.hasNext(); ) {
+      Polygon poly = (Polygon) i.next();
+      rings.add(orient(poly.getExteriorRing().getCoordinates(), false));
+      for (int j = 0; j < poly.getNumInteriorRing(); j++) {
+        rings.add(orient(poly.getInteriorRingN(j).getCoordinates(), true));
+      }
+    }
+    return rings;
+  }
+
+  /**
+   * Orients a ring so that the polygon interior is on its right.
+   * Shells are oriented CW and holes CCW.
+   */
+  private static Coordinate[] orient(Coordinate[] ring, boolean isHole)
+  {
+    if (Orientation.isCCW(ring) == isHole)
+      return ring;
+    Coordinate[] reversed = CoordinateArrays.copyDeep(ring);
+    CoordinateArrays.reverse(reversed);
+    return reversed;
+  }
+
+  private void addSplits(Coordinate p)
+  {
+    addSplits(p, (List) verticalCuts.get(cutKey(p.x)));
+    addSplits(p, (List) horizontalCuts.get(cutKey(p.y)));
+  }
+
+  private static void addSplits(Coordinate p, List cuts)
+  {
+    if (cuts == null) return;
+    for (Iterator i = cuts.iterator(); i.hasNext(); ) {
+      Cut cut = (Cut) i.next();
+      if (cut.contains(p))
+        cut.addSplit(cut.ordinateAlong(p));
+    }
+  }
+
+  /**
+   * Finds the cut which a segment lies along, if any.
+   */
+  private Cut findCut(Coordinate p0, Coordinate p1)
+  {
+    List cuts = null;
+    if (p0.x == p1.x) {
+      cuts = (List) verticalCuts.get(cutKey(p0.x));
+    }
+    else if (p0.y == p1.y) {
+      cuts = (List) horizontalCuts.get(cutKey(p0.y));
+    }
+    if (cuts == null) return null;
+    for (Iterator i = cuts.iterator(); i.hasNext(); ) {
+      Cut cut = (Cut) i.next();
+      if (cut.contains(p0) && cut.contains(p1))
+        return cut;
+    }
+    return null;
+  }
+
+  /**
+   * Creates the key for a cut ordinate value.
+   * Adding zero normalizes -0.0 to 0.0,
+   * since the boxed values are not equal.
+   */
+  private static Double cutKey(double v)
+  {
+    return Double.valueOf(v + 0.0);
+  }
+
+  /**
+   * Gets the segments of a ring which are part of the union boundary.
+   * Segments along a cut are split at the vertices on the cut,
+   * and only the pieces which are not matched by an edge in the opposite direction
+   * are kept.
+   */
+  private List boundarySegments(Coordinate[] ring)
+  {
+    List segs = new ArrayList();
+    for (int j = 0; j < ring.length - 1; j++) {
+      Coordinate p0 = ring[j];
+      Coordinate p1 = ring[j + 1];
+      Cut cut = findCut(p0, p1);
+      if (cut == null) {
+        segs.add(new Segment(p0, p1, -1));
+        continue;
+      }
+      int i0 = cut.splitIndex(cut.ordinateAlong(p0));
+      int i1 = cut.splitIndex(cut.ordinateAlong(p1));
+      int dir = i0 < i1 ? 1 : -1;
+      for (int k = i0; k != i1; k += dir) {
+        int interval = Math.min(k, k + dir);
+        if (cut.net[interval] != dir) continue;
+        Coordinate q0 = k == i0 ? p0 : cut.splitPoint(k);
+        Coordinate q1 = k + dir == i1 ? p1 : cut.splitPoint(k + dir);
+        segs.add(new Segment(q0, q1, j));
+      }
+    }
+    return segs;
+  }
+
+  private static void incrementDegree(Map degree, Coordinate p)
+  {
+    int[] count = (int[]) degree.get(p);
+    if (count == null) {
+      count = new int[1];
+      degree.put(p, count);
+    }
+    count[0]++;
+  }
+
+  private static int degree(Map degree, Coordinate p)
+  {
+    return ((int[]) degree.get(p))[0];
+  }
+
+  /**
+   * Adds lines formed from the boundary segments of a ring.
+   * Lines are broken where the boundary segments are not contiguous
+   * and at nodes of the boundary (vertices which do not have degree 2),
+   * so that the lines meet only at their endpoints.
+   * Vertices which split a seam edge and are not nodes are dropped.
+   */
+  private void addLines(List segs, Map degree, List lines)
+  {
+    int n = segs.size();
+    if (n == 0) return;
+    int start = 0;
+    for (int i = 0; i < n; i++) {
+      if (isBreak((Segment) segs.get((i + n - 1) % n), (Segment) segs.get(i), degree)) {
+        start = i;
+        break;
+      }
+    }
+
+    CoordinateList line = null;
+    Segment prev = null;
+    for (int k = 0; k < n; k++) {
+      Segment seg = (Segment) segs.get((start + k) % n);
+      if (prev == null || isBreak(prev, seg, degree)) {
+        if (line != null) {
+          line.add(prev.p1, true);
+          lines.add(geomFact.createLineString(line.toCoordinateArray()));
+        }
+        line = new CoordinateList();
+        line.add(seg.p0, true);
+      }
+      else if (seg.seamIndex < 0 || seg.seamIndex != prev.seamIndex) {
+        line.add(seg.p0, true);
+      }
+      prev = seg;
+    }
+    line.add(prev.p1, true);
+    lines.add(geomFact.createLineString(line.toCoordinateArray()));
+  }
+
+  private static boolean isBreak(Segment prev, Segment seg, Map degree)
+  {
+    return ! prev.p1.equals2D(seg.p0) || degree(degree, seg.p0) != 2;
+  }
+
+  private List polygonize(Collection lines)
+  {
+    Polygonizer polygonizer = new Polygonizer(true);
+    polygonizer.setCheckRingsValid(false);
+    polygonizer.add(lines);
+    Collection polys = polygonizer.getPolygons();
+    if (! polygonizer.getDangles().isEmpty() || ! polygonizer.getCutEdges().isEmpty()) {
+      LineString line = (LineString) (polygonizer.getDangles().isEmpty()
+          ? polygonizer.getCutEdges().iterator().next()
+          : polygonizer.getDangles().iterator().next());
+      throw new TopologyException("Unable to stitch seam", line.getCoordinateN(0));
+    }
+    return new ArrayList(polys);
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.union;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygonal;
+
+/**
+ * Computes the union of a stream of {@link Polygonal} geometries,
+ * which are added one at a time or in batches.
+ * This allows dissolving a set of polygons which is too large
+ * to be held in memory as a single collection.
+ * <p>
+ * The added geometries are buffered until a batch is full.
+ * The batch is then unioned by a {@link CascadedPolygonUnion},
+ * and the batch union is merged into a set of partial unions
+ * in the style of a log-structured merge tree:
+ * level <i>k</i> holds at most one partial union, of 2<sup><i>k</i></sup> batches.
+ * When a partial union is added to an occupied level,
+ * the two are unioned and carried to the next level
+ * (like a carry in binary addition).
+ * So the memory used is bounded by the batch size
+ * plus a number of partial unions logarithmic in the number of batches,
+ * and each geometry is unioned O(log n) times,
+ * as in a cascaded union.
+ * <p>
+ * The final union is computed by {@link #finish()}.
+ * <p>
+ * Geometries which are added in a spatially coherent order
+ * (for instance, features read from a spatially sorted file)
+ * are unioned most efficiently,
+ * since the vertices of the partial unions are then reduced
+ * as early as possible.
+ * <p>
+ * An instance is not thread-safe.
+ * The batch unions can be computed in parallel by supplying a {@link ForkJoinPool}.
+ *
+ * <pre>
+ * StreamingPolygonUnion union = new StreamingPolygonUnion();
+ * while (reader.hasNext()) {
+ *   union.add(reader.next());
+ * }
+ * Geometry result = union.finish();
+ * </pre>
+ *
+ * @author Martin Davis
+ *
+ * @see CascadedPolygonUnion
+ */
+public class StreamingPolygonUnion
+{
+  /**
+   * The default number of geometries unioned in each batch.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 256;
+
+  private int batchSize;
+  private ForkJoinPool pool = null;
+  private List batch = new ArrayList();
+  /**
+   * The partial unions.
+   * The union at index k is the union of 2^k batches, or null.
+   */
+  private List levels = new ArrayList();
+  private boolean isFinished = false;
+
+  /**
+   * Creates a new streaming union
+   * using the default batch size.
+   */
+  public StreamingPolygonUnion()
+  {
+    this(DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Creates a new streaming union
+   * using the given batch size.
+   * Larger batches reduce the number of partial unions to merge,
+   * at the cost of holding more input geometries in memory.
+   *
+   * @param batchSize the number of geometries in each batch
+   */
+  public StreamingPolygonUnion(int batchSize)
+  {
+    if (batchSize < 1)
+      throw new IllegalArgumentException("Batch size must be positive");
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Creates a new streaming union
+   * using the given batch size,
+   * and computing the batch unions using a {@link ForkJoinPool}.
+   *
+   * @param batchSize the number of geometries in each batch
+   * @param pool the pool to union batches in (may be null)
+   */
+  public StreamingPolygonUnion(int batchSize, ForkJoinPool pool)
+  {
+    this(batchSize);
+    this.pool = pool;
+  }
+
+  /**
+   * Adds a {@link Polygonal} geometry to the union.
+   * Empty geometries are ignored.
+   *
+   * @param geom the geometry to add
+   * @throws IllegalStateException if the union has been finished
+   */
+  public void add(Geometry geom)
+  {
+    checkNotFinished();
+    if (geom.isEmpty())
+      return;
+    batch.add(geom);
+    if (batch.size() >= batchSize) {
+      flushBatch();
+    }
+  }
+
+  /**
+   * Adds a collection of {@link Polygonal} geometries to the union.
+   *
+   * @param geoms the geometries to add
+   * @throws IllegalStateException if the union has been finished
+   */
+  public void addAll(Collection geoms)
+  {
+    for (Iterator i = geoms.iterator(); i.hasNext(); ) {
+      add((Geometry) i.next());
+    }
+  }
+
+  /**
+   * Computes the union of all the geometries added.
+   * The union cannot be added to after it is finished.
+   *
+   * @return the union of the added geometries,
+   * or null if no non-empty geometries were added
+   * @throws IllegalStateException if this method is called more than once
+   */
+  public Geometry finish()
+  {
+    checkNotFinished();
+    isFinished = true;
+
+    // the remaining partial unions are cascaded with the last batch
+    List remaining = batch;
+    batch = null;
+    for (int i = 0; i < levels.size(); i++) {
+      Geometry partial = (Geometry) levels.get(i);
+      if (partial != null)
+        remaining.add(partial);
+    }
+    levels = null;
+    return union(remaining);
+  }
+
+  /**
+   * Gets the number of partial unions currently held.
+   * This is at most the number of bits in the number of batches
+   * which have been unioned.
+   *
+   * @return the number of partial unions
+   */
+  int getNumPartialUnions()
+  {
+    int n = 0;
+    for (int i = 0; i < levels.size(); i++) {
+      if (levels.get(i) != null)
+        n++;
+    }
+    return n;
+  }
+
+  private void checkNotFinished()
+  {
+    if (isFinished)
+      throw new IllegalStateException("Union has already been finished");
+  }
+
+  private void flushBatch()
+  {
+    Geometry carry = union(batch);
+    batch = new ArrayList();
+    int level = 0;
+    while (level < levels.size() && levels.get(level) != null) {
+      Geometry partial = (Geometry) levels.get(level);
+      levels.set(level, null);
+      carry = union(partial, carry);
+      level++;
+    }
+    if (level == levels.size())
+      levels.add(carry);
+    else
+      levels.set(level, carry);
+  }
+
+  private Geometry union(List geoms)
+  {
+    return CascadedPolygonUnion.union(geoms, pool);
+  }
+
+  private static Geometry union(Geometry g0, Geometry g1)
+  {
+    List pair = new ArrayList();
+    pair.add(g0);
+    pair.add(g1);
+    return CascadedPolygonUnion.union(pair);
+  }
+}
@@ -14,6 +14,7 @@ package org.locationtech.jts.operation.union;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
@@ -109,8 +110,29 @@ public class UnaryUnionOp
 		return op.union();
 	}
 	
+  /**
+   * Computes the union of the elements of a {@link Geometry}
+   * (which may be a {@link GeometryCollection}),
+   * unioning polygonal components in parallel
+   * using the given {@link ForkJoinPool}.
+   * 
+   * @param geom a geometry to union
+   * @param pool the pool to execute polygon union tasks in
+   * @return the union of the elements of the geometry
+   * or an empty GEOMETRYCOLLECTION
+   * 
+   * @see CascadedPolygonUnion#union(Collection, ForkJoinPool)
+   */
+  public static Geometry union(Geometry geom, ForkJoinPool pool)
+  {
+    UnaryUnionOp op = new UnaryUnionOp(geom);
+    op.setForkJoinPool(pool);
+    return op.union();
+  }
+  
 	private GeometryFactory geomFact = null;
   private InputExtracter extracter;
+  private ForkJoinPool pool = null;
 	
 	/**
 	 * Constructs a unary union operation for a {@link Collection} 
@@ -147,6 +169,19 @@ public class UnaryUnionOp
 		extract(geom);
 	}
 	
+  /**
+   * Sets a {@link ForkJoinPool} to use to compute 
+   * the union of polygonal components in parallel.
+   * The result is the same as that computed serially.
+   * If the pool is null (the default) the union is computed serially.
+   * 
+   * @param pool the pool to execute polygon union tasks in (may be null)
+   */
+  public void setForkJoinPool(ForkJoinPool pool)
+  {
+    this.pool = pool;
+  }
+  
 	private void extract(Collection geoms)
 	{
 	  extracter = InputExtracter.extract(geoms);
@@ -212,7 +247,7 @@ public class UnaryUnionOp
 		
 		Geometry unionPolygons = null;
 		if (polygons.size() > 0) {
-			unionPolygons = CascadedPolygonUnion.union(polygons);
+			unionPolygons = CascadedPolygonUnion.union(polygons, pool);
 		}
 		
     /**
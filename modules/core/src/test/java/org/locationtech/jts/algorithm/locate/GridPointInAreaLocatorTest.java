@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.algorithm.locate;
+
+import org.locationtech.jts.algorithm.AbstractPointInRingTest;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Location;
+
+import junit.textui.TestRunner;
+
+/**
+ * Tests {@link GridPointInAreaLocator}.
+ *
+ * @author Martin Davis
+ *
+ */
+public class GridPointInAreaLocatorTest extends AbstractPointInRingTest {
+
+  public static void main(String args[]) {
+    TestRunner.run(GridPointInAreaLocatorTest.class);
+  }
+
+  public GridPointInAreaLocatorTest(String name) { super(name); }
+
+  protected void runPtInRing(int expectedLoc, Coordinate pt, String wkt)
+      throws Exception
+  {
+    Geometry geom = read(wkt);
+    GridPointInAreaLocator loc = new GridPointInAreaLocator(geom);
+    assertEquals(expectedLoc, loc.locate(pt));
+    assertEquals(expectedLoc, loc.locate(pt.x, pt.y));
+  }
+
+  public void testEmpty() throws Exception {
+    runPtInRing(Location.EXTERIOR, new Coordinate(0, 0), "POLYGON EMPTY");
+  }
+
+  public void testOutsideExtent() throws Exception {
+    runPtInRing(Location.EXTERIOR, new Coordinate(-1, 5), "POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))");
+  }
+
+  public void testBatchMatchesIndexedLocator() {
+    Geometry geom = read("POLYGON ((0 0, 0 100, 40 100, 50 60, 60 100, 100 100, 100 0, 0 0), (20 20, 20 40, 40 40, 40 20, 20 20))");
+    checkBatch(geom, new GridPointInAreaLocator(geom));
+    checkBatch(geom, new GridPointInAreaLocator(geom, 7));
+    checkBatch(geom, new GridPointInAreaLocator(geom, 10000));
+  }
+
+  public void testMultiPolygonBatch() {
+    Geometry geom = read("MULTIPOLYGON (((0 0, 0 10, 10 10, 10 0, 0 0)), ((10 10, 10 20, 20 20, 20 10, 10 10)))");
+    checkBatch(geom, new GridPointInAreaLocator(geom, 50));
+  }
+
+  /**
+   * Checks the locations of points on a lattice which includes
+   * the geometry vertices and many points on its edges.
+   */
+  private void checkBatch(Geometry geom, GridPointInAreaLocator loc) {
+    IndexedPointInAreaLocator expectedLoc = new IndexedPointInAreaLocator(geom);
+    int n = 0;
+    double[] xy = new double[2 * 121 * 121];
+    for (int i = 0; i <= 120; i++) {
+      for (int j = 0; j <= 120; j++) {
+        xy[n++] = i - 10;
+        xy[n++] = j - 10;
+      }
+    }
+    int[] locs = new int[xy.length / 2];
+    loc.locate(xy, locs);
+    for (int i = 0; i < locs.length; i++) {
+      Coordinate p = new Coordinate(xy[2 * i], xy[2 * i + 1]);
+      assertEquals(p.toString(), expectedLoc.locate(p), locs[i]);
+    }
+  }
+}
@@ -14,6 +14,8 @@ package org.locationtech.jts.algorithm.locate;
 import org.locationtech.jts.algorithm.AbstractPointInRingTest;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.impl.CoordinateArraySequence;
 import org.locationtech.jts.io.WKTReader;
 
 import junit.textui.TestRunner;
@@ -41,6 +43,15 @@ public class SimplePointInAreaLocatorTest extends AbstractPointInRingTest {
     SimplePointInAreaLocator loc = new SimplePointInAreaLocator(geom);
     int result = loc.locate(pt);
     assertEquals(expectedLoc, result);
+    
+    // check batch location, with the point surrounded by exterior points
+    double[] xy = new double[] { -1e9, -1e9, pt.x, pt.y, 1e9, 1e9 };
+    int[] locs = new int[3];
+    loc.locate(xy, locs);
+    assertEquals(expectedLoc, locs[1]);
+    assertEquals(Location.EXTERIOR, locs[2]);
+    loc.locate(new CoordinateArraySequence(new Coordinate[] { pt }), locs);
+    assertEquals(expectedLoc, locs[0]);
   }
 
 }
\ No newline at end of file
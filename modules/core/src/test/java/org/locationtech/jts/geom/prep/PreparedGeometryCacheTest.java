@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.prep;
+
+import org.locationtech.jts.geom.Geometry;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+public class PreparedGeometryCacheTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(PreparedGeometryCacheTest.class);
+  }
+
+  public PreparedGeometryCacheTest(String name) { super(name); }
+
+  private static final String SQUARE = "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))";
+
+  public void testReusesPrepared() {
+    PreparedGeometryCache cache = new PreparedGeometryCache(1000);
+    Geometry geom = read(SQUARE);
+    PreparedGeometry prep = cache.get(geom);
+    assertTrue(prep instanceof PreparedPolygon);
+    assertTrue(prep.getGeometry() == geom);
+    assertTrue(cache.get(geom) == prep);
+    assertEquals(1, cache.size());
+    assertEquals(5, cache.getNumVertices());
+  }
+
+  public void testKeyedByIdentity() {
+    PreparedGeometryCache cache = new PreparedGeometryCache(1000);
+    Geometry geom1 = read(SQUARE);
+    Geometry geom2 = read(SQUARE);
+    assertTrue(cache.get(geom1) != cache.get(geom2));
+    assertEquals(2, cache.size());
+  }
+
+  public void testEvictsLeastRecentlyUsed() {
+    PreparedGeometryCache cache = new PreparedGeometryCache(12, true, 1);
+    Geometry a = read(SQUARE);
+    Geometry b = read("LINESTRING (0 0, 1 1, 2 2)");
+    Geometry c = read("LINESTRING (0 0, 2 2, 4 4, 6 6, 8 8)");
+    cache.get(a);
+    cache.get(b);
+    // make b more recently used than a
+    cache.get(a);
+    cache.get(b);
+    cache.get(c);
+    assertNull(cache.getIfPresent(a));
+    assertNotNull(cache.getIfPresent(b));
+    assertNotNull(cache.getIfPresent(c));
+    assertEquals(8, cache.getNumVertices());
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  public void testHotEntrySurvives() {
+    // with few entries per segment, the hot entry is often alone in its segment
+    PreparedGeometryCache cache = new PreparedGeometryCache(4, true, 16);
+    Geometry hot = read("POINT (0 0)");
+    PreparedGeometry prep = cache.get(hot);
+    for (int i = 0; i < 200; i++) {
+      cache.get(read("POINT (" + i + " 1)"));
+      assertTrue(cache.getIfPresent(hot) == prep);
+    }
+    assertEquals(4, cache.size());
+    assertEquals(197, cache.getEvictionCount());
+  }
+
+  public void testOversizeGeometry() {
+    PreparedGeometryCache cache = new PreparedGeometryCache(3, true, 1);
+    Geometry a = read(SQUARE);
+    Geometry b = read("POINT (1 1)");
+    PreparedGeometry prep = cache.get(a);
+    assertTrue(cache.get(a) == prep);
+    cache.get(b);
+    assertNull(cache.getIfPresent(a));
+    assertEquals(1, cache.size());
+  }
+
+  public void testStats() {
+    PreparedGeometryCache cache = new PreparedGeometryCache(1000, true);
+    Geometry a = read(SQUARE);
+    Geometry b = read("POINT (1 1)");
+    cache.get(a);
+    cache.get(a);
+    cache.get(b);
+    cache.get(a);
+    cache.getIfPresent(b);
+    assertEquals(2, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+    assertEquals(0, cache.getEvictionCount());
+
+    PreparedGeometryCache noStats = new PreparedGeometryCache(1000);
+    noStats.get(a);
+    noStats.get(a);
+    assertTrue(! noStats.isRecordingStats());
+    assertEquals(0, noStats.getHitCount());
+    assertEquals(0, noStats.getMissCount());
+  }
+
+  public void testInvalidateAndClear() {
+    PreparedGeometryCache cache = new PreparedGeometryCache(1000);
+    Geometry a = read(SQUARE);
+    Geometry b = read("POINT (1 1)");
+    PreparedGeometry prepA = cache.get(a);
+    cache.get(b);
+    cache.invalidate(a);
+    assertNull(cache.getIfPresent(a));
+    assertEquals(1, cache.getNumVertices());
+    assertTrue(cache.get(a) != prepA);
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getNumVertices());
+  }
+
+  public void testConcurrentAccess() throws InterruptedException {
+    final PreparedGeometryCache cache = new PreparedGeometryCache(100, true);
+    final Geometry[] geoms = new Geometry[50];
+    for (int i = 0; i < geoms.length; i++) {
+      geoms[i] = read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))").buffer(i + 1);
+    }
+    final Geometry pt = read("POINT (5 5)");
+    final boolean[] isCorrect = new boolean[] { true };
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      final int offset = t;
+      threads[t] = new Thread(new Runnable() {
+        public void run() {
+          for (int i = 0; i < 2000; i++) {
+            Geometry geom = geoms[(i * 7 + offset) % geoms.length];
+            PreparedGeometry prep = cache.get(geom);
+            if (prep.getGeometry() != geom || ! prep.contains(pt)) {
+              synchronized (isCorrect) {
+                isCorrect[0] = false;
+              }
+            }
+          }
+        }
+      });
+      threads[t].start();
+    }
+    for (int t = 0; t < threads.length; t++) {
+      threads[t].join();
+    }
+    assertTrue(isCorrect[0]);
+    assertEquals(4 * 2000, cache.getHitCount() + cache.getMissCount());
+    long numVertices = 0;
+    for (int i = 0; i < geoms.length; i++) {
+      if (cache.getIfPresent(geoms[i]) != null)
+        numVertices += geoms[i].getNumPoints();
+    }
+    assertEquals(numVertices, cache.getNumVertices());
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.prep;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.util.SineStarFactory;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests that prepared geometries whose indexes are created lazily
+ * give correct results when first used by many threads at once,
+ * and that {@link PreparedGeometry#prepareAll()} does not change results.
+ *
+ * @author Martin Davis
+ *
+ */
+public class PreparedGeometryConcurrencyTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(PreparedGeometryConcurrencyTest.class);
+  }
+
+  public PreparedGeometryConcurrencyTest(String name) { super(name); }
+
+  private static final int NUM_THREADS = 16;
+
+  private static final String[] TESTS = new String[] {
+      "POINT (0 0)",
+      "POINT (200 200)",
+      "LINESTRING (-200 0, 200 0)",
+      "POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))",
+      "POLYGON ((90 0, 90 10, 110 10, 110 0, 90 0))"
+  };
+
+  public void testPolygonConcurrentFirstUse() throws InterruptedException {
+    checkConcurrentFirstUse(createSineStar());
+  }
+
+  public void testLineStringConcurrentFirstUse() throws InterruptedException {
+    checkConcurrentFirstUse(createSineStar().getBoundary());
+  }
+
+  public void testPrepareAll() {
+    checkPrepareAll(createSineStar());
+    checkPrepareAll(createSineStar().getBoundary());
+    checkPrepareAll(read("MULTIPOINT ((0 0), (10 10))"));
+    checkPrepareAll(read("POLYGON EMPTY"));
+    checkPrepareAll(read("LINESTRING EMPTY"));
+  }
+
+  public void testPrepareRelate() {
+    checkPrepareRelate(createSineStar());
+    checkPrepareRelate(createSineStar().getBoundary());
+    checkPrepareRelate(read("POLYGON EMPTY"));
+  }
+
+  public void testPrepareAllGeometryCollection() {
+    // relate predicates do not support collections, so only intersects is checked
+    Geometry gc = read("GEOMETRYCOLLECTION (POINT (0 0), LINESTRING (10 0, 20 0))");
+    PreparedGeometry prep = PreparedGeometryFactory.prepare(gc);
+    prep.prepareAll();
+    for (int i = 0; i < TESTS.length; i++) {
+      Geometry g = read(TESTS[i]);
+      assertEquals(TESTS[i], gc.intersects(g), prep.intersects(g));
+    }
+  }
+
+  private void checkPrepareAll(Geometry geom) {
+    PreparedGeometry prep = PreparedGeometryFactory.prepare(geom);
+    prep.prepareAll();
+    for (int i = 0; i < TESTS.length; i++) {
+      Geometry g = read(TESTS[i]);
+      assertEquals(TESTS[i], geom.intersects(g), prep.intersects(g));
+      assertEquals(TESTS[i], geom.contains(g), prep.contains(g));
+    }
+  }
+
+  private void checkPrepareRelate(Geometry geom) {
+    BasicPreparedGeometry prep = (BasicPreparedGeometry) PreparedGeometryFactory.prepare(geom);
+    prep.prepareAll();
+    prep.prepareRelate();
+    for (int i = 0; i < TESTS.length; i++) {
+      Geometry g = read(TESTS[i]);
+      assertEquals(TESTS[i], geom.touches(g), prep.touches(g));
+      assertEquals(TESTS[i], geom.relate(g).toString(), prep.relate(g).toString());
+    }
+  }
+
+  private void checkConcurrentFirstUse(Geometry geom) throws InterruptedException {
+    final PreparedGeometry prep = PreparedGeometryFactory.prepare(geom);
+    final Geometry[] testGeoms = new Geometry[TESTS.length];
+    final boolean[] isIntersects = new boolean[TESTS.length];
+    final boolean[] isContains = new boolean[TESTS.length];
+    final boolean[] isTouches = new boolean[TESTS.length];
+    for (int i = 0; i < TESTS.length; i++) {
+      testGeoms[i] = read(TESTS[i]);
+      isIntersects[i] = geom.intersects(testGeoms[i]);
+      isContains[i] = geom.contains(testGeoms[i]);
+      isTouches[i] = geom.touches(testGeoms[i]);
+    }
+    final AtomicInteger numErrors = new AtomicInteger();
+    Thread[] threads = new Thread[NUM_THREADS];
+    for (int t = 0; t < NUM_THREADS; t++) {
+      threads[t] = new Thread(new Runnable() {
+        public void run() {
+          for (int i = 0; i < testGeoms.length; i++) {
+            if (isIntersects[i] != prep.intersects(testGeoms[i])
+                || isContains[i] != prep.contains(testGeoms[i])
+                || isTouches[i] != prep.touches(testGeoms[i]))
+              numErrors.incrementAndGet();
+          }
+        }
+      });
+    }
+    for (int t = 0; t < NUM_THREADS; t++) {
+      threads[t].start();
+    }
+    for (int t = 0; t < NUM_THREADS; t++) {
+      threads[t].join();
+    }
+    assertEquals(0, numErrors.get());
+  }
+
+  private Geometry createSineStar() {
+    SineStarFactory gsf = new SineStarFactory();
+    gsf.setCentre(new Coordinate(0, 0));
+    gsf.setSize(200);
+    gsf.setNumPoints(1000);
+    gsf.setNumArms(10);
+    return gsf.createSineStar();
+  }
+}
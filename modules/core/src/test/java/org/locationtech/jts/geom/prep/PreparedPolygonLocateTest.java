@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.prep;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.IntersectionMatrix;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.impl.CoordinateArraySequence;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests the batch point methods of {@link PreparedPolygon}
+ * against the corresponding {@link Geometry} predicates.
+ *
+ * @author Martin Davis
+ *
+ */
+public class PreparedPolygonLocateTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(PreparedPolygonLocateTest.class);
+  }
+
+  public PreparedPolygonLocateTest(String name) { super(name); }
+
+  public void testPolygonWithHole() {
+    checkBatch("POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0), (2 2, 8 2, 8 8, 2 8, 2 2))");
+  }
+
+  public void testMultiPolygon() {
+    checkBatch("MULTIPOLYGON (((0 0, 0 5, 5 5, 5 0, 0 0)), ((5 5, 5 10, 10 10, 10 5, 5 5)))");
+  }
+
+  public void testRectangle() {
+    checkBatch("POLYGON ((1 1, 1 9, 9 9, 9 1, 1 1))");
+  }
+
+  public void testResultTooShort() {
+    PreparedPolygon prep = new PreparedPolygon((Polygonal) read("POLYGON ((1 1, 1 9, 9 9, 9 1, 1 1))"));
+    try {
+      prep.intersects(new double[] { 0, 0, 1, 1 }, new boolean[1]);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException ex) {
+      // expected
+    }
+  }
+
+  /**
+   * Checks the points of a lattice which includes
+   * the vertices and many points on the edges of the geometry.
+   */
+  private void checkBatch(String wkt) {
+    Geometry geom = read(wkt);
+    PreparedPolygon prep = new PreparedPolygon((Polygonal) geom);
+    int n = 0;
+    double[] xy = new double[2 * 25 * 25];
+    Coordinate[] pts = new Coordinate[25 * 25];
+    for (int i = 0; i < 25; i++) {
+      for (int j = 0; j < 25; j++) {
+        pts[n / 2] = new Coordinate(0.5 * i - 1, 0.5 * j - 1);
+        xy[n++] = 0.5 * i - 1;
+        xy[n++] = 0.5 * j - 1;
+      }
+    }
+    boolean[] isIntersects = new boolean[pts.length];
+    prep.intersects(xy, isIntersects);
+    int[] locs = new int[pts.length];
+    prep.locate(xy, locs);
+    int[] seqLocs = new int[pts.length];
+    prep.locate(new CoordinateArraySequence(pts), seqLocs);
+    for (int i = 0; i < pts.length; i++) {
+      Geometry pt = geom.getFactory().createPoint(pts[i]);
+      String msg = pts[i].toString();
+      assertEquals(msg, geom.intersects(pt), isIntersects[i]);
+      assertEquals(msg, expectedLocation(geom, pt), locs[i]);
+      assertEquals(msg, locs[i], seqLocs[i]);
+    }
+  }
+
+  private static int expectedLocation(Geometry geom, Geometry pt) {
+    IntersectionMatrix im = geom.relate(pt);
+    if (im.get(Location.INTERIOR, Location.INTERIOR) >= 0) return Location.INTERIOR;
+    if (im.get(Location.BOUNDARY, Location.INTERIOR) >= 0) return Location.BOUNDARY;
+    return Location.EXTERIOR;
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geomgraph;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.locationtech.jts.geom.Coordinate;
+
+import junit.framework.TestCase;
+import junit.textui.TestRunner;
+
+/**
+ * Tests that {@link NodeMap} and {@link EdgeIntersectionList}
+ * find and order their entries in the same way as the
+ * <code>TreeMap</code>s they previously used.
+ *
+ * @author Martin Davis
+ *
+ */
+public class NodeMapTest extends TestCase
+{
+  public static void main(String args[]) {
+    TestRunner.run(NodeMapTest.class);
+  }
+
+  public NodeMapTest(String name) {
+    super(name);
+  }
+
+  public void testSameAsTreeMap()
+  {
+    NodeMap nodeMap = new NodeMap(new NodeFactory());
+    TreeMap treeMap = new TreeMap();
+    Random rnd = new Random(13);
+    for (int i = 0; i < 5000; i++) {
+      // a small grid forces many repeated coordinates
+      Coordinate p = new Coordinate(rnd.nextInt(50), rnd.nextInt(50) / 4.0);
+      Node node = nodeMap.addNode(p);
+      if (! treeMap.containsKey(p)) {
+        treeMap.put(p, node);
+      }
+      assertTrue(treeMap.get(p) == node);
+    }
+    assertEquals(treeMap.size(), nodeMap.values().size());
+    assertEquals(new ArrayList(treeMap.values()), toList(nodeMap.iterator()));
+  }
+
+  public void testFind()
+  {
+    NodeMap nodeMap = new NodeMap(new NodeFactory());
+    Node node = nodeMap.addNode(new Coordinate(0.0, 1));
+    assertTrue(nodeMap.find(new Coordinate(0.0, 1)) == node);
+    assertTrue(nodeMap.find(new Coordinate(-0.0, 1)) == node);
+    assertTrue(nodeMap.find(new Coordinate(1, 0)) == null);
+    // Z is ignored
+    assertTrue(nodeMap.addNode(new Coordinate(0, 1, 5)) == node);
+  }
+
+  public void testIterateAfterAdd()
+  {
+    NodeMap nodeMap = new NodeMap(new NodeFactory());
+    Node n2 = nodeMap.addNode(new Coordinate(2, 2));
+    Node n1 = nodeMap.addNode(new Coordinate(1, 1));
+    assertEquals(list(n1, n2), toList(nodeMap.iterator()));
+    Node n0 = nodeMap.addNode(new Coordinate(0, 5));
+    assertEquals(list(n0, n1, n2), toList(nodeMap.iterator()));
+  }
+
+  public void testEdgeIntersectionOrder()
+  {
+    Coordinate[] pts = new Coordinate[] {
+        new Coordinate(0, 0), new Coordinate(10, 0), new Coordinate(10, 10) };
+    Edge edge = new Edge(pts);
+    EdgeIntersectionList eiList = edge.getEdgeIntersectionList();
+    EdgeIntersection ei1 = eiList.add(new Coordinate(10, 5), 1, 5);
+    EdgeIntersection ei0 = eiList.add(new Coordinate(5, 0), 0, 5);
+    assertTrue(eiList.add(new Coordinate(5, 0), 0, 5) == ei0);
+    eiList.addEndpoints();
+
+    List sorted = toList(eiList.iterator());
+    assertEquals(4, sorted.size());
+    assertTrue(sorted.get(1) == ei0);
+    assertTrue(sorted.get(2) == ei1);
+    assertTrue(eiList.isIntersection(new Coordinate(10, 5)));
+    assertTrue(! eiList.isIntersection(new Coordinate(10, 0)));
+  }
+
+  private static List list(Object o1, Object o2)
+  {
+    List list = new ArrayList();
+    list.add(o1);
+    list.add(o2);
+    return list;
+  }
+
+  private static List list(Object o1, Object o2, Object o3)
+  {
+    List list = list(o1, o2);
+    list.add(o3);
+    return list;
+  }
+
+  private static List toList(Iterator it)
+  {
+    List list = new ArrayList();
+    while (it.hasNext()) {
+      list.add(it.next());
+    }
+    return list;
+  }
+}
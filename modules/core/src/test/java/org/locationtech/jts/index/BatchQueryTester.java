@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.index;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Checks that batch queries against a {@link BatchSpatialIndex}
+ * produce the same results as individual queries.
+ */
+public class BatchQueryTester 
+{
+  private static final double EXTENT = 1000;
+  
+  /**
+   * Loads an index with random items, and checks a batch query
+   * of random envelopes against individual queries.
+   * 
+   * @param index the index to test
+   * @param numItems the number of items to load
+   * @param numQueries the number of queries in the batch
+   * @return true if the results are the same
+   */
+  public static boolean test(BatchSpatialIndex index, int numItems, int numQueries) {
+    Random rnd = new Random(numItems);
+    for (int i = 0; i < numItems; i++) {
+      index.insert(randomEnvelope(rnd, 20), Integer.valueOf(i));
+    }
+    Envelope[] queryEnvs = new Envelope[numQueries];
+    for (int i = 0; i < numQueries; i++) {
+      queryEnvs[i] = randomEnvelope(rnd, 50);
+    }
+    if (numQueries > 1) {
+      queryEnvs[1] = new Envelope();
+    }
+    return test(index, queryEnvs);
+  }
+  
+  private static boolean test(SpatialIndex index, Envelope[] queryEnvs) {
+    Set expected = new HashSet();
+    for (int i = 0; i < queryEnvs.length; i++) {
+      List items = index.query(queryEnvs[i]);
+      for (int j = 0; j < items.size(); j++) {
+        expected.add(i + ":" + items.get(j));
+      }
+    }
+    final Set actual = new HashSet();
+    final int[] count = new int[1];
+    ((BatchSpatialIndex) index).query(queryEnvs, new BatchItemVisitor() {
+      public void visitItem(int queryIndex, Object item) {
+        actual.add(queryIndex + ":" + item);
+        count[0]++;
+      }
+    });
+    return count[0] == actual.size() && expected.equals(actual);
+  }
+
+  private static Envelope randomEnvelope(Random rnd, double maxSize) {
+    double x = EXTENT * rnd.nextDouble();
+    double y = EXTENT * rnd.nextDouble();
+    return new Envelope(x, x + maxSize * rnd.nextDouble(), y, y + maxSize * rnd.nextDouble());
+  }
+}
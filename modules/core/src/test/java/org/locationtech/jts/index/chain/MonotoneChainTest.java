@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.index.chain;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+
+import junit.framework.TestCase;
+import junit.textui.TestRunner;
+
+/**
+ * Tests that {@link MonotoneChain} queries report
+ * every segment whose envelope interacts with the query.
+ *
+ * @author Martin Davis
+ *
+ */
+public class MonotoneChainTest extends TestCase
+{
+  public static void main(String args[]) {
+    TestRunner.run(MonotoneChainTest.class);
+  }
+
+  public MonotoneChainTest(String name) {
+    super(name);
+  }
+
+  public void testOverlaps()
+  {
+    Coordinate[] pts0 = randomWalk(200, 1);
+    Coordinate[] pts1 = randomWalk(300, 2);
+    List chains0 = MonotoneChainBuilder.getChains(pts0);
+    List chains1 = MonotoneChainBuilder.getChains(pts1);
+
+    final Set found = new HashSet();
+    MonotoneChainOverlapAction action = new MonotoneChainOverlapAction() {
+      public void overlap(MonotoneChain mc1, int start1, MonotoneChain mc2, int start2) {
+        found.add(start1 + ":" + start2);
+      }
+    };
+    for (int i = 0; i < chains0.size(); i++) {
+      for (int j = 0; j < chains1.size(); j++) {
+        ((MonotoneChain) chains0.get(i)).computeOverlaps((MonotoneChain) chains1.get(j), action);
+      }
+    }
+
+    for (int i = 0; i < pts0.length - 1; i++) {
+      for (int j = 0; j < pts1.length - 1; j++) {
+        if (Envelope.intersects(pts0[i], pts0[i + 1], pts1[j], pts1[j + 1]))
+          assertTrue(i + ":" + j, found.contains(i + ":" + j));
+      }
+    }
+  }
+
+  public void testSelect()
+  {
+    Coordinate[] pts = randomWalk(500, 3);
+    Envelope searchEnv = new Envelope(80, 100, 75, 105);
+    MonotoneChain mc = new MonotoneChain(pts, 100, 400, null);
+
+    final Set found = new HashSet();
+    mc.select(searchEnv, new MonotoneChainSelectAction() {
+      public void select(MonotoneChain chain, int start) {
+        found.add(Integer.valueOf(start));
+      }
+    });
+    assertTrue(found.size() > 0);
+    for (int i = 100; i < 400; i++) {
+      if (searchEnv.intersects(pts[i], pts[i + 1]))
+        assertTrue("" + i, found.contains(Integer.valueOf(i)));
+    }
+  }
+
+  /**
+   * Creates a walk which is monotone in X and Y, so that a single chain
+   * can be built over any range of it.
+   */
+  private static Coordinate[] randomWalk(int n, long seed)
+  {
+    Random rnd = new Random(seed);
+    Coordinate[] pts = new Coordinate[n];
+    double x = 0;
+    double y = 0;
+    for (int i = 0; i < n; i++) {
+      pts[i] = new Coordinate(x, y);
+      x += rnd.nextDouble();
+      y += rnd.nextDouble();
+    }
+    return pts;
+  }
+}
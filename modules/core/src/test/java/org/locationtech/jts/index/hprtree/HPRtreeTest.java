@@ -12,13 +12,16 @@
  */
 package org.locationtech.jts.index.hprtree;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.index.BatchQueryTester;
 import org.locationtech.jts.index.ItemVisitor;
 import org.locationtech.jts.index.SpatialIndexTester;
 
@@ -68,6 +71,12 @@ public class HPRtreeTest extends TestCase {
     assertTrue(tester.isSuccess());
   }
 
+  public void testBatchQuery() {
+    assertTrue(BatchQueryTester.test(new HPRtree(), 0, 10));
+    assertTrue(BatchQueryTester.test(new HPRtree(), 5, 10));
+    assertTrue(BatchQueryTester.test(new HPRtree(4), 10000, 1000));
+  }
+
   public void testDisallowedInserts() {
     HPRtree t = new HPRtree(3);
     t.insert(new Envelope(0, 0, 0, 0), new Object());
@@ -143,6 +152,65 @@ public class HPRtreeTest extends TestCase {
     queryGrid( 100, new HPRtree(2) );
   }
 
+  public void testQuery100BuildParallel() throws Throwable {
+    HPRtree t = new HPRtree(4);
+    for (int i = 0; i < 100; i++ ) {
+      t.insert(new Envelope(i, i+1, i, i+1), i);
+    }
+    t.buildParallel();
+    assertEquals(3, t.query(new Envelope(5, 6, 5, 6)).size());
+    assertEquals(11, t.query(new Envelope(0, 10, 0, 10)).size());
+  }
+
+  public void testBuildParallelSameAsBuild() {
+    HPRtree serial = new HPRtree(4);
+    HPRtree parallel = new HPRtree(4);
+    loadRandom(serial, 10000);
+    loadRandom(parallel, 10000);
+    serial.build();
+    parallel.buildParallel();
+    
+    assertTrue(Arrays.equals(serial.getBounds(), parallel.getBounds()));
+    Envelope queryEnv = new Envelope(100, 200, 300, 400);
+    assertEquals(serial.query(queryEnv), parallel.query(queryEnv));
+  }
+
+  public void testConcurrentQuery() throws Exception {
+    final HPRtree t = new HPRtree();
+    for (int i = 0; i < 1000; i++ ) {
+      t.insert(new Envelope(i, i+1, i, i+1), i);
+    }
+    // tree is built lazily by the first query
+    final int[] counts = new int[8];
+    Thread[] threads = new Thread[counts.length];
+    for (int i = 0; i < threads.length; i++) {
+      final int index = i;
+      threads[i] = new Thread() {
+        public void run() {
+          counts[index] = t.query(new Envelope(5, 6, 5, 6)).size();
+        }
+      };
+    }
+    for (int i = 0; i < threads.length; i++) {
+      threads[i].start();
+    }
+    for (int i = 0; i < threads.length; i++) {
+      threads[i].join();
+    }
+    for (int i = 0; i < counts.length; i++) {
+      assertEquals(3, counts[i]);
+    }
+  }
+
+  private static void loadRandom(HPRtree t, int size) {
+    Random rnd = new Random(13);
+    for (int i = 0; i < size; i++ ) {
+      double x = 1000 * rnd.nextDouble();
+      double y = 1000 * rnd.nextDouble();
+      t.insert(new Envelope(x, x + 5, y, y + 5), i);
+    }
+  }
+
   private void queryGrid(int size, HPRtree t) {
     for (int i = 0; i < size; i++ ) {
       t.insert(new Envelope(i, i+1, i, i+1), i);
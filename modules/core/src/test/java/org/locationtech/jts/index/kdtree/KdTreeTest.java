@@ -92,6 +92,15 @@ public class KdTreeTest extends TestCase {
         "MULTIPOINT ( (10 60), (20 60), (20 60))");
   }
   
+  public void testQueryPoint() {
+    KdTree index = build("MULTIPOINT ((1 1), (1 2), (2 1), (0 1), (1 0), (2 2))", 0);
+    KdNode node = index.query(new Coordinate(1, 2));
+    assertTrue(node != null);
+    assertTrue(node.getCoordinate().equals2D(new Coordinate(1, 2)));
+    assertTrue(index.query(new Coordinate(2, 0)) == null);
+    assertTrue(new KdTree().query(new Coordinate(1, 1)) == null);
+  }
+  
   private void testQuery(String wktInput, double tolerance,
       Envelope queryEnv, String wktExpected) {
     KdTree index = build(wktInput, tolerance);
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.index.strtree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.index.BatchQueryTester;
+import org.locationtech.jts.index.SpatialIndexTester;
+
+import junit.framework.TestCase;
+
+public class PackedSTRtreeTest extends TestCase {
+
+  private GeometryFactory factory = new GeometryFactory();
+
+  public PackedSTRtreeTest(String name) {
+    super(name);
+  }
+
+  public static void main(String[] args) {
+    String[] testCaseName = {PackedSTRtreeTest.class.getName()};
+    junit.textui.TestRunner.main(testCaseName);
+  }
+
+  public void testEmptyTreeQuery() {
+    PackedSTRtree tree = new PackedSTRtree();
+    assertTrue(tree.query(new Envelope(0, 1, 0, 1)).isEmpty());
+    assertNull(tree.nearestNeighbour(new Envelope(0, 1, 0, 1), null, new GeometryItemDistance()));
+  }
+
+  public void testSpatialIndex() {
+    SpatialIndexTester tester = new SpatialIndexTester();
+    tester.setSpatialIndex(new PackedSTRtree(4));
+    tester.init();
+    tester.run();
+    assertTrue(tester.isSuccess());
+  }
+
+  public void testBatchQuery() {
+    assertTrue(BatchQueryTester.test(new PackedSTRtree(), 0, 10));
+    assertTrue(BatchQueryTester.test(new PackedSTRtree(), 5, 10));
+    assertTrue(BatchQueryTester.test(new PackedSTRtree(4), 10000, 1000));
+  }
+
+  public void testDisallowedInserts() {
+    PackedSTRtree t = new PackedSTRtree(5);
+    t.insert(new Envelope(0, 0, 0, 0), new Object());
+    t.insert(new Envelope(0, 0, 0, 0), new Object());
+    t.query(new Envelope());
+    try {
+      t.insert(new Envelope(0, 0, 0, 0), new Object());
+      fail();
+    }
+    catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  public void testQuery() {
+    PackedSTRtree t = new PackedSTRtree(4);
+    t.insert(new Envelope(0, 10, 0, 10), "A");
+    t.insert(new Envelope(20, 30, 20, 30), "B");
+    t.insert(new Envelope(20, 30, 20, 30), "C");
+    assertEquals(1, t.query(new Envelope(5, 6, 5, 6)).size());
+    assertEquals(0, t.query(new Envelope(20, 30, 0, 10)).size());
+    assertEquals(2, t.query(new Envelope(25, 26, 25, 26)).size());
+    assertEquals(3, t.query(new Envelope(0, 100, 0, 100)).size());
+  }
+
+  public void testSameResultsAsSTRtree() {
+    checkSameAsSTRtree(1, 4);
+    checkSameAsSTRtree(10, 4);
+    checkSameAsSTRtree(1000, 2);
+    checkSameAsSTRtree(1000, 10);
+    checkSameAsSTRtree(20000, 16);
+  }
+
+  public void testSameStructureWithEqualCentres() {
+    // many items have equal centres, so the grouping depends on the sort being stable
+    Random rnd = new Random(13);
+    STRtree strTree = new STRtree(4);
+    PackedSTRtree packedTree = new PackedSTRtree(4);
+    for (int i = 0; i < 1000; i++) {
+      double x = rnd.nextInt(5);
+      double y = rnd.nextInt(5);
+      Envelope env = new Envelope(x, x, y, y);
+      Integer item = Integer.valueOf(i);
+      strTree.insert(env, item);
+      packedTree.insert(env, item);
+    }
+    // items are visited in tree order, so equal lists mean equal groupings
+    Envelope queryEnv = new Envelope(0, 4, 0, 4);
+    assertEquals(strTree.query(queryEnv), packedTree.query(queryEnv));
+  }
+
+  public void testDepth() {
+    PackedSTRtree t = new PackedSTRtree(4);
+    loadRandom(t, 64, new Random(7));
+    assertEquals(3, t.depth());
+  }
+
+  public void testNearestNeighbour() {
+    Random rnd = new Random(11);
+    List pts = new ArrayList();
+    PackedSTRtree t = new PackedSTRtree(4);
+    for (int i = 0; i < 1000; i++) {
+      Geometry pt = factory.createPoint(new Coordinate(1000 * rnd.nextDouble(), 1000 * rnd.nextDouble()));
+      pts.add(pt);
+      t.insert(pt.getEnvelopeInternal(), pt);
+    }
+    for (int i = 0; i < 20; i++) {
+      final Geometry q = factory.createPoint(new Coordinate(1000 * rnd.nextDouble(), 1000 * rnd.nextDouble()));
+      Object[] nearest = t.nearestNeighbour(q.getEnvelopeInternal(), q, new GeometryItemDistance(), 5);
+
+      List sorted = new ArrayList(pts);
+      Collections.sort(sorted, new Comparator() {
+        public int compare(Object o1, Object o2) {
+          return Double.compare(q.distance((Geometry) o1), q.distance((Geometry) o2));
+        }
+      });
+      assertEquals(5, nearest.length);
+      for (int k = 0; k < 5; k++) {
+        assertEquals(q.distance((Geometry) sorted.get(k)), q.distance((Geometry) nearest[k]), 0.0);
+      }
+      Object nn = t.nearestNeighbour(q.getEnvelopeInternal(), q, new GeometryItemDistance());
+      assertEquals(q.distance((Geometry) sorted.get(0)), q.distance((Geometry) nn), 0.0);
+    }
+  }
+
+  public void testNearestNeighbourMoreThanSize() {
+    PackedSTRtree t = new PackedSTRtree();
+    Geometry p1 = factory.createPoint(new Coordinate(1, 1));
+    Geometry p2 = factory.createPoint(new Coordinate(5, 5));
+    t.insert(p1.getEnvelopeInternal(), p1);
+    t.insert(p2.getEnvelopeInternal(), p2);
+    Geometry q = factory.createPoint(new Coordinate(4, 4));
+    Object[] nearest = t.nearestNeighbour(q.getEnvelopeInternal(), q, new GeometryItemDistance(), 5);
+    assertEquals(2, nearest.length);
+    assertSame(p2, nearest[0]);
+    assertSame(p1, nearest[1]);
+  }
+
+  private void checkSameAsSTRtree(int size, int nodeCapacity) {
+    Random rnd = new Random(size);
+    STRtree strTree = new STRtree(nodeCapacity);
+    PackedSTRtree packedTree = new PackedSTRtree(nodeCapacity);
+    for (int i = 0; i < size; i++) {
+      Envelope env = randomEnvelope(rnd, 1000, 20);
+      Integer item = Integer.valueOf(i);
+      strTree.insert(env, item);
+      packedTree.insert(env, item);
+    }
+    assertEquals(size, packedTree.size());
+    assertEquals(strTree.depth(), packedTree.depth());
+    for (int i = 0; i < 100; i++) {
+      Envelope queryEnv = randomEnvelope(rnd, 1000, 100);
+      assertEquals(new HashSet(strTree.query(queryEnv)), new HashSet(packedTree.query(queryEnv)));
+    }
+  }
+
+  private static void loadRandom(PackedSTRtree t, int size, Random rnd) {
+    for (int i = 0; i < size; i++) {
+      t.insert(randomEnvelope(rnd, 1000, 20), Integer.valueOf(i));
+    }
+  }
+
+  private static Envelope randomEnvelope(Random rnd, double extent, double maxSize) {
+    double x = extent * rnd.nextDouble();
+    double y = extent * rnd.nextDouble();
+    return new Envelope(x, x + maxSize * rnd.nextDouble(), y, y + maxSize * rnd.nextDouble());
+  }
+}
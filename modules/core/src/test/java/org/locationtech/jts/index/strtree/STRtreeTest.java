@@ -25,6 +25,7 @@ import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.index.BatchQueryTester;
 import org.locationtech.jts.index.ItemVisitor;
 import org.locationtech.jts.index.SpatialIndexTester;
 import org.locationtech.jts.util.AssertionFailedException;
@@ -66,6 +67,12 @@ public class STRtreeTest extends TestCase {
     });  
   }
   
+  public void testBatchQuery() {
+    assertTrue(BatchQueryTester.test(new STRtree(), 0, 10));
+    assertTrue(BatchQueryTester.test(new STRtree(), 5, 10));
+    assertTrue(BatchQueryTester.test(new STRtree(4), 10000, 1000));
+  }
+
   public void testCreateParentsFromVerticalSlice() {
     doTestCreateParentsFromVerticalSlice(3, 2, 2, 1);
     doTestCreateParentsFromVerticalSlice(4, 2, 2, 2);
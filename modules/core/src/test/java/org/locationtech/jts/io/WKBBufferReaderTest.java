@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceComparator;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+
+import junit.framework.TestCase;
+import junit.textui.TestRunner;
+
+/**
+ * Tests {@link WKBBufferReader}, checking that it
+ * reads the same geometries as {@link WKBReader}.
+ *
+ * @author Martin Davis
+ *
+ */
+public class WKBBufferReaderTest extends TestCase
+{
+  public static void main(String args[]) {
+    TestRunner.run(WKBBufferReaderTest.class);
+  }
+
+  private static CoordinateSequenceComparator comp4 = new CoordinateSequenceComparator(4);
+
+  private GeometryFactory geomFactory = new GeometryFactory();
+  private GeometryFactory packedFactory = new GeometryFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+  private WKTReader rdr = new WKTReader(geomFactory);
+
+  public WKBBufferReaderTest(String name) {
+    super(name);
+  }
+
+  public void testShortPolygons() throws ParseException
+  {
+    checkSameAsWKBReader("0000000003000000010000000140590000000000004069000000000000");
+    checkSameAsWKBReader("000000000300000001000000024059000000000000406900000000000040590000000000004069000000000000");
+  }
+
+  public void testSinglePointLineString() throws ParseException
+  {
+    checkSameAsWKBReader("00000000020000000140590000000000004069000000000000");
+  }
+
+  public void testSpatialiteMultiGeometry() throws ParseException
+  {
+    checkSameAsWKBReader("0104000000020000006901000000000000000000F03F000000000000F03F690100000000000000000000400000000000000040");
+    checkSameAsWKBReader("010700000002000000690100000000000000000010400000000000001840690200000002000000000000000000104000000000000018400000000000001C400000000000002440");
+  }
+
+  public void testSRID() throws ParseException
+  {
+    Geometry g = checkSameAsWKBReader("0101000020E6100000000000000000F03F0000000000000040");
+    assertEquals(4326, g.getSRID());
+  }
+
+  public void testZ() throws ParseException
+  {
+    checkSameAsWKBReader("01020000A0E610000002000000000000000000F03F00000000000000400000000000000840000000000000104000000000000014400000000000001840");
+  }
+
+  public void testM() throws ParseException
+  {
+    Geometry g = checkSameAsWKBReader("0102000060E610000002000000000000000000F03F00000000000000400000000000000840000000000000104000000000000014400000000000001840");
+    CoordinateSequence seq = ((LineString) g).getCoordinateSequence();
+    assertEquals(1, seq.getMeasures());
+    assertEquals(6.0, seq.getM(1), 0.0);
+  }
+
+  public void testZM() throws ParseException
+  {
+    checkSameAsWKBReader("01030000E0E610000002000000050000000000000000000000000000000000000000000000000059400000000000006940000000000000000000000000000024400000000000005940000000000000694000000000000024400000000000002440000000000000594000000000000069400000000000002440000000000000000000000000000059400000000000006940000000000000000000000000000000000000000000005940000000000000694005000000000000000000F03F000000000000F03F00000000000059400000000000006940000000000000F03F00000000000022400000000000005940000000000000694000000000000022400000000000002240000000000000594000000000000069400000000000002240000000000000F03F00000000000059400000000000006940000000000000F03F000000000000F03F00000000000059400000000000006940");
+  }
+
+  public void testWrittenGeometries() throws ParseException
+  {
+    String[] wkts = new String[] {
+        "POINT (1 2)",
+        "LINESTRING (1 2, 3 4, 5 6)",
+        "LINESTRING EMPTY",
+        "POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0), (1 1, 1 9, 9 9, 9 1, 1 1))",
+        "MULTIPOINT ((1 1), (2 2))",
+        "MULTILINESTRING ((0 1, 2 3), (4 5, 6 7))",
+        "MULTIPOLYGON (((0 0, 0 10, 10 10, 10 0, 0 0)), ((20 20, 20 30, 30 30, 20 20)))",
+        "GEOMETRYCOLLECTION (POINT (1 2), LINESTRING (1 2, 3 4), GEOMETRYCOLLECTION (POINT (5 6)))",
+        "GEOMETRYCOLLECTION EMPTY"
+    };
+    for (int i = 0; i < wkts.length; i++) {
+      Geometry g = rdr.read(wkts[i]);
+      checkSameAsWKBReader(new WKBWriter(2, ByteOrderValues.LITTLE_ENDIAN).write(g));
+      checkSameAsWKBReader(new WKBWriter(2, ByteOrderValues.BIG_ENDIAN).write(g));
+    }
+  }
+
+  public void testPackedSequence() throws ParseException
+  {
+    Geometry g = read(WKBReader.hexToBytes("00000000020000000140590000000000004069000000000000"), false);
+    assertTrue(((LineString) g).getCoordinateSequence() instanceof PackedCoordinateSequence.Double);
+  }
+
+  public void testPrecisionModel() throws ParseException
+  {
+    GeometryFactory fact = new GeometryFactory(new PrecisionModel(1));
+    byte[] wkb = new WKBWriter().write(rdr.read("POINT (1.4 2.6)"));
+    Point pt = (Point) new WKBBufferReader(fact).read(ByteBuffer.wrap(wkb));
+    assertEquals(1.0, pt.getX(), 0.0);
+    assertEquals(3.0, pt.getY(), 0.0);
+  }
+
+  public void testIterator() throws ParseException
+  {
+    String[] wkts = new String[] {
+        "POINT (1 2)",
+        "LINESTRING (1 2, 3 4)",
+        "POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))"
+    };
+    List wkbs = new ArrayList();
+    int len = 0;
+    for (int i = 0; i < wkts.length; i++) {
+      // alternate byte orders
+      WKBWriter writer = new WKBWriter(2, i % 2 == 0 ? ByteOrderValues.BIG_ENDIAN : ByteOrderValues.LITTLE_ENDIAN);
+      byte[] wkb = writer.write(rdr.read(wkts[i]));
+      wkbs.add(wkb);
+      len += wkb.length;
+    }
+    ByteBuffer buf = ByteBuffer.allocateDirect(len);
+    for (int i = 0; i < wkbs.size(); i++) {
+      buf.put((byte[]) wkbs.get(i));
+    }
+    buf.flip();
+
+    Iterator it = new WKBBufferReader().iterator(buf);
+    for (int i = 0; i < wkts.length; i++) {
+      assertTrue(it.hasNext());
+      assertTrue(rdr.read(wkts[i]).equalsExact((Geometry) it.next()));
+    }
+    assertTrue(! it.hasNext());
+    assertEquals(ByteOrder.BIG_ENDIAN, buf.order());
+  }
+
+  public void testTruncated() throws ParseException
+  {
+    checkParseError("0000000002000000024059000000000000406900000000000040590000");
+  }
+
+  public void testInvalidCount() throws ParseException
+  {
+    checkParseError("00000000027FFFFFFF4059000000000000406900000000000040590000");
+  }
+
+  public void testInvalidType() throws ParseException
+  {
+    checkParseError("000000000900000001");
+  }
+
+  public void testStrict() throws ParseException
+  {
+    checkStrictError("0000000003000000010000000140590000000000004069000000000000");
+    checkStrictError("00000000020000000140590000000000004069000000000000");
+    checkStrictError("0900000000010000000000000000");
+    // valid input is read the same as when not strict
+    WKBBufferReader strictReader = new WKBBufferReader(geomFactory);
+    strictReader.setStrict(true);
+    byte[] wkb = WKBReader.hexToBytes("00000000020000000240590000000000004069000000000000405900000000000000000000000000000000");
+    assertTrue(new WKBReader().read(wkb).equalsExact(strictReader.read(ByteBuffer.wrap(wkb))));
+  }
+
+  private void checkStrictError(String wkbHex) {
+    WKBBufferReader strictReader = new WKBBufferReader(geomFactory);
+    strictReader.setStrict(true);
+    try {
+      strictReader.read(ByteBuffer.wrap(WKBReader.hexToBytes(wkbHex)));
+      fail();
+    }
+    catch (ParseException e) {
+      // expected
+    }
+  }
+
+  private void checkParseError(String wkbHex) {
+    try {
+      read(WKBReader.hexToBytes(wkbHex), false);
+      fail();
+    }
+    catch (ParseException e) {
+      // expected
+    }
+  }
+
+  private Geometry checkSameAsWKBReader(String wkbHex) throws ParseException
+  {
+    return checkSameAsWKBReader(WKBReader.hexToBytes(wkbHex));
+  }
+
+  private Geometry checkSameAsWKBReader(byte[] wkb) throws ParseException
+  {
+    // packed sequences preserve all four ordinates for the expected geometry
+    Geometry expected = new WKBReader(packedFactory).read(wkb);
+    Geometry heap = read(wkb, false);
+    Geometry direct = read(wkb, true);
+    assertEquals(0, expected.compareTo(heap, comp4));
+    assertEquals(0, expected.compareTo(direct, comp4));
+    assertEquals(expected.getSRID(), heap.getSRID());
+    return heap;
+  }
+
+  private Geometry read(byte[] wkb, boolean isDirect) throws ParseException
+  {
+    ByteBuffer buf;
+    if (isDirect) {
+      buf = ByteBuffer.allocateDirect(wkb.length);
+      buf.put(wkb);
+      buf.flip();
+    }
+    else {
+      buf = ByteBuffer.wrap(wkb);
+    }
+    Geometry g = new WKBBufferReader(geomFactory).read(buf);
+    assertTrue(! buf.hasRemaining());
+    return g;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.locationtech.jts.geom.Geometry;
+
+import junit.framework.TestCase;
+import junit.textui.TestRunner;
+
+/**
+ * Tests {@link WKBHexStreamReader}, checking that it
+ * reads the same geometries as {@link WKBHexFileReader}.
+ *
+ * @author Martin Davis
+ *
+ */
+public class WKBHexStreamReaderTest extends TestCase
+{
+  public static void main(String args[]) {
+    TestRunner.run(WKBHexStreamReaderTest.class);
+  }
+
+  private WKTReader wktReader = new WKTReader();
+
+  public WKBHexStreamReaderTest(String name) {
+    super(name);
+  }
+
+  public void testSerialAndParallel() throws IOException, ParseException
+  {
+    String text = createLines(1000);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    for (int offset = 0; offset < 1000; offset += 333) {
+      List expected = readFileReader(text, offset, -1);
+      assertEquals(expected, readStream(text, null, offset, -1));
+      assertEquals(expected, readStream(text, pool, offset, -1));
+      assertEquals(expected.subList(0, Math.min(10, expected.size())), readStream(text, pool, offset, 10));
+    }
+  }
+
+  private List readFileReader(String text, int offset, int limit)
+      throws IOException, ParseException
+  {
+    WKBHexFileReader rdr = new WKBHexFileReader(new StringReader(text), new WKBReader());
+    rdr.setOffset(offset);
+    rdr.setLimit(limit);
+    return rdr.read();
+  }
+
+  private List readStream(String text, ForkJoinPool pool, int offset, int limit)
+  {
+    WKBHexStreamReader rdr = new WKBHexStreamReader(new StringReader(text), new WKBReader());
+    rdr.setForkJoinPool(pool);
+    rdr.setChunkSize(64);
+    rdr.setOffset(offset);
+    rdr.setLimit(limit);
+    List geoms = new ArrayList();
+    for (Iterator<Geometry> it = rdr.iterator(); it.hasNext(); ) {
+      geoms.add(it.next());
+    }
+    return geoms;
+  }
+
+  private String createLines(int num) throws ParseException
+  {
+    WKBWriter writer = new WKBWriter();
+    StringBuffer text = new StringBuffer();
+    for (int i = 0; i < num; i++) {
+      Geometry g = wktReader.read("LINESTRING (" + i + " 0, 0 " + i + ", 1 1)");
+      text.append(WKBWriter.toHex(writer.write(g)) + "\n");
+      if (i % 5 == 0)
+        text.append("   \n");
+    }
+    return text.toString();
+  }
+}
@@ -11,7 +11,14 @@
  */
 package org.locationtech.jts.io;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 
@@ -63,4 +70,93 @@ public class WKBWriterTest extends TestCase {
         assertTrue(p1.equalsExact(p2));
         assertEquals(1234, p2.getSRID());
     }
+
+    public void testWriteByteBuffer() throws Exception {
+        // big-endian, no SRID
+        checkWriteByteBuffer("POINT (1 2)", 2, ByteOrderValues.BIG_ENDIAN, false,
+            "00000000013FF00000000000004000000000000000");
+        checkWriteByteBuffer("POINT Z (1 2 3)", 3, ByteOrderValues.BIG_ENDIAN, false,
+            "00800000013FF000000000000040000000000000004008000000000000");
+        checkWriteByteBuffer("LINESTRING EMPTY", 2, ByteOrderValues.BIG_ENDIAN, false,
+            "000000000200000000");
+        checkWriteByteBuffer("MULTIPOINT ((1 1), (2 2))", 2, ByteOrderValues.BIG_ENDIAN, false,
+            "00000000040000000200000000013FF00000000000003FF0000000000000"
+            + "000000000140000000000000004000000000000000");
+        checkWriteByteBuffer("GEOMETRYCOLLECTION EMPTY", 2, ByteOrderValues.BIG_ENDIAN, false,
+            "000000000700000000");
+
+        // little-endian with SRID 4326, as in WKBReaderTest
+        checkWriteByteBuffer("POINT (1 2)", 2, ByteOrderValues.LITTLE_ENDIAN, true,
+            "0101000020E6100000000000000000F03F0000000000000040");
+        checkWriteByteBuffer("LINESTRING (1 2, 3 4)", 2, ByteOrderValues.LITTLE_ENDIAN, true,
+            "0102000020E610000002000000000000000000F03F000000000000004000000000000008400000000000001040");
+        checkWriteByteBuffer("POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0), (1 1, 1 9, 9 9, 9 1, 1 1))",
+            2, ByteOrderValues.LITTLE_ENDIAN, true,
+            "0103000020E61000000200000005000000000000000000000000000000000000000000000000000000000000000000244000000000000024400000000000002440000000000000244000000000000000000000000000000000000000000000000005000000000000000000F03F000000000000F03F000000000000F03F0000000000002240000000000000224000000000000022400000000000002240000000000000F03F000000000000F03F000000000000F03F");
+        checkWriteByteBuffer("POINT Z (1 2 3)", 3, ByteOrderValues.LITTLE_ENDIAN, true,
+            "01010000A0E6100000000000000000F03F00000000000000400000000000000840");
+        checkWriteByteBuffer("LINESTRING Z (1 2 3, 4 5 6)", 3, ByteOrderValues.LITTLE_ENDIAN, true,
+            "01020000A0E610000002000000000000000000F03F000000000000004000000000000008400000000000001040"
+            + "00000000000014400000000000001840");
+    }
+
+    public void testWriteByteBufferOverflow() throws Exception {
+        Geometry g = new WKTReader().read("LINESTRING (1 2, 3 4, 5 6)");
+        WKBWriter w = new WKBWriter();
+        ByteBuffer buf = ByteBuffer.allocate(w.getEncodedSize(g) - 1);
+        try {
+            w.write(g, buf);
+            fail();
+        }
+        catch (BufferOverflowException e) {
+            // expected
+        }
+        assertEquals(0, buf.position());
+    }
+
+    public void testWriteLargeOutStream() throws Exception {
+        // larger than the buffer used for writing to a stream
+        StringBuffer wkt = new StringBuffer("LINESTRING Z (");
+        for (int i = 0; i < 500; i++) {
+            if (i > 0) wkt.append(", ");
+            wkt.append(i + " " + (2 * i) + " " + (3 * i));
+        }
+        wkt.append(")");
+        Geometry g = new WKTReader().read(wkt.toString());
+        WKBWriter w = new WKBWriter(3, ByteOrderValues.LITTLE_ENDIAN, true);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        w.write(g, new OutputStreamOutStream(bos));
+        byte[] wkb = bos.toByteArray();
+        assertEquals(9 + 4 + 500 * 24, wkb.length);
+        assertTrue(g.equalsExact(new WKBReader().read(wkb)));
+        // the chunk boundaries must not disturb the encoding
+        assertTrue(Arrays.equals(w.write(g), wkb));
+    }
+
+    private void checkWriteByteBuffer(String wkt, int dim, int byteOrder, boolean includeSRID,
+        String expectedHex) throws Exception {
+        Geometry g = new WKTReader().read(wkt);
+        g.setSRID(4326);
+        WKBWriter w = new WKBWriter(dim, byteOrder, includeSRID);
+        byte[] expected = WKBReader.hexToBytes(expectedHex);
+
+        assertEquals(expected.length, w.getEncodedSize(g));
+        assertEquals(expectedHex, WKBWriter.toHex(w.write(g)));
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        w.write(g, new OutputStreamOutStream(bos));
+        assertEquals(expectedHex, WKBWriter.toHex(bos.toByteArray()));
+
+        // write at an offset into a direct buffer
+        ByteBuffer buf = ByteBuffer.allocateDirect(expected.length + 3);
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        buf.position(3);
+        w.write(g, buf);
+        assertEquals(expected.length + 3, buf.position());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buf.order());
+        byte[] actual = new byte[expected.length];
+        buf.position(3);
+        buf.get(actual);
+        assertTrue(Arrays.equals(expected, actual));
+    }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.locationtech.jts.geom.Geometry;
+
+import junit.framework.TestCase;
+import junit.textui.TestRunner;
+
+/**
+ * Tests {@link WKTStreamReader}, checking that it
+ * reads the same geometries as {@link WKTFileReader}.
+ *
+ * @author Martin Davis
+ *
+ */
+public class WKTStreamReaderTest extends TestCase
+{
+  public static void main(String args[]) {
+    TestRunner.run(WKTStreamReaderTest.class);
+  }
+
+  private static final String FREE_TEXT =
+      "POINT (1 2)  # a comment\n"
+      + "\n"
+      + "LINESTRING (1 2,\n 3 4)  POINT EMPTY\n"
+      + "POLYGON Z ((0 0 0, 0 10 0, 10 10 0, 0 0 0))\n"
+      + "MULTIPOINT ((1 1), (2 2)) GEOMETRYCOLLECTION (POINT (5 6), LINESTRING EMPTY)\n";
+
+  private WKTReader wktReader = new WKTReader();
+
+  public WKTStreamReaderTest(String name) {
+    super(name);
+  }
+
+  public void testFreeFormat() throws IOException, ParseException
+  {
+    for (int offset = 0; offset <= 7; offset++) {
+      checkSameAsFileReader(FREE_TEXT, offset, -1);
+      checkSameAsFileReader(FREE_TEXT, offset, 2);
+    }
+  }
+
+  public void testLineDelimited() throws IOException, ParseException
+  {
+    String text = createPointLines(2500);
+    List expected = readFileReader(text, 0, -1);
+    assertEquals(expected, readStream(text, true, null, 0, -1));
+    assertEquals(expected.subList(1234, 2500), readStream(text, true, null, 1234, -1));
+    assertEquals(expected.subList(1234, 1334), readStream(text, true, null, 1234, 100));
+    assertEquals(0, readStream(text, true, null, 3000, -1).size());
+  }
+
+  public void testParallel() throws IOException, ParseException
+  {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    String text = createPointLines(2500);
+    List expected = readFileReader(text, 0, -1);
+    assertEquals(expected, readStream(text, true, pool, 0, -1));
+    assertEquals(expected.subList(17, 2500), readStream(text, true, pool, 17, -1));
+    assertEquals(expected.subList(17, 1517), readStream(text, true, pool, 17, 1500));
+    assertEquals(0, readStream(text, true, pool, 0, 0).size());
+    // pool is ignored for free-format input
+    assertEquals(expected, readStream(text, false, pool, 0, -1));
+  }
+
+  public void testStream() throws IOException, ParseException
+  {
+    WKTStreamReader rdr = new WKTStreamReader(new StringReader(FREE_TEXT), wktReader);
+    Stream<Geometry> stream = rdr.stream();
+    try {
+      List<Geometry> geoms = stream.collect(Collectors.<Geometry>toList());
+      assertEquals(readFileReader(FREE_TEXT, 0, -1), geoms);
+    }
+    finally {
+      stream.close();
+    }
+  }
+
+  public void testTrailingComment()
+  {
+    List geoms = readStream("POINT (1 2)\n# comment", false, null, 0, -1);
+    assertEquals(1, geoms.size());
+  }
+
+  public void testReadTwice()
+  {
+    WKTStreamReader rdr = new WKTStreamReader(new StringReader(FREE_TEXT), wktReader);
+    rdr.iterator();
+    try {
+      rdr.iterator();
+      fail();
+    }
+    catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  public void testParseError()
+  {
+    checkParseError("POINT (1 2)\nPOINT (1 x)\n", false, null);
+    checkParseError("POINT (1 2)\nPOINT (1 x)\n", true, null);
+    checkParseError(createPointLines(100) + "POINT (1 x)\n", true, new ForkJoinPool(2));
+  }
+
+  public void testSkipTruncated()
+  {
+    WKTStreamReader rdr = new WKTStreamReader(new StringReader("POLYGON ((0 0, 1 1"), wktReader);
+    rdr.setOffset(1);
+    try {
+      rdr.iterator().hasNext();
+      fail();
+    }
+    catch (RuntimeException e) {
+      assertTrue(e.getCause() instanceof ParseException);
+    }
+  }
+
+  private void checkParseError(String text, boolean isLineDelimited, ForkJoinPool pool)
+  {
+    try {
+      readStream(text, isLineDelimited, pool, 0, -1);
+      fail();
+    }
+    catch (RuntimeException e) {
+      assertTrue(e.getCause() instanceof ParseException);
+    }
+  }
+
+  private void checkSameAsFileReader(String text, int offset, int limit)
+      throws IOException, ParseException
+  {
+    assertEquals(readFileReader(text, offset, limit),
+        readStream(text, false, null, offset, limit));
+  }
+
+  private List readFileReader(String text, int offset, int limit)
+      throws IOException, ParseException
+  {
+    WKTFileReader rdr = new WKTFileReader(new StringReader(text), wktReader);
+    rdr.setOffset(offset);
+    rdr.setLimit(limit);
+    return rdr.read();
+  }
+
+  private List readStream(String text, boolean isLineDelimited, ForkJoinPool pool,
+      int offset, int limit)
+  {
+    WKTStreamReader rdr = new WKTStreamReader(new StringReader(text), wktReader);
+    rdr.setLineDelimited(isLineDelimited);
+    rdr.setForkJoinPool(pool);
+    rdr.setChunkSize(100);
+    rdr.setOffset(offset);
+    rdr.setLimit(limit);
+    List geoms = new ArrayList();
+    for (Iterator<Geometry> it = rdr.iterator(); it.hasNext(); ) {
+      geoms.add(it.next());
+    }
+    return geoms;
+  }
+
+  private static String createPointLines(int num)
+  {
+    StringBuffer text = new StringBuffer();
+    for (int i = 0; i < num; i++) {
+      text.append("POINT (" + i + " " + (i * 0.5) + ")\n");
+      if (i % 7 == 0)
+        text.append("\n");
+    }
+    return text.toString();
+  }
+}
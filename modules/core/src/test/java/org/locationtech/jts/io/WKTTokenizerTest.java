@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.io.BufferedReader;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StreamTokenizer;
+import java.io.StringReader;
+import java.util.Random;
+
+import org.locationtech.jts.geom.Geometry;
+
+import junit.framework.TestCase;
+import junit.textui.TestRunner;
+
+/**
+ * Tests {@link WKTTokenizer}, checking that it
+ * produces the same tokens as the {@link StreamTokenizer}
+ * it replaces in {@link WKTReader}.
+ *
+ * @author Martin Davis
+ *
+ */
+public class WKTTokenizerTest extends TestCase
+{
+  public static void main(String args[]) {
+    TestRunner.run(WKTTokenizerTest.class);
+  }
+
+  public WKTTokenizerTest(String name) {
+    super(name);
+  }
+
+  public void testTokens() throws IOException
+  {
+    checkSameTokens("POINT (1 2)");
+    checkSameTokens("LINESTRING ZM(1 2 3 4,-5.5e-3 +6 7 8)");
+    checkSameTokens("  MULTIPOINT((1 2),(3 4))  ");
+    checkSameTokens("POINT\r\n(1\r2\n)");
+    checkSameTokens("POINT (1 2) # a comment\nPOINT EMPTY #");
+    checkSameTokens("POINT (1 2 ÿ) * ; \u0080");
+    checkSameTokens("");
+  }
+
+  public void testLineNumber() throws IOException
+  {
+    WKTTokenizer tokenizer = new WKTTokenizer("POINT\r\n(1\r2\n# comment\n)");
+    while (tokenizer.nextToken() != ')') {
+    }
+    assertEquals(5, tokenizer.lineno());
+  }
+
+  public void testPushBack() throws IOException
+  {
+    WKTTokenizer tokenizer = new WKTTokenizer("POINT (");
+    assertEquals(WKTTokenizer.TT_WORD, tokenizer.nextToken());
+    tokenizer.pushBack();
+    assertEquals(WKTTokenizer.TT_WORD, tokenizer.nextToken());
+    assertEquals("POINT", tokenizer.getStringValue());
+    assertEquals('(', tokenizer.nextToken());
+    assertEquals(WKTTokenizer.TT_EOF, tokenizer.nextToken());
+  }
+
+  public void testNumbers()
+  {
+    checkNumber("0");
+    checkNumber("-0");
+    checkNumber("-0.0");
+    checkNumber("000123.4500");
+    checkNumber("1.0E10");
+    checkNumber("1e-5");
+    checkNumber("1E+22");
+    checkNumber("1e23");
+    checkNumber("1e-400");
+    checkNumber("1e400");
+    checkNumber(".5");
+    checkNumber("5.");
+    checkNumber("9007199254740993");
+    checkNumber("123456789012345678901234567890");
+    checkNumber("0.1234567890123456789");
+    checkNumber("4.9e-324");
+    checkNumber("1.7976931348623157E308");
+    checkNumber("1d");
+    checkNumber("Infinity");
+    checkNumber("-Infinity");
+  }
+
+  public void testRandomNumbers()
+  {
+    Random rnd = new Random(13);
+    for (int i = 0; i < 10000; i++) {
+      double d = (rnd.nextDouble() - 0.5) * Math.pow(10, rnd.nextInt(30) - 15);
+      checkNumber(Double.toString(d));
+      checkNumber(Long.toString(rnd.nextLong() % 100000000L) + "." + Math.abs(rnd.nextInt() % 10000));
+    }
+  }
+
+  public void testInvalidNumbers()
+  {
+    checkInvalidNumber("");
+    checkInvalidNumber("-");
+    checkInvalidNumber(".");
+    checkInvalidNumber("1e");
+    checkInvalidNumber("1.2.3");
+    checkInvalidNumber("1-2");
+    checkInvalidNumber("POINT");
+  }
+
+  public void testSuccessiveReads() throws ParseException
+  {
+    StringBuffer text = new StringBuffer();
+    for (int i = 0; i < 1000; i++) {
+      text.append("POINT (" + i + " " + i + ")\n");
+    }
+    // a small buffer forces the tokenizer blocks to span several reader fills
+    checkSuccessiveReads(new BufferedReader(new StringReader(text.toString()), 16), 1000);
+    checkSuccessiveReads(new NonMarkableReader(new StringReader(text.toString())), 1000);
+  }
+
+  private void checkSuccessiveReads(Reader reader, int num) throws ParseException
+  {
+    WKTReader rdr = new WKTReader();
+    for (int i = 0; i < num; i++) {
+      Geometry g = rdr.read(reader);
+      assertEquals(i, g.getCoordinate().x, 0.0);
+    }
+  }
+
+  private void checkSameTokens(String text) throws IOException
+  {
+    StreamTokenizer expected = createStreamTokenizer(new StringReader(text));
+    WKTTokenizer fromString = new WKTTokenizer(text);
+    WKTTokenizer fromReader = new WKTTokenizer(new BufferedReader(new StringReader(text)));
+    while (true) {
+      int type = expected.nextToken();
+      checkToken(expected, fromString);
+      checkToken(expected, fromReader);
+      if (type == StreamTokenizer.TT_EOF)
+        break;
+    }
+  }
+
+  private void checkToken(StreamTokenizer expected, WKTTokenizer tokenizer) throws IOException
+  {
+    assertEquals(expected.ttype, tokenizer.nextToken());
+    assertEquals(expected.lineno(), tokenizer.lineno());
+    if (expected.ttype == StreamTokenizer.TT_WORD)
+      assertEquals(expected.sval, tokenizer.getStringValue());
+  }
+
+  private void checkNumber(String word)
+  {
+    WKTTokenizer tokenizer = createWord(word);
+    assertEquals(word, Double.doubleToLongBits(Double.parseDouble(word)),
+        Double.doubleToLongBits(tokenizer.getNumberValue()));
+  }
+
+  private void checkInvalidNumber(String word)
+  {
+    try {
+      createWord(word).getNumberValue();
+      fail(word);
+    }
+    catch (NumberFormatException e) {
+      // expected
+    }
+  }
+
+  private static WKTTokenizer createWord(String word)
+  {
+    WKTTokenizer tokenizer = new WKTTokenizer(word);
+    try {
+      tokenizer.nextToken();
+    }
+    catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return tokenizer;
+  }
+
+  /**
+   * Creates a StreamTokenizer configured as WKTReader used to.
+   */
+  private static StreamTokenizer createStreamTokenizer(Reader reader)
+  {
+    StreamTokenizer tokenizer = new StreamTokenizer(reader);
+    tokenizer.resetSyntax();
+    tokenizer.wordChars('a', 'z');
+    tokenizer.wordChars('A', 'Z');
+    tokenizer.wordChars(128 + 32, 255);
+    tokenizer.wordChars('0', '9');
+    tokenizer.wordChars('-', '-');
+    tokenizer.wordChars('+', '+');
+    tokenizer.wordChars('.', '.');
+    tokenizer.whitespaceChars(0, ' ');
+    tokenizer.commentChar('#');
+    return tokenizer;
+  }
+
+  private static class NonMarkableReader extends FilterReader
+  {
+    NonMarkableReader(Reader in) {
+      super(in);
+    }
+
+    public boolean markSupported() {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.noding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.locationtech.jts.algorithm.LineIntersector;
+import org.locationtech.jts.algorithm.RobustLineIntersector;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.operation.buffer.BufferOp;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+public class ParallelMCIndexNoderTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(ParallelMCIndexNoderTest.class);
+  }
+
+  public ParallelMCIndexNoderTest(String name) { super(name); }
+
+  public void testSimple() {
+    checkSameAsSerial(new String[] {
+        "LINESTRING (100 100, 300 300)",
+        "LINESTRING (100 300, 300 100)",
+        "LINESTRING (100 100, 200 200, 300 300, 400 200, 200 200)"
+    }, new PrecisionModel());
+  }
+
+  public void testEmpty() {
+    ParallelMCIndexNoder noder = new ParallelMCIndexNoder();
+    noder.computeNodes(new ArrayList());
+    assertEquals(0, noder.getNodedSubstrings().size());
+  }
+
+  public void testRandomLines() {
+    checkSameAsSerial(randomLines(500, 10, 1), new PrecisionModel());
+  }
+
+  public void testRandomLinesFixedPrecision() {
+    checkSameAsSerial(randomLines(500, 10, 2), new PrecisionModel(1));
+  }
+
+  public void testBuffer() throws Exception {
+    Geometry geom = read("POLYGON ((100 100, 100 300, 300 300, 300 100, 100 100), (150 150, 150 250, 250 250, 250 150, 150 150))");
+    Geometry lines = read(randomWKT(200, 3));
+    checkBufferSame(geom, 20);
+    checkBufferSame(lines, 5);
+    checkBufferSame(lines, -5);
+  }
+
+  private void checkBufferSame(Geometry geom, double distance) {
+    Geometry expected = geom.buffer(distance);
+    BufferOp op = new BufferOp(geom);
+    op.setNoder(new ParallelMCIndexNoder(geom.getPrecisionModel(), new ForkJoinPool(4)));
+    Geometry actual = op.getResultGeometry(distance);
+    checkEqual(expected, actual);
+  }
+
+  private void checkSameAsSerial(String[] wkt, PrecisionModel pm) {
+    List serialInput = toSegmentStrings(wkt);
+    LineIntersector li = new RobustLineIntersector();
+    li.setPrecisionModel(pm);
+    MCIndexNoder serial = new MCIndexNoder(new IntersectionAdder(li));
+    serial.computeNodes(serialInput);
+    List expected = toCoordinateLists(serial.getNodedSubstrings());
+
+    int[] parallelism = new int[] { 1, 2, 7 };
+    for (int i = 0; i < parallelism.length; i++) {
+      ParallelMCIndexNoder noder = new ParallelMCIndexNoder(pm, new ForkJoinPool(parallelism[i]));
+      noder.computeNodes(toSegmentStrings(wkt));
+      assertEquals(expected, toCoordinateLists(noder.getNodedSubstrings()));
+    }
+  }
+
+  private List toSegmentStrings(String[] wkt) {
+    List segStrings = new ArrayList();
+    for (int i = 0; i < wkt.length; i++) {
+      Geometry line = read(wkt[i]);
+      segStrings.add(new NodedSegmentString(line.getCoordinates(), null));
+    }
+    return segStrings;
+  }
+
+  private static List toCoordinateLists(Collection segStrings) {
+    List result = new ArrayList();
+    for (Iterator i = segStrings.iterator(); i.hasNext(); ) {
+      SegmentString ss = (SegmentString) i.next();
+      List pts = new ArrayList();
+      Coordinate[] coords = ss.getCoordinates();
+      for (int j = 0; j < coords.length; j++) {
+        pts.add(coords[j]);
+      }
+      result.add(pts);
+    }
+    return result;
+  }
+
+  private static String[] randomLines(int num, int numPts, long seed) {
+    String[] wkt = new String[num];
+    Random rnd = new Random(seed);
+    for (int i = 0; i < num; i++) {
+      wkt[i] = randomLine(rnd, numPts);
+    }
+    return wkt;
+  }
+
+  private static String randomWKT(int num, long seed) {
+    Random rnd = new Random(seed);
+    StringBuffer sb = new StringBuffer("MULTILINESTRING (");
+    for (int i = 0; i < num; i++) {
+      if (i > 0) sb.append(", ");
+      sb.append(randomLine(rnd, 5).substring("LINESTRING ".length()));
+    }
+    sb.append(")");
+    return sb.toString();
+  }
+
+  private static String randomLine(Random rnd, int numPts) {
+    StringBuffer sb = new StringBuffer("LINESTRING (");
+    double x = 1000 * rnd.nextDouble();
+    double y = 1000 * rnd.nextDouble();
+    for (int i = 0; i < numPts; i++) {
+      if (i > 0) sb.append(", ");
+      sb.append(x + " " + y);
+      x += 100 * (rnd.nextDouble() - 0.5);
+      y += 100 * (rnd.nextDouble() - 0.5);
+    }
+    sb.append(")");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.noding.snapround;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineSegment;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.noding.NodedSegmentString;
+import org.locationtech.jts.noding.Noder;
+import org.locationtech.jts.noding.NodingValidator;
+import org.locationtech.jts.noding.SegmentString;
+
+import junit.framework.TestCase;
+import junit.textui.TestRunner;
+
+/**
+ * Tests {@link SnapRoundingNoder}, checking that
+ * the result is correctly snap-rounded
+ * and the same as that of {@link MCIndexSnapRounder}.
+ *
+ * @author Martin Davis
+ *
+ */
+public class SnapRoundingNoderTest extends TestCase
+{
+  private WKTReader rdr = new WKTReader();
+
+  public static void main(String args[]) {
+    TestRunner.run(SnapRoundingNoderTest.class);
+  }
+
+  public SnapRoundingNoderTest(String name) { super(name); }
+
+  public void testPolyWithCloseNode() throws ParseException {
+    checkRounding(new String[] {
+        "POLYGON ((20 0, 20 160, 140 1, 160 160, 160 1, 20 0))"
+    }, 1);
+  }
+
+  public void testBadLines1() throws ParseException {
+    checkRounding(new String[] {
+        "LINESTRING ( 171 157, 175 154, 170 154, 170 155, 170 156, 170 157, 171 158, 171 159, 172 160, 176 156, 171 156, 171 159, 176 159, 172 155, 170 157, 174 161, 174 156, 173 156, 172 156 )"
+    }, 1);
+  }
+
+  public void testCollapse1() throws ParseException {
+    checkRounding(new String[] {
+        "LINESTRING ( 362 177, 375 164, 374 164, 372 161, 373 163, 372 165, 373 164, 442 58 )"
+    }, 1);
+  }
+
+  public void testLineWithManySelfSnaps() throws ParseException {
+    checkRounding(new String[] {
+        "LINESTRING (0 0, 6 4, 8 11, 13 13, 14 12, 11 12, 7 7, 7 3, 4 2)"
+    }, 1);
+  }
+
+  public void testBadNoding1Extract() throws ParseException {
+    checkRounding(new String[] {
+        "LINESTRING ( 82 55, 101 74 )",
+        "LINESTRING ( 94 68, 99 71 )",
+        "LINESTRING ( 85 57, 88 62 )"
+    }, 1);
+  }
+
+  public void testScaled() throws ParseException {
+    checkRounding(new String[] {
+        "LINESTRING (0 0, 1.9 1.05)",
+        "LINESTRING (0 1, 2 0.2, 0.1 0.1)"
+    }, 10);
+  }
+
+  public void testRandomLines() throws ParseException {
+    checkRounding(randomLines(300, 1), 1);
+  }
+
+  public void testRandomLinesScaled() throws ParseException {
+    checkRounding(randomLines(300, 2), 100);
+  }
+
+  private void checkRounding(String[] wkt, double scale) throws ParseException {
+    PrecisionModel pm = new PrecisionModel(scale);
+    Collection expected = computeNodes(new MCIndexSnapRounder(pm), wkt);
+    new NodingValidator(expected).checkValid();
+    Collection noded = computeNodes(new SnapRoundingNoder(pm), wkt);
+    new NodingValidator(noded).checkValid();
+    assertEquals(toSegmentSet(expected), toSegmentSet(noded));
+  }
+
+  private Collection computeNodes(Noder noder, String[] wkt) throws ParseException {
+    List segStrings = new ArrayList();
+    for (int i = 0; i < wkt.length; i++) {
+      Geometry g = rdr.read(wkt[i]);
+      segStrings.add(new NodedSegmentString(g.getCoordinates(), null));
+    }
+    noder.computeNodes(segStrings);
+    return noder.getNodedSubstrings();
+  }
+
+  private static Set toSegmentSet(Collection segStrings) {
+    Set segs = new TreeSet();
+    for (Iterator it = segStrings.iterator(); it.hasNext(); ) {
+      SegmentString ss = (SegmentString) it.next();
+      for (int i = 0; i < ss.size() - 1; i++) {
+        if (ss.getCoordinate(i).equals2D(ss.getCoordinate(i + 1)))
+          continue;
+        LineSegment seg = new LineSegment(ss.getCoordinate(i), ss.getCoordinate(i + 1));
+        seg.normalize();
+        segs.add(seg);
+      }
+    }
+    return segs;
+  }
+
+  private static String[] randomLines(int num, long seed) {
+    String[] wkt = new String[num];
+    Random rnd = new Random(seed);
+    for (int i = 0; i < num; i++) {
+      int x = rnd.nextInt(100);
+      int y = rnd.nextInt(100);
+      StringBuffer sb = new StringBuffer("LINESTRING (" + x + " " + y);
+      for (int j = 0; j < 4; j++) {
+        x += rnd.nextInt(21) - 10;
+        y += rnd.nextInt(21) - 10;
+        sb.append(", " + x + " " + y);
+      }
+      sb.append(")");
+      wkt[i] = sb.toString();
+    }
+    return wkt;
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.buffer;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+public class BufferContextTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(BufferContextTest.class);
+  }
+
+  public BufferContextTest(String name) { super(name); }
+
+  private static final String[] WKT = new String[] {
+    "POINT (10 10)",
+    "LINESTRING (0 0, 10 0)",
+    "LINESTRING (0 0, 10 0, 10 10, 0 10, 0 1)",
+    "POLYGON ((0 0, 100 0, 100 100, 0 100, 0 0), (10 10, 10 20, 20 20, 20 10, 10 10))",
+    "MULTIPOINT ((0 0), (1 1), (50 50))",
+    "POINT EMPTY",
+    "MULTILINESTRING ((0 0, 5 5, 0 10), (3 0, 3 10))"
+  };
+
+  public void testSameAsBufferOp() {
+    BufferParameters params = new BufferParameters();
+    BufferContext bufCtx = new BufferContext(params);
+    double[] distances = new double[] { 1, 4.5, 0, -2 };
+    // repeat so that the context is reused with different inputs
+    for (int n = 0; n < 2; n++) {
+      for (int i = 0; i < WKT.length; i++) {
+        for (int j = 0; j < distances.length; j++) {
+          checkSameAsBufferOp(bufCtx, read(WKT[i]), distances[j]);
+        }
+      }
+    }
+  }
+
+  public void testChangedParameters() {
+    BufferParameters params = new BufferParameters();
+    BufferContext bufCtx = new BufferContext(params);
+    Geometry line = read("LINESTRING (0 0, 10 0, 10 10)");
+    checkSameAsBufferOp(bufCtx, line, 2);
+    params.setQuadrantSegments(2);
+    params.setEndCapStyle(BufferParameters.CAP_SQUARE);
+    checkSameAsBufferOp(bufCtx, line, 2);
+    params.setJoinStyle(BufferParameters.JOIN_MITRE);
+    params.setSingleSided(true);
+    checkSameAsBufferOp(bufCtx, line, -2);
+  }
+
+  public void testFixedPrecision() throws Exception {
+    WKTReader fixedReader = new WKTReader(new GeometryFactory(new PrecisionModel(10)));
+    BufferContext bufCtx = new BufferContext();
+    checkSameAsBufferOp(bufCtx, fixedReader.read("LINESTRING (0 0, 10.3 0, 10 10.7)"), 1.25);
+    // reuse with a different precision model
+    checkSameAsBufferOp(bufCtx, read("LINESTRING (0 0, 10.3 0, 10 10.7)"), 1.25);
+  }
+
+  public void testZ() {
+    BufferContext bufCtx = new BufferContext();
+    checkSameAsBufferOp(bufCtx, read("POLYGON Z ((0 0 1, 10 0 2, 10 10 3, 0 10 4, 0 0 1))"), 0);
+    Geometry buf = bufCtx.buffer(read("POLYGON Z ((0 0 1, 10 0 2, 10 10 3, 0 10 4, 0 0 1))"), 0);
+    assertEquals(1.0, buf.getCoordinates()[0].getZ(), 0.0);
+  }
+
+  private void checkSameAsBufferOp(BufferContext bufCtx, Geometry geom, double distance) {
+    Geometry expected = BufferOp.bufferOp(geom, distance, bufCtx.getBufferParameters());
+    Geometry actual = bufCtx.buffer(geom, distance);
+    assertTrue(expected.equalsExact(actual));
+  }
+}
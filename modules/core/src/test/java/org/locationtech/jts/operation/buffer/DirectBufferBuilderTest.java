@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.buffer;
+
+import org.locationtech.jts.geom.Geometry;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests that the buffers computed directly by {@link DirectBufferBuilder}
+ * are identical to those computed with noding.
+ * A geometry collection is always buffered with noding,
+ * so it provides the expected result.
+ */
+public class DirectBufferBuilderTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(DirectBufferBuilderTest.class);
+  }
+
+  public DirectBufferBuilderTest(String name) { super(name); }
+
+  public void testPoint() {
+    checkAllStyles("POINT (10 10)", 3);
+    checkAllStyles("POINT (-1234.5 0.001)", 0.25);
+  }
+
+  public void testLine() {
+    checkAllStyles("LINESTRING (0 0, 10 3)", 2);
+    checkAllStyles("LINESTRING (5 5, 5 5)", 2);
+  }
+
+  public void testConvexPolygon() {
+    checkAllStyles("POLYGON ((0 0, 0 10, 12 8, 10 0, 0 0))", 1);
+    checkAllStyles("POLYGON ((0 0, 10 0, 12 8, 0 10, 0 0))", 1);
+    // collinear vertices
+    checkAllStyles("POLYGON ((0 0, 5 0, 10 0, 10 10, 0 10, 0 0))", 2);
+  }
+
+  public void testNonConvexPolygon() {
+    checkAllStyles("POLYGON ((0 0, 10 0, 5 2, 10 10, 0 10, 0 0))", 1);
+    checkAllStyles("POLYGON ((0 0, 100 0, 100 100, 0 100, 0 0), (10 10, 10 20, 20 20, 20 10, 10 10))", 3);
+  }
+
+  public void testIsConvex() {
+    checkConvex("POLYGON ((0 0, 0 10, 12 8, 10 0, 0 0))", true);
+    checkConvex("POLYGON ((0 0, 5 0, 10 0, 10 10, 0 10, 0 0))", true);
+    checkConvex("POLYGON ((0 0, 10 0, 5 2, 10 10, 0 10, 0 0))", false);
+    // spike
+    checkConvex("POLYGON ((0 0, 10 0, 15 0, 10 0, 10 10, 0 10, 0 0))", false);
+    // pentagram winds twice
+    checkConvex("POLYGON ((0 10, 6 -8, -9.5 3, 9.5 3, -6 -8, 0 10))", false);
+    // flat
+    checkConvex("POLYGON ((0 0, 5 0, 10 0, 0 0))", false);
+  }
+
+  private void checkConvex(String wkt, boolean expected) {
+    assertEquals(expected, DirectBufferBuilder.isConvex(read(wkt).getCoordinates()));
+  }
+
+  private void checkAllStyles(String wkt, double distance) {
+    Geometry geom = read(wkt);
+    int[] quadSegs = new int[] { 1, 2, 8 };
+    for (int q = 0; q < quadSegs.length; q++) {
+      for (int cap = 1; cap <= 3; cap++) {
+        for (int join = 1; join <= 3; join++) {
+          BufferParameters params = new BufferParameters(quadSegs[q], cap, join, 5);
+          checkSameAsNoded(geom, distance, params);
+          checkSameAsNoded(geom, -distance, params);
+        }
+      }
+    }
+  }
+
+  private void checkSameAsNoded(Geometry geom, double distance, BufferParameters params) {
+    Geometry coll = geom.getFactory().createGeometryCollection(new Geometry[] { geom });
+    Geometry expected = BufferOp.bufferOp(coll, distance, params);
+    Geometry actual = BufferOp.bufferOp(geom, distance, params);
+    assertTrue(actual.isValid());
+    assertTrue(expected.equalsExact(actual));
+  }
+}
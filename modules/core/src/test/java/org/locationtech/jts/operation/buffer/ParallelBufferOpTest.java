@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.buffer;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.locationtech.jts.geom.Geometry;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+public class ParallelBufferOpTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(ParallelBufferOpTest.class);
+  }
+
+  public ParallelBufferOpTest(String name) { super(name); }
+
+  public void testLines() {
+    Geometry lines = read(randomLines(120, 40, 1));
+    checkSameAsSerial(lines, 5);
+    checkSameAsSerial(lines, 0);
+    // negative buffers of lines are empty
+    checkSameAsSerial(lines, -5);
+  }
+
+  public void testMultiPolygon() {
+    Geometry polys = read(randomLines(60, 20, 2)).buffer(2);
+    checkSameAsSerial(polys, 3);
+    checkSameAsSerial(polys, -1);
+  }
+
+  public void testCollection() {
+    Geometry lines = read(randomLines(100, 40, 3));
+    Geometry polys = read(randomLines(30, 20, 4)).buffer(1);
+    Geometry coll = lines.getFactory().createGeometryCollection(new Geometry[] { lines, polys });
+    checkSameAsSerial(coll, 2);
+  }
+
+  public void testSmallInput() {
+    Geometry geom = read("MULTIPOINT ((0 0), (10 10))");
+    checkSameAsSerial(geom, 1);
+    checkSameAsSerial(read("MULTIPOLYGON EMPTY"), 1);
+    checkSameAsSerial(read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))"), -2);
+  }
+
+  private void checkSameAsSerial(Geometry geom, double distance) {
+    BufferParameters params = new BufferParameters();
+    Geometry expected = BufferOp.bufferOp(geom, distance, params);
+    int[] parallelism = new int[] { 1, 3 };
+    for (int i = 0; i < parallelism.length; i++) {
+      ForkJoinPool pool = new ForkJoinPool(parallelism[i]);
+      Geometry actual = ParallelBufferOp.bufferOp(geom, distance, params, pool);
+      pool.shutdown();
+      assertTrue(actual.isValid());
+      assertEquals(expected.isEmpty(), actual.isEmpty());
+      if (expected.isEmpty()) continue;
+      // overlaying nearly-coincident buffers is slow, so compare summary values
+      assertEquals(expected.getNumGeometries(), actual.getNumGeometries());
+      assertEquals(expected.getArea(), actual.getArea(), 1e-6 * expected.getArea());
+      assertTrue(expected.getEnvelopeInternal().equals(actual.getEnvelopeInternal()));
+    }
+  }
+
+  private static String randomLines(int num, int numPts, long seed) {
+    Random rnd = new Random(seed);
+    StringBuffer sb = new StringBuffer("MULTILINESTRING (");
+    for (int i = 0; i < num; i++) {
+      if (i > 0) sb.append(", ");
+      sb.append("(");
+      double x = 1000 * rnd.nextDouble();
+      double y = 1000 * rnd.nextDouble();
+      for (int j = 0; j < numPts; j++) {
+        if (j > 0) sb.append(", ");
+        sb.append(x + " " + y);
+        x += 20 * (rnd.nextDouble() - 0.5);
+        y += 20 * (rnd.nextDouble() - 0.5);
+      }
+      sb.append(")");
+    }
+    sb.append(")");
+    return sb.toString();
+  }
+}
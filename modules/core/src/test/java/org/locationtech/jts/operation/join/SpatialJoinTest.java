@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.join;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+public class SpatialJoinTest extends GeometryTestCase {
+
+  private GeometryFactory factory = new GeometryFactory();
+
+  public static void main(String args[]) {
+    TestRunner.run(SpatialJoinTest.class);
+  }
+
+  public SpatialJoinTest(String name) { super(name); }
+
+  public void testIntersectsSimple() {
+    List a = readList(new String[] {
+        "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))",
+        "POLYGON ((20 20, 30 20, 30 30, 20 30, 20 20))"
+    });
+    List b = readList(new String[] {
+        "POINT (5 5)",
+        "POINT (15 15)",
+        "LINESTRING (5 15, 25 25)",
+        "POINT EMPTY"
+    });
+    List pairs = SpatialJoin.intersects(a, b);
+    assertEquals(2, pairs.size());
+    assertEquals(1, SpatialJoin.contains(a, b).size());
+    assertEquals(0, SpatialJoin.contains(b, a).size());
+  }
+
+  public void testEmptyInput() {
+    List a = readList(new String[] { "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))" });
+    assertEquals(0, SpatialJoin.intersects(a, new ArrayList()).size());
+    assertEquals(0, SpatialJoin.intersects(new ArrayList(), a).size());
+  }
+
+  public void testWithinDistanceSimple() {
+    List a = readList(new String[] { "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))" });
+    List b = readList(new String[] {
+        "POINT (5 5)",
+        "POINT (12 5)",
+        "POINT (14 5)"
+    });
+    assertEquals(2, SpatialJoin.withinDistance(a, b, 2).size());
+    assertEquals(1, SpatialJoin.withinDistance(a, b, 0).size());
+  }
+
+  public void testInvalidPredicate() {
+    try {
+      new SpatialJoin(new ArrayList(), new ArrayList(), 99);
+      fail();
+    }
+    catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  public void testPolygonsPointsSmall() {
+    checkAllPredicates(randomDiscs(5, 1), randomPoints(10, 2), 5);
+  }
+
+  public void testPolygonsPoints() {
+    checkAllPredicates(randomDiscs(100, 3), randomPoints(3000, 4), 5);
+  }
+
+  public void testPointsPolygons() {
+    checkAllPredicates(randomPoints(3000, 5), randomDiscs(100, 6), 5);
+  }
+
+  public void testPolygonsPolygons() {
+    checkAllPredicates(randomDiscs(200, 7), randomDiscs(300, 8), 10);
+  }
+
+  public void testPolygonsLines() {
+    checkAllPredicates(randomDiscs(200, 9), randomLines(300, 10), 10);
+  }
+
+  private void checkAllPredicates(List a, List b, double distance) {
+    checkJoin(a, b, SpatialJoin.INTERSECTS, 0);
+    checkJoin(a, b, SpatialJoin.CONTAINS, 0);
+    checkJoin(a, b, SpatialJoin.COVERS, 0);
+    checkJoin(a, b, SpatialJoin.WITHIN_DISTANCE, 0);
+    checkJoin(a, b, SpatialJoin.WITHIN_DISTANCE, distance);
+  }
+
+  private void checkJoin(List a, List b, int predicate, double distance) {
+    Set expected = bruteForceJoin(a, b, predicate, distance);
+
+    SpatialJoin join = new SpatialJoin(a, b, predicate, distance);
+    List serial = runJoin(join);
+    assertEquals(expected, new HashSet(serial));
+    assertEquals(expected.size(), serial.size());
+
+    join.setForkJoinPool(new ForkJoinPool(4));
+    List parallel = runJoin(join);
+    assertEquals(serial, parallel);
+  }
+
+  private static List runJoin(SpatialJoin join) {
+    final List pairs = new ArrayList();
+    join.join(new JoinVisitor() {
+      public void visit(int indexA, Geometry geomA, int indexB, Geometry geomB) {
+        pairs.add(indexA + ":" + indexB);
+      }
+    });
+    return pairs;
+  }
+
+  private static Set bruteForceJoin(List a, List b, int predicate, double distance) {
+    Set pairs = new HashSet();
+    for (int i = 0; i < a.size(); i++) {
+      Geometry ga = (Geometry) a.get(i);
+      for (int j = 0; j < b.size(); j++) {
+        Geometry gb = (Geometry) b.get(j);
+        if (isSatisfied(ga, gb, predicate, distance))
+          pairs.add(i + ":" + j);
+      }
+    }
+    return pairs;
+  }
+
+  private static boolean isSatisfied(Geometry a, Geometry b, int predicate, double distance) {
+    if (a.isEmpty() || b.isEmpty()) return false;
+    switch (predicate) {
+    case SpatialJoin.CONTAINS: return a.contains(b);
+    case SpatialJoin.COVERS: return a.covers(b);
+    case SpatialJoin.WITHIN_DISTANCE: return a.isWithinDistance(b, distance);
+    }
+    return a.intersects(b);
+  }
+
+  private List randomDiscs(int num, long seed) {
+    Random rnd = new Random(seed);
+    List geoms = new ArrayList();
+    for (int i = 0; i < num; i++) {
+      Geometry pt = factory.createPoint(randomCoord(rnd));
+      geoms.add(pt.buffer(5 + 20 * rnd.nextDouble(), 4));
+    }
+    return geoms;
+  }
+
+  private List randomPoints(int num, long seed) {
+    Random rnd = new Random(seed);
+    List geoms = new ArrayList();
+    for (int i = 0; i < num; i++) {
+      geoms.add(factory.createPoint(randomCoord(rnd)));
+    }
+    return geoms;
+  }
+
+  private List randomLines(int num, long seed) {
+    Random rnd = new Random(seed);
+    List geoms = new ArrayList();
+    for (int i = 0; i < num; i++) {
+      Coordinate p0 = randomCoord(rnd);
+      Coordinate p1 = new Coordinate(p0.x + 20 * rnd.nextDouble(), p0.y + 20 * rnd.nextDouble());
+      Coordinate p2 = new Coordinate(p1.x + 20 * rnd.nextDouble(), p0.y);
+      geoms.add(factory.createLineString(new Coordinate[] { p0, p1, p2 }));
+    }
+    return geoms;
+  }
+
+  private static Coordinate randomCoord(Random rnd) {
+    return new Coordinate(500 * rnd.nextDouble(), 500 * rnd.nextDouble());
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.relate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.IntersectionMatrix;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests {@link PreparedRelate} against {@link RelateOp},
+ * evaluating each target against several test geometries.
+ *
+ * @author Martin Davis
+ *
+ */
+public class PreparedRelateTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(PreparedRelateTest.class);
+  }
+
+  public PreparedRelateTest(String name) { super(name); }
+
+  private static final int NUM_THREADS = 8;
+
+  private static final String[] TESTS = new String[] {
+      "POINT (5 5)",
+      "POINT (0 5)",
+      "POINT (20 20)",
+      "MULTIPOINT ((5 5), (20 20))",
+      "LINESTRING (-5 5, 15 5)",
+      "LINESTRING (0 0, 10 0)",
+      "LINESTRING (2 2, 8 8)",
+      "LINESTRING (10 10, 20 20)",
+      "MULTILINESTRING ((0 5, 5 5), (5 5, 5 0))",
+      "POLYGON ((5 5, 5 15, 15 15, 15 5, 5 5))",
+      "POLYGON ((10 0, 10 10, 20 10, 20 0, 10 0))",
+      "POLYGON ((2 2, 2 8, 8 8, 8 2, 2 2))",
+      "POLYGON ((-1 -1, -1 11, 11 11, 11 -1, -1 -1))",
+      "POLYGON ((30 30, 30 40, 40 40, 40 30, 30 30))"
+  };
+
+  public void testPolygon() {
+    checkRelate("POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))");
+  }
+
+  public void testPolygonWithHole() {
+    checkRelate("POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0), (2 2, 8 2, 8 8, 2 8, 2 2))");
+  }
+
+  public void testMultiPolygonTouchingAtPoint() {
+    checkRelate("MULTIPOLYGON (((0 0, 0 5, 5 5, 5 0, 0 0)), ((5 5, 5 10, 10 10, 10 5, 5 5)))");
+  }
+
+  public void testSelfIntersectingLine() {
+    checkRelate("LINESTRING (0 0, 10 10, 10 0, 0 10)");
+  }
+
+  public void testMultiLineString() {
+    checkRelate("MULTILINESTRING ((0 0, 10 10), (0 10, 5 5), (10 0, 10 10))");
+  }
+
+  public void testMultiPoint() {
+    checkRelate("MULTIPOINT ((0 0), (5 5), (10 10))");
+  }
+
+  public void testPreparedGeometryPredicates() {
+    Geometry target = read("LINESTRING (0 0, 10 10, 10 0)");
+    PreparedGeometry prep = PreparedGeometryFactory.prepare(target);
+    for (int i = 0; i < TESTS.length; i++) {
+      Geometry g = read(TESTS[i]);
+      assertEquals(target.touches(g), prep.touches(g));
+      assertEquals(target.crosses(g), prep.crosses(g));
+      assertEquals(target.overlaps(g), prep.overlaps(g));
+      assertEquals(target.within(g), prep.within(g));
+      assertEquals(target.coveredBy(g), prep.coveredBy(g));
+      assertEquals(target.relate(g).toString(), prep.relate(g).toString());
+      assertEquals(target.relate(g, "1*T***T**"), prep.relate(g, "1*T***T**"));
+    }
+  }
+
+  public void testConcurrentFirstUse() throws InterruptedException {
+    checkConcurrentFirstUse("LINESTRING (0 0, 10 10, 10 0, 0 10)");
+    checkConcurrentFirstUse("MULTIPOLYGON (((0 0, 0 5, 5 5, 5 0, 0 0)), ((5 5, 5 10, 10 10, 10 5, 5 5)))");
+  }
+
+  public void testGeometryCollection() {
+    Geometry gc = read("GEOMETRYCOLLECTION (POINT (1 1), LINESTRING (0 0, 2 2))");
+    try {
+      new PreparedRelate(gc);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException ex) {
+      // expected
+    }
+    PreparedRelate relate = new PreparedRelate(read("POINT (1 1)"));
+    try {
+      relate.relate(gc);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException ex) {
+      // expected
+    }
+  }
+
+  private void checkConcurrentFirstUse(String wktTarget) throws InterruptedException {
+    final Geometry target = read(wktTarget);
+    final Geometry[] testGeoms = new Geometry[TESTS.length];
+    final String[] expectedIM = new String[TESTS.length];
+    final boolean[] isTouches = new boolean[TESTS.length];
+    for (int i = 0; i < TESTS.length; i++) {
+      testGeoms[i] = read(TESTS[i]);
+      expectedIM[i] = RelateOp.relate(target, testGeoms[i]).toString();
+      isTouches[i] = target.touches(testGeoms[i]);
+    }
+    final int dimA = target.getDimension();
+    final AtomicInteger numErrors = new AtomicInteger();
+    for (int run = 0; run < 20; run++) {
+      // each run evaluates a new instance, so the first evaluations are concurrent
+      final PreparedRelate relate = new PreparedRelate(target);
+      final CountDownLatch start = new CountDownLatch(1);
+      Thread[] threads = new Thread[NUM_THREADS];
+      for (int t = 0; t < NUM_THREADS; t++) {
+        threads[t] = new Thread(new Runnable() {
+          public void run() {
+            try {
+              start.await();
+            }
+            catch (InterruptedException ex) {
+              return;
+            }
+            for (int i = 0; i < testGeoms.length; i++) {
+              int dimB = testGeoms[i].getDimension();
+              if (! expectedIM[i].equals(relate.relate(testGeoms[i]).toString())
+                  || isTouches[i] != relate.evaluate(testGeoms[i], RelatePredicate.touches(dimA, dimB)))
+                numErrors.incrementAndGet();
+            }
+          }
+        });
+        threads[t].start();
+      }
+      start.countDown();
+      for (int t = 0; t < NUM_THREADS; t++) {
+        threads[t].join();
+      }
+    }
+    assertEquals(0, numErrors.get());
+  }
+
+  private void checkRelate(String wktTarget) {
+    Geometry target = read(wktTarget);
+    PreparedRelate relate = new PreparedRelate(target);
+    for (int i = 0; i < TESTS.length; i++) {
+      Geometry g = read(TESTS[i]);
+      IntersectionMatrix expected = RelateOp.relate(target, g);
+      assertEquals(TESTS[i], expected.toString(), relate.relate(g).toString());
+      assertEquals(expected.matches("T*F**F***"), relate.relate(g, "T*F**F***"));
+      int dimA = target.getDimension();
+      int dimB = g.getDimension();
+      assertEquals(expected.isTouches(dimA, dimB),
+          relate.evaluate(g, RelatePredicate.touches(dimA, dimB)));
+      assertEquals(expected.isOverlaps(dimA, dimB),
+          relate.evaluate(g, RelatePredicate.overlaps(dimA, dimB)));
+      assertEquals(expected.isCovers(), relate.evaluate(g, RelatePredicate.covers()));
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.relate;
+
+import org.locationtech.jts.algorithm.BoundaryNodeRule;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.IntersectionMatrix;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests {@link RelatePredicate} and the evaluation of predicates by {@link RelateOp}.
+ *
+ * @author Martin Davis
+ *
+ */
+public class RelatePredicateTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(RelatePredicateTest.class);
+  }
+
+  public RelatePredicateTest(String name) { super(name); }
+
+  public void testDeterminedByLowerBound() {
+    IntersectionMatrix maxIM = new IntersectionMatrix("212101212");
+    IntersectionMatrix im = new IntersectionMatrix("FFFFFFFF2");
+    RelatePredicate touches = RelatePredicate.touches(2, 2);
+    assertTrue(! touches.isDetermined(im, maxIM));
+    // an interior intersection means the geometries do not touch
+    im.setAtLeast("2FFFFFFF2");
+    assertTrue(touches.isDetermined(im, maxIM));
+    assertTrue(! touches.matches(im));
+
+    RelatePredicate overlaps = RelatePredicate.overlaps(2, 2);
+    assertTrue(! overlaps.isDetermined(im, maxIM));
+    im.setAtLeast("212101212");
+    assertTrue(overlaps.isDetermined(im, maxIM));
+    assertTrue(overlaps.matches(im));
+  }
+
+  public void testDeterminedByMaximum() {
+    // a point has no boundary
+    IntersectionMatrix maxIM = new IntersectionMatrix("000FFF102");
+    IntersectionMatrix im = new IntersectionMatrix("0FFFFFFF2");
+    RelatePredicate pattern = RelatePredicate.matches("0*FF*****");
+    assertTrue(! pattern.isDetermined(im, maxIM));
+    im.setAtLeast("0FFFFF102");
+    assertTrue(! pattern.isDetermined(im, maxIM));
+    assertTrue(RelatePredicate.matches("0**F*****").isDetermined(im, maxIM));
+    assertTrue(RelatePredicate.matches("***T*****").isDetermined(im, maxIM));
+    assertTrue(RelatePredicate.matches("**1******").isDetermined(im, maxIM));
+  }
+
+  public void testPolygons() {
+    checkPredicates("POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))",
+        "POLYGON ((5 5, 5 15, 15 15, 15 5, 5 5))");
+    checkPredicates("POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))",
+        "POLYGON ((10 0, 10 10, 20 10, 20 0, 10 0))");
+    checkPredicates("POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))",
+        "POLYGON ((2 2, 2 8, 8 8, 8 2, 2 2))");
+    checkPredicates("POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0), (2 2, 8 2, 8 8, 2 8, 2 2))",
+        "POLYGON ((2 2, 2 8, 8 8, 8 2, 2 2))");
+  }
+
+  public void testLines() {
+    checkPredicates("LINESTRING (0 0, 10 10)", "LINESTRING (0 10, 10 0)");
+    checkPredicates("LINESTRING (0 0, 10 10)", "LINESTRING (10 10, 20 0)");
+    checkPredicates("LINESTRING (0 0, 10 10)", "LINESTRING (5 5, 20 20)");
+    checkPredicates("LINESTRING (0 0, 10 10, 10 0, 0 0)", "LINESTRING (0 0, 0 10)");
+  }
+
+  public void testMixed() {
+    checkPredicates("LINESTRING (-5 5, 15 5)", "POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))");
+    checkPredicates("LINESTRING (0 5, 10 5)", "POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))");
+    checkPredicates("LINESTRING (0 0, 10 0)", "POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))");
+    checkPredicates("POINT (0 5)", "POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))");
+    checkPredicates("MULTIPOINT ((5 5), (20 20))", "POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))");
+    checkPredicates("POINT (10 10)", "LINESTRING (0 0, 10 10)");
+  }
+
+  public void testBoundaryNodeRule() {
+    // a closed line has a boundary point under the Endpoint rule
+    Geometry line = read("LINESTRING (0 0, 1 0, 1 1, 0 0)");
+    Geometry pt = read("POINT (0 0)");
+    RelateOp op = new RelateOp(line, pt, BoundaryNodeRule.ENDPOINT_BOUNDARY_RULE);
+    assertEquals("FF10FFFF2", op.getIntersectionMatrix().toString());
+    assertTrue(op.evaluate(RelatePredicate.matches("***T*****")));
+    assertTrue(op.evaluate(RelatePredicate.matches("FF10FFFF2")));
+    assertTrue(! op.evaluate(RelatePredicate.matches("T********")));
+  }
+
+  public void testInvalidPattern() {
+    try {
+      RelatePredicate.matches("T*F");
+      fail("Expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException ex) {
+      // expected
+    }
+  }
+
+  private void checkPredicates(String wktA, String wktB) {
+    Geometry a = read(wktA);
+    Geometry b = read(wktB);
+    checkPredicatesOrdered(a, b);
+    checkPredicatesOrdered(b, a);
+  }
+
+  private static void checkPredicatesOrdered(Geometry a, Geometry b) {
+    IntersectionMatrix im = RelateOp.relate(a, b);
+    int dimA = a.getDimension();
+    int dimB = b.getDimension();
+    assertEquals(im.isIntersects(), RelateOp.relate(a, b, RelatePredicate.intersects()));
+    assertEquals(im.isTouches(dimA, dimB), RelateOp.relate(a, b, RelatePredicate.touches(dimA, dimB)));
+    assertEquals(im.isCrosses(dimA, dimB), RelateOp.relate(a, b, RelatePredicate.crosses(dimA, dimB)));
+    assertEquals(im.isOverlaps(dimA, dimB), RelateOp.relate(a, b, RelatePredicate.overlaps(dimA, dimB)));
+    assertEquals(im.isContains(), RelateOp.relate(a, b, RelatePredicate.contains()));
+    assertEquals(im.isWithin(), RelateOp.relate(a, b, RelatePredicate.within()));
+    assertEquals(im.isCovers(), RelateOp.relate(a, b, RelatePredicate.covers()));
+    assertEquals(im.isCoveredBy(), RelateOp.relate(a, b, RelatePredicate.coveredBy()));
+    assertEquals(im.matches(im.toString()), RelateOp.relate(a, b, im.toString()));
+    assertEquals(im.matches("T*F**F***"), a.relate(b, "T*F**F***"));
+  }
+}
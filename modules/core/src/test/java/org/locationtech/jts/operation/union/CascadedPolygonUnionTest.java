@@ -15,6 +15,7 @@ package org.locationtech.jts.operation.union;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
@@ -77,9 +78,39 @@ public class CascadedPolygonUnionTest extends TestCase
   			CascadedPolygonUnionTester.MIN_SIMILARITY_MEAURE);
   }
 
-  
+  public void testDiscsParallel()
+  throws Exception
+  {
+    Collection geoms = createDiscs(20, 0.7);
+    checkParallel(geoms);
+  }
+
+  public void testDiscsParallelDisjoint()
+  throws Exception
+  {
+    Collection geoms = createDiscs(10, 0.3);
+    checkParallel(geoms);
+  }
+
+  public void testParallelEmpty()
+  throws Exception
+  {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    assertNull(CascadedPolygonUnion.union(new ArrayList(), pool));
+    pool.shutdown();
+  }
+
   // TODO: add some synthetic tests
   
+  private void checkParallel(Collection geoms) 
+  {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    Geometry serial = CascadedPolygonUnion.union(geoms);
+    Geometry parallel = CascadedPolygonUnion.union(geoms, pool);
+    pool.shutdown();
+    assertTrue(serial.equalsExact(parallel));
+  }
+  
   private static CascadedPolygonUnionTester tester = new CascadedPolygonUnionTester();
   
   private void runTest(Collection geoms, double minimumMeasure) 
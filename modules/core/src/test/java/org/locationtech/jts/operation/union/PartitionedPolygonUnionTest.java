@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.union;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import junit.framework.TestCase;
+import junit.textui.TestRunner;
+
+/**
+ * Tests {@link PartitionedPolygonUnion}.
+ *
+ * @author Martin Davis
+ *
+ */
+public class PartitionedPolygonUnionTest extends TestCase
+{
+  public static void main(String args[]) {
+    TestRunner.run(PartitionedPolygonUnionTest.class);
+  }
+
+  private GeometryFactory geomFact = new GeometryFactory();
+
+  public PartitionedPolygonUnionTest(String name) {
+    super(name);
+  }
+
+  public void testDiscs()
+  {
+    List discs = createDiscs(12, 0.7);
+    checkStitched(discs, 100);
+    checkStitched(discs, 1000);
+    checkSameAsCascaded(discs, 100000);
+  }
+
+  public void testDisjointDiscs()
+  {
+    List discs = createDiscs(10, 0.3);
+    checkSameAsCascaded(discs, 100);
+  }
+
+  public void testHoles()
+  {
+    // discs touching only near their diagonals enclose holes
+    List discs = createDiscs(10, 0.6);
+    checkStitched(discs, 100);
+  }
+
+  public void testSquares()
+  {
+    // square edges lie on the cuts and the cuts pass through vertices
+    List squares = new ArrayList();
+    for (int i = 0; i < 12; i++) {
+      for (int j = 0; j < 12; j++) {
+        if ((i + j) % 5 == 0) continue;
+        squares.add(geomFact.toGeometry(new Envelope(i, i + 1, j, j + 1)));
+        squares.add(geomFact.toGeometry(new Envelope(i + 0.25, i + 1.5, j + 0.25, j + 0.5)));
+      }
+    }
+    checkStitched(squares, 20);
+  }
+
+  public void testNegativeZero()
+  {
+    // vertices at -0.0 lie on cuts at 0.0
+    List squares = new ArrayList();
+    for (int i = -4; i < 4; i++) {
+      for (int j = -4; j < 4; j++) {
+        double x1 = i + 1 == 0 ? -0.0 : i + 1;
+        double y1 = j + 1 == 0 ? -0.0 : j + 1;
+        squares.add(geomFact.toGeometry(new Envelope(i, x1, j, y1)));
+        squares.add(geomFact.toGeometry(new Envelope(i + 0.25, i + 0.75, j + 0.5, j + 1.5)));
+      }
+    }
+    checkStitched(squares, 20);
+  }
+
+  public void testParallel()
+  {
+    List discs = createDiscs(12, 0.7);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    PartitionedPolygonUnion union = new PartitionedPolygonUnion(discs, pool);
+    union.setMaxTileVertices(200);
+    Geometry actual = union.union();
+    pool.shutdown();
+    assertTrue(union.isSeamsStitched());
+    assertTrue(! union.isStitchFallback());
+    checkEqual(CascadedPolygonUnion.union(discs), actual);
+  }
+
+  public void testEmpty()
+  {
+    List polys = new ArrayList();
+    assertNull(PartitionedPolygonUnion.union(polys, null));
+    polys.add(geomFact.createPolygon());
+    assertNull(PartitionedPolygonUnion.union(polys, null));
+  }
+
+  private PartitionedPolygonUnion checkSameAsCascaded(List geoms, int maxTileVertices)
+  {
+    PartitionedPolygonUnion union = new PartitionedPolygonUnion(geoms, null);
+    union.setMaxTileVertices(maxTileVertices);
+    checkEqual(CascadedPolygonUnion.union(geoms), union.union());
+    return union;
+  }
+
+  /**
+   * Checks that the union is correct and was computed by stitching seams,
+   * not by the fallback union.
+   */
+  private void checkStitched(List geoms, int maxTileVertices)
+  {
+    PartitionedPolygonUnion union = checkSameAsCascaded(geoms, maxTileVertices);
+    assertTrue(union.isSeamsStitched());
+    assertTrue(! union.isStitchFallback());
+  }
+
+  private static void checkEqual(Geometry expected, Geometry actual)
+  {
+    assertTrue(actual.isValid());
+    assertEquals(expected.getNumGeometries(), actual.getNumGeometries());
+    assertEquals(expected.getArea(), actual.getArea(), 1e-9 * expected.getArea());
+    assertTrue(expected.symDifference(actual).getArea() < 1e-9 * expected.getArea());
+  }
+
+  private List createDiscs(int num, double radius)
+  {
+    List geoms = new ArrayList();
+    for (int i = 0; i < num; i++) {
+      for (int j = 0; j < num; j++) {
+        Coordinate pt = new Coordinate(i, j);
+        Geometry ptGeom = geomFact.createPoint(pt);
+        Geometry disc = ptGeom.buffer(radius);
+        geoms.add(disc);
+      }
+    }
+    return geoms;
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.union;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import junit.framework.TestCase;
+import junit.textui.TestRunner;
+
+/**
+ * Tests {@link StreamingPolygonUnion}.
+ * 
+ * @author Martin Davis
+ *
+ */
+public class StreamingPolygonUnionTest extends TestCase
+{
+  public static void main(String args[]) {
+    TestRunner.run(StreamingPolygonUnionTest.class);
+  }
+
+  private GeometryFactory geomFact = new GeometryFactory();
+
+  public StreamingPolygonUnionTest(String name) {
+    super(name);
+  }
+
+  public void testDiscs()
+  {
+    List discs = createDiscs(12, 0.7);
+    checkSameAsCascaded(discs, 1);
+    checkSameAsCascaded(discs, 7);
+    checkSameAsCascaded(discs, 1000);
+  }
+
+  public void testDisjointDiscs()
+  {
+    List discs = createDiscs(8, 0.3);
+    checkSameAsCascaded(discs, 5);
+  }
+
+  public void testParallel()
+  {
+    List discs = createDiscs(12, 0.7);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    StreamingPolygonUnion union = new StreamingPolygonUnion(20, pool);
+    union.addAll(discs);
+    Geometry actual = union.finish();
+    pool.shutdown();
+    checkEqual(CascadedPolygonUnion.union(discs), actual);
+  }
+
+  public void testPartialUnionsBounded()
+  {
+    List discs = createDiscs(10, 0.7);
+    StreamingPolygonUnion union = new StreamingPolygonUnion(3);
+    for (int i = 0; i < discs.size(); i++) {
+      union.add((Geometry) discs.get(i));
+      int numBatches = (i + 1) / 3;
+      assertEquals(Integer.bitCount(numBatches), union.getNumPartialUnions());
+    }
+  }
+
+  public void testEmpty()
+  {
+    StreamingPolygonUnion union = new StreamingPolygonUnion();
+    union.add(geomFact.createPolygon());
+    assertNull(union.finish());
+  }
+
+  public void testFinishTwice()
+  {
+    StreamingPolygonUnion union = new StreamingPolygonUnion();
+    union.addAll(createDiscs(2, 0.7));
+    union.finish();
+    try {
+      union.finish();
+      fail("Expected IllegalStateException");
+    }
+    catch (IllegalStateException ex) {
+      // expected
+    }
+    try {
+      union.add(geomFact.createPoint(new Coordinate(0, 0)).buffer(1));
+      fail("Expected IllegalStateException");
+    }
+    catch (IllegalStateException ex) {
+      // expected
+    }
+  }
+
+  private void checkSameAsCascaded(List geoms, int batchSize)
+  {
+    StreamingPolygonUnion union = new StreamingPolygonUnion(batchSize);
+    for (int i = 0; i < geoms.size(); i++) {
+      union.add((Geometry) geoms.get(i));
+    }
+    checkEqual(CascadedPolygonUnion.union(geoms), union.finish());
+  }
+
+  private static void checkEqual(Geometry expected, Geometry actual)
+  {
+    assertTrue(actual.isValid());
+    assertEquals(expected.getNumGeometries(), actual.getNumGeometries());
+    assertEquals(expected.getArea(), actual.getArea(), 1e-9 * expected.getArea());
+    assertTrue(expected.symDifference(actual).getArea() < 1e-9 * expected.getArea());
+  }
+
+  private List createDiscs(int num, double radius)
+  {
+    List geoms = new ArrayList();
+    for (int i = 0; i < num; i++) {
+      for (int j = 0; j < num; j++) {
+        Coordinate pt = new Coordinate(i, j);
+        Geometry ptGeom = geomFact.createPoint(pt);
+        Geometry disc = ptGeom.buffer(radius);
+        geoms.add(disc);
+      }
+    }
+    return geoms;
+  }
+}
@@ -13,6 +13,7 @@
 package org.locationtech.jts.operation.union;
 
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -83,6 +84,31 @@ public class UnaryUnionTest extends GeometryTestCase
     checkEqual(read(expectedWKT), result);
   }
 
+  public void testAllParallel()
+  throws Exception
+  {
+    doTestParallel("GEOMETRYCOLLECTION (POLYGON ((0 0, 0 90, 90 90, 90 0, 0 0)),   POLYGON ((120 0, 120 90, 210 90, 210 0, 120 0)),  LINESTRING (40 50, 40 140),  LINESTRING (160 50, 160 140),  POINT (60 50),  POINT (60 140),  POINT (40 140))",
+        "GEOMETRYCOLLECTION (POINT (60 140),   LINESTRING (40 90, 40 140), LINESTRING (160 90, 160 140), POLYGON ((0 0, 0 90, 40 90, 90 90, 90 0, 0 0)), POLYGON ((120 0, 120 90, 160 90, 210 90, 210 0, 120 0)))");
+  }
+
+  public void testPolygonsParallel()
+  throws Exception
+  {
+    doTestParallel("MULTIPOLYGON (((0 0, 0 10, 10 10, 10 0, 0 0)), ((5 5, 5 15, 15 15, 15 5, 5 5)), ((20 0, 20 10, 30 10, 30 0, 20 0)))",
+        "MULTIPOLYGON (((0 0, 0 10, 5 10, 5 15, 15 15, 15 5, 10 5, 10 0, 0 0)), ((20 0, 20 10, 30 10, 30 0, 20 0)))");
+  }
+
+  private void doTestParallel(String inputWKT, String expectedWKT) 
+  throws ParseException
+  {
+    Geometry geom = read(inputWKT);
+    ForkJoinPool pool = new ForkJoinPool(2);
+    Geometry result = UnaryUnionOp.union(geom, pool);
+    pool.shutdown();
+    
+    checkEqual(read(expectedWKT), result);
+  }
+
   private void doTest(String inputWKT, String expectedWKT) 
   throws ParseException
   {
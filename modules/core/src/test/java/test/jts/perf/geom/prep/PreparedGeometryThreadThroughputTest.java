@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package test.jts.perf.geom.prep;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+
+import test.jts.perf.ThreadTestRunner;
+
+
+/**
+ * Measures the throughput of many threads evaluating predicates
+ * against a single shared PreparedGeometry.
+ * This shows the effect of contention on the
+ * lazily-created structures of the prepared geometry.
+ *
+ * @author Martin Davis
+ *
+ */
+public class PreparedGeometryThreadThroughputTest extends PreparedGeometryThreadSafeTest
+{
+  public static void main(String[] args) {
+    boolean isEager = args.length > 0 && args[0].equals("eager");
+    PreparedGeometryThreadThroughputTest test = new PreparedGeometryThreadThroughputTest(isEager);
+    ThreadTestRunner.run(test);
+    try {
+      // allow the threads to finish and record their counts
+      Thread.sleep(RUN_MILLIS + 1000);
+    }
+    catch (InterruptedException ex) {
+      return;
+    }
+    test.report();
+  }
+
+  static final int THREAD_COUNT = 64;
+  static final long RUN_MILLIS = 10000;
+
+  private boolean isEager;
+  private Geometry[] testGeoms;
+  private AtomicLong opCount = new AtomicLong();
+  private long endTime;
+
+  public PreparedGeometryThreadThroughputTest(boolean isEager)
+  {
+    this.isEager = isEager;
+  }
+
+  public int getThreadCount()
+  {
+    return THREAD_COUNT;
+  }
+
+  public void setup()
+  {
+    super.setup();
+    if (isEager)
+      pg.prepareAll();
+    testGeoms = new Geometry[] {
+        g,
+        factory.createPoint(new Coordinate(0, 0)),
+        factory.createPoint(new Coordinate(200000, 0)),
+        createSineStar(new Coordinate(100000, 0), 10000.0, 100)
+    };
+    endTime = System.currentTimeMillis() + RUN_MILLIS;
+  }
+
+  public Runnable getRunnable(final int threadIndex)
+  {
+    return new Runnable() {
+
+      public void run()
+      {
+        long count = 0;
+        while (System.currentTimeMillis() < endTime) {
+          Geometry testGeom = testGeoms[(int) (count % testGeoms.length)];
+          pg.intersects(testGeom);
+          pg.contains(testGeom);
+          count++;
+        }
+        opCount.addAndGet(count);
+      }
+
+    };
+  }
+
+  void report()
+  {
+    System.out.println((isEager ? "Eager" : "Lazy") + " preparation, "
+        + THREAD_COUNT + " threads: "
+        + (1000 * opCount.get() / RUN_MILLIS) + " iterations/sec");
+  }
+}